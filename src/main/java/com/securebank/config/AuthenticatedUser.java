@@ -0,0 +1,37 @@
+package com.securebank.config;
+
+import com.securebank.enums.UserRole;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Principal of a request authenticated by {@link JwtAuthFilter}, built from the token's
+ * claims alone.
+ */
+public record AuthenticatedUser(Long id, String username, UserRole role) implements Principal {
+
+    /**
+     * The user of the current request.
+     */
+    public static AuthenticatedUser current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new RuntimeException("User not authenticated");
+        }
+        return user;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
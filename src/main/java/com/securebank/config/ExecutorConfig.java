@@ -0,0 +1,88 @@
+package com.securebank.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Runs the credit partitions of bulk transfers. Each task holds a database connection
+     * while it runs, so keep the pool well below the connection pool size. When the queue is
+     * full the submitting request thread runs the partition itself.
+     */
+    @Bean(name = "bulkTransferExecutor")
+    public ThreadPoolTaskExecutor bulkTransferExecutor(
+            @Value("${transaction.bulk.parallelism:4}") int parallelism,
+            @Value("${transaction.bulk.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bulk-transfer-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Scores transfers whose feature window is not cached yet, so the request thread can give
+     * up after its latency budget. A full queue is rejected and the transfer is held instead.
+     */
+    @Bean(name = "fraudScoringExecutor")
+    public ThreadPoolTaskExecutor fraudScoringExecutor(
+            @Value("${fraud.screening.parallelism:0}") int parallelism,
+            @Value("${fraud.screening.queue-capacity:500}") int queueCapacity) {
+        return fixedPool(parallelism, queueCapacity, "fraud-scoring-");
+    }
+
+    /**
+     * Re-scores and releases transfers held because scoring timed out. Defaults to one thread
+     * per core; rejected tasks are picked up by the next scheduled sweep.
+     */
+    @Bean(name = "fraudReviewExecutor")
+    public ThreadPoolTaskExecutor fraudReviewExecutor(
+            @Value("${fraud.review.parallelism:0}") int parallelism,
+            @Value("${fraud.review.queue-capacity:10000}") int queueCapacity) {
+        return fixedPool(parallelism, queueCapacity, "fraud-review-");
+    }
+
+    /**
+     * Runs BCrypt hashing for sign-in and registration, so a login burst can occupy at most
+     * this many cores (half of them by default) plus the request threads waiting on the queue.
+     * A full queue is rejected and the request answered with 503 instead of piling up on
+     * Tomcat threads.
+     */
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${auth.password.parallelism:0}") int parallelism,
+            @Value("${auth.password.queue-capacity:64}") int queueCapacity) {
+        int threads = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return fixedPool(threads, queueCapacity, "password-hash-");
+    }
+
+    /**
+     * Runs the transfer-graph scan. The work is CPU bound and split recursively, so it gets
+     * its own fork/join pool instead of competing with request threads in the common pool.
+     */
+    @Bean(name = "transferGraphPool", destroyMethod = "shutdown")
+    public ForkJoinPool transferGraphPool(@Value("${fraud.graph.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    private ThreadPoolTaskExecutor fixedPool(int parallelism, int queueCapacity, String threadNamePrefix) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,181 @@
+package com.securebank.config;
+
+import com.securebank.service.FraudBacktest;
+import com.securebank.service.FraudRuleEngine;
+import com.securebank.service.fraud.FraudRule;
+import com.securebank.service.fraud.FraudRuleCompiler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Offline fraud backtest, e.g. against a local restore of a production dump:
+ * <pre>
+ * java -jar securebank-backend.jar --spring.main.web-application-type=none \
+ *     --spring.datasource.url=jdbc:postgresql://localhost:5432/securebank_dump \
+ *     --fraud.backtest.enabled=true --fraud.backtest.from=2024-01-01 \
+ *     --fraud.backtest.rules-path=candidate.rules
+ * </pre>
+ * Debits in [from, to) are replayed through the active rules and, when given, a candidate
+ * rule file. The account id range is cut into slices that a fixed pool of workers claims in
+ * turn; each slice is one read-only query ordered by account and time and streamed with a
+ * server-side cursor, so rows are never materialised as entities or held in a list.
+ *
+ * A transaction counts as confirmed fraud when a reviewer rejected it after a hold or its
+ * account is frozen now. The report is logged, optionally written to a file, and the
+ * application exits. Scheduled jobs are disabled in this mode (see {@link SchedulingConfig}).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "fraud.backtest.enabled", havingValue = "true")
+public class FraudBacktestRunner implements ApplicationRunner {
+
+    // Slices per worker; more slices even out accounts of very different activity
+    static final int SLICES_PER_WORKER = 8;
+
+    private static final String SLICE_QUERY =
+            "SELECT t.from_account_id, t.amount, t.created_at, t.status, " +
+            "(t.status = 'FAILED' AND t.hold_reason IS NOT NULL) OR a.status = 'FROZEN' " +
+            "FROM transactions t JOIN accounts a ON a.id = t.from_account_id " +
+            "WHERE t.from_account_id BETWEEN ? AND ? AND t.created_at >= ? AND t.created_at < ? " +
+            "ORDER BY t.from_account_id, t.created_at";
+
+    @Value("${fraud.backtest.from:}")
+    private String from = "";
+
+    @Value("${fraud.backtest.to:}")
+    private String to = "";
+
+    @Value("${fraud.backtest.workers:0}")
+    private int workers = 0;
+
+    @Value("${fraud.backtest.fetch-size:10000}")
+    private int fetchSize = 10_000;
+
+    @Value("${fraud.backtest.rules-path:}")
+    private String candidateRulesPath = "";
+
+    @Value("${fraud.backtest.report-path:}")
+    private String reportPath = "";
+
+    @Value("${fraud.backtest.exit:true}")
+    private boolean exitWhenDone = true;
+
+    @Value("${fraud.features.large-amount-threshold:5000}")
+    private BigDecimal largeAmountThreshold = new BigDecimal("5000");
+
+    @Value("${fraud.baseline.alpha:0.05}")
+    private double baselineAlpha = 0.05;
+
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final FraudRuleEngine fraudRuleEngine;
+    private final ConfigurableApplicationContext applicationContext;
+
+    public FraudBacktestRunner(DataSource dataSource, PlatformTransactionManager transactionManager,
+                               FraudRuleEngine fraudRuleEngine, ConfigurableApplicationContext applicationContext) {
+        this.dataSource = dataSource;
+        this.transactionManager = transactionManager;
+        this.fraudRuleEngine = fraudRuleEngine;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        LocalDateTime start = from.isBlank() ? LocalDate.now().minusDays(90).atStartOfDay() : LocalDate.parse(from).atStartOfDay();
+        LocalDateTime end = to.isBlank() ? LocalDateTime.now() : LocalDate.parse(to).atStartOfDay();
+
+        Map<String, List<FraudRule>> ruleSets = new LinkedHashMap<>();
+        FraudRuleEngine.RuleSet active = fraudRuleEngine.current();
+        // Compiled afresh so the live rules' counters are left alone
+        ruleSets.put("Active rules (" + active.origin() + ")", FraudRuleCompiler.compileRules(active.source()));
+        if (!candidateRulesPath.isBlank()) {
+            Path path = Path.of(candidateRulesPath);
+            ruleSets.put("Candidate rules (" + path + ")", FraudRuleCompiler.compileRules(Files.readString(path)));
+        }
+
+        FraudBacktest backtest = new FraudBacktest(ruleSets, largeAmountThreshold, baselineAlpha);
+        long started = System.nanoTime();
+        replay(backtest, start, end);
+        FraudBacktest.Report report = backtest.report(Duration.ofNanos(System.nanoTime() - started));
+
+        String text = "Fraud backtest " + start + " to " + end + System.lineSeparator() + report.format();
+        log.info("{}{}", System.lineSeparator(), text);
+        if (!reportPath.isBlank()) {
+            Files.writeString(Path.of(reportPath), text);
+        }
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    void replay(FraudBacktest backtest, LocalDateTime start, LocalDateTime end) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Map<String, Object> range = jdbcTemplate.queryForMap("SELECT MIN(id) AS low, MAX(id) AS high FROM accounts");
+        if (range.get("low") == null) {
+            return;
+        }
+        long low = ((Number) range.get("low")).longValue();
+        long high = ((Number) range.get("high")).longValue();
+
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        int slices = threads * SLICES_PER_WORKER;
+        long width = Math.max(1, (high - low + 1 + slices - 1) / slices);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (long first = low; first <= high; first += width) {
+                long sliceLow = first;
+                long sliceHigh = Math.min(high, first + width - 1);
+                futures.add(CompletableFuture.runAsync(
+                        () -> replaySlice(backtest.newShard(), sliceLow, sliceHigh, start, end), pool));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void replaySlice(FraudBacktest.Shard shard, long low, long high, LocalDateTime start, LocalDateTime end) {
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(fetchSize);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        // PostgreSQL only streams with a cursor inside a transaction
+        readOnly.executeWithoutResult(status -> streaming.query(SLICE_QUERY, rs -> {
+            shard.accept(new FraudBacktest.Row(
+                    rs.getLong(1),
+                    rs.getBigDecimal(2),
+                    rs.getTimestamp(3).toLocalDateTime(),
+                    "COMPLETED".equals(rs.getString(4)),
+                    rs.getBoolean(5)));
+        }, low, high, Timestamp.valueOf(start), Timestamp.valueOf(end)));
+        log.debug("Replayed accounts {} to {}", low, high);
+    }
+}
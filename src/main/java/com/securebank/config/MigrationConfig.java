@@ -0,0 +1,38 @@
+package com.securebank.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Flyway defaults for the migrations in {@code db/migration}. Databases that Hibernate created
+ * with ddl-auto=update before migrations existed have the original four tables but no
+ * history; they are baselined at V1, which reproduces exactly that schema, and continue from V2.
+ *
+ * Flyway's PostgreSQL lock is taken session-level rather than in a transaction: with the
+ * transactional lock, the open transaction makes {@code CREATE INDEX CONCURRENTLY} wait on
+ * Flyway itself and the V3 migration never finishes.
+ */
+@Configuration
+public class MigrationConfig {
+
+    @Value("${spring.flyway.baseline-on-migrate:true}")
+    private boolean baselineOnMigrate = true;
+
+    @Value("${spring.flyway.baseline-version:1}")
+    private String baselineVersion = "1";
+
+    @Value("${spring.flyway.postgresql.transactional-lock:false}")
+    private boolean postgresqlTransactionalLock = false;
+
+    @Bean
+    public FlywayConfigurationCustomizer baselineFlywayConfigurationCustomizer() {
+        return configuration -> configuration
+                .baselineOnMigrate(baselineOnMigrate)
+                .baselineVersion(baselineVersion)
+                .configuration(Map.of("flyway.postgresql.transactional.lock", String.valueOf(postgresqlTransactionalLock)));
+    }
+}
@@ -0,0 +1,131 @@
+package com.securebank.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securebank.dto.response.ApiResponse;
+import com.securebank.util.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits API calls per client IP, and authenticated calls per user as well, so neither
+ * one IP spreading calls across many accounts nor one account spread across many IPs gets
+ * past the limit. Runs after {@link JwtAuthFilter}, so the user id comes from the token
+ * without a lookup. A call is rejected when either of its buckets is empty. Each endpoint
+ * class has its own limit and buckets: money-moving transaction calls are the tightest,
+ * sign-in and registration are limited per IP against credential stuffing, and reads and
+ * other calls share a looser default. Rejected calls get 429 with Retry-After.
+ *
+ * The client IP is the request's remote address; behind a proxy, enable
+ * {@code server.forward-headers-strategy} so it reflects the original client.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum EndpointClass {
+        TRANSACTIONS, AUTH, DEFAULT
+    }
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Map<EndpointClass, RateLimiter.Limit> limits = new EnumMap<>(EndpointClass.class);
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.transactions.per-second:2}") double transactionsPerSecond,
+                           @Value("${rate-limit.transactions.burst:10}") int transactionsBurst,
+                           @Value("${rate-limit.auth.per-second:1}") double authPerSecond,
+                           @Value("${rate-limit.auth.burst:10}") int authBurst,
+                           @Value("${rate-limit.default.per-second:20}") double defaultPerSecond,
+                           @Value("${rate-limit.default.burst:50}") int defaultBurst) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        limits.put(EndpointClass.TRANSACTIONS, RateLimiter.Limit.of(transactionsPerSecond, transactionsBurst));
+        limits.put(EndpointClass.AUTH, RateLimiter.Limit.of(authPerSecond, authBurst));
+        limits.put(EndpointClass.DEFAULT, RateLimiter.Limit.of(defaultPerSecond, defaultBurst));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !enabled
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || !path.startsWith("/api/")
+                || path.startsWith("/api/health");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        RateLimiter.Limit limit = limits.get(endpointClass);
+        long waitNanos = rateLimiter.tryAcquire(endpointClass.ordinal() + ":ip" + request.getRemoteAddr(), limit);
+        Long userId = userId();
+        if (waitNanos == 0 && userId != null) {
+            waitNanos = rateLimiter.tryAcquire(endpointClass.ordinal() + ":u" + userId, limit);
+        }
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if (HttpMethod.GET.matches(request.getMethod())) {
+            return EndpointClass.DEFAULT;
+        }
+        if (path.startsWith("/api/auth/")) {
+            return EndpointClass.AUTH;
+        }
+        if (path.startsWith("/api/transactions")) {
+            return EndpointClass.TRANSACTIONS;
+        }
+        return EndpointClass.DEFAULT;
+    }
+
+    private static Long userId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.id();
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        Map<String, Object> details = new HashMap<>();
+        details.put("errorCode", "RATE_LIMITED");
+        details.put("retryAfterSeconds", retryAfterSeconds);
+        details.put("timestamp", LocalDateTime.now());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Too many requests. Please slow down.", details));
+    }
+}
@@ -0,0 +1,18 @@
+package com.securebank.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs: hold sweeps, hot-account consolidation, cache eviction, rule reloads,
+ * transfer-graph scans and dashboard metric flushes.
+ *
+ * Setting {@code fraud.backtest.enabled=true} turns scheduling off. A backtest may point at
+ * a database dump that these jobs must not modify.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "fraud.backtest.enabled", havingValue = "false", matchIfMissing = true)
+public class SchedulingConfig {
+}
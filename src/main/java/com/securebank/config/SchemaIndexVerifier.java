@@ -0,0 +1,104 @@
+package com.securebank.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks on startup that the indexes from the V3 migration exist and are valid. A failed
+ * {@code CREATE INDEX CONCURRENTLY} leaves an invalid index behind that the planner ignores
+ * and a rerun with IF NOT EXISTS skips, so the statement and limit queries silently go back
+ * to table scans; such an index has to be dropped and recreated with its statement from V3.
+ *
+ * Problems are logged, or fail startup with {@code schema.index-check.fail-on-missing}.
+ */
+@Slf4j
+@Component
+public class SchemaIndexVerifier {
+
+    static final Map<String, List<String>> EXPECTED_INDEXES = new LinkedHashMap<>();
+
+    static {
+        EXPECTED_INDEXES.put("transactions", List.of(
+                "idx_transactions_from_account_created_at_id",
+                "idx_transactions_to_account_created_at_id",
+                "idx_transactions_status_created_at",
+                "idx_transactions_type_created_at",
+                "idx_transactions_created_at_id",
+                "idx_transactions_updated_at",
+                "idx_transactions_daily_limit",
+                "idx_transactions_held",
+                "idx_transactions_stranded_batch_items",
+                "idx_transactions_completed_transfers"));
+        EXPECTED_INDEXES.put("accounts", List.of("idx_accounts_user_id"));
+        EXPECTED_INDEXES.put("ledger_entries", List.of(
+                "idx_ledger_entries_customer_account_created_at",
+                "idx_ledger_entries_transaction_id"));
+    }
+
+    private static final String INDEX_QUERY =
+            "SELECT i.relname AS index_name, x.indisvalid AS valid FROM pg_index x " +
+            "JOIN pg_class i ON i.oid = x.indexrelid " +
+            "JOIN pg_class t ON t.oid = x.indrelid " +
+            "WHERE t.relname = ? AND t.relnamespace = to_regnamespace(current_schema())";
+
+    @Value("${schema.index-check.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${schema.index-check.fail-on-missing:false}")
+    private boolean failOnMissing = false;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchemaIndexVerifier(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        List<String> problems = verify();
+        if (problems.isEmpty()) {
+            log.info("All {} expected indexes present", EXPECTED_INDEXES.values().stream().mapToInt(List::size).sum());
+            return;
+        }
+        String message = "Schema index check failed: " + String.join("; ", problems);
+        if (failOnMissing) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    /**
+     * @return one entry per missing or invalid index; empty when all are in place
+     */
+    public List<String> verify() {
+        List<String> problems = new ArrayList<>();
+        EXPECTED_INDEXES.forEach((table, indexes) -> {
+            Map<String, Boolean> present = new HashMap<>();
+            jdbcTemplate.query(INDEX_QUERY, rs -> {
+                present.put(rs.getString("index_name"), rs.getBoolean("valid"));
+            }, table);
+            for (String index : indexes) {
+                Boolean valid = present.get(index);
+                if (valid == null) {
+                    problems.add(table + "." + index + " is missing");
+                } else if (!valid) {
+                    problems.add(table + "." + index + " is invalid");
+                }
+            }
+        });
+        return problems;
+    }
+}
@@ -1,20 +1,18 @@
 package com.securebank.controller;
 
+import com.securebank.config.AuthenticatedUser;
 import com.securebank.dto.request.CreateAccountRequest;
 import com.securebank.dto.response.AccountResponse;
 import com.securebank.dto.response.ApiResponse;
+import com.securebank.dto.response.CursorPageResponse;
 import com.securebank.dto.response.TransactionResponse;
-import com.securebank.entity.User;
 import com.securebank.enums.AccountStatus;
-import com.securebank.repository.UserRepository;
 import com.securebank.service.AccountService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -27,7 +25,6 @@ import java.util.Map;
 public class AccountController {
 
     private final AccountService accountService;
-    private final UserRepository userRepository;
 
     @PostMapping
     public ResponseEntity<ApiResponse<AccountResponse>> createAccount(@RequestBody CreateAccountRequest request) {
@@ -71,6 +68,16 @@ public class AccountController {
         return ResponseEntity.ok(ApiResponse.success("Statement retrieved", page));
     }
 
+    @GetMapping("/{id}/statement/scroll")
+    public ResponseEntity<ApiResponse<CursorPageResponse<TransactionResponse>>> scrollStatement(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        Long userId = getCurrentUserId();
+        CursorPageResponse<TransactionResponse> slice = accountService.scrollAccountStatement(id, userId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Statement retrieved", slice));
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<ApiResponse<String>> updateStatus(@PathVariable Long id, @RequestBody Map<String, String> request) {
         Long userId = getCurrentUserId();
@@ -80,10 +87,6 @@ public class AccountController {
     }
 
     private Long getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return user.getId();
+        return AuthenticatedUser.current().id();
     }
 }
\ No newline at end of file
@@ -2,7 +2,15 @@ package com.securebank.controller;
 
 import com.securebank.dto.response.AdminDashboardResponse;
 import com.securebank.dto.response.ApiResponse;
+import com.securebank.dto.response.CursorPageResponse;
+import com.securebank.dto.response.DailyLimitUsageResponse;
+import com.securebank.dto.response.FraudRuleSetResponse;
+import com.securebank.dto.response.TransferGraphResponse;
+import com.securebank.dto.response.LedgerReconciliationResponse;
+import com.securebank.dto.response.PasswordHashingStatsResponse;
+import com.securebank.dto.response.TransactionReportResponse;
 import com.securebank.dto.response.TransactionResponse;
+import com.securebank.enums.RollupGranularity;
 import com.securebank.enums.TransactionStatus;
 import com.securebank.enums.TransactionType;
 import com.securebank.service.AdminService;
@@ -10,7 +18,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -42,6 +52,125 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("Account unfrozen successfully", null));
     }
 
+    @PostMapping("/accounts/{id}/daily-limit/rebuild")
+    public ResponseEntity<ApiResponse<DailyLimitUsageResponse>> rebuildDailyLimitUsage(
+            @PathVariable Long id,
+            @RequestParam(required = false) String date) {
+        LocalDate usageDate = date != null ? LocalDate.parse(date) : null;
+        DailyLimitUsageResponse usage = adminService.rebuildDailyLimitUsage(id, usageDate);
+        return ResponseEntity.ok(ApiResponse.success("Daily limit usage rebuilt", usage));
+    }
+
+    @PostMapping("/accounts/{id}/hot-mode")
+    public ResponseEntity<ApiResponse<String>> updateHotAccountMode(
+            @PathVariable Long id,
+            @RequestParam int slots) {
+        adminService.updateHotAccountSlots(id, slots);
+        return ResponseEntity.ok(ApiResponse.success("Hot account mode updated", null));
+    }
+
+    @GetMapping("/accounts/{id}/ledger-balance")
+    public ResponseEntity<ApiResponse<BigDecimal>> getLedgerBalance(
+            @PathVariable Long id,
+            @RequestParam(required = false) String asOf) {
+        LocalDateTime at = asOf != null ? LocalDateTime.parse(asOf) : null;
+        BigDecimal balance = adminService.getLedgerBalanceAsOf(id, at);
+        return ResponseEntity.ok(ApiResponse.success("Ledger balance retrieved", balance));
+    }
+
+    @GetMapping("/ledger/reconcile")
+    public ResponseEntity<ApiResponse<LedgerReconciliationResponse>> reconcileLedger() {
+        LedgerReconciliationResponse report = adminService.reconcileLedger();
+        return ResponseEntity.ok(ApiResponse.success("Ledger reconciliation completed", report));
+    }
+
+    @PostMapping("/ledger/opening-balances")
+    public ResponseEntity<ApiResponse<Integer>> postLedgerOpeningBalances() {
+        int opened = adminService.postLedgerOpeningBalances();
+        return ResponseEntity.ok(ApiResponse.success("Opening balances posted", opened));
+    }
+
+    @PostMapping("/ledger/checkpoints")
+    public ResponseEntity<ApiResponse<Integer>> writeLedgerCheckpoints() {
+        int written = adminService.writeLedgerCheckpoints();
+        return ResponseEntity.ok(ApiResponse.success("Ledger checkpoints written", written));
+    }
+
+    @GetMapping("/transactions/held")
+    public ResponseEntity<ApiResponse<Page<TransactionResponse>>> getHeldTransfers(Pageable pageable) {
+        Page<TransactionResponse> held = adminService.getHeldTransfers(pageable);
+        return ResponseEntity.ok(ApiResponse.success("Held transfers retrieved", held));
+    }
+
+    @PostMapping("/transactions/{transactionId}/approve")
+    public ResponseEntity<ApiResponse<TransactionResponse>> approveHeldTransfer(@PathVariable String transactionId) {
+        TransactionResponse response = adminService.approveHeldTransfer(transactionId);
+        return ResponseEntity.ok(ApiResponse.success("Transfer approved", response));
+    }
+
+    @PostMapping("/transactions/{transactionId}/reject")
+    public ResponseEntity<ApiResponse<TransactionResponse>> rejectHeldTransfer(@PathVariable String transactionId) {
+        TransactionResponse response = adminService.rejectHeldTransfer(transactionId);
+        return ResponseEntity.ok(ApiResponse.success("Transfer rejected and refunded", response));
+    }
+
+    @GetMapping("/fraud/rules")
+    public ResponseEntity<ApiResponse<FraudRuleSetResponse>> getFraudRules() {
+        FraudRuleSetResponse rules = adminService.getFraudRules();
+        return ResponseEntity.ok(ApiResponse.success("Fraud rules retrieved", rules));
+    }
+
+    @PostMapping("/fraud/rules/reload")
+    public ResponseEntity<ApiResponse<FraudRuleSetResponse>> reloadFraudRules() {
+        FraudRuleSetResponse rules = adminService.reloadFraudRules();
+        return ResponseEntity.ok(ApiResponse.success("Fraud rules reloaded", rules));
+    }
+
+    @GetMapping("/fraud/graph")
+    public ResponseEntity<ApiResponse<TransferGraphResponse>> getTransferGraphFlags() {
+        TransferGraphResponse graph = adminService.getTransferGraphFlags();
+        return ResponseEntity.ok(ApiResponse.success("Transfer graph flags retrieved", graph));
+    }
+
+    @PostMapping("/fraud/graph/analyze")
+    public ResponseEntity<ApiResponse<TransferGraphResponse>> analyzeTransferGraph() {
+        TransferGraphResponse graph = adminService.analyzeTransferGraph();
+        return ResponseEntity.ok(ApiResponse.success("Transfer graph analyzed", graph));
+    }
+
+    @GetMapping("/auth/password-hashing")
+    public ResponseEntity<ApiResponse<PasswordHashingStatsResponse>> getPasswordHashingStats() {
+        PasswordHashingStatsResponse stats = adminService.getPasswordHashingStats();
+        return ResponseEntity.ok(ApiResponse.success("Password hashing stats retrieved", stats));
+    }
+
+    @GetMapping("/reports/transactions")
+    public ResponseEntity<ApiResponse<TransactionReportResponse>> getTransactionReport(
+            @RequestParam(defaultValue = "DAY") String granularity,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String status) {
+        LocalDate end = endDate != null ? LocalDate.parse(endDate) : LocalDate.now();
+        LocalDate start = startDate != null ? LocalDate.parse(startDate) : end.minusDays(29);
+        TransactionType transactionType = type != null ? TransactionType.valueOf(type) : null;
+        TransactionStatus transactionStatus = status != null ? TransactionStatus.valueOf(status) : null;
+
+        TransactionReportResponse report = adminService.getTransactionReport(RollupGranularity.valueOf(granularity),
+                start.atStartOfDay(), end.plusDays(1).atStartOfDay(), transactionType, transactionStatus);
+        return ResponseEntity.ok(ApiResponse.success("Transaction report retrieved", report));
+    }
+
+    @GetMapping("/reports/daily-volume")
+    public ResponseEntity<ApiResponse<Map<String, BigDecimal>>> getDailyVolume(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate) {
+        LocalDate end = endDate != null ? LocalDate.parse(endDate) : LocalDate.now();
+        LocalDate start = startDate != null ? LocalDate.parse(startDate) : end.minusDays(89);
+        Map<String, BigDecimal> volume = adminService.getDailyVolume(start, end);
+        return ResponseEntity.ok(ApiResponse.success("Daily volume retrieved", volume));
+    }
+
     @GetMapping("/users")
     public ResponseEntity<ApiResponse<Object>> getAllUsers() {
         return ResponseEntity.ok(ApiResponse.success("Users retrieved", adminService.getAllUsers()));
@@ -69,4 +198,28 @@ public class AdminController {
         
         return ResponseEntity.ok(ApiResponse.success("Transactions retrieved", transactions));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/transactions/scroll")
+    public ResponseEntity<ApiResponse<CursorPageResponse<TransactionResponse>>> scrollAllTransactions(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String accountNumber,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        LocalDateTime start = startDate != null ? LocalDateTime.parse(startDate + "T00:00:00") : null;
+        LocalDateTime end = endDate != null ? LocalDateTime.parse(endDate + "T23:59:59") : null;
+        TransactionType transactionType = type != null ? TransactionType.valueOf(type) : null;
+        TransactionStatus transactionStatus = status != null ? TransactionStatus.valueOf(status) : null;
+
+        CursorPageResponse<TransactionResponse> transactions = adminService.scrollAllTransactions(
+                start, end, transactionType, transactionStatus, username, accountNumber, minAmount, maxAmount, cursor, size);
+
+        return ResponseEntity.ok(ApiResponse.success("Transactions retrieved", transactions));
+    }
+}
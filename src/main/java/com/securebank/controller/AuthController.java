@@ -1,5 +1,6 @@
 package com.securebank.controller;
 
+import com.securebank.config.AuthenticatedUser;
 import com.securebank.dto.request.LoginRequest;
 import com.securebank.dto.request.RegisterRequest;
 import com.securebank.dto.response.ApiResponse;
@@ -11,8 +12,6 @@ import com.securebank.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -37,15 +36,19 @@ public class AuthController {
 
     @GetMapping("/me")
     public ResponseEntity<ApiResponse<UserResponse>> getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findById(AuthenticatedUser.current().id())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         UserResponse response = mapToUserResponse(user);
         return ResponseEntity.ok(ApiResponse.success("User details retrieved", response));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout() {
+        authService.logout(AuthenticatedUser.current().id());
+        return ResponseEntity.ok(ApiResponse.success("Logged out from all sessions", null));
+    }
+
     private UserResponse mapToUserResponse(User user) {
         UserResponse response = new UserResponse();
         response.setId(user.getId());
@@ -1,14 +1,17 @@
 package com.securebank.controller;
 
+import com.securebank.config.AuthenticatedUser;
+import com.securebank.dto.request.BulkTransferRequest;
 import com.securebank.dto.request.DepositRequest;
 import com.securebank.dto.request.TransferRequest;
 import com.securebank.dto.request.WithdrawRequest;
 import com.securebank.dto.response.ApiResponse;
+import com.securebank.dto.response.BulkTransferResponse;
+import com.securebank.dto.response.CursorPageResponse;
 import com.securebank.dto.response.TransactionResponse;
-import com.securebank.entity.User;
 import com.securebank.enums.TransactionStatus;
 import com.securebank.enums.TransactionType;
-import com.securebank.repository.UserRepository;
+import com.securebank.service.BulkTransferService;
 import com.securebank.service.TransactionService;
 
 import java.time.LocalDateTime;
@@ -16,8 +19,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -26,7 +27,7 @@ import org.springframework.web.bind.annotation.*;
 public class TransactionController {
 
     private final TransactionService transactionService;
-    private final UserRepository userRepository;
+    private final BulkTransferService bulkTransferService;
 
     @PostMapping("/deposit")
     public ResponseEntity<ApiResponse<TransactionResponse>> deposit(@RequestBody DepositRequest request) {
@@ -46,7 +47,15 @@ public class TransactionController {
     public ResponseEntity<ApiResponse<TransactionResponse>> transfer(@RequestBody TransferRequest request) {
         Long userId = getCurrentUserId();
         TransactionResponse response = transactionService.transfer(request, userId);
-        return ResponseEntity.ok(ApiResponse.success("Transfer successful", response));
+        String message = response.getStatus() == TransactionStatus.PENDING ? "Transfer held for review" : "Transfer successful";
+        return ResponseEntity.ok(ApiResponse.success(message, response));
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkTransferResponse>> bulkTransfer(@RequestBody BulkTransferRequest request) {
+        Long userId = getCurrentUserId();
+        BulkTransferResponse response = bulkTransferService.transfer(request, userId);
+        return ResponseEntity.ok(ApiResponse.success("Bulk transfer processed", response));
     }
 
     @GetMapping
@@ -70,6 +79,28 @@ public class TransactionController {
         return ResponseEntity.ok(ApiResponse.success("Transactions retrieved", page));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPageResponse<TransactionResponse>>> scrollTransactions(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        Long userId = getCurrentUserId();
+
+        LocalDateTime start = startDate != null ? LocalDateTime.parse(startDate + "T00:00:00") : null;
+        LocalDateTime end = endDate != null ? LocalDateTime.parse(endDate + "T23:59:59") : null;
+        TransactionType transactionType = type != null ? TransactionType.valueOf(type) : null;
+        TransactionStatus transactionStatus = status != null ? TransactionStatus.valueOf(status) : null;
+
+        CursorPageResponse<TransactionResponse> slice = transactionService.scrollTransactionsWithFilters(
+                userId, start, end, transactionType, transactionStatus, cursor, size);
+
+        return ResponseEntity.ok(ApiResponse.success("Transactions retrieved", slice));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<TransactionResponse>> getTransaction(@PathVariable String id) {
         Long userId = getCurrentUserId();
@@ -78,10 +109,6 @@ public class TransactionController {
     }
 
     private Long getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return user.getId();
+        return AuthenticatedUser.current().id();
     }
 }
\ No newline at end of file
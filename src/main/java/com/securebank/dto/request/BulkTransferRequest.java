@@ -0,0 +1,19 @@
+package com.securebank.dto.request;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class BulkTransferRequest {
+    private Long fromAccountId;
+    private List<Item> items;
+
+    @Data
+    public static class Item {
+        private String toAccountNumber;
+        private BigDecimal amount;
+        private String description;
+    }
+}
@@ -0,0 +1,28 @@
+package com.securebank.dto.response;
+
+import com.securebank.enums.TransactionStatus;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class BulkTransferResponse {
+    private String batchId;
+    private Long fromAccountId;
+    private int requestedCount;
+    private int completedCount;
+    private int failedCount;
+    private BigDecimal totalDebited;
+    private List<ItemResult> items;
+
+    @Data
+    public static class ItemResult {
+        private int index;
+        private String toAccountNumber;
+        private BigDecimal amount;
+        private String transactionId;
+        private TransactionStatus status;
+        private String error;
+    }
+}
@@ -0,0 +1,26 @@
+package com.securebank.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing. Pass {@code nextCursor} back as {@code cursor}
+ * to fetch the following slice; it is null on the last one. No total is computed.
+ */
+@Data
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public static <T> CursorPageResponse<T> of(List<T> content, String nextCursor) {
+        CursorPageResponse<T> response = new CursorPageResponse<>();
+        response.setContent(content);
+        response.setSize(content.size());
+        response.setHasNext(nextCursor != null);
+        response.setNextCursor(nextCursor);
+        return response;
+    }
+}
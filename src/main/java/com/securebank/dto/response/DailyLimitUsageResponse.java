@@ -0,0 +1,14 @@
+package com.securebank.dto.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class DailyLimitUsageResponse {
+    private Long accountId;
+    private LocalDate date;
+    private BigDecimal withdrawnAmount;
+    private BigDecimal transferredAmount;
+}
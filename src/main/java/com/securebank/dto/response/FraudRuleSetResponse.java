@@ -0,0 +1,24 @@
+package com.securebank.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class FraudRuleSetResponse {
+    private String origin;
+    private LocalDateTime loadedAt;
+    private List<RuleStats> rules;
+
+    @Data
+    public static class RuleStats {
+        private String name;
+        private String expression;
+        private int cost;
+        private long evaluations;
+        private long hits;
+        private double hitRate;
+        private long averageNanos;
+    }
+}
@@ -0,0 +1,23 @@
+package com.securebank.dto.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class LedgerReconciliationResponse {
+    private LocalDateTime checkedAt;
+    private boolean balanced;
+    private List<Long> unbalancedTransactionIds;
+    private List<AccountMismatch> accountMismatches;
+
+    @Data
+    public static class AccountMismatch {
+        private Long accountId;
+        private String accountNumber;
+        private BigDecimal cachedBalance;
+        private BigDecimal ledgerBalance;
+    }
+}
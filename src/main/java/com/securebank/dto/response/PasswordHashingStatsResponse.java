@@ -0,0 +1,14 @@
+package com.securebank.dto.response;
+
+import lombok.Data;
+
+@Data
+public class PasswordHashingStatsResponse {
+    private int queued;
+    private int running;
+    private long hashes;
+    private long rejected;
+    private long timedOut;
+    private double averageHashMs;
+    private double maxHashMs;
+}
@@ -0,0 +1,32 @@
+package com.securebank.dto.response;
+
+import com.securebank.enums.RollupGranularity;
+import com.securebank.enums.TransactionStatus;
+import com.securebank.enums.TransactionType;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class TransactionReportResponse {
+    private RollupGranularity granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private LocalDateTime processedUntil;
+    private long totalCount;
+    private BigDecimal totalAmount;
+    private List<Bucket> buckets;
+
+    @Data
+    public static class Bucket {
+        private LocalDateTime bucketStart;
+        private TransactionType transactionType;
+        private TransactionStatus status;
+        private String currency;
+        private long transactionCount;
+        private BigDecimal totalAmount;
+        private BigDecimal totalFee;
+    }
+}
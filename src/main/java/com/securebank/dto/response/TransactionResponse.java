@@ -1,5 +1,6 @@
 package com.securebank.dto.response;
 
+import com.securebank.enums.HoldReason;
 import com.securebank.enums.TransactionStatus;
 import com.securebank.enums.TransactionType;
 import lombok.Data;
@@ -18,6 +19,7 @@ public class TransactionResponse {
     private String fromAccountNumber;
     private String toAccountNumber;
     private TransactionStatus status;
+    private HoldReason holdReason;
     private LocalDateTime createdAt;
 
     // Explicit setters to fix compilation issues
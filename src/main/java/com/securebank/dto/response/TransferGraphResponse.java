@@ -0,0 +1,24 @@
+package com.securebank.dto.response;
+
+import com.securebank.enums.TransferPattern;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+@Data
+public class TransferGraphResponse {
+    private LocalDateTime analyzedAt;
+    private int accounts;
+    private int edges;
+    private long durationMs;
+    private List<FlaggedAccount> flagged;
+
+    @Data
+    public static class FlaggedAccount {
+        private Long accountId;
+        private Set<TransferPattern> patterns;
+        private List<String> details;
+    }
+}
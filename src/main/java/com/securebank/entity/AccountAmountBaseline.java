@@ -0,0 +1,40 @@
+package com.securebank.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exponentially weighted mean and variance of an account's outgoing transaction amounts.
+ * Folded forward one transaction at a time, so the spike check never re-reads history and
+ * keeps a baseline for accounts that are quiet for days.
+ */
+@Entity
+@Table(name = "account_amount_baselines")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountAmountBaseline {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(nullable = false)
+    private double mean;
+
+    @Column(nullable = false)
+    private double variance;
+
+    @Column(nullable = false)
+    private long samples;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
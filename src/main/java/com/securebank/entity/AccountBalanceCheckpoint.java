@@ -0,0 +1,39 @@
+package com.securebank.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Ledger balance of an account including every CUSTOMER posting created at or before
+ * {@code checkpointAt}. The balance at any later instant is the checkpoint plus the
+ * postings after it, so as-of queries never scan the full history.
+ */
+@Entity
+@Table(name = "account_balance_checkpoints",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "checkpoint_at"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_balance_checkpoints_seq")
+    @SequenceGenerator(name = "account_balance_checkpoints_seq", sequenceName = "account_balance_checkpoints_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "checkpoint_at", nullable = false)
+    private LocalDateTime checkpointAt;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal balance;
+}
@@ -0,0 +1,35 @@
+package com.securebank.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Credits received by a hot account that have not yet been consolidated into
+ * {@code accounts.balance}. Spreading credits over several slot rows lets concurrent
+ * deposits into the same account proceed without queueing on one row lock.
+ */
+@Entity
+@Table(name = "account_balance_slots")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceSlot {
+
+    @EmbeddedId
+    private AccountBalanceSlotId id;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal amount = BigDecimal.ZERO;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
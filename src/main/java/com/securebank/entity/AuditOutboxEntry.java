@@ -0,0 +1,49 @@
+package com.securebank.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An audit entry committed together with the business transaction that produced it, waiting
+ * for {@code AuditLogWriter} to move it into {@code audit_logs}. Rows are deleted once moved;
+ * rows that repeatedly fail to move stay behind with their attempt count.
+ */
+@Entity
+@Table(name = "audit_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_outbox_seq")
+    @SequenceGenerator(name = "audit_outbox_seq", sequenceName = "audit_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    // Plain id rather than a User reference: no foreign key check on the business transaction
+    private Long userId;
+
+    @Column(nullable = false, length = 100)
+    private String action;
+
+    @Column(length = 50)
+    private String entityType;
+
+    private Long entityId;
+
+    @Column(length = 45)
+    private String ipAddress;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+}
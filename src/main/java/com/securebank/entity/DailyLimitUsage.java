@@ -0,0 +1,39 @@
+package com.securebank.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of limit-relevant outflows for one account on one day.
+ * Keyed by (account, date) so the limit check is a single primary-key read
+ * instead of a SUM over the account's transaction history.
+ */
+@Entity
+@Table(name = "daily_limit_usage")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyLimitUsage {
+
+    @EmbeddedId
+    private DailyLimitUsageId id;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal withdrawnAmount = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal transferredAmount = BigDecimal.ZERO;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
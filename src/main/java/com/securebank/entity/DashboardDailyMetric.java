@@ -0,0 +1,34 @@
+package com.securebank.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One dashboard counter for one day, e.g. the number or volume of completed deposits.
+ * Instances add their in-memory increments here periodically, so the dashboard can be
+ * served from memory and a restarted instance resumes from these rows.
+ */
+@Entity
+@Table(name = "dashboard_daily_metrics")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDailyMetric {
+
+    @EmbeddedId
+    private DashboardDailyMetricId id;
+
+    // Counts, or amounts in minor units (paise)
+    @Column(name = "metric_value", nullable = false)
+    private long value;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,30 @@
+package com.securebank.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far a rollup job has processed its source table. The row is locked for the duration
+ * of a run, so only one instance aggregates at a time.
+ */
+@Entity
+@Table(name = "rollup_watermarks")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupWatermark {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    // Source rows changed at or after this time (minus the job's lag) are not rolled up yet
+    @Column(nullable = false)
+    private LocalDateTime processedUntil;
+}
@@ -1,5 +1,6 @@
 package com.securebank.entity;
 
+import com.securebank.enums.HoldReason;
 import com.securebank.enums.TransactionStatus;
 import com.securebank.enums.TransactionType;
 import jakarta.persistence.*;
@@ -8,6 +9,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -62,7 +64,8 @@ public class Transaction {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false, length = 50)
@@ -90,12 +93,26 @@ public class Transaction {
     @JoinColumn(name = "to_account_id")
     private Account toAccount;
 
+    // Set for items of a bulk transfer; PENDING rows of a batch are its unfinished credits
+    @Column(length = 50)
+    private String batchId;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     @Builder.Default
     private TransactionStatus status = TransactionStatus.COMPLETED;
 
+    // Set when a transfer was held in PENDING for fraud review; kept after it is resolved
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private HoldReason holdReason;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
+
+    // Last status change; lets the rollup job find rows changed since its watermark.
+    // Null on rows written before the column existed
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
\ No newline at end of file
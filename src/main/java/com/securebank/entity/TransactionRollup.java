@@ -0,0 +1,36 @@
+package com.securebank.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Count and sums of the transactions created in one hour or day, per type, status and
+ * currency. Written only by the rollup job, which rebuilds whole buckets from
+ * {@code transactions}, so reports over long ranges read a few rows per bucket instead of
+ * scanning the transactions themselves.
+ */
+@Entity
+@Table(name = "transaction_rollups")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionRollup {
+
+    @EmbeddedId
+    private TransactionRollupId id;
+
+    @Column(nullable = false)
+    private long transactionCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalFee;
+}
@@ -0,0 +1,8 @@
+package com.securebank.enums;
+
+public enum AuditDurability {
+    /** Queued entries live only in memory and are lost if the process dies before a flush. */
+    NONE,
+    /** Entries are stored in audit_outbox by the business transaction and relayed from there. */
+    OUTBOX
+}
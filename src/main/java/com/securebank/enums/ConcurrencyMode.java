@@ -0,0 +1,10 @@
+package com.securebank.enums;
+
+public enum ConcurrencyMode {
+    /** Lock the account rows with SELECT ... FOR UPDATE for the whole operation. */
+    PESSIMISTIC,
+    /** Read without locks and rely on the @Version check when the balance is written. */
+    OPTIMISTIC,
+    /** Apply the balance change with one conditional UPDATE ... RETURNING; the database enforces the rules. */
+    ATOMIC
+}
@@ -0,0 +1,6 @@
+package com.securebank.enums;
+
+public enum EntryDirection {
+    DEBIT,
+    CREDIT
+}
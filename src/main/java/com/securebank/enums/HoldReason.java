@@ -0,0 +1,8 @@
+package com.securebank.enums;
+
+public enum HoldReason {
+    /** The transfer was scored as suspicious and waits for a reviewer. */
+    FRAUD_SUSPECTED,
+    /** Scoring did not finish within its budget; the transfer is re-scored in the background. */
+    SCORING_TIMEOUT
+}
@@ -0,0 +1,16 @@
+package com.securebank.enums;
+
+/**
+ * Ledger side of a posting. CUSTOMER postings belong to a customer {@code Account}; the
+ * others are bank-internal accounts that balance them.
+ */
+public enum LedgerAccount {
+    CUSTOMER,
+    /** Cash paid in by deposits and paid out by withdrawals. */
+    CASH,
+    FEE_INCOME,
+    /** Funds debited from a bulk transfer source that are not yet credited or refunded. */
+    SUSPENSE,
+    /** Counterpart for balances that existed before the ledger was introduced. */
+    OPENING_BALANCE
+}
@@ -0,0 +1,5 @@
+package com.securebank.enums;
+
+public enum RollupGranularity {
+    HOUR, DAY
+}
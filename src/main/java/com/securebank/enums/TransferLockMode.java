@@ -0,0 +1,8 @@
+package com.securebank.enums;
+
+public enum TransferLockMode {
+    /** Lock the source by id, then the destination by account number (legacy behaviour). */
+    SEQUENTIAL,
+    /** Resolve both ids first, then lock both rows in ascending id order with one statement. */
+    ORDERED
+}
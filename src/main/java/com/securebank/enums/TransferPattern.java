@@ -0,0 +1,12 @@
+package com.securebank.enums;
+
+public enum TransferPattern {
+    /** Money arrives from unusually many distinct senders. */
+    FAN_IN,
+    /** Money leaves to unusually many distinct recipients. */
+    FAN_OUT,
+    /** The account sits on a short cycle of transfers that returns money to its origin. */
+    CYCLE,
+    /** Most of a large incoming transfer is sent on again shortly after it arrives. */
+    PASS_THROUGH
+}
@@ -1,6 +1,7 @@
 package com.securebank.exception;
 
 import com.securebank.dto.response.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -48,6 +49,17 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage(), details));
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ApiResponse<Map<String, Object>>> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        Map<String, Object> details = new HashMap<>();
+        details.put("errorCode", "AUTH_BUSY");
+        details.put("timestamp", LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error(ex.getMessage(), details));
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ApiResponse<String>> handleBadCredentials(BadCredentialsException ex) {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -0,0 +1,14 @@
+package com.securebank.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    private final int retryAfterSeconds;
+
+    public PasswordHashingBusyException(int retryAfterSeconds) {
+        super("Too many sign-in requests right now. Please try again shortly.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,26 @@
+package com.securebank.repository;
+
+import com.securebank.entity.AccountAmountBaseline;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+
+@Repository
+public interface AccountAmountBaselineRepository extends JpaRepository<AccountAmountBaseline, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM AccountAmountBaseline b WHERE b.accountId = :accountId")
+    Optional<AccountAmountBaseline> findByIdWithLock(@Param("accountId") Long accountId);
+
+    @Modifying
+    @Query(value = "INSERT INTO account_amount_baselines (account_id, mean, variance, samples, updated_at) " +
+                   "VALUES (:accountId, 0, 0, 0, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (account_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("accountId") Long accountId);
+}
@@ -0,0 +1,19 @@
+package com.securebank.repository;
+
+import com.securebank.entity.AccountBalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface AccountBalanceCheckpointRepository extends JpaRepository<AccountBalanceCheckpoint, Long> {
+
+    Optional<AccountBalanceCheckpoint> findFirstByAccountIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(
+            Long accountId, LocalDateTime at);
+
+    @Query("SELECT MAX(c.checkpointAt) FROM AccountBalanceCheckpoint c")
+    Optional<LocalDateTime> findLatestCheckpointAt();
+}
@@ -0,0 +1,45 @@
+package com.securebank.repository;
+
+import com.securebank.entity.AccountBalanceSlot;
+import com.securebank.entity.AccountBalanceSlotId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, AccountBalanceSlotId> {
+
+    /**
+     * Adds to one slot if the account is ACTIVE. The account row is only read, never locked.
+     * Returns 0 when the account is missing or not ACTIVE.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account_balance_slots (account_id, slot, amount, updated_at) " +
+                   "SELECT :accountId, :slot, :amount, CURRENT_TIMESTAMP " +
+                   "WHERE EXISTS (SELECT 1 FROM accounts WHERE id = :accountId AND status = 'ACTIVE') " +
+                   "ON CONFLICT (account_id, slot) DO UPDATE SET amount = account_balance_slots.amount + EXCLUDED.amount, " +
+                   "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int creditSlotIfActive(@Param("accountId") Long accountId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
+
+    /**
+     * Zeroes every slot of the account and returns the total that was moved out.
+     */
+    @Query(value = "WITH pending AS (" +
+                   "  SELECT slot, amount FROM account_balance_slots WHERE account_id = :accountId AND amount <> 0 FOR UPDATE), " +
+                   "swept AS (" +
+                   "  UPDATE account_balance_slots s SET amount = s.amount - pending.amount, updated_at = CURRENT_TIMESTAMP " +
+                   "  FROM pending WHERE s.account_id = :accountId AND s.slot = pending.slot RETURNING pending.amount) " +
+                   "SELECT COALESCE(SUM(amount), 0) FROM swept", nativeQuery = true)
+    BigDecimal sweep(@Param("accountId") Long accountId);
+
+    @Query("SELECT COALESCE(SUM(s.amount), 0) FROM AccountBalanceSlot s WHERE s.id.accountId = :accountId")
+    BigDecimal sumByAccountId(@Param("accountId") Long accountId);
+
+    @Query("SELECT DISTINCT s.id.accountId FROM AccountBalanceSlot s WHERE s.amount <> 0")
+    List<Long> findAccountIdsWithPendingCredits();
+}
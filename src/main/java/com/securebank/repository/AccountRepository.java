@@ -2,6 +2,7 @@ package com.securebank.repository;
 
 import com.securebank.entity.Account;
 import com.securebank.enums.AccountStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +10,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,5 +32,80 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     @Query("SELECT a FROM Account a WHERE a.accountNumber = :accountNumber")
     Optional<Account> findByAccountNumberWithLock(@Param("accountNumber") String accountNumber);
 
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    @Query("SELECT a.id FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("SELECT a.id FROM Account a WHERE a.user.id = :userId ORDER BY a.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT a.user.id FROM Account a WHERE a.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    @Query("SELECT a.id FROM Account a WHERE a.user.username LIKE %:username% ORDER BY a.id")
+    List<Long> findIdsByUsernameContaining(@Param("username") String username, Pageable pageable);
+
+    @Query("SELECT a.id AS id, a.balanceSlots AS balanceSlots FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<AccountRef> findRefByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllByIdWithLockOrdered(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllByIdOrdered(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Debits in a single statement. Returns the new balance, or empty when the account is missing,
+     * not ACTIVE, or the debit would take the balance below {@code minBalance}.
+     */
+    @Query(value = "UPDATE accounts SET balance = balance - :amount, version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id = :id AND status = 'ACTIVE' AND balance - :amount >= :minBalance RETURNING balance", nativeQuery = true)
+    Optional<BigDecimal> debitIfSufficient(@Param("id") Long id, @Param("amount") BigDecimal amount, @Param("minBalance") BigDecimal minBalance);
+
+    /**
+     * Credits in a single statement. Returns the new balance, or empty when the account is missing or not ACTIVE.
+     */
+    @Query(value = "UPDATE accounts SET balance = balance + :amount, version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id = :id AND status = 'ACTIVE' RETURNING balance", nativeQuery = true)
+    Optional<BigDecimal> creditIfActive(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Adds to the balance unconditionally and returns the new balance. Used to fold
+     * consolidated hot-account credits back into the row.
+     */
+    @Query(value = "UPDATE accounts SET balance = balance + :amount, version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id = :id RETURNING balance", nativeQuery = true)
+    Optional<BigDecimal> addToBalance(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Query("SELECT a.balance AS balance, a.status AS status FROM Account a WHERE a.id = :id")
+    Optional<BalanceSnapshot> findBalanceSnapshot(@Param("id") Long id);
+
+    // Equivalent to SET LOCAL lock_timeout; bounds row lock waits for the rest of the transaction
+    @Query(value = "SELECT set_config('lock_timeout', :timeout, true)", nativeQuery = true)
+    String setLocalLockTimeout(@Param("timeout") String timeout);
+
     Long countByStatus(AccountStatus status);
-}
\ No newline at end of file
+
+    @Query("SELECT a.status AS status, COUNT(a) AS accounts FROM Account a GROUP BY a.status")
+    List<StatusCount> countGroupedByStatus();
+
+    interface BalanceSnapshot {
+        BigDecimal getBalance();
+
+        AccountStatus getStatus();
+    }
+
+    interface AccountRef {
+        Long getId();
+
+        Integer getBalanceSlots();
+    }
+
+    interface StatusCount {
+        AccountStatus getStatus();
+
+        long getAccounts();
+    }
+}
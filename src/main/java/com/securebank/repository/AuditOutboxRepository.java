@@ -0,0 +1,27 @@
+package com.securebank.repository;
+
+import com.securebank.entity.AuditOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AuditOutboxRepository extends JpaRepository<AuditOutboxEntry, Long> {
+
+    // SKIP LOCKED lets several instances relay at once without moving the same row twice
+    @Query(value = "SELECT * FROM audit_outbox WHERE attempts < :maxAttempts " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<AuditOutboxEntry> claimBatch(@Param("limit") int limit, @Param("maxAttempts") int maxAttempts);
+
+    @Query(value = "SELECT * FROM audit_outbox WHERE id = :id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<AuditOutboxEntry> claimById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE AuditOutboxEntry e SET e.attempts = e.attempts + 1 WHERE e.id = :id")
+    int recordFailedAttempt(@Param("id") Long id);
+}
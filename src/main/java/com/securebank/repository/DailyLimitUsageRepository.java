@@ -0,0 +1,53 @@
+package com.securebank.repository;
+
+import com.securebank.entity.DailyLimitUsage;
+import com.securebank.entity.DailyLimitUsageId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Repository
+public interface DailyLimitUsageRepository extends JpaRepository<DailyLimitUsage, DailyLimitUsageId> {
+
+    @Modifying
+    @Query("UPDATE DailyLimitUsage u SET u.withdrawnAmount = u.withdrawnAmount + :amount, u.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE u.id.accountId = :accountId AND u.id.usageDate = :date AND u.withdrawnAmount + :amount <= :limit")
+    int addWithdrawal(@Param("accountId") Long accountId, @Param("date") LocalDate date,
+                      @Param("amount") BigDecimal amount, @Param("limit") BigDecimal limit);
+
+    @Modifying
+    @Query("UPDATE DailyLimitUsage u SET u.transferredAmount = u.transferredAmount + :amount, u.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE u.id.accountId = :accountId AND u.id.usageDate = :date AND u.transferredAmount + :amount <= :limit")
+    int addTransfer(@Param("accountId") Long accountId, @Param("date") LocalDate date,
+                    @Param("amount") BigDecimal amount, @Param("limit") BigDecimal limit);
+
+    @Modifying
+    @Query("UPDATE DailyLimitUsage u SET u.transferredAmount = CASE WHEN u.transferredAmount > :amount " +
+           "THEN u.transferredAmount - :amount ELSE 0 END, u.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE u.id.accountId = :accountId AND u.id.usageDate = :date")
+    int releaseTransfer(@Param("accountId") Long accountId, @Param("date") LocalDate date, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_limit_usage (account_id, usage_date, withdrawn_amount, transferred_amount, updated_at) " +
+                   "VALUES (:accountId, :date, :withdrawn, :transferred, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (account_id, usage_date) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("accountId") Long accountId, @Param("date") LocalDate date,
+                       @Param("withdrawn") BigDecimal withdrawn, @Param("transferred") BigDecimal transferred);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_limit_usage (account_id, usage_date, withdrawn_amount, transferred_amount, updated_at) " +
+                   "VALUES (:accountId, :date, :withdrawn, :transferred, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (account_id, usage_date) DO UPDATE SET withdrawn_amount = EXCLUDED.withdrawn_amount, " +
+                   "transferred_amount = EXCLUDED.transferred_amount, updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int upsert(@Param("accountId") Long accountId, @Param("date") LocalDate date,
+               @Param("withdrawn") BigDecimal withdrawn, @Param("transferred") BigDecimal transferred);
+
+    @Modifying
+    @Query("DELETE FROM DailyLimitUsage u WHERE u.id.usageDate < :date")
+    int deleteUsageBefore(@Param("date") LocalDate date);
+}
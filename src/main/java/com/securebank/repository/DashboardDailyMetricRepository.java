@@ -0,0 +1,41 @@
+package com.securebank.repository;
+
+import com.securebank.entity.DashboardDailyMetric;
+import com.securebank.entity.DashboardDailyMetricId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DashboardDailyMetricRepository extends JpaRepository<DashboardDailyMetric, DashboardDailyMetricId> {
+
+    List<DashboardDailyMetric> findByIdMetricDateGreaterThanEqual(LocalDate from);
+
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_daily_metrics (metric_date, metric, metric_value, updated_at) " +
+                   "VALUES (:date, :metric, :delta, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (metric_date, metric) DO UPDATE " +
+                   "SET metric_value = dashboard_daily_metrics.metric_value + EXCLUDED.metric_value, updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int addDelta(@Param("date") LocalDate date, @Param("metric") String metric, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_daily_metrics (metric_date, metric, metric_value, updated_at) " +
+                   "VALUES (:date, :metric, :value, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (metric_date, metric) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("date") LocalDate date, @Param("metric") String metric, @Param("value") long value);
+
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_daily_metrics (metric_date, metric, metric_value, updated_at) " +
+                   "VALUES (:date, :metric, :value, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (metric_date, metric) DO UPDATE " +
+                   "SET metric_value = EXCLUDED.metric_value, updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int setValue(@Param("date") LocalDate date, @Param("metric") String metric, @Param("value") long value);
+}
@@ -0,0 +1,78 @@
+package com.securebank.repository;
+
+import com.securebank.entity.LedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    @Query("SELECT COALESCE(SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE 0 - e.amount END), 0) " +
+           "FROM LedgerEntry e WHERE e.ledgerAccount = 'CUSTOMER' AND e.account.id = :accountId AND e.createdAt <= :until")
+    BigDecimal sumCustomerMovementUntil(@Param("accountId") Long accountId, @Param("until") LocalDateTime until);
+
+    @Query("SELECT COALESCE(SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE 0 - e.amount END), 0) " +
+           "FROM LedgerEntry e WHERE e.ledgerAccount = 'CUSTOMER' AND e.account.id = :accountId " +
+           "AND e.createdAt > :from AND e.createdAt <= :until")
+    BigDecimal sumCustomerMovementBetween(@Param("accountId") Long accountId, @Param("from") LocalDateTime from,
+                                          @Param("until") LocalDateTime until);
+
+    @Query("SELECT e.account.id AS accountId, SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE 0 - e.amount END) AS amount " +
+           "FROM LedgerEntry e WHERE e.ledgerAccount = 'CUSTOMER' AND e.createdAt > :from AND e.createdAt <= :until " +
+           "GROUP BY e.account.id")
+    List<AccountMovement> sumCustomerMovementByAccount(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until);
+
+    @Query("SELECT e.transaction.id FROM LedgerEntry e WHERE e.transaction IS NOT NULL GROUP BY e.transaction.id " +
+           "HAVING SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE 0 - e.amount END) <> 0")
+    List<Long> findUnbalancedTransactionIds();
+
+    @Query("SELECT COUNT(e) > 0 FROM LedgerEntry e WHERE e.account.id = :accountId AND e.ledgerAccount = 'CUSTOMER' " +
+           "AND e.transaction IS NULL")
+    boolean hasOpeningBalance(@Param("accountId") Long accountId);
+
+    /**
+     * Accounts whose cached {@code balance} differs from their ledger balance, computed from
+     * each account's latest checkpoint plus the postings after it. Credits still held in
+     * hot-account slots count towards the cached side.
+     */
+    @Query(value = "WITH latest AS (" +
+                   "  SELECT DISTINCT ON (account_id) account_id, balance, checkpoint_at FROM account_balance_checkpoints " +
+                   "  ORDER BY account_id, checkpoint_at DESC), " +
+                   "movement AS (" +
+                   "  SELECT e.account_id, SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END) AS amount " +
+                   "  FROM ledger_entries e LEFT JOIN latest l ON l.account_id = e.account_id " +
+                   "  WHERE e.ledger_account = 'CUSTOMER' AND (l.checkpoint_at IS NULL OR e.created_at > l.checkpoint_at) " +
+                   "  GROUP BY e.account_id), " +
+                   "slots AS (" +
+                   "  SELECT account_id, SUM(amount) AS amount FROM account_balance_slots GROUP BY account_id) " +
+                   "SELECT a.id AS accountId, a.account_number AS accountNumber, " +
+                   "       a.balance + COALESCE(s.amount, 0) AS cachedBalance, " +
+                   "       COALESCE(l.balance, 0) + COALESCE(m.amount, 0) AS ledgerBalance " +
+                   "FROM accounts a LEFT JOIN latest l ON l.account_id = a.id LEFT JOIN movement m ON m.account_id = a.id " +
+                   "LEFT JOIN slots s ON s.account_id = a.id " +
+                   "WHERE a.balance + COALESCE(s.amount, 0) <> COALESCE(l.balance, 0) + COALESCE(m.amount, 0) " +
+                   "ORDER BY a.id", nativeQuery = true)
+    List<BalanceMismatch> findBalanceMismatches();
+
+    interface AccountMovement {
+        Long getAccountId();
+
+        BigDecimal getAmount();
+    }
+
+    interface BalanceMismatch {
+        Long getAccountId();
+
+        String getAccountNumber();
+
+        BigDecimal getCachedBalance();
+
+        BigDecimal getLedgerBalance();
+    }
+}
@@ -2,11 +2,17 @@ package com.securebank.repository;
 
 import com.securebank.entity.Account;
 import com.securebank.entity.Transaction;
+import com.securebank.enums.HoldReason;
 import com.securebank.enums.TransactionStatus;
 import com.securebank.enums.TransactionType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,20 +20,32 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
 
     Optional<Transaction> findByTransactionId(String transactionId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.transactionId = :transactionId")
+    Optional<Transaction> findByTransactionIdWithLock(@Param("transactionId") String transactionId);
+
+    Page<Transaction> findByStatusAndHoldReasonIsNotNull(TransactionStatus status, Pageable pageable);
+
+    @Query("SELECT t.transactionId FROM Transaction t WHERE t.status = 'PENDING' AND t.holdReason = :reason AND t.createdAt < :before")
+    List<String> findHeldTransactionIds(@Param("reason") HoldReason reason, @Param("before") LocalDateTime before);
+
     Page<Transaction> findByFromAccountOrToAccount(Account fromAccount, Account toAccount, Pageable pageable);
 
-    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.fromAccount.id = :accountId AND t.transactionType = 'WITHDRAW' AND DATE(t.createdAt) = :date AND t.status = 'COMPLETED'")
+    // Daily limit usage counts PENDING rows too: held and in-flight transfers consume the
+    // allowance when recorded and only give it back if they are refunded
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.fromAccount.id = :accountId AND t.transactionType = 'WITHDRAW' AND DATE(t.createdAt) = :date AND t.status IN ('COMPLETED', 'PENDING')")
     BigDecimal sumDailyWithdrawals(@Param("accountId") Long accountId, @Param("date") LocalDate date);
 
-    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.fromAccount.id = :accountId AND t.transactionType = 'TRANSFER' AND DATE(t.createdAt) = :date AND t.status = 'COMPLETED'")
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.fromAccount.id = :accountId AND t.transactionType = 'TRANSFER' AND DATE(t.createdAt) = :date AND t.status IN ('COMPLETED', 'PENDING')")
     BigDecimal sumDailyTransfers(@Param("accountId") Long accountId, @Param("date") LocalDate date);
 
     @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.createdAt BETWEEN :startDate AND :endDate AND t.status = 'COMPLETED'")
@@ -56,29 +74,35 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             @Param("status") TransactionStatus status,
             Pageable pageable);
 
-    @Query("SELECT t FROM Transaction t WHERE " +
-           "(:startDate IS NULL OR t.createdAt >= :startDate) AND " +
-           "(:endDate IS NULL OR t.createdAt <= :endDate) AND " +
-           "(:type IS NULL OR t.transactionType = :type) AND " +
-           "(:status IS NULL OR t.status = :status) AND " +
-           "(:username IS NULL OR t.fromAccount.user.username LIKE %:username% OR t.toAccount.user.username LIKE %:username%) AND " +
-           "(:accountNumber IS NULL OR t.fromAccount.accountNumber = :accountNumber OR t.toAccount.accountNumber = :accountNumber) AND " +
-           "(:minAmount IS NULL OR t.amount >= :minAmount) AND " +
-           "(:maxAmount IS NULL OR t.amount <= :maxAmount) " +
-           "ORDER BY t.createdAt DESC")
-    Page<Transaction> findAllTransactionsWithFilters(
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            @Param("type") TransactionType type,
-            @Param("status") TransactionStatus status,
-            @Param("username") String username,
-            @Param("accountNumber") String accountNumber,
-            @Param("minAmount") BigDecimal minAmount,
-            @Param("maxAmount") BigDecimal maxAmount,
-            Pageable pageable);
-
     List<Transaction> findByFromAccountIdOrToAccountId(Long fromAccountId, Long toAccountId);
 
+    /**
+     * Keyset variant of the account listing. Each side is its own ordered seek over
+     * {@code (from_account_id | to_account_id, created_at, id)}, so a page reads about
+     * {@code 2 * limit} index entries however deep the cursor is; an OR over both sides would
+     * need a bitmap scan and a sort of the account's whole remaining history instead. The
+     * second branch skips self-transfers already returned by the first.
+     */
+    String ACCOUNT_TRANSACTIONS_AFTER_SQL =
+            "SELECT u.* FROM (" +
+            "(SELECT t.* FROM transactions t WHERE t.from_account_id = :accountId " +
+            "AND (t.created_at, t.id) < (:cursorCreatedAt, :cursorId) " +
+            "ORDER BY t.created_at DESC, t.id DESC LIMIT :limit) " +
+            "UNION ALL " +
+            "(SELECT t.* FROM transactions t WHERE t.to_account_id = :accountId " +
+            "AND t.from_account_id IS DISTINCT FROM :accountId " +
+            "AND (t.created_at, t.id) < (:cursorCreatedAt, :cursorId) " +
+            "ORDER BY t.created_at DESC, t.id DESC LIMIT :limit)" +
+            ") u ORDER BY u.created_at DESC, u.id DESC LIMIT :limit";
+
+    // Filtered scrolls build their queries with TransactionSpecifications instead
+    @Query(value = ACCOUNT_TRANSACTIONS_AFTER_SQL, nativeQuery = true)
+    List<Transaction> findAccountTransactionsAfter(
+            @Param("accountId") Long accountId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            @Param("limit") int limit);
+
     @Query("SELECT COUNT(t) FROM Transaction t WHERE (t.fromAccount.user.id = :userId OR t.toAccount.user.id = :userId) AND t.createdAt >= :thirtyDaysAgo")
     Long countByUserIdInLast30Days(@Param("userId") Long userId, @Param("thirtyDaysAgo") LocalDateTime thirtyDaysAgo);
 
@@ -87,4 +111,66 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     @Query("SELECT t FROM Transaction t WHERE t.fromAccount.id = :accountId AND t.createdAt >= :since ORDER BY t.createdAt DESC")
     List<Transaction> findRecentTransactionsByAccount(@Param("accountId") Long accountId, @Param("since") LocalDateTime since);
-}
\ No newline at end of file
+
+    /**
+     * Id, amount and time of every outgoing transaction since the given instant, without
+     * loading entities. Used to seed the per-account fraud feature windows.
+     */
+    @Query("SELECT t.id AS id, t.amount AS amount, t.createdAt AS createdAt FROM Transaction t " +
+           "WHERE t.fromAccount.id = :accountId AND t.createdAt >= :since")
+    List<AccountActivity> findActivitySince(@Param("accountId") Long accountId, @Param("since") LocalDateTime since);
+
+    @Query("SELECT t.fromAccount.id AS fromAccountId, t.toAccount.id AS toAccountId, t.amount AS amount, " +
+           "t.createdAt AS createdAt FROM Transaction t " +
+           "WHERE t.transactionType = 'TRANSFER' AND t.status = 'COMPLETED' AND t.createdAt >= :since " +
+           "ORDER BY t.createdAt DESC")
+    List<TransferEdge> findTransferEdgesSince(@Param("since") LocalDateTime since, Pageable pageable);
+
+    /**
+     * Moves the given rows out of PENDING. Rows already resolved elsewhere are left alone, so
+     * the returned count tells the caller whether it still owned all of them.
+     */
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = :status, t.updatedAt = CURRENT_TIMESTAMP WHERE t.id IN :ids AND t.status = 'PENDING'")
+    int updatePendingStatus(@Param("ids") Collection<Long> ids, @Param("status") TransactionStatus status);
+
+    // Bulk items neither credited nor refunded, e.g. after a crash between the debit and the
+    // credits or a failed refund; held items are left to FraudReviewService
+    @Query("SELECT t.transactionId FROM Transaction t WHERE t.batchId IS NOT NULL AND t.status = 'PENDING' " +
+           "AND t.holdReason IS NULL AND t.createdAt < :before ORDER BY t.createdAt")
+    List<String> findStrandedBatchItemIds(@Param("before") LocalDateTime before, Pageable pageable);
+
+    @Query(value = "SELECT CAST(t.created_at AS date) AS day, t.transaction_type AS transactionType, " +
+                   "COUNT(*) AS transactionCount, COALESCE(SUM(t.amount), 0) AS volume " +
+                   "FROM transactions t WHERE t.status = 'COMPLETED' AND t.created_at >= :since " +
+                   "GROUP BY CAST(t.created_at AS date), t.transaction_type", nativeQuery = true)
+    List<DailyTypeTotal> sumCompletedByDayAndType(@Param("since") LocalDateTime since);
+
+    interface AccountActivity {
+        Long getId();
+
+        BigDecimal getAmount();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    interface TransferEdge {
+        Long getFromAccountId();
+
+        Long getToAccountId();
+
+        BigDecimal getAmount();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    interface DailyTypeTotal {
+        java.sql.Date getDay();
+
+        String getTransactionType();
+
+        long getTransactionCount();
+
+        BigDecimal getVolume();
+    }
+}
@@ -0,0 +1,62 @@
+package com.securebank.repository;
+
+import com.securebank.entity.TransactionRollup;
+import com.securebank.entity.TransactionRollupId;
+import com.securebank.enums.RollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, TransactionRollupId> {
+
+    @Query("SELECT r FROM TransactionRollup r WHERE r.id.granularity = :granularity " +
+           "AND r.id.bucketStart >= :from AND r.id.bucketStart < :to " +
+           "ORDER BY r.id.bucketStart, r.id.transactionType, r.id.status, r.id.currency")
+    List<TransactionRollup> findBuckets(@Param("granularity") RollupGranularity granularity,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+
+    // Rows written before updated_at existed have it null, hence the created_at arm
+    @Query(value = "SELECT DISTINCT date_trunc('hour', t.created_at) AS bucketStart FROM transactions t " +
+                   "WHERE t.updated_at >= :since OR t.created_at >= :since", nativeQuery = true)
+    List<HourBucket> findHoursChangedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query(value = "DELETE FROM transaction_rollups WHERE granularity = :granularity " +
+                   "AND bucket_start >= :from AND bucket_start < :to", nativeQuery = true)
+    int deleteBuckets(@Param("granularity") String granularity,
+                      @Param("from") LocalDateTime from,
+                      @Param("to") LocalDateTime to);
+
+    // Currency is the sending account's, or the receiving account's for deposits
+    @Modifying
+    @Query(value = "INSERT INTO transaction_rollups " +
+                   "(granularity, bucket_start, transaction_type, status, currency, transaction_count, total_amount, total_fee) " +
+                   "SELECT 'HOUR', date_trunc('hour', t.created_at), t.transaction_type, t.status, a.currency, " +
+                   "COUNT(*), SUM(t.amount), SUM(t.fee) " +
+                   "FROM transactions t JOIN accounts a ON a.id = COALESCE(t.from_account_id, t.to_account_id) " +
+                   "WHERE t.created_at >= :from AND t.created_at < :to " +
+                   "GROUP BY 2, 3, 4, 5", nativeQuery = true)
+    int insertHourBuckets(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "INSERT INTO transaction_rollups " +
+                   "(granularity, bucket_start, transaction_type, status, currency, transaction_count, total_amount, total_fee) " +
+                   "SELECT 'DAY', date_trunc('day', r.bucket_start), r.transaction_type, r.status, r.currency, " +
+                   "SUM(r.transaction_count), SUM(r.total_amount), SUM(r.total_fee) " +
+                   "FROM transaction_rollups r " +
+                   "WHERE r.granularity = 'HOUR' AND r.bucket_start >= :from AND r.bucket_start < :to " +
+                   "GROUP BY 2, 3, 4, 5", nativeQuery = true)
+    int insertDayBucketsFromHours(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    interface HourBucket {
+        Timestamp getBucketStart();
+    }
+}
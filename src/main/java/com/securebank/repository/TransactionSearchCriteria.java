@@ -0,0 +1,32 @@
+package com.securebank.repository;
+
+import com.securebank.enums.TransactionStatus;
+import com.securebank.enums.TransactionType;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Optional filters of the transaction searches; null fields are left out of the query.
+ * Account number and username are resolved to account ids beforehand where possible, so
+ * the search seeks on the account indexes instead of joining users.
+ *
+ * @param accountId       transactions from or to this account
+ * @param userAccountIds  transactions from or to any of these accounts
+ * @param username        fallback for {@code userAccountIds} when the username matches too
+ *                        many accounts: transactions whose either side's owner contains it
+ */
+@Builder
+public record TransactionSearchCriteria(
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        TransactionType type,
+        TransactionStatus status,
+        Long accountId,
+        Collection<Long> userAccountIds,
+        String username,
+        BigDecimal minAmount,
+        BigDecimal maxAmount) {
+}
@@ -0,0 +1,100 @@
+package com.securebank.repository;
+
+import com.securebank.entity.Account;
+import com.securebank.entity.Transaction;
+import com.securebank.entity.User;
+import com.securebank.util.TransactionCursor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds transaction searches from only the filters actually supplied. A catch-all query of
+ * {@code (:x IS NULL OR col = :x)} terms gets one generic plan for every combination, which
+ * on Postgres is a sequential scan; here each combination is its own statement and can use
+ * the matching {@code (column, created_at)} index on {@code transactions}.
+ */
+public final class TransactionSpecifications {
+
+    /**
+     * Newest first, with the id as tie-breaker so keyset pages are stable.
+     */
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private TransactionSpecifications() {
+    }
+
+    public static Specification<Transaction> matching(TransactionSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            Path<LocalDateTime> createdAt = root.get("createdAt");
+            if (criteria.startDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(createdAt, criteria.startDate()));
+            }
+            if (criteria.endDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(createdAt, criteria.endDate()));
+            }
+            if (criteria.type() != null) {
+                predicates.add(cb.equal(root.get("transactionType"), criteria.type()));
+            }
+            if (criteria.status() != null) {
+                predicates.add(cb.equal(root.get("status"), criteria.status()));
+            }
+            if (criteria.accountId() != null) {
+                predicates.add(cb.or(
+                        cb.equal(root.get("fromAccount").get("id"), criteria.accountId()),
+                        cb.equal(root.get("toAccount").get("id"), criteria.accountId())));
+            }
+            if (criteria.userAccountIds() != null) {
+                predicates.add(cb.or(
+                        root.get("fromAccount").get("id").in(criteria.userAccountIds()),
+                        root.get("toAccount").get("id").in(criteria.userAccountIds())));
+            } else if (criteria.username() != null) {
+                predicates.add(ownerUsernameContains(root, cb, criteria.username()));
+            }
+            if (criteria.minAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("amount"), criteria.minAmount()));
+            }
+            if (criteria.maxAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("amount"), criteria.maxAmount()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Rows strictly after {@code cursor} in {@link #NEWEST_FIRST} order. The leading
+     * {@code createdAt <= cursor} term is redundant logically but is what the planner can turn
+     * into an index bound, so a deep page starts its scan at the cursor rather than reading and
+     * discarding every newer row; the tie-break OR only filters the rows sharing its instant.
+     */
+    public static Specification<Transaction> after(TransactionCursor cursor) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> createdAt = root.get("createdAt");
+            Path<Long> id = root.get("id");
+            return cb.and(
+                    cb.lessThanOrEqualTo(createdAt, cursor.createdAt()),
+                    cb.or(
+                            cb.lessThan(createdAt, cursor.createdAt()),
+                            cb.and(cb.equal(createdAt, cursor.createdAt()), cb.lessThan(id, cursor.id()))));
+        };
+    }
+
+    private static Predicate ownerUsernameContains(Root<Transaction> root, CriteriaBuilder cb, String username) {
+        String pattern = "%" + username + "%";
+        Join<Transaction, Account> from = root.join("fromAccount", JoinType.LEFT);
+        Join<Transaction, Account> to = root.join("toAccount", JoinType.LEFT);
+        Join<Account, User> fromUser = from.join("user", JoinType.LEFT);
+        Join<Account, User> toUser = to.join("user", JoinType.LEFT);
+        return cb.or(cb.like(fromUser.get("username"), pattern), cb.like(toUser.get("username"), pattern));
+    }
+}
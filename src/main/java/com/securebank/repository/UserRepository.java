@@ -2,11 +2,13 @@ package com.securebank.repository;
 
 import com.securebank.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -22,4 +24,25 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT COUNT(u) FROM User u WHERE u.createdAt >= :startDate")
     Long countByCreatedAtAfter(@Param("startDate") LocalDateTime startDate);
-}
\ No newline at end of file
+
+    @Query(value = "SELECT CAST(u.created_at AS date) AS day, COUNT(*) AS users FROM users u " +
+                   "WHERE u.created_at >= :since GROUP BY CAST(u.created_at AS date)", nativeQuery = true)
+    List<DailyCount> countNewUsersByDay(@Param("since") LocalDateTime since);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1, u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password, u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    interface DailyCount {
+        java.sql.Date getDay();
+
+        long getUsers();
+    }
+}
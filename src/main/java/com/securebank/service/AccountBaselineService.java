@@ -0,0 +1,154 @@
+package com.securebank.service;
+
+import com.securebank.entity.AccountAmountBaseline;
+import com.securebank.entity.Transaction;
+import com.securebank.repository.AccountAmountBaselineRepository;
+import com.securebank.util.AfterCommit;
+import com.securebank.util.BoundedCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-account exponentially weighted baseline of outgoing amounts, used to score how unusual
+ * a new amount is as a z-score.
+ *
+ * The persisted mean and variance are folded forward inside the transaction that moves the
+ * money, so the baseline commits or rolls back with it. Reads are served from memory and
+ * refreshed from the row after commit or once the cached copy is older than the TTL, which
+ * bounds how long another instance's updates stay invisible.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountBaselineService {
+
+    // The standard deviation used for z-scores is at least this share of the mean, so an
+    // account that always sends the same amount is not flagged for a small deviation
+    static final double MIN_STDDEV_RATIO = 0.1;
+
+    // Weight of the newest amount; 0.05 remembers roughly the last 40 transactions
+    @Value("${fraud.baseline.alpha:0.05}")
+    private double alpha = 0.05;
+
+    @Value("${fraud.baseline.cache-ttl-seconds:300}")
+    private long cacheTtlSeconds = 300;
+
+    @Value("${fraud.baseline.max-cached-accounts:100000}")
+    private int maxCachedAccounts = 100_000;
+
+    private final AccountAmountBaselineRepository baselineRepository;
+    private BoundedCache<Long, Cached> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new BoundedCache<>(maxCachedAccounts, TimeUnit.NANOSECONDS, System::nanoTime,
+                cached -> cached.loadedAtNanos() + TimeUnit.SECONDS.toNanos(cacheTtlSeconds));
+    }
+
+    public Baseline get(Long accountId) {
+        Cached cached = cache.get(accountId);
+        if (cached != null) {
+            return cached.baseline();
+        }
+        Baseline loaded = baselineRepository.findById(accountId)
+                .map(Baseline::of)
+                .orElse(Baseline.EMPTY);
+        cache(accountId, loaded);
+        return loaded;
+    }
+
+    /**
+     * Whether {@link #get} will answer from memory without touching the database.
+     */
+    public boolean isCached(Long accountId) {
+        return cache.get(accountId) != null;
+    }
+
+    @Transactional
+    public void record(Transaction transaction) {
+        record(List.of(transaction));
+    }
+
+    /**
+     * Folds the amounts into their source accounts' baselines in the current transaction.
+     * Rows are locked in account order, so concurrent batches cannot deadlock on them.
+     */
+    @Transactional
+    public void record(Collection<Transaction> transactions) {
+        Map<Long, List<BigDecimal>> amountsByAccount = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getFromAccount() != null) {
+                amountsByAccount.computeIfAbsent(transaction.getFromAccount().getId(), id -> new ArrayList<>())
+                        .add(transaction.getAmount());
+            }
+        }
+
+        for (Map.Entry<Long, List<BigDecimal>> entry : amountsByAccount.entrySet()) {
+            Long accountId = entry.getKey();
+            baselineRepository.insertIfAbsent(accountId);
+            AccountAmountBaseline row = baselineRepository.findByIdWithLock(accountId)
+                    .orElseThrow(() -> new RuntimeException("Baseline not found for account " + accountId));
+
+            Baseline updated = Baseline.of(row);
+            for (BigDecimal amount : entry.getValue()) {
+                updated = updated.observe(amount.doubleValue(), alpha);
+            }
+            row.setMean(updated.mean());
+            row.setVariance(updated.variance());
+            row.setSamples(updated.samples());
+            baselineRepository.save(row);
+
+            Baseline committed = updated;
+            AfterCommit.run(() -> cache(accountId, committed));
+        }
+    }
+
+    private void cache(Long accountId, Baseline baseline) {
+        cache.put(accountId, new Cached(baseline, System.nanoTime()));
+    }
+
+    /**
+     * Mean and variance of an account's outgoing amounts, weighted towards recent ones.
+     */
+    public record Baseline(double mean, double variance, long samples) {
+
+        static final Baseline EMPTY = new Baseline(0, 0, 0);
+
+        static Baseline of(AccountAmountBaseline row) {
+            return new Baseline(row.getMean(), row.getVariance(), row.getSamples());
+        }
+
+        Baseline observe(double amount, double alpha) {
+            if (samples == 0) {
+                return new Baseline(amount, 0, 1);
+            }
+            double diff = amount - mean;
+            double increment = alpha * diff;
+            return new Baseline(mean + increment, (1 - alpha) * (variance + diff * increment), samples + 1);
+        }
+
+        /**
+         * How many standard deviations the amount lies above the mean; 0 without history.
+         */
+        public double zScore(double amount) {
+            if (samples == 0) {
+                return 0;
+            }
+            double stddev = Math.max(Math.sqrt(variance), Math.max(MIN_STDDEV_RATIO * mean, 1.0));
+            return (amount - mean) / stddev;
+        }
+    }
+
+    private record Cached(Baseline baseline, long loadedAtNanos) {
+    }
+}
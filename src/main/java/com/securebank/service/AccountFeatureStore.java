@@ -0,0 +1,315 @@
+package com.securebank.service;
+
+import com.securebank.entity.Transaction;
+import com.securebank.repository.TransactionRepository;
+import com.securebank.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory sliding-window features of each account's outgoing transactions, used by fraud
+ * checks instead of reloading a day of entities per evaluation.
+ *
+ * Each account keeps five-minute buckets covering 24 hours with the count, sum and
+ * large-amount count of the transactions that fell into them. Only buckets that saw a
+ * transaction are stored, so a typical account costs a few hundred bytes; one active in every
+ * bucket of the day peaks at about 7 KB. Committed transactions are added incrementally; an
+ * account that is not cached is seeded from the database on first use. Windows are evicted
+ * once they have been idle for a full day.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountFeatureStore {
+
+    static final int BUCKET_SECONDS = 300;
+    static final int BUCKETS = 24 * 3600 / BUCKET_SECONDS;
+    static final int HOUR_BUCKETS = 3600 / BUCKET_SECONDS;
+    // Windows only go idle after a day without activity, so a full store gains little from
+    // scanning more often than this on the scoring path
+    private static final long LOAD_EVICTION_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    @Value("${fraud.features.max-accounts:100000}")
+    private int maxAccounts = 100_000;
+
+    // Amounts at or above this count towards largeCount24h
+    @Value("${fraud.features.large-amount-threshold:5000}")
+    private BigDecimal largeAmountThreshold = new BigDecimal("5000");
+
+    private final TransactionRepository transactionRepository;
+    private final ConcurrentHashMap<Long, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicLong lastLoadEviction = new AtomicLong(System.nanoTime() - LOAD_EVICTION_INTERVAL_NANOS);
+
+    /**
+     * Features of the account's outgoing transactions over the last hour and day.
+     */
+    public Features get(Long accountId) {
+        long now = epochSecond(LocalDateTime.now());
+        Window window = windows.get(accountId);
+        if (window == null || !window.isSeeded()) {
+            window = load(accountId);
+        }
+        return window.features(now);
+    }
+
+    /**
+     * Adds the transaction to its source account's window once the surrounding transaction
+     * commits. Accounts that are not cached pick it up when they are next seeded.
+     */
+    public void recordAfterCommit(Transaction transaction) {
+        AfterCommit.run(() -> record(transaction));
+    }
+
+    public void recordAfterCommit(Collection<Transaction> transactions) {
+        List<Transaction> copy = List.copyOf(transactions);
+        AfterCommit.run(() -> copy.forEach(this::record));
+    }
+
+    void record(Transaction transaction) {
+        if (transaction.getFromAccount() == null) {
+            return;
+        }
+        Window window = windows.get(transaction.getFromAccount().getId());
+        if (window != null) {
+            LocalDateTime createdAt = transaction.getCreatedAt() != null ? transaction.getCreatedAt() : LocalDateTime.now();
+            window.record(transaction.getId(), epochSecond(createdAt), transaction.getAmount());
+        }
+    }
+
+    /**
+     * Whether the account's window is in memory and seeded, i.e. {@link #get} will not touch
+     * the database. A window still being seeded by another caller does not count: {@link #get}
+     * would read the history itself.
+     */
+    public boolean isCached(Long accountId) {
+        Window window = windows.get(accountId);
+        return window != null && window.isSeeded();
+    }
+
+    public void evict(Long accountId) {
+        windows.remove(accountId);
+    }
+
+    int size() {
+        return windows.size();
+    }
+
+    /**
+     * Drops windows without activity in the last 24 hours. Returns the number removed.
+     */
+    @Scheduled(fixedDelayString = "${fraud.features.evict-interval-ms:600000}")
+    public int evictIdle() {
+        long currentBucket = Math.floorDiv(epochSecond(LocalDateTime.now()), BUCKET_SECONDS);
+        int before = windows.size();
+        windows.values().removeIf(window -> window.isIdle(currentBucket));
+        return before - windows.size();
+    }
+
+    /**
+     * Registers a seeding window before reading the account's history, so transactions that
+     * commit while the query runs are buffered by {@link #record} rather than lost, and merges
+     * them in by id afterwards. A caller that finds another one seeding, or the store full,
+     * reads the history into a window that is not cached. A full store is swept for idle
+     * windows at most once per interval, so a store full of active ones does not make every
+     * cold lookup scan it.
+     */
+    private Window load(Long accountId) {
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        if (windows.size() >= maxAccounts) {
+            evictIdleThrottled();
+            if (windows.size() >= maxAccounts) {
+                return loadUncached(accountId, since);
+            }
+        }
+        Window seeding = new Window(largeAmountThreshold);
+        Window existing = windows.putIfAbsent(accountId, seeding);
+        if (existing != null) {
+            return existing.isSeeded() ? existing : loadUncached(accountId, since);
+        }
+        try {
+            seeding.seed(transactionRepository.findActivitySince(accountId, since));
+        } catch (RuntimeException ex) {
+            windows.remove(accountId, seeding);
+            throw ex;
+        }
+        return seeding;
+    }
+
+    private void evictIdleThrottled() {
+        long now = System.nanoTime();
+        long last = lastLoadEviction.get();
+        if (now - last < LOAD_EVICTION_INTERVAL_NANOS || !lastLoadEviction.compareAndSet(last, now)) {
+            return;
+        }
+        evictIdle();
+    }
+
+    private Window loadUncached(Long accountId, LocalDateTime since) {
+        Window uncached = new Window(largeAmountThreshold);
+        uncached.seed(transactionRepository.findActivitySince(accountId, since));
+        return uncached;
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Outgoing activity of one account. Amounts are kept in minor units.
+     */
+    public record Features(int countLastHour, int count24h, long sum24hMinor, int largeCount24h) {
+
+        public BigDecimal sum24h() {
+            return BigDecimal.valueOf(sum24hMinor, 2);
+        }
+    }
+
+    private record PendingActivity(Long transactionId, long epochSecond, BigDecimal amount) {
+    }
+
+    static final class Window {
+
+        private static final int INITIAL_CAPACITY = 4;
+
+        private final BigDecimal largeAmountThreshold;
+        // Occupied buckets in ascending order; parallel arrays grown on demand
+        private long[] bucketIds = new long[INITIAL_CAPACITY];
+        private int[] counts = new int[INITIAL_CAPACITY];
+        private long[] sums = new long[INITIAL_CAPACITY];
+        private int[] largeCounts = new int[INITIAL_CAPACITY];
+        private int size;
+        private long lastBucket;
+        // Transactions recorded while the window is being seeded; null once seeded
+        private List<PendingActivity> pending = new ArrayList<>();
+
+        Window(BigDecimal largeAmountThreshold) {
+            this.largeAmountThreshold = largeAmountThreshold;
+        }
+
+        synchronized boolean isSeeded() {
+            return pending == null;
+        }
+
+        synchronized void record(Long transactionId, long epochSecond, BigDecimal amount) {
+            if (pending != null) {
+                pending.add(new PendingActivity(transactionId, epochSecond, amount));
+            } else {
+                add(epochSecond, amount);
+            }
+        }
+
+        /**
+         * Adds the loaded history, then whatever was recorded meanwhile and is not part of it.
+         */
+        synchronized void seed(List<TransactionRepository.AccountActivity> history) {
+            Set<Long> loaded = new HashSet<>();
+            for (TransactionRepository.AccountActivity activity : history) {
+                add(epochSecond(activity.getCreatedAt()), activity.getAmount());
+                loaded.add(activity.getId());
+            }
+            for (PendingActivity activity : pending) {
+                if (activity.transactionId() == null || !loaded.contains(activity.transactionId())) {
+                    add(activity.epochSecond(), activity.amount());
+                }
+            }
+            pending = null;
+        }
+
+        synchronized void add(long epochSecond, BigDecimal amount) {
+            long bucket = Math.floorDiv(epochSecond, BUCKET_SECONDS);
+            if (bucket <= lastBucket - BUCKETS) {
+                return;
+            }
+            lastBucket = Math.max(lastBucket, bucket);
+            dropBucketsBefore(lastBucket - BUCKETS + 1);
+
+            int i = size;
+            while (i > 0 && bucketIds[i - 1] > bucket) {
+                i--;
+            }
+            if (i == 0 || bucketIds[i - 1] != bucket) {
+                insertBucket(i, bucket);
+            } else {
+                i--;
+            }
+            counts[i]++;
+            sums[i] += amount.movePointRight(2).longValue();
+            if (amount.compareTo(largeAmountThreshold) >= 0) {
+                largeCounts[i]++;
+            }
+        }
+
+        synchronized Features features(long nowSecond) {
+            long current = Math.floorDiv(nowSecond, BUCKET_SECONDS);
+            int countLastHour = 0;
+            int count24h = 0;
+            long sum24h = 0;
+            int largeCount24h = 0;
+            for (int i = 0; i < size; i++) {
+                long bucket = bucketIds[i];
+                if (bucket > current || bucket <= current - BUCKETS) {
+                    continue;
+                }
+                count24h += counts[i];
+                sum24h += sums[i];
+                largeCount24h += largeCounts[i];
+                if (bucket > current - HOUR_BUCKETS) {
+                    countLastHour += counts[i];
+                }
+            }
+            return new Features(countLastHour, count24h, sum24h, largeCount24h);
+        }
+
+        synchronized boolean isIdle(long currentBucket) {
+            return pending == null && lastBucket <= currentBucket - BUCKETS;
+        }
+
+        private void dropBucketsBefore(long firstBucket) {
+            int expired = 0;
+            while (expired < size && bucketIds[expired] < firstBucket) {
+                expired++;
+            }
+            if (expired > 0) {
+                size -= expired;
+                System.arraycopy(bucketIds, expired, bucketIds, 0, size);
+                System.arraycopy(counts, expired, counts, 0, size);
+                System.arraycopy(sums, expired, sums, 0, size);
+                System.arraycopy(largeCounts, expired, largeCounts, 0, size);
+            }
+        }
+
+        private void insertBucket(int index, long bucket) {
+            if (size == bucketIds.length) {
+                int capacity = Math.min(size * 2, BUCKETS);
+                bucketIds = Arrays.copyOf(bucketIds, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                sums = Arrays.copyOf(sums, capacity);
+                largeCounts = Arrays.copyOf(largeCounts, capacity);
+            }
+            int tail = size - index;
+            System.arraycopy(bucketIds, index, bucketIds, index + 1, tail);
+            System.arraycopy(counts, index, counts, index + 1, tail);
+            System.arraycopy(sums, index, sums, index + 1, tail);
+            System.arraycopy(largeCounts, index, largeCounts, index + 1, tail);
+            bucketIds[index] = bucket;
+            counts[index] = 0;
+            sums[index] = 0;
+            largeCounts[index] = 0;
+            size++;
+        }
+    }
+}
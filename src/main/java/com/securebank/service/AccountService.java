@@ -2,6 +2,7 @@ package com.securebank.service;
 
 import com.securebank.dto.request.CreateAccountRequest;
 import com.securebank.dto.response.AccountResponse;
+import com.securebank.dto.response.CursorPageResponse;
 import com.securebank.dto.response.TransactionResponse;
 import com.securebank.entity.Account;
 import com.securebank.entity.AuditLog;
@@ -9,13 +10,14 @@ import com.securebank.entity.Transaction;
 import com.securebank.entity.User;
 import com.securebank.enums.AccountStatus;
 import com.securebank.repository.AccountRepository;
-import com.securebank.repository.AuditLogRepository;
 import com.securebank.repository.TransactionRepository;
 import com.securebank.repository.UserRepository;
 import com.securebank.util.AccountNumberGenerator;
+import com.securebank.util.TransactionCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,8 +32,10 @@ public class AccountService {
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
     private final AccountNumberGenerator accountNumberGenerator;
+    private final HotAccountService hotAccountService;
+    private final DashboardMetricsService dashboardMetricsService;
 
     public AccountResponse createAccount(CreateAccountRequest request, Long userId) {
         User user = userRepository.findById(userId)
@@ -49,6 +53,7 @@ public class AccountService {
                 .build();
 
         account = accountRepository.save(account);
+        dashboardMetricsService.accountCreatedAfterCommit(account.getStatus());
 
         // Audit log
         AuditLog auditLog = AuditLog.builder()
@@ -57,7 +62,7 @@ public class AccountService {
                 .entityType("ACCOUNT")
                 .entityId(account.getId())
                 .build();
-        auditLogRepository.save(auditLog);
+        auditLogWriter.write(auditLog);
 
         return mapToAccountResponse(account);
     }
@@ -92,7 +97,7 @@ public class AccountService {
             throw new RuntimeException("Access denied");
         }
 
-        return account.getBalance();
+        return hotAccountService.availableBalance(account);
     }
 
     public Page<TransactionResponse> getAccountStatement(Long accountId, Long userId, Pageable pageable) {
@@ -107,6 +112,25 @@ public class AccountService {
         return transactions.map(this::mapToTransactionResponse);
     }
 
+    /**
+     * Keyset-paginated form of {@link #getAccountStatement}, newest first.
+     */
+    public CursorPageResponse<TransactionResponse> scrollAccountStatement(Long accountId, Long userId, String cursor, int size) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+
+        if (!account.getUser().getId().equals(userId)) {
+            throw new RuntimeException("Access denied");
+        }
+
+        TransactionCursor after = TransactionCursor.decode(cursor);
+        Pageable limit = TransactionCursor.limit(size);
+        Slice<Transaction> transactions = TransactionCursor.slice(transactionRepository.findAccountTransactionsAfter(
+                accountId, after.createdAt(), after.id(), limit.getPageSize() + 1), limit);
+        return CursorPageResponse.of(transactions.map(this::mapToTransactionResponse).getContent(),
+                TransactionCursor.next(transactions));
+    }
+
     @Transactional
     public void updateAccountStatus(Long accountId, AccountStatus status, Long userId) {
         Account account = accountRepository.findById(accountId)
@@ -116,6 +140,7 @@ public class AccountService {
             throw new RuntimeException("Access denied");
         }
 
+        dashboardMetricsService.accountStatusChangedAfterCommit(account.getStatus(), status);
         account.setStatus(status);
         accountRepository.save(account);
 
@@ -127,7 +152,7 @@ public class AccountService {
                 .entityType("ACCOUNT")
                 .entityId(account.getId())
                 .build();
-        auditLogRepository.save(auditLog);
+        auditLogWriter.write(auditLog);
     }
 
     private AccountResponse mapToAccountResponse(Account account) {
@@ -135,7 +160,7 @@ public class AccountService {
         response.setId(account.getId());
         response.setAccountNumber(account.getAccountNumber());
         response.setAccountType(account.getAccountType());
-        response.setBalance(account.getBalance());
+        response.setBalance(hotAccountService.availableBalance(account));
         response.setCurrency(account.getCurrency());
         response.setStatus(account.getStatus());
         response.setCreatedAt(account.getCreatedAt());
@@ -145,7 +170,7 @@ public class AccountService {
     public Object getUserDashboard(Long userId) {
         List<Account> accounts = accountRepository.findByUserId(userId);
         BigDecimal totalBalance = accounts.stream()
-                .map(Account::getBalance)
+                .map(hotAccountService::availableBalance)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         
         java.time.LocalDateTime thirtyDaysAgo = java.time.LocalDateTime.now().minusDays(30);
@@ -1,129 +1,109 @@
 package com.securebank.service;
 
 import com.securebank.dto.response.AdminDashboardResponse;
+import com.securebank.dto.response.CursorPageResponse;
+import com.securebank.dto.response.DailyLimitUsageResponse;
+import com.securebank.dto.response.FraudRuleSetResponse;
+import com.securebank.dto.response.TransferGraphResponse;
+import com.securebank.dto.response.LedgerReconciliationResponse;
+import com.securebank.dto.response.PasswordHashingStatsResponse;
+import com.securebank.dto.response.TransactionReportResponse;
 import com.securebank.dto.response.TransactionResponse;
 import com.securebank.entity.Account;
 import com.securebank.entity.AuditLog;
+import com.securebank.entity.DailyLimitUsage;
 import com.securebank.entity.Transaction;
+import com.securebank.entity.TransactionRollup;
 import com.securebank.enums.AccountStatus;
+import com.securebank.enums.RollupGranularity;
 import com.securebank.enums.TransactionStatus;
 import com.securebank.enums.TransactionType;
 import com.securebank.repository.AccountRepository;
-import com.securebank.repository.AuditLogRepository;
 import com.securebank.repository.TransactionRepository;
+import com.securebank.repository.TransactionSearchCriteria;
+import com.securebank.repository.TransactionSpecifications;
 import com.securebank.repository.UserRepository;
+import com.securebank.util.TransactionCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class AdminService {
 
+    @Value("${account.hot.max-slots:64}")
+    private int maxHotSlots = 64;
+
+    // Above this many accounts a username filter joins users instead of listing account ids
+    @Value("${admin.search.max-username-accounts:500}")
+    private int maxUsernameAccounts = 500;
+
+    @Value("${rollup.report.max-hourly-days:31}")
+    private int maxHourlyReportDays = 31;
+
     private final UserRepository userRepository;
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final DailyLimitService dailyLimitService;
+    private final LedgerService ledgerService;
+    private final HotAccountService hotAccountService;
+    private final FraudReviewService fraudReviewService;
+    private final FraudRuleEngine fraudRuleEngine;
+    private final TransferGraphService transferGraphService;
+    private final PasswordHashingService passwordHashingService;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final TransactionRollupService transactionRollupService;
 
+    /**
+     * Served from {@link DashboardMetricsService}'s in-memory counters; no aggregate queries.
+     */
     public AdminDashboardResponse getDashboardMetrics() {
-        LocalDate today = LocalDate.now();
-        LocalDateTime startOfDay = today.atStartOfDay();
-        LocalDateTime endOfDay = today.atTime(23, 59, 59);
-        LocalDate weekAgo = today.minusDays(7);
-
-        // Basic counts
-        Long totalUsers = userRepository.count();
-        Long totalAccounts = accountRepository.count();
-        Long newUsersThisWeek = userRepository.countByCreatedAtAfter(weekAgo.atStartOfDay());
-
-        // Today's transaction metrics
-        BigDecimal todayVolume = getTodayTransactionVolume(startOfDay, endOfDay);
-        Long todayCount = getTodayTransactionCount(startOfDay, endOfDay);
-
-        // Account status distribution
-        Long activeAccounts = accountRepository.countByStatus(AccountStatus.ACTIVE);
-        Long frozenAccounts = accountRepository.countByStatus(AccountStatus.FROZEN);
-        Long closedAccounts = accountRepository.countByStatus(AccountStatus.CLOSED);
-
-        // Transaction type breakdown for today
-        BigDecimal todayDeposits = getTodayTransactionsByType(TransactionType.DEPOSIT, startOfDay, endOfDay);
-        BigDecimal todayWithdrawals = getTodayTransactionsByType(TransactionType.WITHDRAW, startOfDay, endOfDay);
-        BigDecimal todayTransfers = getTodayTransactionsByType(TransactionType.TRANSFER, startOfDay, endOfDay);
-
-        // Transaction counts by type
-        Long depositCount = getTodayTransactionCountByType(TransactionType.DEPOSIT, startOfDay, endOfDay);
-        Long withdrawalCount = getTodayTransactionCountByType(TransactionType.WITHDRAW, startOfDay, endOfDay);
-        Long transferCount = getTodayTransactionCountByType(TransactionType.TRANSFER, startOfDay, endOfDay);
-
-        // Daily volume for last 7 days
-        Map<String, BigDecimal> dailyVolume = getDailyVolumeForLastWeek();
+        DashboardMetricsService.Snapshot metrics = dashboardMetricsService.snapshot();
+        Map<String, BigDecimal> dailyVolume = new LinkedHashMap<>();
+        metrics.dailyVolume().forEach((date, volume) -> dailyVolume.put(date.toString(), volume));
 
         return AdminDashboardResponse.builder()
-                .totalUsers(totalUsers)
-                .totalAccounts(totalAccounts)
-                .newUsersThisWeek(newUsersThisWeek)
-                .todayTransactionVolume(todayVolume)
-                .todayTransactionCount(todayCount)
-                .activeAccounts(activeAccounts)
-                .frozenAccounts(frozenAccounts)
-                .closedAccounts(closedAccounts)
-                .todayDeposits(todayDeposits)
-                .todayWithdrawals(todayWithdrawals)
-                .todayTransfers(todayTransfers)
-                .depositCount(depositCount)
-                .withdrawalCount(withdrawalCount)
-                .transferCount(transferCount)
+                .totalUsers(metrics.totalUsers())
+                .totalAccounts(metrics.totalAccounts())
+                .newUsersThisWeek(metrics.newUsersThisWeek())
+                .todayTransactionVolume(metrics.todayVolume())
+                .todayTransactionCount(metrics.todayCount())
+                .activeAccounts(metrics.accountsByStatus().get(AccountStatus.ACTIVE))
+                .frozenAccounts(metrics.accountsByStatus().get(AccountStatus.FROZEN))
+                .closedAccounts(metrics.accountsByStatus().get(AccountStatus.CLOSED))
+                .todayDeposits(metrics.todayVolumes().get(TransactionType.DEPOSIT))
+                .todayWithdrawals(metrics.todayVolumes().get(TransactionType.WITHDRAW))
+                .todayTransfers(metrics.todayVolumes().get(TransactionType.TRANSFER))
+                .depositCount(metrics.todayCounts().get(TransactionType.DEPOSIT))
+                .withdrawalCount(metrics.todayCounts().get(TransactionType.WITHDRAW))
+                .transferCount(metrics.todayCounts().get(TransactionType.TRANSFER))
                 .dailyVolume(dailyVolume)
                 .build();
     }
 
-    private BigDecimal getTodayTransactionVolume(LocalDateTime start, LocalDateTime end) {
-        BigDecimal volume = transactionRepository.sumTransactionVolumeByDateRange(start, end);
-        return volume != null ? volume : BigDecimal.ZERO;
-    }
-
-    private Long getTodayTransactionCount(LocalDateTime start, LocalDateTime end) {
-        return transactionRepository.countTransactionsByDateRange(start, end);
-    }
-
-    private BigDecimal getTodayTransactionsByType(TransactionType type, LocalDateTime start, LocalDateTime end) {
-        BigDecimal amount = transactionRepository.sumTransactionVolumeByTypeAndDateRange(type, start, end);
-        return amount != null ? amount : BigDecimal.ZERO;
-    }
-
-    private Long getTodayTransactionCountByType(TransactionType type, LocalDateTime start, LocalDateTime end) {
-        return transactionRepository.countTransactionsByTypeAndDateRange(type, start, end);
-    }
-
-    private Map<String, BigDecimal> getDailyVolumeForLastWeek() {
-        Map<String, BigDecimal> dailyVolume = new HashMap<>();
-        LocalDate today = LocalDate.now();
-        
-        for (int i = 6; i >= 0; i--) {
-            LocalDate date = today.minusDays(i);
-            LocalDateTime start = date.atStartOfDay();
-            LocalDateTime end = date.atTime(23, 59, 59);
-            
-            BigDecimal volume = getTodayTransactionVolume(start, end);
-            dailyVolume.put(date.toString(), volume);
-        }
-        
-        return dailyVolume;
-    }
-
     @Transactional
     public void freezeAccount(Long accountId) {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
         
+        dashboardMetricsService.accountStatusChangedAfterCommit(account.getStatus(), AccountStatus.FROZEN);
         account.setStatus(AccountStatus.FROZEN);
         accountRepository.save(account);
         
@@ -134,7 +114,7 @@ public class AdminService {
                 .entityType("ACCOUNT")
                 .entityId(accountId)
                 .build();
-        auditLogRepository.save(auditLog);
+        auditLogWriter.write(auditLog);
     }
 
     @Transactional
@@ -142,6 +122,7 @@ public class AdminService {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
         
+        dashboardMetricsService.accountStatusChangedAfterCommit(account.getStatus(), AccountStatus.ACTIVE);
         account.setStatus(AccountStatus.ACTIVE);
         accountRepository.save(account);
         
@@ -152,7 +133,107 @@ public class AdminService {
                 .entityType("ACCOUNT")
                 .entityId(accountId)
                 .build();
-        auditLogRepository.save(auditLog);
+        auditLogWriter.write(auditLog);
+    }
+
+    @Transactional
+    public DailyLimitUsageResponse rebuildDailyLimitUsage(Long accountId, LocalDate date) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+
+        DailyLimitUsage usage = dailyLimitService.rebuild(account.getId(), date != null ? date : LocalDate.now());
+
+        AuditLog auditLog = AuditLog.builder()
+                .user(account.getUser())
+                .action("DAILY_LIMIT_REBUILT")
+                .entityType("ACCOUNT")
+                .entityId(accountId)
+                .build();
+        auditLogWriter.write(auditLog);
+
+        DailyLimitUsageResponse response = new DailyLimitUsageResponse();
+        response.setAccountId(usage.getId().getAccountId());
+        response.setDate(usage.getId().getUsageDate());
+        response.setWithdrawnAmount(usage.getWithdrawnAmount());
+        response.setTransferredAmount(usage.getTransferredAmount());
+        return response;
+    }
+
+    /**
+     * Turns hot-account mode on with the given number of credit slots, or off with 0.
+     * Pending slot credits are swept into the locked balance row first, and once more after
+     * commit when the slot count goes down.
+     */
+    @Transactional
+    public void updateHotAccountSlots(Long accountId, int slots) {
+        if (slots < 0 || slots > maxHotSlots) {
+            throw new RuntimeException("Slot count must be between 0 and " + maxHotSlots);
+        }
+        Account account = accountRepository.findByIdWithLock(accountId)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+
+        int previousSlots = account.getBalanceSlots() == null ? 0 : account.getBalanceSlots();
+        account.setBalance(account.getBalance().add(hotAccountService.sweep(accountId)));
+        account.setBalanceSlots(slots);
+        accountRepository.save(account);
+        if (slots < previousSlots) {
+            hotAccountService.consolidateAfterCommit(accountId);
+        }
+
+        AuditLog auditLog = AuditLog.builder()
+                .user(account.getUser())
+                .action("HOT_ACCOUNT_MODE_UPDATED")
+                .entityType("ACCOUNT")
+                .entityId(accountId)
+                .build();
+        auditLogWriter.write(auditLog);
+    }
+
+    /**
+     * Checks that every transaction's postings balance and that each account's cached
+     * balance matches its ledger balance.
+     */
+    public LedgerReconciliationResponse reconcileLedger() {
+        List<Long> unbalanced = ledgerService.findUnbalancedTransactionIds();
+        List<LedgerReconciliationResponse.AccountMismatch> mismatches = ledgerService.findBalanceMismatches().stream()
+                .map(m -> {
+                    LedgerReconciliationResponse.AccountMismatch mismatch = new LedgerReconciliationResponse.AccountMismatch();
+                    mismatch.setAccountId(m.getAccountId());
+                    mismatch.setAccountNumber(m.getAccountNumber());
+                    mismatch.setCachedBalance(m.getCachedBalance());
+                    mismatch.setLedgerBalance(m.getLedgerBalance());
+                    return mismatch;
+                })
+                .toList();
+
+        LedgerReconciliationResponse response = new LedgerReconciliationResponse();
+        response.setCheckedAt(LocalDateTime.now());
+        response.setUnbalancedTransactionIds(unbalanced);
+        response.setAccountMismatches(mismatches);
+        response.setBalanced(unbalanced.isEmpty() && mismatches.isEmpty());
+        return response;
+    }
+
+    public BigDecimal getLedgerBalanceAsOf(Long accountId, LocalDateTime asOf) {
+        if (!accountRepository.existsById(accountId)) {
+            throw new RuntimeException("Account not found");
+        }
+        return ledgerService.getBalanceAsOf(accountId, asOf != null ? asOf : LocalDateTime.now());
+    }
+
+    public int postLedgerOpeningBalances() {
+        int opened = ledgerService.postOpeningBalances();
+
+        AuditLog auditLog = AuditLog.builder()
+                .action("LEDGER_OPENING_BALANCES")
+                .entityType("LEDGER")
+                .build();
+        auditLogWriter.write(auditLog);
+        return opened;
+    }
+
+    public int writeLedgerCheckpoints() {
+        return ledgerService.writeCheckpoints();
     }
 
     public Page<TransactionResponse> getAllTransactions(
@@ -166,16 +247,264 @@ public class AdminService {
             BigDecimal maxAmount,
             Pageable pageable) {
         
-        Page<Transaction> transactions = transactionRepository.findAllTransactionsWithFilters(
-                startDate, endDate, type, status, username, accountNumber, minAmount, maxAmount, pageable);
-        
+        Optional<TransactionSearchCriteria> criteria = searchCriteria(
+                startDate, endDate, type, status, username, accountNumber, minAmount, maxAmount);
+        if (criteria.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        Sort sort = pageable.getSort().isSorted()
+                ? Sort.by(Sort.Order.desc("createdAt")).and(pageable.getSort())
+                : TransactionSpecifications.NEWEST_FIRST;
+        Page<Transaction> transactions = transactionRepository.findAll(TransactionSpecifications.matching(criteria.get()),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort));
+
         return transactions.map(this::mapToTransactionResponse);
     }
 
+    /**
+     * Keyset-paginated form of {@link #getAllTransactions}, newest first; deep pages cost the
+     * same as the first.
+     */
+    public CursorPageResponse<TransactionResponse> scrollAllTransactions(
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            TransactionType type,
+            TransactionStatus status,
+            String username,
+            String accountNumber,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            String cursor,
+            int size) {
+
+        TransactionCursor after = TransactionCursor.decode(cursor);
+        Optional<TransactionSearchCriteria> criteria = searchCriteria(
+                startDate, endDate, type, status, username, accountNumber, minAmount, maxAmount);
+        if (criteria.isEmpty()) {
+            return CursorPageResponse.of(List.of(), null);
+        }
+
+        Pageable limit = TransactionCursor.limit(size);
+        List<Transaction> rows = transactionRepository.findBy(
+                TransactionSpecifications.matching(criteria.get()).and(TransactionSpecifications.after(after)),
+                query -> query.sortBy(TransactionSpecifications.NEWEST_FIRST).limit(limit.getPageSize() + 1).all());
+        Slice<Transaction> transactions = TransactionCursor.slice(rows, limit);
+
+        return CursorPageResponse.of(transactions.map(this::mapToTransactionResponse).getContent(),
+                TransactionCursor.next(transactions));
+    }
+
+    /**
+     * Resolves the account number and username filters to account ids; empty when either
+     * matches no account, in which case no transaction can match.
+     */
+    private Optional<TransactionSearchCriteria> searchCriteria(
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            TransactionType type,
+            TransactionStatus status,
+            String username,
+            String accountNumber,
+            BigDecimal minAmount,
+            BigDecimal maxAmount) {
+
+        TransactionSearchCriteria.TransactionSearchCriteriaBuilder criteria = TransactionSearchCriteria.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .type(type)
+                .status(status)
+                .minAmount(minAmount)
+                .maxAmount(maxAmount);
+
+        if (accountNumber != null) {
+            Optional<Long> accountId = accountRepository.findIdByAccountNumber(accountNumber);
+            if (accountId.isEmpty()) {
+                return Optional.empty();
+            }
+            criteria.accountId(accountId.get());
+        }
+        if (username != null) {
+            List<Long> accountIds = accountRepository.findIdsByUsernameContaining(
+                    username, PageRequest.of(0, maxUsernameAccounts + 1));
+            if (accountIds.isEmpty()) {
+                return Optional.empty();
+            }
+            if (accountIds.size() > maxUsernameAccounts) {
+                criteria.username(username);
+            } else {
+                criteria.userAccountIds(accountIds);
+            }
+        }
+        return Optional.of(criteria.build());
+    }
+
+    public Page<TransactionResponse> getHeldTransfers(Pageable pageable) {
+        return fraudReviewService.findHeld(pageable).map(this::mapToTransactionResponse);
+    }
+
+    public TransactionResponse approveHeldTransfer(String transactionId) {
+        return mapToTransactionResponse(fraudReviewService.approve(transactionId));
+    }
+
+    public TransactionResponse rejectHeldTransfer(String transactionId) {
+        return mapToTransactionResponse(fraudReviewService.reject(transactionId));
+    }
+
+    /**
+     * Active fraud rules in evaluation order, with their counters since the set was loaded.
+     */
+    public FraudRuleSetResponse getFraudRules() {
+        return mapToFraudRuleSetResponse(fraudRuleEngine.current());
+    }
+
+    public FraudRuleSetResponse reloadFraudRules() {
+        FraudRuleEngine.RuleSet rules = fraudRuleEngine.reload();
+
+        AuditLog auditLog = AuditLog.builder()
+                .action("FRAUD_RULES_RELOADED")
+                .entityType("FRAUD_RULES")
+                .build();
+        auditLogWriter.write(auditLog);
+        return mapToFraudRuleSetResponse(rules);
+    }
+
+    /**
+     * Accounts flagged by the latest transfer-graph scan, for review before freezing.
+     */
+    public TransferGraphResponse getTransferGraphFlags() {
+        return mapToTransferGraphResponse(transferGraphService.latest());
+    }
+
+    public TransferGraphResponse analyzeTransferGraph() {
+        return mapToTransferGraphResponse(transferGraphService.analyze());
+    }
+
+    /**
+     * Queue depth and latency of the password-hashing pool that serves sign-in.
+     */
+    public PasswordHashingStatsResponse getPasswordHashingStats() {
+        PasswordHashingService.Stats stats = passwordHashingService.stats();
+        PasswordHashingStatsResponse response = new PasswordHashingStatsResponse();
+        response.setQueued(stats.queued());
+        response.setRunning(stats.running());
+        response.setHashes(stats.hashes());
+        response.setRejected(stats.rejected());
+        response.setTimedOut(stats.timedOut());
+        response.setAverageHashMs(stats.averageHashNanos() / 1_000_000.0);
+        response.setMaxHashMs(stats.maxHashNanos() / 1_000_000.0);
+        return response;
+    }
+
+    /**
+     * Transaction counts and sums per bucket in {@code [from, to)}, read from the rollup
+     * tables. Hourly reports are limited to {@code rollup.report.max-hourly-days}.
+     */
+    public TransactionReportResponse getTransactionReport(RollupGranularity granularity, LocalDateTime from,
+                                                          LocalDateTime to, TransactionType type,
+                                                          TransactionStatus status) {
+        if (!from.isBefore(to)) {
+            throw new RuntimeException("Report start must be before its end");
+        }
+        if (granularity == RollupGranularity.HOUR && ChronoUnit.DAYS.between(from, to) > maxHourlyReportDays) {
+            throw new RuntimeException("Hourly reports cover at most " + maxHourlyReportDays + " days");
+        }
+
+        List<TransactionReportResponse.Bucket> buckets = transactionRollupService.findBuckets(granularity, from, to).stream()
+                .filter(r -> type == null || r.getId().getTransactionType() == type)
+                .filter(r -> status == null || r.getId().getStatus() == status)
+                .map(this::mapToReportBucket)
+                .toList();
+
+        TransactionReportResponse response = new TransactionReportResponse();
+        response.setGranularity(granularity);
+        response.setFrom(from);
+        response.setTo(to);
+        response.setProcessedUntil(transactionRollupService.processedUntil());
+        response.setTotalCount(buckets.stream().mapToLong(TransactionReportResponse.Bucket::getTransactionCount).sum());
+        response.setTotalAmount(buckets.stream()
+                .map(TransactionReportResponse.Bucket::getTotalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        response.setBuckets(buckets);
+        return response;
+    }
+
+    /**
+     * Completed volume per day, read from the DAY rollups, for charts longer than the
+     * dashboard's week.
+     */
+    public Map<String, BigDecimal> getDailyVolume(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("Report start must not be after its end");
+        }
+        Map<String, BigDecimal> dailyVolume = new LinkedHashMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            dailyVolume.put(date.toString(), BigDecimal.ZERO);
+        }
+        for (TransactionRollup rollup : transactionRollupService.findDays(from, to)) {
+            if (rollup.getId().getStatus() == TransactionStatus.COMPLETED) {
+                dailyVolume.merge(rollup.getId().getBucketStart().toLocalDate().toString(),
+                        rollup.getTotalAmount(), BigDecimal::add);
+            }
+        }
+        return dailyVolume;
+    }
+
+    private TransactionReportResponse.Bucket mapToReportBucket(TransactionRollup rollup) {
+        TransactionReportResponse.Bucket bucket = new TransactionReportResponse.Bucket();
+        bucket.setBucketStart(rollup.getId().getBucketStart());
+        bucket.setTransactionType(rollup.getId().getTransactionType());
+        bucket.setStatus(rollup.getId().getStatus());
+        bucket.setCurrency(rollup.getId().getCurrency());
+        bucket.setTransactionCount(rollup.getTransactionCount());
+        bucket.setTotalAmount(rollup.getTotalAmount());
+        bucket.setTotalFee(rollup.getTotalFee());
+        return bucket;
+    }
+
     public Object getAllUsers() {
         return userRepository.findAll();
     }
 
+    private FraudRuleSetResponse mapToFraudRuleSetResponse(FraudRuleEngine.RuleSet ruleSet) {
+        FraudRuleSetResponse response = new FraudRuleSetResponse();
+        response.setOrigin(ruleSet.origin());
+        response.setLoadedAt(ruleSet.loadedAt());
+        response.setRules(ruleSet.rules().stream()
+                .map(rule -> {
+                    FraudRuleSetResponse.RuleStats stats = new FraudRuleSetResponse.RuleStats();
+                    long evaluations = rule.getEvaluations();
+                    stats.setName(rule.getName());
+                    stats.setExpression(rule.getExpression());
+                    stats.setCost(rule.cost());
+                    stats.setEvaluations(evaluations);
+                    stats.setHits(rule.getHits());
+                    stats.setHitRate(evaluations == 0 ? 0 : (double) rule.getHits() / evaluations);
+                    stats.setAverageNanos(evaluations == 0 ? 0 : rule.getTotalNanos() / evaluations);
+                    return stats;
+                })
+                .toList());
+        return response;
+    }
+
+    private TransferGraphResponse mapToTransferGraphResponse(TransferGraphService.Analysis analysis) {
+        TransferGraphResponse response = new TransferGraphResponse();
+        response.setAnalyzedAt(analysis.analyzedAt());
+        response.setAccounts(analysis.accounts());
+        response.setEdges(analysis.edges());
+        response.setDurationMs(analysis.durationMs());
+        response.setFlagged(analysis.flagged().stream()
+                .map(account -> {
+                    TransferGraphResponse.FlaggedAccount flagged = new TransferGraphResponse.FlaggedAccount();
+                    flagged.setAccountId(account.accountId());
+                    flagged.setPatterns(account.patterns());
+                    flagged.setDetails(List.copyOf(account.details()));
+                    return flagged;
+                })
+                .toList());
+        return response;
+    }
+
     private TransactionResponse mapToTransactionResponse(Transaction transaction) {
         TransactionResponse response = new TransactionResponse();
         response.setId(transaction.getId());
@@ -187,6 +516,7 @@ public class AdminService {
         response.setFromAccountNumber(transaction.getFromAccount() != null ? transaction.getFromAccount().getAccountNumber() : null);
         response.setToAccountNumber(transaction.getToAccount() != null ? transaction.getToAccount().getAccountNumber() : null);
         response.setStatus(transaction.getStatus());
+        response.setHoldReason(transaction.getHoldReason());
         response.setCreatedAt(transaction.getCreatedAt());
         return response;
     }
@@ -0,0 +1,315 @@
+package com.securebank.service;
+
+import com.securebank.entity.AuditLog;
+import com.securebank.entity.AuditOutboxEntry;
+import com.securebank.enums.AuditDurability;
+import com.securebank.repository.AuditLogRepository;
+import com.securebank.repository.AuditOutboxRepository;
+import com.securebank.repository.UserRepository;
+import com.securebank.util.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves audit inserts off the request path. Entries are written to {@code audit_logs} by one
+ * background thread in batches, each batch in its own transaction.
+ *
+ * With OUTBOX durability an entry is saved to {@code audit_outbox} by the business transaction
+ * itself, so it commits or rolls back with the operation it describes; Hibernate flushes it
+ * with the transaction's other inserts. The writer claims outbox rows with SKIP LOCKED, inserts
+ * them into {@code audit_logs} and deletes them in one transaction, and is woken after each
+ * commit. An entry that keeps failing is set aside in the outbox after
+ * {@value #MAX_ENTRY_ATTEMPTS} attempts instead of blocking the rows behind it.
+ *
+ * With NONE durability entries are handed over after commit and queued in memory. When the
+ * queue is full, or the writer is not running, the caller inserts its own entry.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    static final int MAX_ENTRY_ATTEMPTS = 3;
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
+    @Value("${audit.writer.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    @Value("${audit.writer.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${audit.writer.flush-interval-ms:50}")
+    private long flushIntervalMs = 50;
+
+    @Value("${audit.writer.durability:OUTBOX}")
+    private AuditDurability durability = AuditDurability.OUTBOX;
+
+    // Picks up rows committed by other instances, or left behind by a crash
+    @Value("${audit.writer.outbox-poll-interval-ms:1000}")
+    private long outboxPollIntervalMs = 1000;
+
+    private final AuditLogRepository auditLogRepository;
+    private final AuditOutboxRepository auditOutboxRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Semaphore outboxSignal = new Semaphore(0);
+    private BlockingQueue<Entry> queue;
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditLogWriter(AuditLogRepository auditLogRepository, AuditOutboxRepository auditOutboxRepository,
+                          UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.auditLogRepository = auditLogRepository;
+        this.auditOutboxRepository = auditOutboxRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Batches and after-commit writes must not join whatever transaction the caller has open
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Records an audit entry for the current transaction (immediately when there is none).
+     * Entries of rolled back operations are dropped, as they were with a synchronous save.
+     */
+    public void write(AuditLog auditLog) {
+        Entry entry = Entry.from(auditLog, LocalDateTime.now());
+        if (durability != AuditDurability.OUTBOX) {
+            AfterCommit.run(() -> enqueue(entry));
+            return;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            auditOutboxRepository.save(entry.toOutboxEntry());
+            AfterCommit.run(outboxSignal::release);
+            return;
+        }
+        // A read-only transaction is never flushed; store the entry on its own once it ends
+        AfterCommit.run(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> auditOutboxRepository.save(entry.toOutboxEntry()));
+                outboxSignal.release();
+            } catch (RuntimeException ex) {
+                log.error("Failed to write audit entry {}", entry, ex);
+            }
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        worker = durability == AuditDurability.OUTBOX
+                ? new Thread(this::relayLoop, "audit-outbox-relay")
+                : new Thread(this::drainLoop, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        outboxSignal.release();
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        if (running && queue.offer(entry)) {
+            return;
+        }
+        try {
+            persist(List.of(entry));
+        } catch (RuntimeException ex) {
+            log.error("Failed to write audit entry {}", entry, ex);
+        }
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Audit writer loop failed", ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Entry> batch) throws InterruptedException {
+        for (int attempt = 1; attempt <= MAX_BATCH_ATTEMPTS; attempt++) {
+            try {
+                persist(batch);
+                return;
+            } catch (RuntimeException ex) {
+                if (attempt == MAX_BATCH_ATTEMPTS) {
+                    log.warn("Audit batch of {} failed {} times, writing entries one by one", batch.size(), attempt, ex);
+                } else {
+                    Thread.sleep(flushIntervalMs * attempt);
+                }
+            }
+        }
+        for (Entry entry : batch) {
+            try {
+                persist(List.of(entry));
+            } catch (RuntimeException ex) {
+                log.error("Failed to write audit entry {}", entry, ex);
+            }
+        }
+    }
+
+    private void persist(List<Entry> entries) {
+        transactionTemplate.executeWithoutResult(status -> auditLogRepository.saveAll(toAuditLogs(entries)));
+    }
+
+    private List<AuditLog> toAuditLogs(List<Entry> entries) {
+        List<AuditLog> logs = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            logs.add(AuditLog.builder()
+                    .user(entry.userId() == null ? null : userRepository.getReferenceById(entry.userId()))
+                    .action(entry.action())
+                    .entityType(entry.entityType())
+                    .entityId(entry.entityId())
+                    .ipAddress(entry.ipAddress())
+                    .timestamp(entry.timestamp())
+                    .build());
+        }
+        return logs;
+    }
+
+    // ---- outbox ----
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                if (relay() < batchSize) {
+                    outboxSignal.tryAcquire(outboxPollIntervalMs, TimeUnit.MILLISECONDS);
+                    outboxSignal.drainPermits();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Audit outbox relay failed", ex);
+                sleepQuietly(outboxPollIntervalMs);
+            }
+        }
+        try {
+            relay();
+        } catch (RuntimeException ex) {
+            // Whatever is still in the outbox is relayed after the next start
+            log.warn("Final audit outbox relay failed", ex);
+        }
+    }
+
+    /**
+     * Moves one batch of outbox rows into {@code audit_logs}.
+     *
+     * @return the number of rows claimed
+     */
+    int relay() {
+        try {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<AuditOutboxEntry> claimed = auditOutboxRepository.claimBatch(batchSize, MAX_ENTRY_ATTEMPTS);
+                moveToAuditLog(claimed);
+                return claimed.size();
+            });
+            return moved == null ? 0 : moved;
+        } catch (RuntimeException ex) {
+            log.warn("Audit outbox batch failed, relaying entries one by one", ex);
+        }
+
+        // The batch rolled back; isolate the rows that cannot be written
+        List<AuditOutboxEntry> pending = transactionTemplate.execute(
+                status -> auditOutboxRepository.claimBatch(batchSize, MAX_ENTRY_ATTEMPTS));
+        if (pending == null) {
+            return 0;
+        }
+        for (AuditOutboxEntry row : pending) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        auditOutboxRepository.claimById(row.getId()).ifPresent(claimed -> moveToAuditLog(List.of(claimed))));
+            } catch (RuntimeException ex) {
+                transactionTemplate.executeWithoutResult(status -> auditOutboxRepository.recordFailedAttempt(row.getId()));
+                if (row.getAttempts() + 1 >= MAX_ENTRY_ATTEMPTS) {
+                    log.error("Audit outbox entry {} failed {} times and is set aside", row, MAX_ENTRY_ATTEMPTS, ex);
+                } else {
+                    log.warn("Failed to relay audit outbox entry {}", row, ex);
+                }
+            }
+        }
+        return pending.size();
+    }
+
+    private void moveToAuditLog(List<AuditOutboxEntry> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        auditLogRepository.saveAll(toAuditLogs(rows.stream().map(Entry::from).toList()));
+        auditOutboxRepository.deleteAllInBatch(rows);
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record Entry(Long userId, String action, String entityType, Long entityId, String ipAddress,
+                 LocalDateTime timestamp) {
+
+        static Entry from(AuditLog auditLog, LocalDateTime now) {
+            return new Entry(
+                    auditLog.getUser() == null ? null : auditLog.getUser().getId(),
+                    auditLog.getAction(),
+                    auditLog.getEntityType(),
+                    auditLog.getEntityId(),
+                    auditLog.getIpAddress(),
+                    auditLog.getTimestamp() != null ? auditLog.getTimestamp() : now);
+        }
+
+        static Entry from(AuditOutboxEntry row) {
+            return new Entry(row.getUserId(), row.getAction(), row.getEntityType(), row.getEntityId(),
+                    row.getIpAddress(), row.getTimestamp());
+        }
+
+        AuditOutboxEntry toOutboxEntry() {
+            return AuditOutboxEntry.builder()
+                    .userId(userId)
+                    .action(action)
+                    .entityType(entityType)
+                    .entityId(entityId)
+                    .ipAddress(ipAddress)
+                    .timestamp(timestamp)
+                    .build();
+        }
+    }
+}
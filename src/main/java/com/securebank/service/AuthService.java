@@ -5,7 +5,6 @@ import com.securebank.dto.request.RegisterRequest;
 import com.securebank.dto.response.AuthResponse;
 import com.securebank.dto.response.UserResponse;
 import com.securebank.entity.AuditLog;
-import com.securebank.repository.AuditLogRepository;
 import com.securebank.entity.User;
 import com.securebank.enums.UserRole;
 import com.securebank.repository.UserRepository;
@@ -22,8 +21,10 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
     private final AuthenticationManager authenticationManager;
+    private final TokenVersionService tokenVersionService;
+    private final DashboardMetricsService dashboardMetricsService;
 
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
@@ -44,6 +45,7 @@ public class AuthService {
                 .build();
 
         userRepository.save(user);
+        dashboardMetricsService.userRegisteredAfterCommit();
 
         String token = jwtService.generateToken(user);
         UserResponse userResponse = mapToUserResponse(user);
@@ -71,12 +73,27 @@ public class AuthService {
                 .entityId(user.getId())
                 .ipAddress("127.0.0.1") // TODO: Extract from request
                 .build();
-        auditLogRepository.save(auditLog);
+        auditLogWriter.write(auditLog);
         
         UserResponse userResponse = mapToUserResponse(user);
         return new AuthResponse(token, userResponse);
     }
 
+    /**
+     * Revokes every token issued to the user, on all devices.
+     */
+    public void logout(Long userId) {
+        tokenVersionService.revokeAll(userId);
+
+        AuditLog auditLog = AuditLog.builder()
+                .user(userRepository.getReferenceById(userId))
+                .action("USER_LOGOUT")
+                .entityType("USER")
+                .entityId(userId)
+                .build();
+        auditLogWriter.write(auditLog);
+    }
+
     private UserResponse mapToUserResponse(User user) {
         UserResponse response = new UserResponse();
         response.setId(user.getId());
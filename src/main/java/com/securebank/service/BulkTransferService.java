@@ -0,0 +1,533 @@
+package com.securebank.service;
+
+import com.securebank.dto.request.BulkTransferRequest;
+import com.securebank.dto.response.BulkTransferResponse;
+import com.securebank.entity.Account;
+import com.securebank.entity.AuditLog;
+import com.securebank.entity.Transaction;
+import com.securebank.enums.AccountStatus;
+import com.securebank.enums.HoldReason;
+import com.securebank.enums.TransactionStatus;
+import com.securebank.enums.TransactionType;
+import com.securebank.exception.AccountFrozenException;
+import com.securebank.exception.InsufficientBalanceException;
+import com.securebank.repository.AccountRepository;
+import com.securebank.repository.TransactionRepository;
+import com.securebank.util.TransactionIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Executes many transfers from one source account as a single batch.
+ *
+ * <ol>
+ *   <li>The caller must own the source account. Destinations are then resolved with one query; unknown, inactive or self destinations are
+ *       rejected per item before any money moves.</li>
+ *   <li>The total of the accepted items is fraud-screened once, as a single transfer from the
+ *       source would be. If it must be held, every item is held with the same reason and
+ *       left to {@link FraudReviewService}, which releases or refunds items one by one.</li>
+ *   <li>One transaction locks the source once, checks balance and daily limit for the whole
+ *       batch, debits the total and inserts every item as a PENDING transaction.</li>
+ *   <li>Items are grouped by destination and the groups are split into partitions that run in
+ *       parallel, each in its own transaction. A destination receives one conditional credit
+ *       for the sum of its items, and destinations are credited in ascending id order.</li>
+ *   <li>Items whose credit failed are marked FAILED and refunded to the source in one final
+ *       transaction, which also releases their daily limit usage.</li>
+ * </ol>
+ *
+ * In the ledger the debited funds sit in SUSPENSE until each item is credited or refunded.
+ *
+ * If the process stops between steps, or a refund fails, the affected items stay PENDING
+ * with their batch id and the source debit already covers them. {@link #recoverStrandedItems()}
+ * finishes such items once they are older than a grace period: each is credited to its
+ * destination if that is still possible, and refunded otherwise. Status changes only apply
+ * to rows still PENDING, so a late partition or refund cannot resolve an item twice.
+ */
+@Slf4j
+@Service
+public class BulkTransferService {
+
+    @Value("${transaction.daily.limit}")
+    private BigDecimal dailyLimit;
+
+    @Value("${transaction.minimum.balance}")
+    private BigDecimal minBalance;
+
+    @Value("${transaction.transfer.fee}")
+    private BigDecimal transferFee;
+
+    @Value("${transaction.bulk.max-items:5000}")
+    private int maxItems = 5000;
+
+    @Value("${transaction.bulk.partition-size:200}")
+    private int partitionSize = 200;
+
+    // Far longer than any bulk request runs, so the sweep never races a live one
+    @Value("${transaction.bulk.recovery-grace-minutes:15}")
+    private long recoveryGraceMinutes = 15;
+
+    @Value("${transaction.bulk.recovery-batch-size:500}")
+    private int recoveryBatchSize = 500;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final DailyLimitService dailyLimitService;
+    private final LockRetryExecutor lockRetryExecutor;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final AuditLogWriter auditLogWriter;
+    private final LedgerService ledgerService;
+    private final HotAccountService hotAccountService;
+    private final AccountFeatureStore accountFeatureStore;
+    private final AccountBaselineService accountBaselineService;
+    private final TransferGraphService transferGraphService;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final FraudScreeningService fraudScreeningService;
+    private final FraudReviewService fraudReviewService;
+    private final Executor bulkTransferExecutor;
+
+    public BulkTransferService(AccountRepository accountRepository,
+                               TransactionRepository transactionRepository,
+                               DailyLimitService dailyLimitService,
+                               LockRetryExecutor lockRetryExecutor,
+                               TransactionIdGenerator transactionIdGenerator,
+                               AuditLogWriter auditLogWriter,
+                               LedgerService ledgerService,
+                               HotAccountService hotAccountService,
+                               AccountFeatureStore accountFeatureStore,
+                               AccountBaselineService accountBaselineService,
+                               TransferGraphService transferGraphService,
+                               DashboardMetricsService dashboardMetricsService,
+                               FraudScreeningService fraudScreeningService,
+                               FraudReviewService fraudReviewService,
+                               @Qualifier("bulkTransferExecutor") Executor bulkTransferExecutor) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.dailyLimitService = dailyLimitService;
+        this.lockRetryExecutor = lockRetryExecutor;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.auditLogWriter = auditLogWriter;
+        this.ledgerService = ledgerService;
+        this.hotAccountService = hotAccountService;
+        this.accountFeatureStore = accountFeatureStore;
+        this.accountBaselineService = accountBaselineService;
+        this.transferGraphService = transferGraphService;
+        this.dashboardMetricsService = dashboardMetricsService;
+        this.fraudScreeningService = fraudScreeningService;
+        this.fraudReviewService = fraudReviewService;
+        this.bulkTransferExecutor = bulkTransferExecutor;
+    }
+
+    public BulkTransferResponse transfer(BulkTransferRequest request, Long userId) {
+        List<BulkTransferRequest.Item> items = request.getItems();
+        if (request.getFromAccountId() == null) {
+            throw new RuntimeException("Source account is required");
+        }
+        if (items == null || items.isEmpty()) {
+            throw new RuntimeException("Bulk transfer must contain at least one item");
+        }
+        if (items.size() > maxItems) {
+            throw new RuntimeException("Bulk transfer exceeds the maximum of " + maxItems + " items");
+        }
+
+        // Before any destination lookup, so per-item results reveal nothing to a non-owner
+        Account source = accountRepository.findById(request.getFromAccountId())
+                .orElseThrow(() -> new RuntimeException("Source account not found"));
+        if (!source.getUser().getId().equals(userId)) {
+            throw new RuntimeException("Access denied");
+        }
+
+        String batchId = "BLK" + transactionIdGenerator.nextTransactionId().substring(3);
+        Map<String, Account> destinations = accountRepository.findByAccountNumberIn(
+                        items.stream().map(BulkTransferRequest.Item::getToAccountNumber).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+        BulkTransferResponse.ItemResult[] results = new BulkTransferResponse.ItemResult[items.size()];
+        List<Integer> accepted = validateItems(request, destinations, results);
+
+        Map<Integer, Transaction> pending = Map.of();
+        BigDecimal totalDebited = BigDecimal.ZERO;
+        if (!accepted.isEmpty()) {
+            HoldReason hold = fraudScreeningService.screenTransfer(request.getFromAccountId(), principal(request, accepted))
+                    .orElse(null);
+            pending = lockRetryExecutor.execute(() -> debitSource(request, userId, accepted, destinations, batchId, hold));
+            totalDebited = total(pending.values());
+
+            List<Transaction> failed = hold == null ? creditPartitions(pending.values()) : List.of();
+            if (!failed.isEmpty()) {
+                totalDebited = totalDebited.subtract(refund(request.getFromAccountId(), failed));
+            }
+        }
+
+        for (Map.Entry<Integer, Transaction> entry : pending.entrySet()) {
+            BulkTransferResponse.ItemResult result = results[entry.getKey()];
+            Transaction transaction = entry.getValue();
+            result.setTransactionId(transaction.getTransactionId());
+            result.setStatus(transaction.getStatus());
+            if (transaction.getStatus() == TransactionStatus.FAILED) {
+                result.setError("Destination account could not be credited");
+            } else if (transaction.getHoldReason() != null) {
+                result.setError("Held for fraud review");
+            } else if (transaction.getStatus() == TransactionStatus.PENDING) {
+                result.setError("Credit failed and refund is pending");
+            }
+        }
+        return buildResponse(batchId, request.getFromAccountId(), results, totalDebited);
+    }
+
+    /**
+     * Validates every item against its destination and returns the indexes that may proceed.
+     */
+    private List<Integer> validateItems(BulkTransferRequest request, Map<String, Account> destinations,
+                                        BulkTransferResponse.ItemResult[] results) {
+        List<BulkTransferRequest.Item> items = request.getItems();
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkTransferRequest.Item item = items.get(i);
+            BulkTransferResponse.ItemResult result = new BulkTransferResponse.ItemResult();
+            result.setIndex(i);
+            result.setToAccountNumber(item.getToAccountNumber());
+            result.setAmount(item.getAmount());
+            results[i] = result;
+
+            Account destination = destinations.get(item.getToAccountNumber());
+            String error = null;
+            if (item.getAmount() == null || item.getAmount().signum() <= 0) {
+                error = "Amount must be positive";
+            } else if (destination == null) {
+                error = "Destination account not found";
+            } else if (destination.getId().equals(request.getFromAccountId())) {
+                error = "Cannot transfer to same account";
+            } else if (destination.getStatus() == AccountStatus.FROZEN) {
+                error = "Account " + destination.getAccountNumber() + " is frozen";
+            } else if (destination.getStatus() != AccountStatus.ACTIVE) {
+                error = "Destination account not active";
+            }
+
+            if (error != null) {
+                result.setStatus(TransactionStatus.FAILED);
+                result.setError(error);
+            } else {
+                accepted.add(i);
+            }
+        }
+        return accepted;
+    }
+
+    private Map<Integer, Transaction> debitSource(BulkTransferRequest request, Long userId, List<Integer> accepted,
+                                                  Map<String, Account> destinations, String batchId, HoldReason hold) {
+        Account source = accountRepository.findByIdWithLock(request.getFromAccountId())
+                .orElseThrow(() -> new RuntimeException("Source account not found"));
+
+        if (!source.getUser().getId().equals(userId)) {
+            throw new RuntimeException("Access denied");
+        }
+        if (source.getStatus() == AccountStatus.FROZEN) {
+            throw new AccountFrozenException(source.getAccountNumber());
+        }
+        if (source.getStatus() != AccountStatus.ACTIVE) {
+            throw new RuntimeException("Source account not active");
+        }
+        if (hotAccountService.isHot(source)) {
+            source.setBalance(source.getBalance().add(hotAccountService.sweep(source.getId())));
+        }
+
+        BigDecimal principal = principal(request, accepted);
+        BigDecimal totalDeduction = principal.add(transferFee.multiply(BigDecimal.valueOf(accepted.size())));
+
+        if (source.getBalance().compareTo(totalDeduction) < 0) {
+            throw new InsufficientBalanceException(source.getBalance(), totalDeduction);
+        }
+        BigDecimal balanceAfter = source.getBalance().subtract(totalDeduction);
+        if (balanceAfter.compareTo(minBalance) < 0) {
+            throw new RuntimeException("Minimum balance violation. Minimum required: ₹" + minBalance);
+        }
+
+        dailyLimitService.recordTransfer(source.getId(), principal, dailyLimit);
+
+        source.setBalance(balanceAfter);
+        accountRepository.save(source);
+
+        Map<Integer, Transaction> pending = new HashMap<>();
+        for (Integer index : accepted) {
+            BulkTransferRequest.Item item = request.getItems().get(index);
+            pending.put(index, Transaction.builder()
+                    .transactionId(transactionIdGenerator.nextTransactionId())
+                    .transactionType(TransactionType.TRANSFER)
+                    .amount(item.getAmount())
+                    .fee(transferFee)
+                    .description(item.getDescription())
+                    .fromAccount(source)
+                    .toAccount(destinations.get(item.getToAccountNumber()))
+                    .batchId(batchId)
+                    .status(TransactionStatus.PENDING)
+                    .holdReason(hold)
+                    .build());
+        }
+        transactionRepository.saveAll(pending.values());
+        ledgerService.postBulkDebit(pending.values());
+        accountFeatureStore.recordAfterCommit(pending.values());
+        if (hold == null) {
+            accountBaselineService.record(pending.values());
+        } else if (hold == HoldReason.SCORING_TIMEOUT) {
+            pending.values().forEach(fraudReviewService::rescoreAfterCommit);
+        }
+
+        AuditLog auditLog = AuditLog.builder()
+                .user(source.getUser())
+                .action(hold == null ? "BULK_TRANSFER" : "BULK_TRANSFER_HELD")
+                .entityType("ACCOUNT")
+                .entityId(source.getId())
+                .build();
+        auditLogWriter.write(auditLog);
+
+        return pending;
+    }
+
+    /**
+     * Credits the pending items partition by partition in parallel and returns the items
+     * that could not be credited.
+     */
+    private List<Transaction> creditPartitions(Iterable<Transaction> pending) {
+        TreeMap<Long, List<Transaction>> byDestination = new TreeMap<>();
+        for (Transaction transaction : pending) {
+            byDestination.computeIfAbsent(transaction.getToAccount().getId(), id -> new ArrayList<>()).add(transaction);
+        }
+
+        List<List<List<Transaction>>> partitions = new ArrayList<>();
+        List<List<Transaction>> current = new ArrayList<>();
+        for (List<Transaction> group : byDestination.values()) {
+            current.add(group);
+            if (current.size() == partitionSize) {
+                partitions.add(current);
+                current = new ArrayList<>();
+            }
+        }
+        if (!current.isEmpty()) {
+            partitions.add(current);
+        }
+
+        List<CompletableFuture<PartitionOutcome>> futures = partitions.stream()
+                .map(partition -> CompletableFuture.supplyAsync(() -> creditPartition(partition), bulkTransferExecutor))
+                .toList();
+
+        List<Transaction> failed = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                PartitionOutcome outcome = futures.get(i).join();
+                outcome.completed().forEach(t -> t.setStatus(TransactionStatus.COMPLETED));
+                // Each partition committed its own credits already
+                transferGraphService.recordAfterCommit(outcome.completed());
+                dashboardMetricsService.recordAfterCommit(outcome.completed());
+                failed.addAll(outcome.failed());
+            } catch (RuntimeException ex) {
+                log.warn("Bulk transfer partition failed, refunding its items", ex);
+                partitions.get(i).forEach(failed::addAll);
+            }
+        }
+        return failed;
+    }
+
+    private PartitionOutcome creditPartition(List<List<Transaction>> groups) {
+        return lockRetryExecutor.execute(() -> {
+            List<Transaction> completed = new ArrayList<>();
+            List<Transaction> failed = new ArrayList<>();
+            for (List<Transaction> group : groups) {
+                Account destination = group.get(0).getToAccount();
+                if (credit(destination, principal(group))) {
+                    completed.addAll(group);
+                } else {
+                    failed.addAll(group);
+                }
+            }
+            if (!completed.isEmpty()) {
+                if (transactionRepository.updatePendingStatus(completed.stream().map(Transaction::getId).toList(),
+                        TransactionStatus.COMPLETED) != completed.size()) {
+                    // Rolls back this partition's credits
+                    throw new IllegalStateException("Bulk transfer items were resolved concurrently");
+                }
+                ledgerService.postBulkCredit(completed);
+                completed.forEach(this::writeTransferAudit);
+            }
+            return new PartitionOutcome(completed, failed);
+        });
+    }
+
+    private record PartitionOutcome(List<Transaction> completed, List<Transaction> failed) {
+    }
+
+    /**
+     * Returns the principal and fees of failed items to the source and returns the refunded amount.
+     */
+    private BigDecimal refund(Long sourceAccountId, List<Transaction> failed) {
+        BigDecimal principal = principal(failed);
+        BigDecimal refund = total(failed);
+        try {
+            lockRetryExecutor.execute(() -> {
+                Account source = accountRepository.findByIdWithLock(sourceAccountId)
+                        .orElseThrow(() -> new RuntimeException("Source account not found"));
+                if (transactionRepository.updatePendingStatus(failed.stream().map(Transaction::getId).toList(),
+                        TransactionStatus.FAILED) != failed.size()) {
+                    throw new IllegalStateException("Bulk transfer items were resolved concurrently");
+                }
+                source.setBalance(source.getBalance().add(refund));
+                accountRepository.save(source);
+
+                ledgerService.postBulkRefund(failed);
+                dailyLimitService.releaseTransfer(sourceAccountId, principal);
+
+                AuditLog auditLog = AuditLog.builder()
+                        .user(source.getUser())
+                        .action("BULK_TRANSFER_REFUND")
+                        .entityType("ACCOUNT")
+                        .entityId(sourceAccountId)
+                        .build();
+                auditLogWriter.write(auditLog);
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            // The items stay PENDING under their batch id until recoverStrandedItems picks them up
+            log.error("Refund of {} failed bulk transfer items to account {} failed", failed.size(), sourceAccountId, ex);
+            return BigDecimal.ZERO;
+        }
+        failed.forEach(t -> t.setStatus(TransactionStatus.FAILED));
+        return refund;
+    }
+
+    /**
+     * Credits or refunds bulk items left PENDING without a hold for longer than the grace
+     * period. Each item is resolved in its own transaction, so one that keeps failing does not
+     * hold up the rest. Returns the number of items resolved.
+     */
+    @Scheduled(fixedDelayString = "${transaction.bulk.recovery-interval-ms:300000}")
+    public int recoverStrandedItems() {
+        List<String> stranded = transactionRepository.findStrandedBatchItemIds(
+                LocalDateTime.now().minusMinutes(recoveryGraceMinutes), PageRequest.of(0, recoveryBatchSize));
+        int resolved = 0;
+        for (String transactionId : stranded) {
+            try {
+                if (lockRetryExecutor.execute(() -> recoverItem(transactionId))) {
+                    resolved++;
+                }
+            } catch (RuntimeException ex) {
+                log.error("Recovery of bulk transfer item {} failed, retrying on the next sweep", transactionId, ex);
+            }
+        }
+        if (!stranded.isEmpty()) {
+            log.warn("Recovered {} of {} stranded bulk transfer items", resolved, stranded.size());
+        }
+        return resolved;
+    }
+
+    private boolean recoverItem(String transactionId) {
+        Transaction item = transactionRepository.findByTransactionIdWithLock(transactionId).orElse(null);
+        if (item == null || item.getBatchId() == null || item.getStatus() != TransactionStatus.PENDING
+                || item.getHoldReason() != null) {
+            return false;
+        }
+
+        // A PENDING item was never credited: its credit and status change commit together
+        if (credit(item.getToAccount(), item.getAmount())) {
+            item.setStatus(TransactionStatus.COMPLETED);
+            transactionRepository.save(item);
+            ledgerService.postBulkCredit(List.of(item));
+            writeTransferAudit(item);
+            transferGraphService.recordAfterCommit(item);
+            dashboardMetricsService.recordAfterCommit(item);
+            return true;
+        }
+
+        Account source = accountRepository.findByIdWithLock(item.getFromAccount().getId())
+                .orElseThrow(() -> new RuntimeException("Source account not found"));
+        source.setBalance(source.getBalance().add(item.getAmount()).add(item.getFee()));
+        accountRepository.save(source);
+
+        item.setStatus(TransactionStatus.FAILED);
+        transactionRepository.save(item);
+        ledgerService.postBulkRefund(List.of(item));
+        dailyLimitService.releaseTransfer(source.getId(), item.getCreatedAt().toLocalDate(), item.getAmount());
+
+        AuditLog auditLog = AuditLog.builder()
+                .user(source.getUser())
+                .action("BULK_TRANSFER_REFUND")
+                .entityType("TRANSACTION")
+                .entityId(item.getId())
+                .build();
+        auditLogWriter.write(auditLog);
+        return true;
+    }
+
+    private void writeTransferAudit(Transaction transaction) {
+        AuditLog fromAuditLog = AuditLog.builder()
+                .user(transaction.getFromAccount().getUser())
+                .action("TRANSFER_OUT")
+                .entityType("TRANSACTION")
+                .entityId(transaction.getId())
+                .build();
+        auditLogWriter.write(fromAuditLog);
+
+        AuditLog toAuditLog = AuditLog.builder()
+                .user(transaction.getToAccount().getUser())
+                .action("TRANSFER_IN")
+                .entityType("TRANSACTION")
+                .entityId(transaction.getId())
+                .build();
+        auditLogWriter.write(toAuditLog);
+    }
+
+    private boolean credit(Account destination, BigDecimal amount) {
+        if (hotAccountService.isHot(destination)) {
+            return hotAccountService.tryCredit(destination, amount);
+        }
+        return accountRepository.creditIfActive(destination.getId(), amount).isPresent();
+    }
+
+    private BigDecimal principal(BulkTransferRequest request, List<Integer> accepted) {
+        return accepted.stream()
+                .map(i -> request.getItems().get(i).getAmount())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private BigDecimal principal(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private BigDecimal total(Iterable<Transaction> transactions) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Transaction transaction : transactions) {
+            total = total.add(transaction.getAmount()).add(transaction.getFee());
+        }
+        return total;
+    }
+
+    private BulkTransferResponse buildResponse(String batchId, Long fromAccountId,
+                                               BulkTransferResponse.ItemResult[] results, BigDecimal totalDebited) {
+        BulkTransferResponse response = new BulkTransferResponse();
+        response.setBatchId(batchId);
+        response.setFromAccountId(fromAccountId);
+        response.setRequestedCount(results.length);
+        response.setCompletedCount((int) Arrays.stream(results)
+                .filter(r -> r.getStatus() == TransactionStatus.COMPLETED).count());
+        response.setFailedCount((int) Arrays.stream(results)
+                .filter(r -> r.getStatus() == TransactionStatus.FAILED).count());
+        response.setTotalDebited(totalDebited);
+        response.setItems(List.of(results));
+        return response;
+    }
+}
@@ -0,0 +1,122 @@
+package com.securebank.service;
+
+import com.securebank.entity.DailyLimitUsage;
+import com.securebank.entity.DailyLimitUsageId;
+import com.securebank.exception.DailyLimitExceededException;
+import com.securebank.repository.DailyLimitUsageRepository;
+import com.securebank.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Tracks how much of the daily withdrawal and transfer limits each account has used.
+ *
+ * Usage is kept in {@code daily_limit_usage} and bumped with a conditional UPDATE inside
+ * the caller's transaction, so the counter commits or rolls back together with the balance.
+ * The first movement of the day seeds the row from transaction history, which also makes
+ * the store self-healing after {@link #rebuild(Long, LocalDate)}. The UPDATE is retried once
+ * after seeding whether or not this call inserted the row, since a concurrent first movement
+ * may have seeded it in between. Rows of past days are no longer checked and are deleted
+ * by a scheduled cleanup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailyLimitService {
+
+    private final DailyLimitUsageRepository dailyLimitUsageRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Transactional
+    public void recordWithdrawal(Long accountId, BigDecimal amount, BigDecimal limit) {
+        LocalDate today = LocalDate.now();
+        if (dailyLimitUsageRepository.addWithdrawal(accountId, today, amount, limit) > 0) {
+            return;
+        }
+        seedIfAbsent(accountId, today);
+        if (dailyLimitUsageRepository.addWithdrawal(accountId, today, amount, limit) > 0) {
+            return;
+        }
+        throw new DailyLimitExceededException(getUsage(accountId, today).getWithdrawnAmount(), limit, amount);
+    }
+
+    @Transactional
+    public void recordTransfer(Long accountId, BigDecimal amount, BigDecimal limit) {
+        LocalDate today = LocalDate.now();
+        if (dailyLimitUsageRepository.addTransfer(accountId, today, amount, limit) > 0) {
+            return;
+        }
+        seedIfAbsent(accountId, today);
+        if (dailyLimitUsageRepository.addTransfer(accountId, today, amount, limit) > 0) {
+            return;
+        }
+        throw new DailyLimitExceededException(getUsage(accountId, today).getTransferredAmount(), limit, amount);
+    }
+
+    /**
+     * Gives back transfer allowance consumed today by a transfer that was later reversed.
+     */
+    @Transactional
+    public void releaseTransfer(Long accountId, BigDecimal amount) {
+        releaseTransfer(accountId, LocalDate.now(), amount);
+    }
+
+    /**
+     * Gives back transfer allowance consumed on the given day.
+     */
+    @Transactional
+    public void releaseTransfer(Long accountId, LocalDate date, BigDecimal amount) {
+        dailyLimitUsageRepository.releaseTransfer(accountId, date, amount);
+    }
+
+    public DailyLimitUsage getUsage(Long accountId, LocalDate date) {
+        DailyLimitUsageId id = new DailyLimitUsageId(accountId, date);
+        return dailyLimitUsageRepository.findById(id)
+                .orElseGet(() -> DailyLimitUsage.builder().id(id).build());
+    }
+
+    /**
+     * Recomputes the usage row for the given day from completed and still pending
+     * transactions, overwriting whatever the counters currently hold.
+     */
+    @Transactional
+    public DailyLimitUsage rebuild(Long accountId, LocalDate date) {
+        BigDecimal withdrawn = transactionRepository.sumDailyWithdrawals(accountId, date);
+        BigDecimal transferred = transactionRepository.sumDailyTransfers(accountId, date);
+        dailyLimitUsageRepository.upsert(accountId, date, withdrawn, transferred);
+
+        return DailyLimitUsage.builder()
+                .id(new DailyLimitUsageId(accountId, date))
+                .withdrawnAmount(withdrawn)
+                .transferredAmount(transferred)
+                .build();
+    }
+
+    /**
+     * Deletes usage rows of days before today. Returns the number removed.
+     */
+    @Scheduled(fixedDelayString = "${transaction.daily-limit.cleanup-interval-ms:3600000}")
+    @Transactional
+    public int purgePastUsage() {
+        int removed = dailyLimitUsageRepository.deleteUsageBefore(LocalDate.now());
+        if (removed > 0) {
+            log.info("Removed {} daily limit usage rows of past days", removed);
+        }
+        return removed;
+    }
+
+    private void seedIfAbsent(Long accountId, LocalDate date) {
+        if (dailyLimitUsageRepository.existsById(new DailyLimitUsageId(accountId, date))) {
+            return;
+        }
+        BigDecimal withdrawn = transactionRepository.sumDailyWithdrawals(accountId, date);
+        BigDecimal transferred = transactionRepository.sumDailyTransfers(accountId, date);
+        dailyLimitUsageRepository.insertIfAbsent(accountId, date, withdrawn, transferred);
+    }
+}
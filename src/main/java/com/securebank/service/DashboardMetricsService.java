@@ -0,0 +1,454 @@
+package com.securebank.service;
+
+import com.securebank.entity.DashboardDailyMetric;
+import com.securebank.entity.Transaction;
+import com.securebank.enums.AccountStatus;
+import com.securebank.enums.TransactionStatus;
+import com.securebank.enums.TransactionType;
+import com.securebank.repository.AccountRepository;
+import com.securebank.repository.DashboardDailyMetricRepository;
+import com.securebank.repository.TransactionRepository;
+import com.securebank.repository.UserRepository;
+import com.securebank.util.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory counters behind the admin dashboard, so loading it reads memory instead of
+ * running a dozen aggregate queries.
+ *
+ * Write paths add to striped counters after their transaction commits: completed
+ * transactions per day and type, new users per day, and accounts per status. Every counter
+ * is a base value plus pending increments. The flush job adds each day's pending
+ * increments to {@code dashboard_daily_metrics} and reloads the rows as the new base, which
+ * also picks up other instances' increments. Account and user totals are re-counted from
+ * their tables on a slower interval.
+ *
+ * The first flush, and then one every reconcile interval, recounts the retained days from
+ * {@code transactions} and {@code users} in two grouped queries. Only closed days are
+ * overwritten with the recount: another instance may still hold increments for today that
+ * the recount already includes, and would count them twice when it flushes. Today only gets
+ * rows that do not exist yet; where the row exists, this instance's pending increments are
+ * added to it. Pending increments are flushed on shutdown; those lost in a crash are
+ * corrected once the day closes. A fraud backtest (fraud.backtest.enabled) runs no
+ * scheduler and skips the shutdown flush, so it never writes these rows.
+ */
+@Slf4j
+@Service
+public class DashboardMetricsService {
+
+    // Today and the seven days before, for "new users this week"
+    static final int RETAINED_DAYS = 8;
+    static final String NEW_USERS = "NEW_USERS";
+
+    @Value("${dashboard.metrics.flush-interval-ms:30000}")
+    private long flushIntervalMs = 30_000;
+
+    @Value("${dashboard.metrics.gauge-refresh-interval-ms:300000}")
+    private long gaugeRefreshIntervalMs = 300_000;
+
+    @Value("${dashboard.metrics.reconcile-interval-ms:3600000}")
+    private long reconcileIntervalMs = 3_600_000;
+
+    @Value("${fraud.backtest.enabled:false}")
+    private boolean backtest;
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+    private final DashboardDailyMetricRepository metricRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<LocalDate, Day> days = new ConcurrentHashMap<>();
+    private final Map<AccountStatus, Counter> accountsByStatus = new EnumMap<>(AccountStatus.class);
+    private final Counter totalUsers = new Counter();
+    private volatile long gaugesRefreshedAtNanos;
+    private volatile boolean gaugesLoaded;
+    private volatile boolean reconciled;
+    private volatile long reconciledAtNanos;
+
+    public DashboardMetricsService(TransactionRepository transactionRepository, AccountRepository accountRepository,
+                                   UserRepository userRepository, DashboardDailyMetricRepository metricRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.userRepository = userRepository;
+        this.metricRepository = metricRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (AccountStatus status : AccountStatus.values()) {
+            accountsByStatus.put(status, new Counter());
+        }
+    }
+
+    public void recordAfterCommit(Transaction transaction) {
+        recordAfterCommit(List.of(transaction));
+    }
+
+    /**
+     * Counts the transactions that are completed once the current transaction commits.
+     */
+    public void recordAfterCommit(Collection<Transaction> transactions) {
+        AfterCommit.run(() -> {
+            for (Transaction transaction : transactions) {
+                if (transaction.getStatus() != TransactionStatus.COMPLETED) {
+                    continue;
+                }
+                LocalDate date = transaction.getCreatedAt() != null
+                        ? transaction.getCreatedAt().toLocalDate() : LocalDate.now();
+                Day day = day(date);
+                TransactionType type = transaction.getTransactionType();
+                day.counts.get(type).add(1);
+                day.volumesMinor.get(type).add(toMinor(transaction.getAmount()));
+            }
+        });
+    }
+
+    public void userRegisteredAfterCommit() {
+        AfterCommit.run(() -> {
+            totalUsers.add(1);
+            day(LocalDate.now()).newUsers.add(1);
+        });
+    }
+
+    public void accountCreatedAfterCommit(AccountStatus status) {
+        AfterCommit.run(() -> accountsByStatus.get(status).add(1));
+    }
+
+    public void accountStatusChangedAfterCommit(AccountStatus from, AccountStatus to) {
+        if (from == to) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            accountsByStatus.get(from).add(-1);
+            accountsByStatus.get(to).add(1);
+        });
+    }
+
+    public Snapshot snapshot() {
+        if (!gaugesLoaded) {
+            loadGauges();
+        }
+        LocalDate today = LocalDate.now();
+        Map<AccountStatus, Long> statuses = new EnumMap<>(AccountStatus.class);
+        accountsByStatus.forEach((status, counter) -> statuses.put(status, counter.value()));
+
+        Day current = days.get(today);
+        Map<TransactionType, Long> todayCounts = new EnumMap<>(TransactionType.class);
+        Map<TransactionType, BigDecimal> todayVolumes = new EnumMap<>(TransactionType.class);
+        for (TransactionType type : TransactionType.values()) {
+            todayCounts.put(type, current == null ? 0 : current.counts.get(type).value());
+            todayVolumes.put(type, fromMinor(current == null ? 0 : current.volumesMinor.get(type).value()));
+        }
+
+        long newUsersThisWeek = 0;
+        Map<LocalDate, BigDecimal> dailyVolume = new LinkedHashMap<>();
+        for (int i = RETAINED_DAYS - 1; i >= 0; i--) {
+            LocalDate date = today.minusDays(i);
+            Day day = days.get(date);
+            if (day != null) {
+                newUsersThisWeek += day.newUsers.value();
+            }
+            if (i < 7) {
+                dailyVolume.put(date, fromMinor(day == null ? 0 : day.totalVolumeMinor()));
+            }
+        }
+        return new Snapshot(totalUsers.value(), statuses, newUsersThisWeek, todayCounts, todayVolumes, dailyVolume);
+    }
+
+    /**
+     * Recounts the retained days from the source tables. Closed days are overwritten; today
+     * gets the recount where it has no row yet and this instance's increments otherwise.
+     */
+    public synchronized void reconcile() {
+        // Taken before the recount, which therefore already includes them
+        Map<LocalDate, Map<String, Long>> deltas = takePending();
+
+        LocalDate from = LocalDate.now().minusDays(RETAINED_DAYS - 1);
+        Map<LocalDate, Map<String, Long>> values = new LinkedHashMap<>();
+        for (LocalDate date = from; !date.isAfter(LocalDate.now()); date = date.plusDays(1)) {
+            Map<String, Long> day = new LinkedHashMap<>();
+            for (TransactionType type : TransactionType.values()) {
+                day.put(countMetric(type), 0L);
+                day.put(volumeMetric(type), 0L);
+            }
+            day.put(NEW_USERS, 0L);
+            values.put(date, day);
+        }
+
+        for (TransactionRepository.DailyTypeTotal total : transactionRepository.sumCompletedByDayAndType(from.atStartOfDay())) {
+            Map<String, Long> day = values.get(total.getDay().toLocalDate());
+            if (day != null) {
+                TransactionType type = TransactionType.valueOf(total.getTransactionType());
+                day.put(countMetric(type), total.getTransactionCount());
+                day.put(volumeMetric(type), toMinor(total.getVolume()));
+            }
+        }
+        for (UserRepository.DailyCount count : userRepository.countNewUsersByDay(from.atStartOfDay())) {
+            Map<String, Long> day = values.get(count.getDay().toLocalDate());
+            if (day != null) {
+                day.put(NEW_USERS, count.getUsers());
+            }
+        }
+
+        // A day is closed once every instance has had two flushes since midnight
+        LocalDate firstOpenDay = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(2 * flushIntervalMs))
+                .toLocalDate();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                values.forEach((date, metrics) -> metrics.forEach((metric, value) -> {
+                    long delta = deltas.getOrDefault(date, Map.of()).getOrDefault(metric, 0L);
+                    if (date.isBefore(firstOpenDay)) {
+                        metricRepository.setValue(date, metric, value);
+                    } else if (metricRepository.insertIfAbsent(date, metric, value) == 0 && delta != 0) {
+                        metricRepository.addDelta(date, metric, delta);
+                    }
+                }));
+                // Days no longer retained are not recounted, so their increments are added as-is
+                deltas.forEach((date, metrics) -> {
+                    if (!values.containsKey(date)) {
+                        metrics.forEach((metric, delta) -> metricRepository.addDelta(date, metric, delta));
+                    }
+                });
+            });
+        } catch (RuntimeException e) {
+            restorePending(deltas);
+            throw e;
+        }
+        loadStored(from);
+        refreshGauges();
+        reconciled = true;
+        reconciledAtNanos = System.nanoTime();
+        log.info("Reconciled dashboard metrics from {}", from);
+    }
+
+    /**
+     * Adds pending increments to the rollup rows and reloads the retained days from them.
+     * Reconciles instead on the first run and once every reconcile interval.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.metrics.flush-interval-ms:30000}")
+    public synchronized void flush() {
+        if (!reconciled || System.nanoTime() - reconciledAtNanos >= TimeUnit.MILLISECONDS.toNanos(reconcileIntervalMs)) {
+            reconcile();
+            return;
+        }
+        flushPending();
+        loadStored(LocalDate.now().minusDays(RETAINED_DAYS - 1));
+
+        if (System.nanoTime() - gaugesRefreshedAtNanos >= TimeUnit.MILLISECONDS.toNanos(gaugeRefreshIntervalMs)) {
+            refreshGauges();
+        }
+    }
+
+    /**
+     * Writes increments still pending, since today's rows are not recounted until it closes.
+     */
+    @PreDestroy
+    public synchronized void flushOnShutdown() {
+        if (!backtest) {
+            flushPending();
+        }
+    }
+
+    private Map<LocalDate, Map<String, Long>> takePending() {
+        Map<LocalDate, Map<String, Long>> deltas = new LinkedHashMap<>();
+        days.forEach((date, day) -> day.counters().forEach((metric, counter) -> {
+            long delta = counter.moveToBase();
+            if (delta != 0) {
+                deltas.computeIfAbsent(date, d -> new LinkedHashMap<>()).put(metric, delta);
+            }
+        }));
+        return deltas;
+    }
+
+    private void restorePending(Map<LocalDate, Map<String, Long>> deltas) {
+        deltas.forEach((date, metrics) -> {
+            Map<String, Counter> counters = day(date).counters();
+            metrics.forEach((metric, delta) -> counters.get(metric).restorePending(delta));
+        });
+    }
+
+    private void flushPending() {
+        for (Map.Entry<LocalDate, Day> entry : days.entrySet()) {
+            LocalDate date = entry.getKey();
+            Day day = entry.getValue();
+            for (Map.Entry<String, Counter> counter : day.counters().entrySet()) {
+                long delta = counter.getValue().moveToBase();
+                if (delta == 0) {
+                    continue;
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            metricRepository.addDelta(date, counter.getKey(), delta));
+                } catch (RuntimeException e) {
+                    counter.getValue().restorePending(delta);
+                    log.warn("Failed to flush dashboard metric {} for {}; will retry", counter.getKey(), date, e);
+                }
+            }
+        }
+    }
+
+    private void loadStored(LocalDate from) {
+        Map<LocalDate, Map<String, Long>> stored = new LinkedHashMap<>();
+        for (DashboardDailyMetric row : metricRepository.findByIdMetricDateGreaterThanEqual(from)) {
+            stored.computeIfAbsent(row.getId().getMetricDate(), date -> new LinkedHashMap<>())
+                    .put(row.getId().getMetric(), row.getValue());
+        }
+        stored.forEach((date, metrics) -> day(date).setBase(metrics));
+        days.entrySet().removeIf(entry -> entry.getKey().isBefore(from) && !entry.getValue().hasPending());
+    }
+
+    private synchronized void loadGauges() {
+        if (!gaugesLoaded) {
+            refreshGauges();
+        }
+    }
+
+    private void refreshGauges() {
+        // Gauges are per-instance; increments so far are in the counts about to be read
+        accountsByStatus.values().forEach(Counter::discardPending);
+        totalUsers.discardPending();
+        Map<AccountStatus, Long> counts = new EnumMap<>(AccountStatus.class);
+        for (AccountRepository.StatusCount count : accountRepository.countGroupedByStatus()) {
+            counts.put(count.getStatus(), count.getAccounts());
+        }
+        accountsByStatus.forEach((status, counter) -> counter.setBase(counts.getOrDefault(status, 0L)));
+        totalUsers.setBase(userRepository.count());
+        gaugesRefreshedAtNanos = System.nanoTime();
+        gaugesLoaded = true;
+    }
+
+    private Day day(LocalDate date) {
+        return days.computeIfAbsent(date, d -> new Day());
+    }
+
+    static String countMetric(TransactionType type) {
+        return type.name() + "_COUNT";
+    }
+
+    static String volumeMetric(TransactionType type) {
+        return type.name() + "_VOLUME_MINOR";
+    }
+
+    private static long toMinor(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal fromMinor(long minor) {
+        return BigDecimal.valueOf(minor, 2);
+    }
+
+    /**
+     * A base value loaded from the database plus increments recorded since.
+     */
+    static final class Counter {
+
+        private volatile long base;
+        private final LongAdder pending = new LongAdder();
+
+        void add(long delta) {
+            pending.add(delta);
+        }
+
+        long value() {
+            return base + pending.sum();
+        }
+
+        void setBase(long value) {
+            base = value;
+        }
+
+        // Callers hold the service lock, so base has a single writer
+        long moveToBase() {
+            long delta = pending.sumThenReset();
+            base += delta;
+            return delta;
+        }
+
+        void restorePending(long delta) {
+            base -= delta;
+            pending.add(delta);
+        }
+
+        void discardPending() {
+            pending.reset();
+        }
+
+        boolean hasPending() {
+            return pending.sum() != 0;
+        }
+    }
+
+    private static final class Day {
+
+        final Map<TransactionType, Counter> counts = new EnumMap<>(TransactionType.class);
+        final Map<TransactionType, Counter> volumesMinor = new EnumMap<>(TransactionType.class);
+        final Counter newUsers = new Counter();
+
+        Day() {
+            for (TransactionType type : TransactionType.values()) {
+                counts.put(type, new Counter());
+                volumesMinor.put(type, new Counter());
+            }
+        }
+
+        Map<String, Counter> counters() {
+            Map<String, Counter> counters = new LinkedHashMap<>();
+            for (TransactionType type : TransactionType.values()) {
+                counters.put(countMetric(type), counts.get(type));
+                counters.put(volumeMetric(type), volumesMinor.get(type));
+            }
+            counters.put(NEW_USERS, newUsers);
+            return counters;
+        }
+
+        void setBase(Map<String, Long> values) {
+            counters().forEach((metric, counter) -> counter.setBase(values.getOrDefault(metric, 0L)));
+        }
+
+        boolean hasPending() {
+            return counters().values().stream().anyMatch(Counter::hasPending);
+        }
+
+        long totalVolumeMinor() {
+            return volumesMinor.values().stream().mapToLong(Counter::value).sum();
+        }
+    }
+
+    /**
+     * Dashboard figures as of now.
+     */
+    public record Snapshot(long totalUsers, Map<AccountStatus, Long> accountsByStatus, long newUsersThisWeek,
+                           Map<TransactionType, Long> todayCounts, Map<TransactionType, BigDecimal> todayVolumes,
+                           Map<LocalDate, BigDecimal> dailyVolume) {
+
+        public long totalAccounts() {
+            return accountsByStatus.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public long todayCount() {
+            return todayCounts.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public BigDecimal todayVolume() {
+            return todayVolumes.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.securebank.service;
+
+import com.securebank.entity.Account;
+import com.securebank.entity.Transaction;
+import com.securebank.service.fraud.FraudContext;
+import com.securebank.service.fraud.FraudRule;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Replays historical debits through one or more fraud rule sets and tallies how often each
+ * set flags and how many flags hit transactions later confirmed as fraud.
+ *
+ * Rows must arrive ordered by account and then time. Each {@link Shard} then needs the
+ * state of one account at a time: the same five-minute window and weighted baseline the
+ * live checks use, evaluated as of the row's own timestamp and updated after it, so memory
+ * does not grow with the number of accounts. Shards are independent and may run on
+ * separate threads; their tallies are merged by {@link #report}.
+ */
+public final class FraudBacktest {
+
+    private final List<String> labels;
+    private final List<List<FraudRule>> ruleSets;
+    private final BigDecimal largeAmountThreshold;
+    private final double baselineAlpha;
+    private final List<Shard> shards = new CopyOnWriteArrayList<>();
+
+    public FraudBacktest(Map<String, List<FraudRule>> ruleSets, BigDecimal largeAmountThreshold, double baselineAlpha) {
+        this.labels = List.copyOf(ruleSets.keySet());
+        this.ruleSets = List.copyOf(ruleSets.values());
+        this.largeAmountThreshold = largeAmountThreshold;
+        this.baselineAlpha = baselineAlpha;
+    }
+
+    public Shard newShard() {
+        Shard shard = new Shard();
+        shards.add(shard);
+        return shard;
+    }
+
+    public Report report(Duration elapsed) {
+        long rows = 0;
+        long accounts = 0;
+        long confirmed = 0;
+        long[] flagged = new long[ruleSets.size()];
+        long[] truePositives = new long[ruleSets.size()];
+        for (Shard shard : shards) {
+            rows += shard.rows;
+            accounts += shard.accounts;
+            confirmed += shard.confirmed;
+            for (int i = 0; i < ruleSets.size(); i++) {
+                flagged[i] += shard.flagged[i];
+                truePositives[i] += shard.truePositives[i];
+            }
+        }
+        List<RuleSetResult> results = new ArrayList<>();
+        for (int i = 0; i < ruleSets.size(); i++) {
+            results.add(new RuleSetResult(labels.get(i), flagged[i], truePositives[i],
+                    ruleSets.get(i).stream()
+                            .map(rule -> new RuleResult(rule.getName(), rule.getExpression(),
+                                    rule.getEvaluations(), rule.getHits()))
+                            .toList()));
+        }
+        return new Report(rows, accounts, confirmed, results, elapsed);
+    }
+
+    /**
+     * Replay state of one worker. Not thread-safe; give each thread its own shard.
+     */
+    public final class Shard {
+
+        private long accountId = Long.MIN_VALUE;
+        private AccountFeatureStore.Window window;
+        private AccountBaselineService.Baseline baseline;
+        private long rows;
+        private long accounts;
+        private long confirmed;
+        private final long[] flagged = new long[ruleSets.size()];
+        private final long[] truePositives = new long[ruleSets.size()];
+
+        private Shard() {
+        }
+
+        public void accept(Row row) {
+            if (row.accountId() != accountId) {
+                if (row.accountId() < accountId) {
+                    throw new IllegalStateException("Backtest rows must be ordered by account and time");
+                }
+                accountId = row.accountId();
+                window = new AccountFeatureStore.Window(largeAmountThreshold);
+                baseline = AccountBaselineService.Baseline.EMPTY;
+                accounts++;
+            }
+
+            long at = row.createdAt().toEpochSecond(ZoneOffset.UTC);
+            Transaction transaction = Transaction.builder()
+                    .fromAccount(Account.builder().id(row.accountId()).build())
+                    .amount(row.amount())
+                    .createdAt(row.createdAt())
+                    .build();
+            AccountFeatureStore.Window current = window;
+            AccountBaselineService.Baseline before = baseline;
+            FraudContext context = new FraudContext(transaction, () -> current.features(at), () -> before);
+
+            rows++;
+            if (row.confirmedFraud()) {
+                confirmed++;
+            }
+            for (int i = 0; i < ruleSets.size(); i++) {
+                if (anyMatch(ruleSets.get(i), context)) {
+                    flagged[i]++;
+                    if (row.confirmedFraud()) {
+                        truePositives[i]++;
+                    }
+                }
+            }
+
+            // Live checks see a transaction only once it has committed, i.e. after scoring it
+            window.add(at, row.amount());
+            if (row.completed()) {
+                baseline = baseline.observe(row.amount().doubleValue(), baselineAlpha);
+            }
+        }
+
+        private boolean anyMatch(List<FraudRule> rules, FraudContext context) {
+            for (FraudRule rule : rules) {
+                if (rule.matches(context)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * One historical debit. {@code completed} decides whether it entered the amount
+     * baseline; {@code confirmedFraud} is the label flags are measured against.
+     */
+    public record Row(long accountId, BigDecimal amount, LocalDateTime createdAt, boolean completed,
+                      boolean confirmedFraud) {
+    }
+
+    public record RuleResult(String name, String expression, long evaluations, long hits) {
+    }
+
+    public record RuleSetResult(String label, long flagged, long truePositives, List<RuleResult> rules) {
+
+        public double precision() {
+            return flagged == 0 ? 0 : (double) truePositives / flagged;
+        }
+    }
+
+    public record Report(long rows, long accounts, long confirmedFraud, List<RuleSetResult> ruleSets,
+                         Duration elapsed) {
+
+        public double flagRate(RuleSetResult result) {
+            return rows == 0 ? 0 : (double) result.flagged() / rows;
+        }
+
+        public double recall(RuleSetResult result) {
+            return confirmedFraud == 0 ? 0 : (double) result.truePositives() / confirmedFraud;
+        }
+
+        public String format() {
+            StringBuilder out = new StringBuilder();
+            long millis = Math.max(1, elapsed.toMillis());
+            out.append(String.format(Locale.ROOT, "Replayed %,d transactions of %,d accounts in %.1f s (%,d rows/s)%n",
+                    rows, accounts, millis / 1000.0, rows * 1000 / millis));
+            out.append(String.format(Locale.ROOT, "Confirmed fraud: %,d%n", confirmedFraud));
+            for (RuleSetResult result : ruleSets) {
+                out.append(String.format(Locale.ROOT,
+                        "%n%s%n  flagged %,d (flag rate %.4f%%), true positives %,d, precision %.4f, recall %.4f%n",
+                        result.label(), result.flagged(), flagRate(result) * 100, result.truePositives(),
+                        result.precision(), recall(result)));
+                for (RuleResult rule : result.rules()) {
+                    out.append(String.format(Locale.ROOT, "  %-24s hits %,12d of %,12d  %s%n",
+                            rule.name(), rule.hits(), rule.evaluations(), rule.expression()));
+                }
+            }
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.securebank.service;
+
+import com.securebank.entity.Account;
+import com.securebank.entity.AuditLog;
+import com.securebank.entity.Transaction;
+import com.securebank.enums.HoldReason;
+import com.securebank.enums.TransactionStatus;
+import com.securebank.repository.AccountRepository;
+import com.securebank.repository.TransactionRepository;
+import com.securebank.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Resolves transfers held in PENDING by fraud screening.
+ *
+ * A held transfer has already debited its source into SUSPENSE. Releasing it credits the
+ * destination and completes it; rejecting it refunds amount and fee to the source, gives
+ * back the daily limit allowance and fails it. Both take the transaction row lock, so a
+ * transfer is resolved exactly once even when a reviewer and the background worker race.
+ *
+ * Transfers held because scoring timed out are re-scored on {@code fraudReviewExecutor}:
+ * clean ones are released automatically, suspicious ones are escalated to reviewers. A clean
+ * one whose destination can no longer be credited, e.g. because it was frozen or closed in
+ * the meantime, is refunded and failed instead of being re-queued by every sweep.
+ */
+@Slf4j
+@Service
+public class FraudReviewService {
+
+    @Value("${fraud.review.rescore-delay-seconds:30}")
+    private long rescoreDelaySeconds = 30;
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final HotAccountService hotAccountService;
+    private final LedgerService ledgerService;
+    private final DailyLimitService dailyLimitService;
+    private final LockRetryExecutor lockRetryExecutor;
+    private final AuditLogWriter auditLogWriter;
+    private final FraudDetectionService fraudDetectionService;
+    private final AccountBaselineService accountBaselineService;
+    private final TransferGraphService transferGraphService;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final Executor fraudReviewExecutor;
+
+    public FraudReviewService(TransactionRepository transactionRepository,
+                              AccountRepository accountRepository,
+                              HotAccountService hotAccountService,
+                              LedgerService ledgerService,
+                              DailyLimitService dailyLimitService,
+                              LockRetryExecutor lockRetryExecutor,
+                              AuditLogWriter auditLogWriter,
+                              FraudDetectionService fraudDetectionService,
+                              AccountBaselineService accountBaselineService,
+                              TransferGraphService transferGraphService,
+                              DashboardMetricsService dashboardMetricsService,
+                              @Qualifier("fraudReviewExecutor") Executor fraudReviewExecutor) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.hotAccountService = hotAccountService;
+        this.ledgerService = ledgerService;
+        this.dailyLimitService = dailyLimitService;
+        this.lockRetryExecutor = lockRetryExecutor;
+        this.auditLogWriter = auditLogWriter;
+        this.fraudDetectionService = fraudDetectionService;
+        this.accountBaselineService = accountBaselineService;
+        this.transferGraphService = transferGraphService;
+        this.dashboardMetricsService = dashboardMetricsService;
+        this.fraudReviewExecutor = fraudReviewExecutor;
+    }
+
+    /**
+     * Queues a re-score of a transfer held for a scoring timeout once its hold commits.
+     */
+    public void rescoreAfterCommit(Transaction transaction) {
+        String transactionId = transaction.getTransactionId();
+        AfterCommit.run(() -> submitRescore(transactionId));
+    }
+
+    /**
+     * Re-queues timed-out holds whose background task was lost or rejected.
+     * Returns the number of transfers queued.
+     */
+    @Scheduled(fixedDelayString = "${fraud.review.sweep-interval-ms:60000}")
+    public int sweepTimedOutHolds() {
+        List<String> held = transactionRepository.findHeldTransactionIds(
+                HoldReason.SCORING_TIMEOUT, LocalDateTime.now().minusSeconds(rescoreDelaySeconds));
+        held.forEach(this::submitRescore);
+        return held.size();
+    }
+
+    public Page<Transaction> findHeld(Pageable pageable) {
+        return transactionRepository.findByStatusAndHoldReasonIsNotNull(TransactionStatus.PENDING, pageable);
+    }
+
+    public Transaction approve(String transactionId) {
+        return lockRetryExecutor.execute(() -> {
+            Transaction held = lockHeld(transactionId);
+            release(held);
+            return held;
+        });
+    }
+
+    public Transaction reject(String transactionId) {
+        return lockRetryExecutor.execute(() -> {
+            Transaction held = lockHeld(transactionId);
+            refund(held, "TRANSFER_REJECTED");
+            return held;
+        });
+    }
+
+    void rescore(String transactionId) {
+        try {
+            Transaction held = transactionRepository.findByTransactionId(transactionId).orElse(null);
+            if (held == null || !isTimedOutHold(held)) {
+                return;
+            }
+            // The held transfer is already part of its account's window, which only errs towards holding
+            boolean suspicious = fraudDetectionService.isSuspicious(held);
+            lockRetryExecutor.execute(() -> {
+                Transaction locked = transactionRepository.findByTransactionIdWithLock(transactionId).orElse(null);
+                if (locked == null || !isTimedOutHold(locked)) {
+                    return null;
+                }
+                if (suspicious) {
+                    locked.setHoldReason(HoldReason.FRAUD_SUSPECTED);
+                    transactionRepository.save(locked);
+                    audit(locked.getFromAccount(), "TRANSFER_ESCALATED", locked);
+                } else if (!tryRelease(locked)) {
+                    log.warn("Destination of held transfer {} cannot be credited, refunding it", transactionId);
+                    refund(locked, "TRANSFER_REFUNDED");
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.error("Re-scoring held transfer {} failed", transactionId, e);
+        }
+    }
+
+    private void submitRescore(String transactionId) {
+        try {
+            fraudReviewExecutor.execute(() -> rescore(transactionId));
+        } catch (RejectedExecutionException e) {
+            log.warn("Fraud review queue full, transfer {} is left for the next sweep", transactionId);
+        }
+    }
+
+    private Transaction lockHeld(String transactionId) {
+        Transaction held = transactionRepository.findByTransactionIdWithLock(transactionId)
+                .orElseThrow(() -> new RuntimeException("Transaction not found"));
+        if (held.getStatus() != TransactionStatus.PENDING || held.getHoldReason() == null) {
+            throw new RuntimeException("Transaction is not held for review");
+        }
+        return held;
+    }
+
+    private boolean isTimedOutHold(Transaction transaction) {
+        return transaction.getStatus() == TransactionStatus.PENDING
+                && transaction.getHoldReason() == HoldReason.SCORING_TIMEOUT;
+    }
+
+    private void release(Transaction held) {
+        if (!tryRelease(held)) {
+            throw new RuntimeException("Destination account not active");
+        }
+    }
+
+    /**
+     * Credits the destination and completes the transfer; false, with nothing changed, when
+     * the destination cannot be credited.
+     */
+    private boolean tryRelease(Transaction held) {
+        Account destination = held.getToAccount();
+        boolean credited = hotAccountService.isHot(destination)
+                ? hotAccountService.tryCredit(destination, held.getAmount())
+                : accountRepository.creditIfActive(destination.getId(), held.getAmount()).isPresent();
+        if (!credited) {
+            return false;
+        }
+
+        held.setStatus(TransactionStatus.COMPLETED);
+        transactionRepository.save(held);
+        ledgerService.postTransferRelease(held);
+        accountBaselineService.record(held);
+        transferGraphService.recordAfterCommit(held);
+        dashboardMetricsService.recordAfterCommit(held);
+
+        audit(held.getFromAccount(), "TRANSFER_RELEASED", held);
+        audit(destination, "TRANSFER_IN", held);
+        return true;
+    }
+
+    private void refund(Transaction held, String action) {
+        Account source = accountRepository.findByIdWithLock(held.getFromAccount().getId())
+                .orElseThrow(() -> new RuntimeException("Source account not found"));
+        BigDecimal total = held.getAmount().add(held.getFee());
+        source.setBalance(source.getBalance().add(total));
+        accountRepository.save(source);
+
+        held.setStatus(TransactionStatus.FAILED);
+        transactionRepository.save(held);
+        ledgerService.postTransferRefund(held);
+        dailyLimitService.releaseTransfer(source.getId(), held.getCreatedAt().toLocalDate(), held.getAmount());
+
+        audit(source, action, held);
+    }
+
+    private void audit(Account account, String action, Transaction transaction) {
+        AuditLog auditLog = AuditLog.builder()
+                .user(account.getUser())
+                .action(action)
+                .entityType("TRANSACTION")
+                .entityId(transaction.getId())
+                .build();
+        auditLogWriter.write(auditLog);
+    }
+}
@@ -0,0 +1,133 @@
+package com.securebank.service;
+
+import com.securebank.entity.Transaction;
+import com.securebank.service.fraud.FraudContext;
+import com.securebank.service.fraud.FraudRule;
+import com.securebank.service.fraud.FraudRuleCompiler;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Evaluates the compiled fraud rules; a transaction is suspicious when any rule matches.
+ *
+ * The built-in rules apply until {@code fraud.rules.path} names a rule file. That file is
+ * polled for changes and recompiled off the request path; the new rule set replaces the old
+ * one with a single reference swap, so an evaluation always sees one consistent set. A file
+ * that does not compile is logged and the previous rules stay active.
+ */
+@Slf4j
+@Service
+public class FraudRuleEngine {
+
+    public static final String DEFAULT_RULES = """
+            # A transaction is suspicious when any rule matches
+            multiple-large: largeCount24h >= 3 || (amount >= 5000 && largeCount24h >= 2)
+            unusual-hour-large: (hour >= 23 || hour <= 6) && amount >= 5000
+            amount-spike: baselineSamples >= 3 && amountZ >= 4
+            rapid-succession: count1h >= 5
+            """;
+
+    @Value("${fraud.rules.path:}")
+    private String rulesPath = "";
+
+    private final AccountFeatureStore accountFeatureStore;
+    private final AccountBaselineService accountBaselineService;
+    private final AtomicReference<RuleSet> ruleSet;
+    private long loadedModifiedMillis = -1;
+
+    public FraudRuleEngine(AccountFeatureStore accountFeatureStore, AccountBaselineService accountBaselineService) {
+        this.accountFeatureStore = accountFeatureStore;
+        this.accountBaselineService = accountBaselineService;
+        this.ruleSet = new AtomicReference<>(compile(DEFAULT_RULES, "built-in"));
+    }
+
+    @PostConstruct
+    public void loadConfiguredRules() {
+        reloadIfChanged();
+    }
+
+    /**
+     * Returns the name of the first matching rule, or empty when the transaction is clean.
+     */
+    public Optional<String> evaluate(Transaction transaction) {
+        FraudContext context = new FraudContext(transaction, accountFeatureStore, accountBaselineService);
+        for (FraudRule rule : ruleSet.get().rules()) {
+            if (rule.matches(context)) {
+                return Optional.of(rule.getName());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public RuleSet current() {
+        return ruleSet.get();
+    }
+
+    /**
+     * Compiles and activates the given rules. Throws without changing anything when they
+     * do not compile.
+     */
+    public RuleSet replace(String source, String origin) {
+        RuleSet compiled = compile(source, origin);
+        ruleSet.set(compiled);
+        log.info("Activated {} fraud rules from {}", compiled.rules().size(), origin);
+        return compiled;
+    }
+
+    /**
+     * Recompiles the configured rule file, or restores the built-in rules when none is set.
+     */
+    public synchronized RuleSet reload() {
+        if (rulesPath == null || rulesPath.isBlank()) {
+            return replace(DEFAULT_RULES, "built-in");
+        }
+        Path path = Path.of(rulesPath);
+        try {
+            long modified = Files.getLastModifiedTime(path).toMillis();
+            RuleSet compiled = replace(Files.readString(path), path.toString());
+            loadedModifiedMillis = modified;
+            return compiled;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read fraud rules from " + path, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fraud.rules.reload-interval-ms:10000}")
+    public synchronized void reloadIfChanged() {
+        if (rulesPath == null || rulesPath.isBlank()) {
+            return;
+        }
+        try {
+            long modified = Files.getLastModifiedTime(Path.of(rulesPath)).toMillis();
+            if (modified != loadedModifiedMillis) {
+                loadedModifiedMillis = modified;
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Fraud rules from {} not reloaded, keeping the active rules", rulesPath, e);
+        }
+    }
+
+    private static RuleSet compile(String source, String origin) {
+        return new RuleSet(FraudRuleCompiler.compileRules(source), source, origin, LocalDateTime.now());
+    }
+
+    /**
+     * An immutable compiled rule set, ordered by evaluation cost, with the text it was
+     * compiled from.
+     */
+    public record RuleSet(List<FraudRule> rules, String source, String origin, LocalDateTime loadedAt) {
+    }
+}
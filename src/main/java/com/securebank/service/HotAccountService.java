@@ -0,0 +1,138 @@
+package com.securebank.service;
+
+import com.securebank.entity.Account;
+import com.securebank.enums.AccountStatus;
+import com.securebank.exception.AccountFrozenException;
+import com.securebank.repository.AccountBalanceSlotRepository;
+import com.securebank.repository.AccountRepository;
+import com.securebank.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sub-balance handling for hot accounts (merchant and collection accounts with heavy inflow).
+ *
+ * Credits to an account with {@code balanceSlots > 0} go to one of its slot rows, picked
+ * round-robin, instead of updating {@code accounts.balance}. The available balance is the
+ * row balance plus all slots. Before a debit the slots are swept into the row while the
+ * caller holds it, and a background job consolidates idle accounts so slots stay small.
+ *
+ * Credits read {@code balanceSlots} without locking the row, so one that started before hot
+ * mode was switched off can still land in a slot after the switch swept them. The switch
+ * sweeps again after it commits, and the background job, which does not look at
+ * {@code balanceSlots}, catches anything later still.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HotAccountService {
+
+    private final AccountBalanceSlotRepository slotRepository;
+    private final AccountRepository accountRepository;
+    private final LockRetryExecutor lockRetryExecutor;
+    private final PlatformTransactionManager transactionManager;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+
+    public boolean isHot(Account account) {
+        return account.getBalanceSlots() != null && account.getBalanceSlots() > 0;
+    }
+
+    /**
+     * Credits a hot account through one of its slots. Must run inside a transaction.
+     */
+    public void credit(Account account, BigDecimal amount, String notActiveMessage) {
+        if (tryCredit(account, amount)) {
+            return;
+        }
+        AccountRepository.BalanceSnapshot current = accountRepository.findBalanceSnapshot(account.getId())
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+        if (current.getStatus() == AccountStatus.FROZEN) {
+            throw new AccountFrozenException(account.getAccountNumber());
+        }
+        throw new RuntimeException(notActiveMessage);
+    }
+
+    /**
+     * Credits a hot account through one of its slots, returning false when the account is
+     * no longer active. Must run inside a transaction.
+     */
+    public boolean tryCredit(Account account, BigDecimal amount) {
+        int slot = Math.floorMod(nextSlot.getAndIncrement(), account.getBalanceSlots());
+        return slotRepository.creditSlotIfActive(account.getId(), slot, amount) > 0;
+    }
+
+    /**
+     * Moves all slot credits out and returns their total. The caller must add the result to
+     * the account balance in the same transaction.
+     */
+    public BigDecimal sweep(Long accountId) {
+        return slotRepository.sweep(accountId);
+    }
+
+    /**
+     * Balance including credits that still sit in slots.
+     */
+    public BigDecimal availableBalance(Account account) {
+        if (!isHot(account)) {
+            return account.getBalance();
+        }
+        return account.getBalance().add(slotRepository.sumByAccountId(account.getId()));
+    }
+
+    /**
+     * Folds slot credits of every account that has some back into its balance row, one
+     * short transaction per account. Returns the number of accounts consolidated.
+     */
+    @Scheduled(fixedDelayString = "${account.hot.consolidate-interval-ms:60000}")
+    public int consolidateAll() {
+        int consolidated = 0;
+        for (Long accountId : slotRepository.findAccountIdsWithPendingCredits()) {
+            try {
+                lockRetryExecutor.execute(() -> consolidate(accountId));
+                consolidated++;
+            } catch (RuntimeException ex) {
+                log.warn("Failed to consolidate slots of account {}; retrying on the next run", accountId, ex);
+            }
+        }
+        return consolidated;
+    }
+
+    /**
+     * Sweeps the account's slots again once the current transaction has committed, for
+     * credits that were in flight while its slot count was reduced.
+     */
+    public void consolidateAfterCommit(Long accountId) {
+        AfterCommit.run(() -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            // The committed transaction is still bound while after-commit callbacks run
+            transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            try {
+                transaction.execute(status -> consolidate(accountId));
+            } catch (RuntimeException ex) {
+                log.warn("Failed to re-sweep slots of account {}; left to the scheduled consolidation", accountId, ex);
+            }
+        });
+    }
+
+    /**
+     * Locks the account row, sweeps its slots into it and returns the new balance.
+     */
+    public BigDecimal consolidate(Long accountId) {
+        Account account = accountRepository.findByIdWithLock(accountId)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+        BigDecimal swept = slotRepository.sweep(accountId);
+        if (swept.signum() != 0) {
+            account.setBalance(account.getBalance().add(swept));
+            accountRepository.save(account);
+        }
+        return account.getBalance();
+    }
+}
@@ -1,29 +1,97 @@
 package com.securebank.service;
 
+import com.securebank.entity.User;
+import com.securebank.enums.UserRole;
+import com.securebank.util.BoundedCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies JWTs. The signing key and parser are built once; tokens that verified
+ * are remembered until they expire, keyed by a SHA-256 of the token so raw tokens are not
+ * retained, in a {@link BoundedCache} that makes room for new tokens by dropping the ones
+ * closest to expiry. A cache hit skips signature verification and JSON parsing, and only tokens that
+ * passed verification ever enter the cache.
+ *
+ * Tokens issued for a {@link User} also carry its id, role and token version, which is all
+ * a request needs to be authenticated without loading the user.
+ */
 @Service
 public class JwtService {
 
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${jwt.cache.max-entries:10000}")
+    private int maxCachedTokens = 10_000;
+
+    private Key signingKey;
+    private JwtParser parser;
+    private BoundedCache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokens = new BoundedCache<>(maxCachedTokens, TimeUnit.MILLISECONDS, System::currentTimeMillis,
+                token -> token.expiresAt().toEpochMilli());
+    }
+
+    /**
+     * Verifies signature and expiry in one pass. Empty when the token is malformed, forged or
+     * expired.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        VerifiedToken verified;
+        try {
+            verified = VerifiedToken.of(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (verified.expiresAt() == null || verified.expiresAt().toEpochMilli() <= System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        verifiedTokens.put(key, verified);
+        return Optional.of(verified);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -33,6 +101,14 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        return generateToken(claims, user);
+    }
+
     public String generateToken(UserDetails userDetails) {
         return generateToken(new HashMap<>(), userDetails);
     }
@@ -56,34 +132,62 @@ public class JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return verify(token)
+                .map(verified -> verified.username().equals(userDetails.getUsername()))
+                .orElse(false);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    int cachedTokenCount() {
+        return verifiedTokens.size();
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    boolean isCached(String token) {
+        return verifiedTokens.get(hash(token)) != null;
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Claims of a token whose signature and expiry have been checked. Shared between
+     * requests presenting the same token, so the claims are read-only.
+     */
+    public record VerifiedToken(String username, Instant expiresAt, Map<String, Object> claims) {
+
+        static VerifiedToken of(Claims claims) {
+            Date expiration = claims.getExpiration();
+            return new VerifiedToken(claims.getSubject(), expiration != null ? expiration.toInstant() : null,
+                    Collections.unmodifiableMap(new LinkedHashMap<>(claims)));
+        }
+
+        /**
+         * Id of the user the token was issued to; null for tokens without user claims.
+         */
+        public Long userId() {
+            return claims.get(USER_ID_CLAIM) instanceof Number id ? id.longValue() : null;
+        }
+
+        public UserRole role() {
+            return claims.get(ROLE_CLAIM) instanceof String role ? UserRole.valueOf(role) : null;
+        }
+
+        public int tokenVersion() {
+            return claims.get(TOKEN_VERSION_CLAIM) instanceof Number version ? version.intValue() : 0;
+        }
     }
-}
\ No newline at end of file
+}
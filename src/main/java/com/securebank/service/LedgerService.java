@@ -0,0 +1,247 @@
+package com.securebank.service;
+
+import com.securebank.entity.Account;
+import com.securebank.entity.AccountBalanceCheckpoint;
+import com.securebank.entity.LedgerEntry;
+import com.securebank.entity.Transaction;
+import com.securebank.enums.EntryDirection;
+import com.securebank.enums.LedgerAccount;
+import com.securebank.repository.AccountBalanceCheckpointRepository;
+import com.securebank.repository.AccountRepository;
+import com.securebank.repository.LedgerEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the double-entry postings for every money movement and answers balance questions
+ * from them. Postings are inserted in the caller's transaction next to the balance update,
+ * so {@code Account.balance} stays a cached projection of the ledger that reconciliation
+ * can verify at any time.
+ *
+ * Checkpoints are taken a safety lag behind the clock, so transactions that were still
+ * open when a checkpoint was computed cannot later add postings before it.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerService {
+
+    @Value("${ledger.checkpoint.safety-lag-seconds:60}")
+    private long checkpointSafetyLagSeconds = 60;
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountBalanceCheckpointRepository checkpointRepository;
+    private final AccountRepository accountRepository;
+
+    public void postDeposit(Transaction transaction) {
+        List<LedgerEntry> entries = new ArrayList<>();
+        entries.add(entry(transaction, LedgerAccount.CASH, null, EntryDirection.DEBIT, transaction.getAmount()));
+        entries.add(entry(transaction, LedgerAccount.CUSTOMER, transaction.getToAccount(), EntryDirection.CREDIT, transaction.getAmount()));
+        post(entries);
+    }
+
+    public void postWithdrawal(Transaction transaction) {
+        List<LedgerEntry> entries = new ArrayList<>();
+        entries.add(entry(transaction, LedgerAccount.CUSTOMER, transaction.getFromAccount(), EntryDirection.DEBIT,
+                transaction.getAmount().add(transaction.getFee())));
+        entries.add(entry(transaction, LedgerAccount.CASH, null, EntryDirection.CREDIT, transaction.getAmount()));
+        entries.add(entry(transaction, LedgerAccount.FEE_INCOME, null, EntryDirection.CREDIT, transaction.getFee()));
+        post(entries);
+    }
+
+    public void postTransfer(Transaction transaction) {
+        List<LedgerEntry> entries = new ArrayList<>();
+        entries.add(entry(transaction, LedgerAccount.CUSTOMER, transaction.getFromAccount(), EntryDirection.DEBIT,
+                transaction.getAmount().add(transaction.getFee())));
+        entries.add(entry(transaction, LedgerAccount.CUSTOMER, transaction.getToAccount(), EntryDirection.CREDIT, transaction.getAmount()));
+        entries.add(entry(transaction, LedgerAccount.FEE_INCOME, null, EntryDirection.CREDIT, transaction.getFee()));
+        post(entries);
+    }
+
+    /**
+     * Debits a transfer held for review into SUSPENSE; the destination is credited on release.
+     */
+    public void postTransferHold(Transaction transaction) {
+        postBulkDebit(List.of(transaction));
+    }
+
+    public void postTransferRelease(Transaction transaction) {
+        postBulkCredit(List.of(transaction));
+    }
+
+    public void postTransferRefund(Transaction transaction) {
+        postBulkRefund(List.of(transaction));
+    }
+
+    /**
+     * Moves the amount and fee of each bulk item from the source into SUSPENSE.
+     */
+    public void postBulkDebit(Collection<Transaction> transactions) {
+        List<LedgerEntry> entries = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            BigDecimal total = transaction.getAmount().add(transaction.getFee());
+            entries.add(entry(transaction, LedgerAccount.CUSTOMER, transaction.getFromAccount(), EntryDirection.DEBIT, total));
+            entries.add(entry(transaction, LedgerAccount.SUSPENSE, null, EntryDirection.CREDIT, total));
+        }
+        post(entries);
+    }
+
+    /**
+     * Releases credited bulk items from SUSPENSE to their destination and fee income.
+     */
+    public void postBulkCredit(Collection<Transaction> transactions) {
+        List<LedgerEntry> entries = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            entries.add(entry(transaction, LedgerAccount.SUSPENSE, null, EntryDirection.DEBIT,
+                    transaction.getAmount().add(transaction.getFee())));
+            entries.add(entry(transaction, LedgerAccount.CUSTOMER, transaction.getToAccount(), EntryDirection.CREDIT, transaction.getAmount()));
+            entries.add(entry(transaction, LedgerAccount.FEE_INCOME, null, EntryDirection.CREDIT, transaction.getFee()));
+        }
+        post(entries);
+    }
+
+    /**
+     * Returns failed bulk items from SUSPENSE to the source account.
+     */
+    public void postBulkRefund(Collection<Transaction> transactions) {
+        List<LedgerEntry> entries = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            BigDecimal total = transaction.getAmount().add(transaction.getFee());
+            entries.add(entry(transaction, LedgerAccount.SUSPENSE, null, EntryDirection.DEBIT, total));
+            entries.add(entry(transaction, LedgerAccount.CUSTOMER, transaction.getFromAccount(), EntryDirection.CREDIT, total));
+        }
+        post(entries);
+    }
+
+    /**
+     * Ledger balance of the account as of the given instant: the latest checkpoint at or
+     * before it plus the postings in between.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getBalanceAsOf(Long accountId, LocalDateTime asOf) {
+        return checkpointRepository.findFirstByAccountIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(accountId, asOf)
+                .map(checkpoint -> checkpoint.getBalance().add(
+                        ledgerEntryRepository.sumCustomerMovementBetween(accountId, checkpoint.getCheckpointAt(), asOf)))
+                .orElseGet(() -> ledgerEntryRepository.sumCustomerMovementUntil(accountId, asOf));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findUnbalancedTransactionIds() {
+        return ledgerEntryRepository.findUnbalancedTransactionIds();
+    }
+
+    @Transactional(readOnly = true)
+    public List<LedgerEntryRepository.BalanceMismatch> findBalanceMismatches() {
+        return ledgerEntryRepository.findBalanceMismatches();
+    }
+
+    /**
+     * Writes a checkpoint for every account with postings since the previous run.
+     * Returns the number of checkpoints written.
+     */
+    @Scheduled(fixedDelayString = "${ledger.checkpoint.interval-ms:3600000}",
+               initialDelayString = "${ledger.checkpoint.initial-delay-ms:300000}")
+    @Transactional
+    public int writeCheckpoints() {
+        LocalDateTime until = LocalDateTime.now().minusSeconds(checkpointSafetyLagSeconds);
+        LocalDateTime from = checkpointRepository.findLatestCheckpointAt().orElse(LocalDateTime.of(1970, 1, 1, 0, 0));
+        if (!until.isAfter(from)) {
+            return 0;
+        }
+
+        List<AccountBalanceCheckpoint> checkpoints = new ArrayList<>();
+        for (LedgerEntryRepository.AccountMovement movement : ledgerEntryRepository.sumCustomerMovementByAccount(from, until)) {
+            BigDecimal previous = checkpointRepository
+                    .findFirstByAccountIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(movement.getAccountId(), from)
+                    .map(AccountBalanceCheckpoint::getBalance)
+                    .orElse(BigDecimal.ZERO);
+            checkpoints.add(AccountBalanceCheckpoint.builder()
+                    .accountId(movement.getAccountId())
+                    .checkpointAt(until)
+                    .balance(previous.add(movement.getAmount()))
+                    .build());
+        }
+        checkpointRepository.saveAll(checkpoints);
+        return checkpoints.size();
+    }
+
+    /**
+     * Adopts balances that predate the ledger: each mismatched account without an opening
+     * posting gets one for the difference, balanced against OPENING_BALANCE. The accounts
+     * are locked, so the difference cannot change while it is posted.
+     * Returns the number of accounts opened.
+     */
+    @Transactional
+    public int postOpeningBalances() {
+        List<Long> candidates = ledgerEntryRepository.findBalanceMismatches().stream()
+                .map(LedgerEntryRepository.BalanceMismatch::getAccountId)
+                .filter(id -> !ledgerEntryRepository.hasOpeningBalance(id))
+                .toList();
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        List<Account> accounts = accountRepository.findAllByIdWithLockOrdered(candidates);
+        Map<Long, BigDecimal> differences = new HashMap<>();
+        ledgerEntryRepository.findBalanceMismatches()
+                .forEach(m -> differences.put(m.getAccountId(), m.getCachedBalance().subtract(m.getLedgerBalance())));
+
+        List<LedgerEntry> entries = new ArrayList<>();
+        int opened = 0;
+        for (Account account : accounts) {
+            BigDecimal difference = differences.get(account.getId());
+            if (difference == null) {
+                continue;
+            }
+            EntryDirection customerSide = difference.signum() > 0 ? EntryDirection.CREDIT : EntryDirection.DEBIT;
+            EntryDirection openingSide = customerSide == EntryDirection.CREDIT ? EntryDirection.DEBIT : EntryDirection.CREDIT;
+            entries.add(entry(null, LedgerAccount.CUSTOMER, account, customerSide, difference.abs()));
+            entries.add(entry(null, LedgerAccount.OPENING_BALANCE, null, openingSide, difference.abs()));
+            opened++;
+        }
+        ledgerEntryRepository.saveAll(entries);
+        return opened;
+    }
+
+    private void post(List<LedgerEntry> entries) {
+        BigDecimal debits = BigDecimal.ZERO;
+        BigDecimal credits = BigDecimal.ZERO;
+        List<LedgerEntry> nonZero = new ArrayList<>(entries.size());
+        for (LedgerEntry entry : entries) {
+            if (entry.getAmount().signum() == 0) {
+                continue;
+            }
+            if (entry.getDirection() == EntryDirection.DEBIT) {
+                debits = debits.add(entry.getAmount());
+            } else {
+                credits = credits.add(entry.getAmount());
+            }
+            nonZero.add(entry);
+        }
+        if (debits.compareTo(credits) != 0) {
+            throw new IllegalStateException("Unbalanced ledger posting: debits " + debits + ", credits " + credits);
+        }
+        ledgerEntryRepository.saveAll(nonZero);
+    }
+
+    private LedgerEntry entry(Transaction transaction, LedgerAccount ledgerAccount, Account account,
+                              EntryDirection direction, BigDecimal amount) {
+        return LedgerEntry.builder()
+                .transaction(transaction)
+                .ledgerAccount(ledgerAccount)
+                .account(account)
+                .direction(direction)
+                .amount(amount)
+                .build();
+    }
+}
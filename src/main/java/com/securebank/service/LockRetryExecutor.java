@@ -0,0 +1,69 @@
+package com.securebank.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and retries it with bounded, jittered
+ * exponential backoff when the database reports a lock timeout or deadlock, or when an
+ * optimistic @Version check fails.
+ *
+ * A retry needs a fresh transaction, so when the caller already has one open the work
+ * runs once inside it and any locking failure propagates unchanged.
+ */
+@Component
+public class LockRetryExecutor {
+
+    @Value("${transaction.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${transaction.retry.initial-backoff-ms:20}")
+    private long initialBackoffMs;
+
+    @Value("${transaction.retry.max-backoff-ms:200}")
+    private long maxBackoffMs;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public LockRetryExecutor(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        int attempt = 1;
+        while (true) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (PessimisticLockingFailureException | OptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                backOff(attempt, ex);
+                attempt++;
+            }
+        }
+    }
+
+    private void backOff(int attempt, RuntimeException cause) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 16));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.securebank.service;
+
+import com.securebank.exception.PasswordHashingBusyException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The application's password encoder. BCrypt runs on {@code passwordHashExecutor} rather
+ * than the request thread; when that pool's queue is full, or a hash does not start within
+ * the wait limit, the caller fails fast with {@link PasswordHashingBusyException}. The limit
+ * covers only the time spent queued: once a hash has started, the caller waits for it, so
+ * CPU already spent is never thrown away.
+ *
+ * {@link #upgradeEncoding} reports hashes made with a lower cost than configured, so
+ * sign-in rehashes them with the current cost (see {@link UserDetailsServiceImpl}).
+ */
+@Service
+public class PasswordHashingService implements PasswordEncoder {
+
+    @Value("${auth.password.max-wait-ms:2000}")
+    private long maxWaitMillis = 2000;
+
+    @Value("${auth.password.retry-after-seconds:1}")
+    private int retryAfterSeconds = 1;
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final Executor passwordHashExecutor;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+
+    public PasswordHashingService(@Value("${auth.password.bcrypt-strength:10}") int strength,
+                                  @Qualifier("passwordHashExecutor") Executor passwordHashExecutor) {
+        this.bcrypt = new BCryptPasswordEncoder(strength);
+        this.passwordHashExecutor = passwordHashExecutor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> bcrypt.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> bcrypt.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return bcrypt.upgradeEncoding(encodedPassword);
+    }
+
+    public Stats stats() {
+        long count = hashes.sum();
+        return new Stats(queued.get(), running.get(), count, rejected.sum(), timedOut.sum(),
+                count == 0 ? 0 : hashNanos.sum() / count, maxHashNanos.get());
+    }
+
+    private <T> T hash(Supplier<T> work) {
+        // Completed by the worker when it picks the task up, or cancelled by a caller that
+        // gave up first; whichever happens first decides whether the hash runs
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        queued.incrementAndGet();
+        try {
+            passwordHashExecutor.execute(() -> {
+                queued.decrementAndGet();
+                if (!started.complete(null)) {
+                    return;
+                }
+                running.incrementAndGet();
+                long startNanos = System.nanoTime();
+                // Stats are updated before the caller is released, so they include this hash
+                try {
+                    T value = work.get();
+                    recordHash(startNanos);
+                    result.complete(value);
+                } catch (RuntimeException | Error e) {
+                    // The caller now waits without a limit, so it must always be released
+                    recordHash(startNanos);
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+
+        try {
+            started.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (started.cancel(false)) {
+                timedOut.increment();
+                throw new PasswordHashingBusyException(retryAfterSeconds);
+            }
+            // Started just as the wait ran out
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            started.cancel(false);
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void recordHash(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        hashes.increment();
+        hashNanos.add(elapsed);
+        maxHashNanos.accumulate(elapsed);
+        running.decrementAndGet();
+    }
+
+    /**
+     * Queue depth and hash latency since startup; a high {@code rejected} or {@code timedOut}
+     * count means sign-in traffic exceeded the pool.
+     */
+    public record Stats(int queued, int running, long hashes, long rejected, long timedOut,
+                        long averageHashNanos, long maxHashNanos) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.securebank.service;
+
+import com.securebank.repository.UserRepository;
+import com.securebank.util.AfterCommit;
+import com.securebank.util.BoundedCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revocation check for stateless tokens. Every token carries the user's token version at
+ * issue time; bumping the stored version revokes all tokens issued before.
+ *
+ * Current versions are cached per user for a short TTL in a {@link BoundedCache}, so
+ * authenticated requests normally do not touch the database. A revocation is visible on this
+ * instance at once and on other instances once their cached copy expires.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenVersionService {
+
+    @Value("${jwt.revocation.cache-ttl-seconds:30}")
+    private long cacheTtlSeconds = 30;
+
+    @Value("${jwt.revocation.max-cached-users:100000}")
+    private int maxCachedUsers = 100_000;
+
+    private final UserRepository userRepository;
+    private BoundedCache<Long, Cached> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new BoundedCache<>(maxCachedUsers, TimeUnit.NANOSECONDS, System::nanoTime,
+                cached -> cached.loadedAtNanos() + TimeUnit.SECONDS.toNanos(cacheTtlSeconds));
+    }
+
+    /**
+     * Whether a token issued with the given version is still valid. False for users that
+     * no longer exist.
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Cached cached = cache.get(userId);
+        if (cached == null) {
+            Integer loaded = userRepository.findTokenVersionById(userId).orElse(null);
+            if (loaded == null) {
+                return false;
+            }
+            cached = new Cached(loaded, System.nanoTime());
+            cache.put(userId, cached);
+        }
+        return tokenVersion == cached.version();
+    }
+
+    /**
+     * Revokes every token issued to the user so far.
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        if (userRepository.incrementTokenVersion(userId) == 0) {
+            throw new RuntimeException("User not found");
+        }
+        AfterCommit.run(() -> cache.remove(userId));
+    }
+
+    private record Cached(int version, long loadedAtNanos) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.securebank.service;
+
+import com.securebank.entity.RollupWatermark;
+import com.securebank.entity.TransactionRollup;
+import com.securebank.enums.RollupGranularity;
+import com.securebank.repository.RollupWatermarkRepository;
+import com.securebank.repository.TransactionRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Maintains {@code transaction_rollups}. Each run finds the hours whose transactions were
+ * created or changed since the watermark, recomputes those HOUR buckets from
+ * {@code transactions}, then recomputes the DAY buckets containing them from the HOUR rows.
+ * Whole buckets are rebuilt rather than incremented because status is part of the key and
+ * held transactions change status after they are created.
+ *
+ * The watermark is read back by {@code rollup.lag-seconds} so that rows committed late by a
+ * long-running transaction are still seen. The watermark row stays locked for the run, so
+ * instances take turns. The first run starts from the epoch and rolls up all history.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionRollupService {
+
+    static final String WATERMARK = "transaction_rollups";
+    static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Value("${rollup.lag-seconds:300}")
+    private long lagSeconds = 300;
+
+    private final TransactionRollupRepository rollupRepository;
+    private final RollupWatermarkRepository watermarkRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Scheduled(fixedDelayString = "${rollup.interval-ms:60000}", initialDelayString = "${rollup.initial-delay-ms:30000}")
+    public void aggregateOnSchedule() {
+        try {
+            new TransactionTemplate(transactionManager).execute(status -> aggregate());
+        } catch (RuntimeException e) {
+            log.warn("Transaction rollup failed; retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Rolls up the hours touched since the last run. Runs in the caller's transaction, which
+     * holds the watermark lock until commit; {@link #aggregateOnSchedule()} opens it.
+     *
+     * @return the number of HOUR buckets recomputed
+     */
+    int aggregate() {
+        watermarkRepository.insertIfAbsent(WATERMARK, INITIAL_WATERMARK);
+        RollupWatermark watermark = watermarkRepository.findByIdWithLock(WATERMARK)
+                .orElseThrow(() -> new RuntimeException("Rollup watermark missing"));
+        LocalDateTime runStartedAt = LocalDateTime.now();
+
+        TreeSet<LocalDateTime> hours = new TreeSet<>();
+        rollupRepository.findHoursChangedSince(watermark.getProcessedUntil().minusSeconds(lagSeconds))
+                .forEach(bucket -> hours.add(bucket.getBucketStart().toLocalDateTime()));
+
+        TreeSet<LocalDateTime> days = new TreeSet<>();
+        for (LocalDateTime[] range : ranges(hours, ChronoUnit.HOURS)) {
+            rollupRepository.deleteBuckets(RollupGranularity.HOUR.name(), range[0], range[1]);
+            rollupRepository.insertHourBuckets(range[0], range[1]);
+        }
+        hours.forEach(hour -> days.add(hour.truncatedTo(ChronoUnit.DAYS)));
+        for (LocalDateTime[] range : ranges(days, ChronoUnit.DAYS)) {
+            rollupRepository.deleteBuckets(RollupGranularity.DAY.name(), range[0], range[1]);
+            rollupRepository.insertDayBucketsFromHours(range[0], range[1]);
+        }
+
+        watermark.setProcessedUntil(runStartedAt);
+        watermarkRepository.save(watermark);
+        if (!hours.isEmpty()) {
+            log.debug("Rolled up {} hours across {} days", hours.size(), days.size());
+        }
+        return hours.size();
+    }
+
+    /**
+     * Rolled-up buckets starting in {@code [from, to)}. Lags {@code transactions} by up to one
+     * run interval.
+     */
+    public List<TransactionRollup> findBuckets(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        return rollupRepository.findBuckets(granularity, from, to);
+    }
+
+    public LocalDateTime processedUntil() {
+        return watermarkRepository.findById(WATERMARK)
+                .map(RollupWatermark::getProcessedUntil)
+                .orElse(null);
+    }
+
+    public List<TransactionRollup> findDays(LocalDate from, LocalDate toInclusive) {
+        return findBuckets(RollupGranularity.DAY, from.atStartOfDay(), toInclusive.plusDays(1).atStartOfDay());
+    }
+
+    // Collapses sorted bucket starts into [start, end) ranges of consecutive buckets, so
+    // a run touching many adjacent hours issues one delete and one insert per range
+    static List<LocalDateTime[]> ranges(TreeSet<LocalDateTime> buckets, ChronoUnit unit) {
+        List<LocalDateTime[]> ranges = new ArrayList<>();
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        for (LocalDateTime bucket : buckets) {
+            if (end != null && !bucket.equals(end)) {
+                ranges.add(new LocalDateTime[]{start, end});
+                start = null;
+            }
+            if (start == null) {
+                start = bucket;
+            }
+            end = bucket.plus(1, unit);
+        }
+        if (start != null) {
+            ranges.add(new LocalDateTime[]{start, end});
+        }
+        return ranges;
+    }
+}
@@ -3,31 +3,38 @@ package com.securebank.service;
 import com.securebank.dto.request.DepositRequest;
 import com.securebank.dto.request.TransferRequest;
 import com.securebank.dto.request.WithdrawRequest;
+import com.securebank.dto.response.CursorPageResponse;
 import com.securebank.dto.response.TransactionResponse;
 import com.securebank.exception.AccountFrozenException;
-import com.securebank.exception.DailyLimitExceededException;
 import com.securebank.exception.InsufficientBalanceException;
 import com.securebank.entity.Account;
 import com.securebank.entity.AuditLog;
 import com.securebank.entity.Transaction;
 import com.securebank.enums.AccountStatus;
+import com.securebank.enums.ConcurrencyMode;
+import com.securebank.enums.HoldReason;
 import com.securebank.enums.TransactionStatus;
 import com.securebank.enums.TransactionType;
+import com.securebank.enums.TransferLockMode;
 import com.securebank.repository.AccountRepository;
-import com.securebank.repository.AuditLogRepository;
 import com.securebank.repository.TransactionRepository;
+import com.securebank.repository.TransactionSearchCriteria;
+import com.securebank.repository.TransactionSpecifications;
+import com.securebank.util.TransactionCursor;
+import com.securebank.util.TransactionIdGenerator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.Random;
 
 @Service
 @RequiredArgsConstructor
@@ -45,18 +52,51 @@ public class TransactionService {
     @Value("${transaction.withdraw.fee:5.00}")
     private BigDecimal withdrawFee;
 
+    @Value("${transaction.concurrency.deposit-mode:OPTIMISTIC}")
+    private ConcurrencyMode depositConcurrencyMode = ConcurrencyMode.OPTIMISTIC;
+
+    @Value("${transaction.concurrency.withdraw-mode:PESSIMISTIC}")
+    private ConcurrencyMode withdrawConcurrencyMode = ConcurrencyMode.PESSIMISTIC;
+
+    @Value("${transaction.concurrency.transfer-mode:PESSIMISTIC}")
+    private ConcurrencyMode transferConcurrencyMode = ConcurrencyMode.PESSIMISTIC;
+
+    @Value("${transaction.transfer.lock-mode:ORDERED}")
+    private TransferLockMode transferLockMode = TransferLockMode.ORDERED;
+
+    @Value("${transaction.transfer.lock-timeout-ms:2000}")
+    private long transferLockTimeoutMs;
+
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
-    private final AuditLogRepository auditLogRepository;
-    private final Random random = new Random();
+    private final AuditLogWriter auditLogWriter;
+    private final DailyLimitService dailyLimitService;
+    private final LockRetryExecutor lockRetryExecutor;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final LedgerService ledgerService;
+    private final HotAccountService hotAccountService;
+    private final AccountFeatureStore accountFeatureStore;
+    private final AccountBaselineService accountBaselineService;
+    private final TransferGraphService transferGraphService;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final FraudScreeningService fraudScreeningService;
+    private final FraudReviewService fraudReviewService;
+
+    public TransactionResponse deposit(DepositRequest request, Long userId) {
+        return deposit(request, userId, depositConcurrencyMode);
+    }
 
-    private String generateTransactionId() {
-        return "TXN" + System.currentTimeMillis() + String.format("%04d", random.nextInt(10000));
+    public TransactionResponse deposit(DepositRequest request, Long userId, ConcurrencyMode mode) {
+        return lockRetryExecutor.execute(() -> doDeposit(request, userId, mode));
     }
 
-    @Transactional
-    public TransactionResponse deposit(DepositRequest request, Long userId) {
-        Account account = getAccount(request.getAccountId(), userId);
+    private TransactionResponse doDeposit(DepositRequest request, Long userId, ConcurrencyMode mode) {
+        Account account = loadAccount(request.getAccountId(), mode)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+
+        if (!account.getUser().getId().equals(userId)) {
+            throw new RuntimeException("Access denied");
+        }
 
         if (account.getStatus() == AccountStatus.FROZEN) {
             throw new AccountFrozenException(account.getAccountNumber());
@@ -65,11 +105,17 @@ public class TransactionService {
             throw new RuntimeException("Account not active");
         }
 
-        account.setBalance(account.getBalance().add(request.getAmount()));
-        accountRepository.save(account);
+        if (hotAccountService.isHot(account)) {
+            hotAccountService.credit(account, request.getAmount(), "Account not active");
+        } else if (mode == ConcurrencyMode.ATOMIC) {
+            creditAtomically(account, request.getAmount(), "Account not active");
+        } else {
+            account.setBalance(account.getBalance().add(request.getAmount()));
+            accountRepository.save(account);
+        }
 
         Transaction transaction = Transaction.builder()
-                .transactionId(generateTransactionId())
+                .transactionId(transactionIdGenerator.nextTransactionId())
                 .transactionType(TransactionType.DEPOSIT)
                 .amount(request.getAmount())
                 .fee(BigDecimal.ZERO)
@@ -79,6 +125,8 @@ public class TransactionService {
                 .build();
 
         transaction = transactionRepository.save(transaction);
+        ledgerService.postDeposit(transaction);
+        dashboardMetricsService.recordAfterCommit(transaction);
 
         // Audit log
         AuditLog auditLog = AuditLog.builder()
@@ -87,14 +135,28 @@ public class TransactionService {
                 .entityType("TRANSACTION")
                 .entityId(transaction.getId())
                 .build();
-        auditLogRepository.save(auditLog);
+        auditLogWriter.write(auditLog);
 
         return mapToResponse(transaction);
     }
 
-    @Transactional
     public TransactionResponse withdraw(WithdrawRequest request, Long userId) {
-        Account account = accountRepository.findByIdWithLock(request.getAccountId())
+        return withdraw(request, userId, withdrawConcurrencyMode);
+    }
+
+    /**
+     * Withdraws using the given concurrency mode. In OPTIMISTIC mode the account is read
+     * without a lock and the balance UPDATE carries the version check; a concurrent change
+     * makes the commit fail and {@link LockRetryExecutor} re-runs the whole operation.
+     * In ATOMIC mode the balance and minimum-balance rules are enforced by a single
+     * conditional UPDATE and the account row is never written through Hibernate.
+     */
+    public TransactionResponse withdraw(WithdrawRequest request, Long userId, ConcurrencyMode mode) {
+        return lockRetryExecutor.execute(() -> doWithdraw(request, userId, mode));
+    }
+
+    private TransactionResponse doWithdraw(WithdrawRequest request, Long userId, ConcurrencyMode mode) {
+        Account account = loadAccount(request.getAccountId(), mode)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
 
         if (!account.getUser().getId().equals(userId)) {
@@ -108,9 +170,19 @@ public class TransactionService {
             throw new RuntimeException("Account not active");
         }
 
+        consolidateHotBalance(account, mode);
+
         // Calculate total deduction (amount + fee)
         BigDecimal totalDeduction = request.getAmount().add(withdrawFee);
-        
+
+        // Every mode locks the account row before the daily limit row, so that movements in
+        // different modes on one account cannot deadlock each other
+        if (mode == ConcurrencyMode.ATOMIC) {
+            debitAtomically(account, totalDeduction, "Minimum balance violation");
+            dailyLimitService.recordWithdrawal(account.getId(), request.getAmount(), dailyLimit);
+            return recordWithdrawal(account, request);
+        }
+
         // Check sufficient balance
         if (account.getBalance().compareTo(totalDeduction) < 0) {
             throw new InsufficientBalanceException(account.getBalance(), totalDeduction);
@@ -122,18 +194,20 @@ public class TransactionService {
             throw new RuntimeException("Minimum balance violation");
         }
 
-        // Check daily limit
-        BigDecimal dailyTotal = transactionRepository.sumDailyWithdrawals(account.getId(), LocalDate.now());
-        if (dailyTotal.add(request.getAmount()).compareTo(dailyLimit) > 0) {
-            throw new DailyLimitExceededException(dailyTotal, dailyLimit, request.getAmount());
-        }
-
-        // Update balance
+        // Update balance, flushed so an optimistic update takes the row lock now
         account.setBalance(balanceAfterWithdraw);
         accountRepository.save(account);
+        accountRepository.flush();
+
+        // Check and consume daily limit
+        dailyLimitService.recordWithdrawal(account.getId(), request.getAmount(), dailyLimit);
+
+        return recordWithdrawal(account, request);
+    }
 
+    private TransactionResponse recordWithdrawal(Account account, WithdrawRequest request) {
         Transaction transaction = Transaction.builder()
-                .transactionId(generateTransactionId())
+                .transactionId(transactionIdGenerator.nextTransactionId())
                 .transactionType(TransactionType.WITHDRAW)
                 .amount(request.getAmount())
                 .fee(withdrawFee)
@@ -143,6 +217,10 @@ public class TransactionService {
                 .build();
 
         transaction = transactionRepository.save(transaction);
+        ledgerService.postWithdrawal(transaction);
+        accountFeatureStore.recordAfterCommit(transaction);
+        accountBaselineService.record(transaction);
+        dashboardMetricsService.recordAfterCommit(transaction);
 
         // Audit log
         AuditLog auditLog = AuditLog.builder()
@@ -151,16 +229,50 @@ public class TransactionService {
                 .entityType("TRANSACTION")
                 .entityId(transaction.getId())
                 .build();
-        auditLogRepository.save(auditLog);
+        auditLogWriter.write(auditLog);
 
         return mapToResponse(transaction);
     }
 
-    @Transactional
+    /**
+     * Transfers money between two accounts. Runs through {@link LockRetryExecutor}, which opens
+     * the transaction and retries it on lock timeouts, deadlocks and stale versions.
+     *
+     * The transfer is fraud-screened after the ownership check but before the transaction
+     * starts, so scoring never runs while rows are locked. A transfer that must be held debits
+     * its source into SUSPENSE and stays PENDING until {@link FraudReviewService} releases or
+     * rejects it.
+     */
     public TransactionResponse transfer(TransferRequest request, Long userId) {
-        // Lock source account first (prevent deadlocks by consistent ordering)
-        Account fromAccount = accountRepository.findByIdWithLock(request.getFromAccountId())
+        return transfer(request, userId, transferConcurrencyMode);
+    }
+
+    public TransactionResponse transfer(TransferRequest request, Long userId, ConcurrencyMode mode) {
+        // Scoring seeds the source's fraud state, so only its owner may trigger it
+        Long ownerId = accountRepository.findOwnerIdById(request.getFromAccountId())
                 .orElseThrow(() -> new RuntimeException("Source account not found"));
+        if (!ownerId.equals(userId)) {
+            throw new RuntimeException("Access denied");
+        }
+        HoldReason hold = fraudScreeningService.screenTransfer(request.getFromAccountId(), request.getAmount())
+                .orElse(null);
+        return lockRetryExecutor.execute(() -> doTransfer(request, userId, mode, hold));
+    }
+
+    private TransactionResponse doTransfer(TransferRequest request, Long userId, ConcurrencyMode mode, HoldReason hold) {
+        TransferAccounts accounts;
+        if (mode != ConcurrencyMode.PESSIMISTIC) {
+            accounts = loadTransferAccountsInOrder(request, false);
+        } else {
+            if (transferLockTimeoutMs > 0) {
+                accountRepository.setLocalLockTimeout(transferLockTimeoutMs + "ms");
+            }
+            accounts = transferLockMode == TransferLockMode.SEQUENTIAL
+                    ? lockTransferAccountsSequentially(request)
+                    : loadTransferAccountsInOrder(request, true);
+        }
+        Account fromAccount = accounts.from();
+        Account toAccount = accounts.to();
 
         if (!fromAccount.getUser().getId().equals(userId)) {
             throw new RuntimeException("Access denied");
@@ -173,10 +285,6 @@ public class TransactionService {
             throw new RuntimeException("Source account not active");
         }
 
-        // Lock destination account by account number
-        Account toAccount = accountRepository.findByAccountNumberWithLock(request.getToAccountNumber())
-                .orElseThrow(() -> new RuntimeException("Destination account not found"));
-
         if (toAccount.getStatus() == AccountStatus.FROZEN) {
             throw new AccountFrozenException(toAccount.getAccountNumber());
         }
@@ -189,6 +297,12 @@ public class TransactionService {
             throw new RuntimeException("Cannot transfer to same account");
         }
 
+        consolidateHotBalance(fromAccount, mode);
+
+        if (mode == ConcurrencyMode.ATOMIC) {
+            return transferAtomically(fromAccount, toAccount, request, hold);
+        }
+
         // Calculate total deduction
         BigDecimal totalDeduction = request.getAmount().add(transferFee);
 
@@ -203,32 +317,86 @@ public class TransactionService {
             throw new RuntimeException("Minimum balance violation. Minimum required: ₹" + minBalance);
         }
 
-        // Check daily transfer limit
-        BigDecimal dailyTotal = transactionRepository.sumDailyTransfers(fromAccount.getId(), LocalDate.now());
-        if (dailyTotal.add(request.getAmount()).compareTo(dailyLimit) > 0) {
-            throw new DailyLimitExceededException(dailyTotal, dailyLimit, request.getAmount());
-        }
-
         // Perform atomic balance updates
         fromAccount.setBalance(balanceAfterTransfer);
-        toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
-
         accountRepository.save(fromAccount);
-        accountRepository.save(toAccount);
 
+        if (hold == null) {
+            if (hotAccountService.isHot(toAccount)) {
+                hotAccountService.credit(toAccount, request.getAmount(), "Destination account not active");
+            } else {
+                toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
+                accountRepository.save(toAccount);
+            }
+        }
+        // Account rows before the daily limit row, as in ATOMIC mode
+        accountRepository.flush();
+
+        // Check and consume daily transfer limit
+        dailyLimitService.recordTransfer(fromAccount.getId(), request.getAmount(), dailyLimit);
+
+        return recordTransfer(fromAccount, toAccount, request, hold);
+    }
+
+    private TransactionResponse transferAtomically(Account fromAccount, Account toAccount, TransferRequest request,
+                                                   HoldReason hold) {
+        BigDecimal totalDeduction = request.getAmount().add(transferFee);
+        String minBalanceMessage = "Minimum balance violation. Minimum required: ₹" + minBalance;
+
+        // Touch the two rows in ascending id order so opposing transfers cannot deadlock, and
+        // both before the daily limit row as the other modes do
+        if (hold != null) {
+            debitAtomically(fromAccount, totalDeduction, minBalanceMessage);
+        } else if (fromAccount.getId() < toAccount.getId()) {
+            debitAtomically(fromAccount, totalDeduction, minBalanceMessage);
+            creditAtomically(toAccount, request.getAmount(), "Destination account not active");
+        } else {
+            creditAtomically(toAccount, request.getAmount(), "Destination account not active");
+            debitAtomically(fromAccount, totalDeduction, minBalanceMessage);
+        }
+        dailyLimitService.recordTransfer(fromAccount.getId(), request.getAmount(), dailyLimit);
+
+        return recordTransfer(fromAccount, toAccount, request, hold);
+    }
+
+    private TransactionResponse recordTransfer(Account fromAccount, Account toAccount, TransferRequest request,
+                                               HoldReason hold) {
         // Create transaction record
         Transaction transaction = Transaction.builder()
-                .transactionId(generateTransactionId())
+                .transactionId(transactionIdGenerator.nextTransactionId())
                 .transactionType(TransactionType.TRANSFER)
                 .amount(request.getAmount())
                 .fee(transferFee)
                 .description(request.getDescription())
                 .fromAccount(fromAccount)
                 .toAccount(toAccount)
-                .status(TransactionStatus.COMPLETED)
+                .status(hold != null ? TransactionStatus.PENDING : TransactionStatus.COMPLETED)
+                .holdReason(hold)
                 .build();
 
         transaction = transactionRepository.save(transaction);
+        accountFeatureStore.recordAfterCommit(transaction);
+
+        if (hold != null) {
+            ledgerService.postTransferHold(transaction);
+            if (hold == HoldReason.SCORING_TIMEOUT) {
+                fraudReviewService.rescoreAfterCommit(transaction);
+            }
+            AuditLog heldAuditLog = AuditLog.builder()
+                    .user(fromAccount.getUser())
+                    .action("TRANSFER_HELD")
+                    .entityType("TRANSACTION")
+                    .entityId(transaction.getId())
+                    .build();
+            auditLogWriter.write(heldAuditLog);
+            return mapToResponse(transaction);
+        }
+
+        ledgerService.postTransfer(transaction);
+        // Held transfers join the baseline only once approved
+        accountBaselineService.record(transaction);
+        transferGraphService.recordAfterCommit(transaction);
+        dashboardMetricsService.recordAfterCommit(transaction);
 
         // Audit logs for both accounts
         AuditLog fromAuditLog = AuditLog.builder()
@@ -237,7 +405,7 @@ public class TransactionService {
                 .entityType("TRANSACTION")
                 .entityId(transaction.getId())
                 .build();
-        auditLogRepository.save(fromAuditLog);
+        auditLogWriter.write(fromAuditLog);
 
         AuditLog toAuditLog = AuditLog.builder()
                 .user(toAccount.getUser())
@@ -245,11 +413,58 @@ public class TransactionService {
                 .entityType("TRANSACTION")
                 .entityId(transaction.getId())
                 .build();
-        auditLogRepository.save(toAuditLog);
+        auditLogWriter.write(toAuditLog);
 
         return mapToResponse(transaction);
     }
 
+    private TransferAccounts lockTransferAccountsSequentially(TransferRequest request) {
+        Account fromAccount = accountRepository.findByIdWithLock(request.getFromAccountId())
+                .orElseThrow(() -> new RuntimeException("Source account not found"));
+        Account toAccount = accountRepository.findByAccountNumberWithLock(request.getToAccountNumber())
+                .orElseThrow(() -> new RuntimeException("Destination account not found"));
+        return new TransferAccounts(fromAccount, toAccount);
+    }
+
+    /**
+     * Resolves the destination id without locking, then loads both rows with a single query
+     * ordered by id. With {@code lock} set that query is a SELECT ... FOR UPDATE, so every
+     * transfer acquires its locks in the same global order and A->B and B->A running
+     * concurrently queue instead of deadlocking. Without it the rows enter the persistence
+     * context in id order, which is also the order their versioned UPDATEs are flushed in.
+     */
+    private TransferAccounts loadTransferAccountsInOrder(TransferRequest request, boolean lock) {
+        AccountRepository.AccountRef target = accountRepository.findRefByAccountNumber(request.getToAccountNumber())
+                .orElseThrow(() -> new RuntimeException("Destination account not found"));
+        Long toAccountId = target.getId();
+        Long fromAccountId = request.getFromAccountId();
+
+        List<Long> ids = List.of(fromAccountId, toAccountId);
+        List<Account> loaded;
+        if (!lock) {
+            loaded = accountRepository.findAllByIdOrdered(ids);
+        } else if (target.getBalanceSlots() != null && target.getBalanceSlots() > 0) {
+            // A hot destination is credited through its slots, so only the source row is locked
+            loaded = new ArrayList<>(accountRepository.findAllByIdWithLockOrdered(List.of(fromAccountId)));
+            accountRepository.findById(toAccountId).ifPresent(loaded::add);
+        } else {
+            loaded = accountRepository.findAllByIdWithLockOrdered(ids);
+        }
+
+        Account fromAccount = findLoaded(loaded, fromAccountId)
+                .orElseThrow(() -> new RuntimeException("Source account not found"));
+        Account toAccount = findLoaded(loaded, toAccountId)
+                .orElseThrow(() -> new RuntimeException("Destination account not found"));
+        return new TransferAccounts(fromAccount, toAccount);
+    }
+
+    private Optional<Account> findLoaded(List<Account> loaded, Long accountId) {
+        return loaded.stream().filter(a -> a.getId().equals(accountId)).findFirst();
+    }
+
+    private record TransferAccounts(Account from, Account to) {
+    }
+
     public Page<TransactionResponse> getTransactions(Long userId, Pageable pageable) {
         return getTransactionsWithFilters(userId, null, null, null, null, pageable);
     }
@@ -268,6 +483,42 @@ public class TransactionService {
         return transactions.map(this::mapToResponse);
     }
 
+    /**
+     * Keyset-paginated form of {@link #getTransactionsWithFilters}, newest first. The user's
+     * accounts are resolved to ids first, so deposits and withdrawals, which have only one
+     * side, match, and the query seeks on the account indexes with only the filters given.
+     */
+    public CursorPageResponse<TransactionResponse> scrollTransactionsWithFilters(
+            Long userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            TransactionType type,
+            TransactionStatus status,
+            String cursor,
+            int size) {
+
+        TransactionCursor after = TransactionCursor.decode(cursor);
+        List<Long> accountIds = accountRepository.findIdsByUserId(userId);
+        if (accountIds.isEmpty()) {
+            return CursorPageResponse.of(List.of(), null);
+        }
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .type(type)
+                .status(status)
+                .userAccountIds(accountIds)
+                .build();
+
+        Pageable limit = TransactionCursor.limit(size);
+        List<Transaction> rows = transactionRepository.findBy(
+                TransactionSpecifications.matching(criteria).and(TransactionSpecifications.after(after)),
+                query -> query.sortBy(TransactionSpecifications.NEWEST_FIRST).limit(limit.getPageSize() + 1).all());
+        Slice<Transaction> transactions = TransactionCursor.slice(rows, limit);
+
+        return CursorPageResponse.of(transactions.map(this::mapToResponse).getContent(), TransactionCursor.next(transactions));
+    }
+
     public TransactionResponse getTransactionById(String transactionId, Long userId) {
         Transaction transaction = transactionRepository.findByTransactionId(transactionId)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
@@ -283,15 +534,68 @@ public class TransactionService {
         return mapToResponse(transaction);
     }
 
-    private Account getAccount(Long accountId, Long userId) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new RuntimeException("Account not found"));
+    private Optional<Account> loadAccount(Long accountId, ConcurrencyMode mode) {
+        return mode == ConcurrencyMode.PESSIMISTIC
+                ? accountRepository.findByIdWithLock(accountId)
+                : accountRepository.findById(accountId);
+    }
 
-        if (!account.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Access denied");
+    /**
+     * Debits with a single conditional UPDATE. The loaded entity is left untouched, so Hibernate
+     * issues no second UPDATE at flush; on failure a fresh balance read explains the rejection.
+     */
+    private BigDecimal debitAtomically(Account account, BigDecimal totalDeduction, String minBalanceMessage) {
+        return accountRepository.debitIfSufficient(account.getId(), totalDeduction, minBalance)
+                .orElseThrow(() -> {
+                    AccountRepository.BalanceSnapshot current = accountRepository.findBalanceSnapshot(account.getId())
+                            .orElseThrow(() -> new RuntimeException("Account not found"));
+                    if (current.getStatus() == AccountStatus.FROZEN) {
+                        return new AccountFrozenException(account.getAccountNumber());
+                    }
+                    if (current.getStatus() != AccountStatus.ACTIVE) {
+                        return new RuntimeException("Account not active");
+                    }
+                    if (current.getBalance().compareTo(totalDeduction) < 0) {
+                        return new InsufficientBalanceException(current.getBalance(), totalDeduction);
+                    }
+                    return new RuntimeException(minBalanceMessage);
+                });
+    }
+
+    /**
+     * Sweeps the slots of a hot account into its balance before it is debited, so the
+     * balance checks see every credit. Entity modes fold the total into the loaded row,
+     * ATOMIC adds it with a single UPDATE ahead of the conditional debit.
+     */
+    private void consolidateHotBalance(Account account, ConcurrencyMode mode) {
+        if (!hotAccountService.isHot(account)) {
+            return;
+        }
+        BigDecimal swept = hotAccountService.sweep(account.getId());
+        if (swept.signum() == 0) {
+            return;
+        }
+        if (mode == ConcurrencyMode.ATOMIC) {
+            accountRepository.addToBalance(account.getId(), swept);
+        } else {
+            account.setBalance(account.getBalance().add(swept));
         }
+    }
 
-        return account;
+    private void creditAtomically(Account account, BigDecimal amount, String notActiveMessage) {
+        if (hotAccountService.isHot(account)) {
+            hotAccountService.credit(account, amount, notActiveMessage);
+            return;
+        }
+        accountRepository.creditIfActive(account.getId(), amount)
+                .orElseThrow(() -> {
+                    AccountRepository.BalanceSnapshot current = accountRepository.findBalanceSnapshot(account.getId())
+                            .orElseThrow(() -> new RuntimeException("Account not found"));
+                    if (current.getStatus() == AccountStatus.FROZEN) {
+                        return new AccountFrozenException(account.getAccountNumber());
+                    }
+                    return new RuntimeException(notActiveMessage);
+                });
     }
 
     private TransactionResponse mapToResponse(Transaction transaction) {
@@ -305,6 +609,7 @@ public class TransactionService {
         response.setFromAccountNumber(transaction.getFromAccount() != null ? transaction.getFromAccount().getAccountNumber() : null);
         response.setToAccountNumber(transaction.getToAccount() != null ? transaction.getToAccount().getAccountNumber() : null);
         response.setStatus(transaction.getStatus());
+        response.setHoldReason(transaction.getHoldReason());
         response.setCreatedAt(transaction.getCreatedAt());
         return response;
     }
@@ -0,0 +1,222 @@
+package com.securebank.service;
+
+import com.securebank.entity.Account;
+import com.securebank.entity.AuditLog;
+import com.securebank.entity.Transaction;
+import com.securebank.enums.TransactionType;
+import com.securebank.enums.TransferPattern;
+import com.securebank.repository.AccountRepository;
+import com.securebank.repository.TransactionRepository;
+import com.securebank.service.fraud.TransferEdgeLog;
+import com.securebank.service.fraud.TransferGraph;
+import com.securebank.service.fraud.TransferGraphAnalyzer;
+import com.securebank.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the recent transfer graph in memory and periodically scans it for mule-ring
+ * patterns (see {@link TransferGraphAnalyzer}).
+ *
+ * Completed transfers are appended after commit to a bounded {@link TransferEdgeLog}; the log
+ * is seeded from the database once the application is ready. A transfer committed while the
+ * seed query runs may be counted twice, which can only err towards flagging. Flagged accounts
+ * are reported for review and audited the first time they appear; freezing stays a decision
+ * for an administrator.
+ */
+@Slf4j
+@Service
+public class TransferGraphService {
+
+    @Value("${fraud.graph.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${fraud.graph.window-hours:24}")
+    private long windowHours = 24;
+
+    @Value("${fraud.graph.fan-in:20}")
+    private int fanIn = 20;
+
+    @Value("${fraud.graph.fan-out:20}")
+    private int fanOut = 20;
+
+    @Value("${fraud.graph.pass-through-minutes:30}")
+    private long passThroughMinutes = 30;
+
+    @Value("${fraud.graph.pass-through-ratio:0.8}")
+    private double passThroughRatio = 0.8;
+
+    @Value("${fraud.graph.pass-through-min-amount:1000}")
+    private BigDecimal passThroughMinAmount = new BigDecimal("1000");
+
+    @Value("${fraud.graph.max-cycle-length:4}")
+    private int maxCycleLength = 4;
+
+    // Edges examined per cycle search start before giving up on that account
+    @Value("${fraud.graph.max-cycle-paths:10000}")
+    private int maxCyclePaths = 10_000;
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final ForkJoinPool transferGraphPool;
+    private final int maxEdges;
+    private final TransferEdgeLog edgeLog;
+    private final AtomicReference<Analysis> latest = new AtomicReference<>(Analysis.NONE);
+
+    public TransferGraphService(TransactionRepository transactionRepository,
+                                AccountRepository accountRepository,
+                                AuditLogWriter auditLogWriter,
+                                @Qualifier("transferGraphPool") ForkJoinPool transferGraphPool,
+                                @Value("${fraud.graph.max-edges:1000000}") int maxEdges) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.transferGraphPool = transferGraphPool;
+        this.maxEdges = maxEdges;
+        this.edgeLog = new TransferEdgeLog(maxEdges);
+    }
+
+    public void recordAfterCommit(Transaction transaction) {
+        AfterCommit.run(() -> record(transaction));
+    }
+
+    public void recordAfterCommit(Collection<Transaction> transactions) {
+        List<Transaction> copy = List.copyOf(transactions);
+        AfterCommit.run(() -> copy.forEach(this::record));
+    }
+
+    void record(Transaction transaction) {
+        if (transaction.getTransactionType() != TransactionType.TRANSFER
+                || transaction.getFromAccount() == null || transaction.getToAccount() == null) {
+            return;
+        }
+        LocalDateTime createdAt = transaction.getCreatedAt() != null ? transaction.getCreatedAt() : LocalDateTime.now();
+        add(transaction.getFromAccount().getId(), transaction.getToAccount().getId(),
+                transaction.getAmount(), createdAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime since = LocalDateTime.now().minusHours(windowHours);
+        // Newest first so the cap keeps the most recent edges; appended oldest first
+        List<TransactionRepository.TransferEdge> edges =
+                transactionRepository.findTransferEdgesSince(since, PageRequest.of(0, maxEdges));
+        for (int i = edges.size() - 1; i >= 0; i--) {
+            TransactionRepository.TransferEdge edge = edges.get(i);
+            add(edge.getFromAccountId(), edge.getToAccountId(), edge.getAmount(), edge.getCreatedAt());
+        }
+        log.info("Seeded transfer graph with {} edges since {}", edges.size(), since);
+    }
+
+    public Analysis latest() {
+        return latest.get();
+    }
+
+    @Scheduled(fixedDelayString = "${fraud.graph.analyze-interval-ms:300000}",
+               initialDelayString = "${fraud.graph.analyze-interval-ms:300000}")
+    public void analyzeOnSchedule() {
+        if (enabled) {
+            analyze();
+        }
+    }
+
+    /**
+     * Scans a snapshot of the current window and publishes the flagged accounts.
+     */
+    public synchronized Analysis analyze() {
+        long started = System.nanoTime();
+        TransferGraph graph = edgeLog.snapshot(epochSecond(LocalDateTime.now().minusHours(windowHours)));
+        List<TransferGraphAnalyzer.Flag> flags = new TransferGraphAnalyzer(thresholds()).analyze(graph, transferGraphPool);
+
+        Map<Long, List<TransferGraphAnalyzer.Flag>> byAccount = flags.stream()
+                .collect(Collectors.groupingBy(TransferGraphAnalyzer.Flag::accountId, TreeMap::new, Collectors.toList()));
+        List<FlaggedAccount> flagged = byAccount.entrySet().stream()
+                .map(entry -> new FlaggedAccount(entry.getKey(),
+                        entry.getValue().stream().map(TransferGraphAnalyzer.Flag::pattern)
+                                .collect(Collectors.toCollection(() -> EnumSet.noneOf(TransferPattern.class))),
+                        entry.getValue().stream().map(TransferGraphAnalyzer.Flag::detail)
+                                .collect(Collectors.toCollection(LinkedHashSet::new))))
+                .toList();
+
+        Analysis analysis = new Analysis(LocalDateTime.now(), graph.nodeCount(), graph.edgeCount(),
+                (System.nanoTime() - started) / 1_000_000, flagged);
+        Analysis previous = latest.getAndSet(analysis);
+        auditNewlyFlagged(previous, analysis);
+        log.info("Transfer graph scan: {} accounts, {} edges, {} flagged in {} ms",
+                analysis.accounts(), analysis.edges(), flagged.size(), analysis.durationMs());
+        return analysis;
+    }
+
+    private void auditNewlyFlagged(Analysis previous, Analysis current) {
+        Set<Long> known = previous.flagged().stream().map(FlaggedAccount::accountId).collect(Collectors.toSet());
+        List<Long> newIds = current.flagged().stream()
+                .map(FlaggedAccount::accountId)
+                .filter(id -> !known.contains(id))
+                .toList();
+        if (newIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Account> accounts = accountRepository.findAllById(newIds).stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+        for (Long id : newIds) {
+            Account account = accounts.get(id);
+            AuditLog auditLog = AuditLog.builder()
+                    .user(account != null ? account.getUser() : null)
+                    .action("TRANSFER_PATTERN_FLAGGED")
+                    .entityType("ACCOUNT")
+                    .entityId(id)
+                    .build();
+            auditLogWriter.write(auditLog);
+        }
+    }
+
+    private TransferGraphAnalyzer.Thresholds thresholds() {
+        return new TransferGraphAnalyzer.Thresholds(fanIn, fanOut, passThroughMinutes * 60, passThroughRatio,
+                passThroughMinAmount.movePointRight(2).longValue(), maxCycleLength, maxCyclePaths);
+    }
+
+    private void add(Long fromAccountId, Long toAccountId, BigDecimal amount, LocalDateTime createdAt) {
+        edgeLog.add(fromAccountId, toAccountId, amount.movePointRight(2).longValue(), epochSecond(createdAt));
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public record FlaggedAccount(Long accountId, Set<TransferPattern> patterns, Set<String> details) {
+    }
+
+    /**
+     * Result of one scan; {@link #NONE} until the first scan has run.
+     */
+    public record Analysis(LocalDateTime analyzedAt, int accounts, int edges, long durationMs,
+                           List<FlaggedAccount> flagged) {
+
+        static final Analysis NONE = new Analysis(null, 0, 0, 0, List.of());
+    }
+}
@@ -0,0 +1,63 @@
+package com.securebank.service.fraud;
+
+import com.securebank.entity.Transaction;
+import com.securebank.service.AccountBaselineService;
+import com.securebank.service.AccountFeatureStore;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * What the rules of one evaluation can see. The account's window features and amount
+ * baseline are fetched on first use, so an evaluation decided by transaction-only rules
+ * never touches either store.
+ */
+public final class FraudContext {
+
+    private final Transaction transaction;
+    private final Supplier<AccountFeatureStore.Features> featureSource;
+    private final Supplier<AccountBaselineService.Baseline> baselineSource;
+    private final LocalDateTime createdAt;
+    private AccountFeatureStore.Features features;
+    private AccountBaselineService.Baseline baseline;
+
+    public FraudContext(Transaction transaction, AccountFeatureStore featureStore,
+                        AccountBaselineService baselineService) {
+        this(transaction,
+                () -> featureStore.get(transaction.getFromAccount().getId()),
+                () -> baselineService.get(transaction.getFromAccount().getId()));
+    }
+
+    /**
+     * A context over explicit sources, e.g. state replayed as of the transaction's own time.
+     */
+    public FraudContext(Transaction transaction, Supplier<AccountFeatureStore.Features> featureSource,
+                        Supplier<AccountBaselineService.Baseline> baselineSource) {
+        this.transaction = transaction;
+        this.featureSource = featureSource;
+        this.baselineSource = baselineSource;
+        this.createdAt = transaction.getCreatedAt() != null ? transaction.getCreatedAt() : LocalDateTime.now();
+    }
+
+    public Transaction transaction() {
+        return transaction;
+    }
+
+    public LocalDateTime createdAt() {
+        return createdAt;
+    }
+
+    public AccountFeatureStore.Features features() {
+        if (features == null) {
+            features = featureSource.get();
+        }
+        return features;
+    }
+
+    public AccountBaselineService.Baseline baseline() {
+        if (baseline == null) {
+            baseline = baselineSource.get();
+        }
+        return baseline;
+    }
+}
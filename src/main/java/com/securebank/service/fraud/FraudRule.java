@@ -0,0 +1,58 @@
+package com.securebank.service.fraud;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A compiled rule with its evaluation counters. Counters live with the compiled rule, so
+ * swapping in a new rule set starts its statistics from zero.
+ */
+public final class FraudRule {
+
+    private final String name;
+    private final String expression;
+    private final FraudRuleCompiler.Condition condition;
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    FraudRule(String name, String expression, FraudRuleCompiler.Condition condition) {
+        this.name = name;
+        this.expression = expression;
+        this.condition = condition;
+    }
+
+    public boolean matches(FraudContext context) {
+        long start = System.nanoTime();
+        boolean hit = condition.test(context);
+        nanos.add(System.nanoTime() - start);
+        evaluations.increment();
+        if (hit) {
+            hits.increment();
+        }
+        return hit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public int cost() {
+        return condition.cost();
+    }
+
+    public long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getTotalNanos() {
+        return nanos.sum();
+    }
+}
@@ -0,0 +1,374 @@
+package com.securebank.service.fraud;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compiles fraud rules from a small expression language into evaluator trees.
+ *
+ * A rule file has one rule per line, {@code name: expression}; blank lines and lines
+ * starting with {@code #} are ignored. Expressions combine the variables of
+ * {@link FraudVariable} and numbers with {@code + - * /}, comparisons
+ * ({@code < <= > >= == !=}) and {@code && || !} (or {@code and or not}), e.g.
+ * {@code (hour >= 23 || hour <= 6) && amount >= 5000}.
+ *
+ * Compilation type-checks the expression, folds constant arithmetic and reorders the
+ * operands of {@code &&} and {@code ||} by cost, so cheap tests short-circuit the ones that
+ * need window features. Rules are then ordered by cost as well.
+ */
+public final class FraudRuleCompiler {
+
+    private FraudRuleCompiler() {
+    }
+
+    /**
+     * An evaluator tree for a boolean expression.
+     */
+    public interface Condition {
+        boolean test(FraudContext context);
+
+        int cost();
+    }
+
+    interface Numeric {
+        double eval(FraudContext context);
+
+        int cost();
+
+        default boolean isConstant() {
+            return false;
+        }
+    }
+
+    public static List<FraudRule> compileRules(String source) {
+        List<FraudRule> rules = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        String[] lines = source.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": expected 'name: expression'");
+            }
+            String name = line.substring(0, colon).strip();
+            String expression = line.substring(colon + 1).strip();
+            if (!names.add(name)) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": duplicate rule '" + name + "'");
+            }
+            try {
+                rules.add(new FraudRule(name, expression, compile(expression)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + " (" + name + "): " + e.getMessage(), e);
+            }
+        }
+        rules.sort(Comparator.comparingInt(FraudRule::cost));
+        return List.copyOf(rules);
+    }
+
+    public static Condition compile(String expression) {
+        Parser parser = new Parser(tokenize(expression));
+        Object node = parser.parseOr();
+        parser.expectEnd();
+        return asCondition(node);
+    }
+
+    // ---- parsing ----
+
+    private static final class Parser {
+
+        private final List<String> tokens;
+        private int position;
+
+        Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        Object parseOr() {
+            List<Condition> operands = new ArrayList<>();
+            operands.add(asCondition(parseAnd()));
+            while (accept("||") || accept("or")) {
+                operands.add(asCondition(parseAnd()));
+            }
+            return operands.size() == 1 ? operands.get(0) : Logical.or(operands);
+        }
+
+        Object parseAnd() {
+            Object first = parseNot();
+            if (!peekIs("&&") && !peekIs("and")) {
+                return first;
+            }
+            List<Condition> operands = new ArrayList<>();
+            operands.add(asCondition(first));
+            while (accept("&&") || accept("and")) {
+                operands.add(asCondition(parseNot()));
+            }
+            return Logical.and(operands);
+        }
+
+        Object parseNot() {
+            if (accept("!") || accept("not")) {
+                return new Not(asCondition(parseNot()));
+            }
+            return parseComparison();
+        }
+
+        Object parseComparison() {
+            Object left = parseSum();
+            for (String op : List.of(">=", "<=", "==", "!=", ">", "<")) {
+                if (accept(op)) {
+                    return new Comparison(op, asNumeric(left), asNumeric(parseSum()));
+                }
+            }
+            return left;
+        }
+
+        Object parseSum() {
+            Object left = parseTerm();
+            while (true) {
+                if (accept("+")) {
+                    left = Arithmetic.of('+', asNumeric(left), asNumeric(parseTerm()));
+                } else if (accept("-")) {
+                    left = Arithmetic.of('-', asNumeric(left), asNumeric(parseTerm()));
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        Object parseTerm() {
+            Object left = parseUnary();
+            while (true) {
+                if (accept("*")) {
+                    left = Arithmetic.of('*', asNumeric(left), asNumeric(parseUnary()));
+                } else if (accept("/")) {
+                    left = Arithmetic.of('/', asNumeric(left), asNumeric(parseUnary()));
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        Object parseUnary() {
+            if (accept("-")) {
+                return Arithmetic.of('-', new Constant(0), asNumeric(parseUnary()));
+            }
+            return parsePrimary();
+        }
+
+        Object parsePrimary() {
+            if (position >= tokens.size()) {
+                throw new IllegalArgumentException("unexpected end of expression");
+            }
+            String token = tokens.get(position++);
+            if (token.equals("(")) {
+                Object inner = parseOr();
+                if (!accept(")")) {
+                    throw new IllegalArgumentException("missing ')'");
+                }
+                return inner;
+            }
+            if (token.equals("true") || token.equals("false")) {
+                return new BooleanConstant(Boolean.parseBoolean(token));
+            }
+            if (Character.isDigit(token.charAt(0))) {
+                return new Constant(Double.parseDouble(token));
+            }
+            if (Character.isLetter(token.charAt(0))) {
+                FraudVariable variable = FraudVariable.byName(token);
+                if (variable == null) {
+                    throw new IllegalArgumentException("unknown variable '" + token + "'");
+                }
+                return new Variable(variable);
+            }
+            throw new IllegalArgumentException("unexpected '" + token + "'");
+        }
+
+        void expectEnd() {
+            if (position < tokens.size()) {
+                throw new IllegalArgumentException("unexpected '" + tokens.get(position) + "'");
+            }
+        }
+
+        private boolean peekIs(String token) {
+            return position < tokens.size() && tokens.get(position).equals(token);
+        }
+
+        private boolean accept(String token) {
+            if (peekIs(token)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (Character.isDigit(c)) {
+                int start = i;
+                while (i < expression.length() && (Character.isDigit(expression.charAt(i)) || expression.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(expression.substring(start, i));
+            } else if (Character.isLetter(c)) {
+                int start = i;
+                while (i < expression.length() && Character.isLetterOrDigit(expression.charAt(i))) {
+                    i++;
+                }
+                tokens.add(expression.substring(start, i));
+            } else {
+                String two = i + 1 < expression.length() ? expression.substring(i, i + 2) : "";
+                if (List.of(">=", "<=", "==", "!=", "&&", "||").contains(two)) {
+                    tokens.add(two);
+                    i += 2;
+                } else if ("<>!+-*/()".indexOf(c) >= 0) {
+                    tokens.add(String.valueOf(c));
+                    i++;
+                } else {
+                    throw new IllegalArgumentException("unexpected character '" + c + "'");
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static Condition asCondition(Object node) {
+        if (node instanceof Condition condition) {
+            return condition;
+        }
+        throw new IllegalArgumentException("expected a condition but found a number");
+    }
+
+    private static Numeric asNumeric(Object node) {
+        if (node instanceof Numeric numeric) {
+            return numeric;
+        }
+        throw new IllegalArgumentException("expected a number but found a condition");
+    }
+
+    // ---- evaluator tree ----
+
+    private record Constant(double value) implements Numeric {
+        public double eval(FraudContext context) {
+            return value;
+        }
+
+        public int cost() {
+            return 0;
+        }
+
+        public boolean isConstant() {
+            return true;
+        }
+    }
+
+    private record Variable(FraudVariable variable) implements Numeric {
+        public double eval(FraudContext context) {
+            return variable.read(context);
+        }
+
+        public int cost() {
+            return variable.cost();
+        }
+    }
+
+    private record Arithmetic(char op, Numeric left, Numeric right) implements Numeric {
+
+        static Numeric of(char op, Numeric left, Numeric right) {
+            Arithmetic node = new Arithmetic(op, left, right);
+            return left.isConstant() && right.isConstant() ? new Constant(node.eval(null)) : node;
+        }
+
+        public double eval(FraudContext context) {
+            double l = left.eval(context);
+            double r = right.eval(context);
+            return switch (op) {
+                case '+' -> l + r;
+                case '-' -> l - r;
+                case '*' -> l * r;
+                default -> r == 0 ? 0 : l / r;
+            };
+        }
+
+        public int cost() {
+            return left.cost() + right.cost();
+        }
+    }
+
+    private record Comparison(String op, Numeric left, Numeric right) implements Condition {
+        public boolean test(FraudContext context) {
+            double l = left.eval(context);
+            double r = right.eval(context);
+            return switch (op) {
+                case ">=" -> l >= r;
+                case "<=" -> l <= r;
+                case ">" -> l > r;
+                case "<" -> l < r;
+                case "==" -> l == r;
+                default -> l != r;
+            };
+        }
+
+        public int cost() {
+            return left.cost() + right.cost();
+        }
+    }
+
+    private record Not(Condition operand) implements Condition {
+        public boolean test(FraudContext context) {
+            return !operand.test(context);
+        }
+
+        public int cost() {
+            return operand.cost();
+        }
+    }
+
+    private record BooleanConstant(boolean value) implements Condition {
+        public boolean test(FraudContext context) {
+            return value;
+        }
+
+        public int cost() {
+            return 0;
+        }
+    }
+
+    private record Logical(boolean and, Condition[] operands, int cost) implements Condition {
+
+        static Condition and(List<Condition> operands) {
+            return of(true, operands);
+        }
+
+        static Condition or(List<Condition> operands) {
+            return of(false, operands);
+        }
+
+        private static Condition of(boolean and, List<Condition> operands) {
+            Condition[] sorted = operands.stream()
+                    .sorted(Comparator.comparingInt(Condition::cost))
+                    .toArray(Condition[]::new);
+            return new Logical(and, sorted, operands.stream().mapToInt(Condition::cost).sum());
+        }
+
+        public boolean test(FraudContext context) {
+            for (Condition operand : operands) {
+                if (operand.test(context) != and) {
+                    return !and;
+                }
+            }
+            return and;
+        }
+    }
+}
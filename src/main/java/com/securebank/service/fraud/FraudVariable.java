@@ -0,0 +1,57 @@
+package com.securebank.service.fraud;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Names a rule can reference. The cost orders evaluation: transaction attributes are plain
+ * field reads, the amount baseline is at most one primary-key read, and window features may
+ * have to seed the account's window from the database.
+ */
+public enum FraudVariable {
+
+    AMOUNT("amount", 1, c -> c.transaction().getAmount().doubleValue()),
+    HOUR("hour", 1, c -> c.createdAt().getHour()),
+    DAY_OF_WEEK("dayOfWeek", 1, c -> c.createdAt().getDayOfWeek().getValue()),
+    AMOUNT_Z("amountZ", 5, c -> c.baseline().zScore(c.transaction().getAmount().doubleValue())),
+    BASELINE_MEAN("baselineMean", 5, c -> c.baseline().mean()),
+    BASELINE_SAMPLES("baselineSamples", 5, c -> c.baseline().samples()),
+    COUNT_1H("count1h", 10, c -> c.features().countLastHour()),
+    COUNT_24H("count24h", 10, c -> c.features().count24h()),
+    SUM_24H("sum24h", 10, c -> c.features().sum24hMinor() / 100.0),
+    AVG_24H("avg24h", 10, c -> c.features().count24h() == 0
+            ? 0 : c.features().sum24hMinor() / 100.0 / c.features().count24h()),
+    LARGE_COUNT_24H("largeCount24h", 10, c -> c.features().largeCount24h());
+
+    private static final Map<String, FraudVariable> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toMap(v -> v.name, Function.identity()));
+
+    private final String name;
+    private final int cost;
+    private final ToDoubleFunction<FraudContext> reader;
+
+    FraudVariable(String name, int cost, ToDoubleFunction<FraudContext> reader) {
+        this.name = name;
+        this.cost = cost;
+        this.reader = reader;
+    }
+
+    public static FraudVariable byName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    public String variableName() {
+        return name;
+    }
+
+    public int cost() {
+        return cost;
+    }
+
+    public double read(FraudContext context) {
+        return reader.applyAsDouble(context);
+    }
+}
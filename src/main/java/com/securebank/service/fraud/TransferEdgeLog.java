@@ -0,0 +1,66 @@
+package com.securebank.service.fraud;
+
+/**
+ * Bounded ring of recent transfer edges in parallel primitive arrays, 32 bytes per edge and
+ * no per-edge objects. When full, the oldest edge is overwritten.
+ */
+public final class TransferEdgeLog {
+
+    private final long[] from;
+    private final long[] to;
+    private final long[] amountMinor;
+    private final long[] epochSecond;
+    private long written;
+
+    public TransferEdgeLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Edge capacity must be positive");
+        }
+        this.from = new long[capacity];
+        this.to = new long[capacity];
+        this.amountMinor = new long[capacity];
+        this.epochSecond = new long[capacity];
+    }
+
+    public synchronized void add(long fromAccountId, long toAccountId, long amountMinorUnits, long atEpochSecond) {
+        int i = (int) (written % from.length);
+        from[i] = fromAccountId;
+        to[i] = toAccountId;
+        amountMinor[i] = amountMinorUnits;
+        epochSecond[i] = atEpochSecond;
+        written++;
+    }
+
+    public synchronized int size() {
+        return (int) Math.min(written, from.length);
+    }
+
+    /**
+     * Builds an immutable graph of the edges at or after {@code sinceEpochSecond}. Only the
+     * copy happens under the lock; indexing runs on the caller's thread afterwards.
+     */
+    public TransferGraph snapshot(long sinceEpochSecond) {
+        long[] f;
+        long[] t;
+        long[] a;
+        long[] s;
+        int count = 0;
+        synchronized (this) {
+            int size = size();
+            f = new long[size];
+            t = new long[size];
+            a = new long[size];
+            s = new long[size];
+            for (int i = 0; i < size; i++) {
+                if (epochSecond[i] >= sinceEpochSecond) {
+                    f[count] = from[i];
+                    t[count] = to[i];
+                    a[count] = amountMinor[i];
+                    s[count] = epochSecond[i];
+                    count++;
+                }
+            }
+        }
+        return TransferGraph.of(f, t, a, s, count, sinceEpochSecond);
+    }
+}
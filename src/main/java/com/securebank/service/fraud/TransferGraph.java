@@ -0,0 +1,158 @@
+package com.securebank.service.fraud;
+
+import java.util.Arrays;
+
+/**
+ * Immutable transfer graph in compressed sparse row form. Accounts are numbered by their
+ * position in a sorted {@code long[]} of ids and found by binary search, which keeps the
+ * structure free of boxed keys. Outgoing and incoming edges are stored per account in time
+ * order, so windowed scans are plain index walks.
+ */
+public final class TransferGraph {
+
+    private final long[] accountIds;
+    private final int[] outStart;
+    private final int[] outTarget;
+    private final long[] outAmount;
+    private final long[] outTime;
+    private final int[] inStart;
+    private final int[] inSource;
+    private final long[] inAmount;
+    private final long[] inTime;
+
+    private TransferGraph(long[] accountIds, int[] outStart, int[] outTarget, long[] outAmount, long[] outTime,
+                          int[] inStart, int[] inSource, long[] inAmount, long[] inTime) {
+        this.accountIds = accountIds;
+        this.outStart = outStart;
+        this.outTarget = outTarget;
+        this.outAmount = outAmount;
+        this.outTime = outTime;
+        this.inStart = inStart;
+        this.inSource = inSource;
+        this.inAmount = inAmount;
+        this.inTime = inTime;
+    }
+
+    /**
+     * Indexes the first {@code count} edges. Edge times must not be before {@code sinceEpochSecond}.
+     */
+    public static TransferGraph of(long[] from, long[] to, long[] amountMinor, long[] epochSecond,
+                                   int count, long sinceEpochSecond) {
+        long[] ids = new long[count * 2];
+        System.arraycopy(from, 0, ids, 0, count);
+        System.arraycopy(to, 0, ids, count, count);
+        Arrays.sort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        long[] accountIds = Arrays.copyOf(ids, distinct);
+
+        // Sort edge positions by time with a primitive key: relative seconds above, position below
+        long[] order = new long[count];
+        int[] source = new int[count];
+        int[] target = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = ((epochSecond[i] - sinceEpochSecond) << 32) | i;
+            source[i] = Arrays.binarySearch(accountIds, from[i]);
+            target[i] = Arrays.binarySearch(accountIds, to[i]);
+        }
+        Arrays.sort(order);
+
+        int[] outStart = offsets(source, distinct);
+        int[] inStart = offsets(target, distinct);
+        int[] outCursor = Arrays.copyOf(outStart, distinct);
+        int[] inCursor = Arrays.copyOf(inStart, distinct);
+        int[] outTarget = new int[count];
+        long[] outAmount = new long[count];
+        long[] outTime = new long[count];
+        int[] inSource = new int[count];
+        long[] inAmount = new long[count];
+        long[] inTime = new long[count];
+        for (long key : order) {
+            int i = (int) key;
+            int out = outCursor[source[i]]++;
+            outTarget[out] = target[i];
+            outAmount[out] = amountMinor[i];
+            outTime[out] = epochSecond[i];
+            int in = inCursor[target[i]]++;
+            inSource[in] = source[i];
+            inAmount[in] = amountMinor[i];
+            inTime[in] = epochSecond[i];
+        }
+        return new TransferGraph(accountIds, outStart, outTarget, outAmount, outTime,
+                inStart, inSource, inAmount, inTime);
+    }
+
+    private static int[] offsets(int[] endpoint, int nodes) {
+        int[] start = new int[nodes + 1];
+        for (int node : endpoint) {
+            start[node + 1]++;
+        }
+        for (int i = 0; i < nodes; i++) {
+            start[i + 1] += start[i];
+        }
+        return start;
+    }
+
+    public int nodeCount() {
+        return accountIds.length;
+    }
+
+    public int edgeCount() {
+        return outTarget.length;
+    }
+
+    public long accountId(int node) {
+        return accountIds[node];
+    }
+
+    /**
+     * Node number of the account, or a negative value when it has no edges.
+     */
+    public int indexOf(long accountId) {
+        return Arrays.binarySearch(accountIds, accountId);
+    }
+
+    public int outStart(int node) {
+        return outStart[node];
+    }
+
+    public int outEnd(int node) {
+        return outStart[node + 1];
+    }
+
+    public int outTarget(int edge) {
+        return outTarget[edge];
+    }
+
+    public long outAmount(int edge) {
+        return outAmount[edge];
+    }
+
+    public long outTime(int edge) {
+        return outTime[edge];
+    }
+
+    public int inStart(int node) {
+        return inStart[node];
+    }
+
+    public int inEnd(int node) {
+        return inStart[node + 1];
+    }
+
+    public int inSource(int edge) {
+        return inSource[edge];
+    }
+
+    public long inAmount(int edge) {
+        return inAmount[edge];
+    }
+
+    public long inTime(int edge) {
+        return inTime[edge];
+    }
+}
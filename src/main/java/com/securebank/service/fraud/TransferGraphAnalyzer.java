@@ -0,0 +1,199 @@
+package com.securebank.service.fraud;
+
+import com.securebank.enums.TransferPattern;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Looks for money-mule patterns in a {@link TransferGraph}. Accounts are scanned
+ * independently, so the node range is split across a fork/join pool and each leaf runs every
+ * detector on its accounts:
+ * <ul>
+ *   <li>fan-in / fan-out: many distinct counterparties in the window;</li>
+ *   <li>pass-through: most of a large incoming transfer leaves again within a short delay;</li>
+ *   <li>cycle: a time-ordered chain of 3 or more transfers that returns to its first account.
+ *       Each cycle is searched only from its lowest-numbered account, with a budget of edges
+ *       per start so a dense neighbourhood cannot stall the scan.</li>
+ * </ul>
+ */
+public final class TransferGraphAnalyzer {
+
+    // Accounts per fork/join leaf; smaller leaves cost more to schedule than to scan
+    static final int LEAF_NODES = 512;
+
+    static final int MIN_CYCLE_LENGTH = 3;
+
+    private final Thresholds thresholds;
+
+    public TransferGraphAnalyzer(Thresholds thresholds) {
+        this.thresholds = thresholds;
+    }
+
+    public List<Flag> analyze(TransferGraph graph, ForkJoinPool pool) {
+        return pool.invoke(new Scan(graph, 0, graph.nodeCount()));
+    }
+
+    private final class Scan extends RecursiveTask<List<Flag>> {
+
+        private final TransferGraph graph;
+        private final int start;
+        private final int end;
+
+        Scan(TransferGraph graph, int start, int end) {
+            this.graph = graph;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected List<Flag> compute() {
+            if (end - start <= LEAF_NODES) {
+                List<Flag> flags = new ArrayList<>();
+                for (int node = start; node < end; node++) {
+                    scan(graph, node, flags);
+                }
+                return flags;
+            }
+            int mid = (start + end) >>> 1;
+            Scan left = new Scan(graph, start, mid);
+            left.fork();
+            List<Flag> flags = new ArrayList<>(new Scan(graph, mid, end).compute());
+            flags.addAll(left.join());
+            return flags;
+        }
+    }
+
+    void scan(TransferGraph graph, int node, List<Flag> flags) {
+        long accountId = graph.accountId(node);
+
+        int senders = distinct(graph, graph.inStart(node), graph.inEnd(node), true, thresholds.fanIn());
+        if (senders >= thresholds.fanIn()) {
+            flags.add(new Flag(accountId, TransferPattern.FAN_IN, senders + " distinct senders"));
+        }
+        int recipients = distinct(graph, graph.outStart(node), graph.outEnd(node), false, thresholds.fanOut());
+        if (recipients >= thresholds.fanOut()) {
+            flags.add(new Flag(accountId, TransferPattern.FAN_OUT, recipients + " distinct recipients"));
+        }
+
+        passThrough(graph, node, flags);
+
+        int[] path = new int[thresholds.maxCycleLength()];
+        path[0] = node;
+        int length = findCycle(graph, node, node, Long.MIN_VALUE, 1, path, new int[]{thresholds.maxCyclePaths()});
+        if (length > 0) {
+            StringBuilder detail = new StringBuilder("cycle ");
+            for (int i = 0; i < length; i++) {
+                detail.append(graph.accountId(path[i])).append(" -> ");
+            }
+            detail.append(accountId);
+            for (int i = 0; i < length; i++) {
+                flags.add(new Flag(graph.accountId(path[i]), TransferPattern.CYCLE, detail.toString()));
+            }
+        }
+    }
+
+    private static int distinct(TransferGraph graph, int from, int to, boolean incoming, int threshold) {
+        if (to - from < threshold) {
+            return 0;
+        }
+        int[] counterparties = new int[to - from];
+        for (int e = from; e < to; e++) {
+            counterparties[e - from] = incoming ? graph.inSource(e) : graph.outTarget(e);
+        }
+        Arrays.sort(counterparties);
+        int distinct = 0;
+        for (int i = 0; i < counterparties.length; i++) {
+            if (i == 0 || counterparties[i] != counterparties[i - 1]) {
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+
+    private void passThrough(TransferGraph graph, int node, List<Flag> flags) {
+        int outEnd = graph.outEnd(node);
+        int lo = graph.outStart(node);
+        int hi = lo;
+        long forwarded = 0;
+        for (int e = graph.inStart(node); e < graph.inEnd(node) && lo < outEnd; e++) {
+            long received = graph.inAmount(e);
+            long at = graph.inTime(e);
+            while (hi < outEnd && graph.outTime(hi) <= at + thresholds.passThroughSeconds()) {
+                forwarded += graph.outAmount(hi++);
+            }
+            while (lo < hi && graph.outTime(lo) < at) {
+                forwarded -= graph.outAmount(lo++);
+            }
+            if (received >= thresholds.passThroughMinAmountMinor()
+                    && forwarded >= thresholds.passThroughRatio() * received) {
+                flags.add(new Flag(graph.accountId(node), TransferPattern.PASS_THROUGH,
+                        "forwarded " + BigDecimal.valueOf(forwarded, 2).toPlainString() + " of "
+                                + BigDecimal.valueOf(received, 2).toPlainString() + " within "
+                                + thresholds.passThroughSeconds() / 60 + " min"));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Depth-first search for a time-ordered path back to {@code start} through accounts
+     * numbered above it. {@code path[0..depth)} holds the accounts so far. Returns the cycle
+     * length, or 0 when none is found within the budget.
+     */
+    private int findCycle(TransferGraph graph, int start, int node, long notBefore, int depth, int[] path,
+                          int[] budget) {
+        for (int e = firstOutAtOrAfter(graph, node, notBefore); e < graph.outEnd(node); e++) {
+            if (--budget[0] < 0) {
+                return 0;
+            }
+            int next = graph.outTarget(e);
+            if (next == start && depth >= MIN_CYCLE_LENGTH) {
+                return depth;
+            }
+            if (next <= start || depth == path.length || onPath(path, depth, next)) {
+                continue;
+            }
+            path[depth] = next;
+            int length = findCycle(graph, start, next, graph.outTime(e), depth + 1, path, budget);
+            if (length > 0) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    private static int firstOutAtOrAfter(TransferGraph graph, int node, long time) {
+        int lo = graph.outStart(node);
+        int hi = graph.outEnd(node);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (graph.outTime(mid) < time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static boolean onPath(int[] path, int depth, int node) {
+        for (int i = 0; i < depth; i++) {
+            if (path[i] == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public record Thresholds(int fanIn, int fanOut, long passThroughSeconds, double passThroughRatio,
+                             long passThroughMinAmountMinor, int maxCycleLength, int maxCyclePaths) {
+    }
+
+    public record Flag(long accountId, TransferPattern pattern, String detail) {
+    }
+}
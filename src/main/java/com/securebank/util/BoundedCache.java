@@ -0,0 +1,101 @@
+package com.securebank.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Size-bounded in-process cache whose values each carry a deadline, after which they are
+ * stale and no longer returned.
+ *
+ * When the map reaches its bound, a sweep drops stale values, and if that does not leave
+ * {@link #HEADROOM} of the capacity free it also drops the values closest to their deadline,
+ * so new keys keep being admitted. Sweeps run at most once per second like
+ * {@link RateLimiter}'s purge; a full cache between sweeps simply does not admit new keys, so
+ * no lookup or insert scans the map more often than that.
+ */
+public final class BoundedCache<K, V> {
+
+    // Share of the capacity a sweep leaves free, so the following inserts need no sweep
+    static final double HEADROOM = 0.1;
+
+    private final ConcurrentHashMap<K, V> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final long sweepInterval;
+    private final ToLongFunction<? super V> deadline;
+    private final AtomicLong lastSweep;
+
+    /**
+     * @param clock    current time, in {@code clockUnit}
+     * @param deadline time at which a value goes stale, on the same clock
+     */
+    public BoundedCache(int maxEntries, TimeUnit clockUnit, LongSupplier clock, ToLongFunction<? super V> deadline) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.sweepInterval = clockUnit.convert(1, TimeUnit.SECONDS);
+        this.deadline = deadline;
+        this.lastSweep = new AtomicLong(clock.getAsLong() - sweepInterval);
+    }
+
+    /**
+     * The cached value, or null when there is none or it has gone stale.
+     */
+    public V get(K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (isStale(value, clock.getAsLong())) {
+            entries.remove(key, value);
+            return null;
+        }
+        return value;
+    }
+
+    /**
+     * Caches the value, unless the cache is full and a sweep has already run within the
+     * last interval.
+     */
+    public void put(K key, V value) {
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            sweep();
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(key, value);
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void sweep() {
+        long now = clock.getAsLong();
+        long last = lastSweep.get();
+        if (now - last < sweepInterval || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        entries.values().removeIf(value -> isStale(value, now));
+
+        int excess = entries.size() - (int) (maxEntries * (1 - HEADROOM));
+        if (excess > 0) {
+            long[] deadlines = entries.values().stream().mapToLong(deadline).sorted().toArray();
+            if (deadlines.length > 0) {
+                long cutoff = deadlines[Math.min(excess, deadlines.length) - 1];
+                entries.values().removeIf(value -> deadline.applyAsLong(value) - cutoff <= 0);
+            }
+        }
+    }
+
+    private boolean isStale(V value, long now) {
+        return deadline.applyAsLong(value) - now <= 0;
+    }
+}
@@ -0,0 +1,112 @@
+package com.securebank.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process token buckets keyed by caller. Each bucket is a single AtomicLong holding the
+ * theoretical arrival time of the next request (GCRA), which is equivalent to a token bucket
+ * refilled continuously: a request is admitted while that time lies no more than
+ * {@code burst - 1} intervals ahead of now, and admitting it advances the time by one
+ * interval with a CAS. No locks are taken.
+ *
+ * A bucket whose arrival time has passed is full again and indistinguishable from a new one,
+ * so when the map reaches its bound such buckets are dropped. If it is still full, i.e. that
+ * many callers are active at once, new keys share a fixed set of striped buckets instead.
+ */
+@Component
+public class RateLimiter {
+
+    static final int OVERFLOW_STRIPES = 1024;
+    private static final long PURGE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxBuckets;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong[] overflow = new AtomicLong[OVERFLOW_STRIPES];
+    private final AtomicLong lastPurge;
+
+    @Autowired
+    public RateLimiter(@Value("${rate-limit.max-buckets:100000}") int maxBuckets) {
+        this(maxBuckets, System::nanoTime);
+    }
+
+    RateLimiter(int maxBuckets, LongSupplier clock) {
+        this.maxBuckets = maxBuckets;
+        this.clock = clock;
+        long now = clock.getAsLong();
+        for (int i = 0; i < overflow.length; i++) {
+            overflow[i] = new AtomicLong(now);
+        }
+        this.lastPurge = new AtomicLong(now - PURGE_INTERVAL_NANOS);
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return 0 when admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key, Limit limit) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = bucket(key, now);
+        while (true) {
+            long arrival = bucket.get();
+            long base = arrival - now > 0 ? arrival : now;
+            long wait = base - now - limit.toleranceNanos();
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, base + limit.intervalNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets) {
+            purgeFullBuckets(now);
+            if (buckets.size() >= maxBuckets) {
+                return overflow[(key.hashCode() & Integer.MAX_VALUE) % OVERFLOW_STRIPES];
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    // At most one scan per second; a request racing the removal of its (full) bucket may
+    // go uncounted once, which is harmless
+    private void purgeFullBuckets(long now) {
+        long last = lastPurge.get();
+        if (now - last < PURGE_INTERVAL_NANOS || !lastPurge.compareAndSet(last, now)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    /**
+     * Sustained rate and burst size of one bucket.
+     */
+    public record Limit(long intervalNanos, long toleranceNanos) {
+
+        public static Limit of(double perSecond, int burst) {
+            if (perSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("Rate limit needs a positive rate and burst: " + perSecond + "/s, burst " + burst);
+            }
+            long interval = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / perSecond));
+            return new Limit(interval, interval * (burst - 1));
+        }
+    }
+}
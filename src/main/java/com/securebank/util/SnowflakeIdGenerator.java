@@ -0,0 +1,77 @@
+package com.securebank.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style id generator: 41 bits of milliseconds since 2024-01-01, 10 bits of node id
+ * and a 12 bit per-node sequence, rendered as {@code TXN} plus 19 zero-padded digits so the
+ * string form sorts in generation order.
+ *
+ * The (timestamp, sequence) pair lives in one AtomicLong and advances with a CAS, so callers
+ * never block. When the sequence runs out within a millisecond, or the wall clock steps
+ * backwards, the generator keeps counting on its own logical clock; ids stay strictly
+ * increasing per node.
+ *
+ * Ids are only unique if every running instance has its own node id, so
+ * {@code transaction.id.node-id} has no default and startup fails when it is not set.
+ */
+@Component
+public class SnowflakeIdGenerator implements TransactionIdGenerator {
+
+    static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final String PREFIX = "TXN";
+    private static final int DIGITS = 19;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public SnowflakeIdGenerator(@Value("${transaction.id.node-id}") long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        while (true) {
+            long previous = state.get();
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            // A new millisecond restarts the sequence; otherwise increment, carrying an
+            // exhausted sequence into the next (logical) millisecond.
+            long next = now > (previous >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : previous + 1;
+            if (state.compareAndSet(previous, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    @Override
+    public String nextTransactionId() {
+        long id = nextId();
+        char[] chars = new char[PREFIX.length() + DIGITS];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = (char) ('0' + id % 10);
+            id /= 10;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,79 @@
+package com.securebank.util;
+
+import com.securebank.entity.Transaction;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Position in a transaction listing ordered by {@code (createdAt, id)} descending: the next
+ * page holds the rows strictly after this one. Clients see it only as an opaque string.
+ */
+public record TransactionCursor(LocalDateTime createdAt, Long id) {
+
+    /**
+     * Seeks from before every row, i.e. the first page.
+     */
+    public static final TransactionCursor FIRST = new TransactionCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * The first {@code size} rows past the cursor, capped at {@link #MAX_PAGE_SIZE}; the
+     * ordering is fixed by the seek query.
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Slice of rows fetched with one more than {@code limit}'s size, the extra row only
+     * telling whether another slice follows.
+     */
+    public static Slice<Transaction> slice(List<Transaction> rows, Pageable limit) {
+        boolean hasNext = rows.size() > limit.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, limit.getPageSize()) : rows, limit, hasNext);
+    }
+
+    /**
+     * Cursor of the slice's last row, or null when no rows follow it.
+     */
+    public static String next(Slice<Transaction> slice) {
+        if (!slice.hasNext() || slice.getContent().isEmpty()) {
+            return null;
+        }
+        Transaction last = slice.getContent().get(slice.getNumberOfElements() - 1);
+        return new TransactionCursor(last.getCreatedAt(), last.getId()).encode();
+    }
+
+    public String encode() {
+        String raw = createdAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor returned by {@link #encode()}; null or blank means {@link #FIRST}.
+     */
+    public static TransactionCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new TransactionCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
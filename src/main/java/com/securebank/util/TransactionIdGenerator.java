@@ -0,0 +1,10 @@
+package com.securebank.util;
+
+/**
+ * Source of business transaction ids ({@code Transaction.transactionId}).
+ * Implementations must be thread-safe and never hand out the same id twice.
+ */
+public interface TransactionIdGenerator {
+
+    String nextTransactionId();
+}
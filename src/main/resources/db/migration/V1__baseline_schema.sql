@@ -0,0 +1,69 @@
+-- Schema as Hibernate generated it (ddl-auto=update) for the original users, accounts,
+-- transactions and audit_logs entities, down to the constraint names. Databases created that
+-- way are baselined at this version and continue from V2.
+
+CREATE TABLE users (
+    id          BIGSERIAL    NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    email       VARCHAR(100) NOT NULL,
+    full_name   VARCHAR(100) NOT NULL,
+    is_verified BOOLEAN      NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    phone       VARCHAR(20),
+    role        VARCHAR(20)  NOT NULL CHECK (role IN ('USER', 'ADMIN')),
+    updated_at  TIMESTAMP(6) NOT NULL,
+    username    VARCHAR(50)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE accounts (
+    id             BIGSERIAL      NOT NULL,
+    account_number VARCHAR(20)    NOT NULL,
+    account_type   VARCHAR(20)    NOT NULL CHECK (account_type IN ('SAVINGS', 'CURRENT')),
+    balance        NUMERIC(15, 2) NOT NULL,
+    created_at     TIMESTAMP(6)   NOT NULL,
+    currency       VARCHAR(3)     NOT NULL,
+    status         VARCHAR(20)    NOT NULL CHECK (status IN ('ACTIVE', 'FROZEN', 'CLOSED')),
+    updated_at     TIMESTAMP(6)   NOT NULL,
+    user_id        BIGINT         NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE transactions (
+    id               BIGSERIAL      NOT NULL,
+    amount           NUMERIC(15, 2) NOT NULL,
+    created_at       TIMESTAMP(6)   NOT NULL,
+    description      VARCHAR(500),
+    fee              NUMERIC(10, 2) NOT NULL,
+    status           VARCHAR(20)    NOT NULL CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED')),
+    transaction_id   VARCHAR(50)    NOT NULL,
+    transaction_type VARCHAR(20)    NOT NULL CHECK (transaction_type IN ('DEPOSIT', 'WITHDRAW', 'TRANSFER')),
+    from_account_id  BIGINT,
+    to_account_id    BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE audit_logs (
+    id          BIGSERIAL    NOT NULL,
+    action      VARCHAR(100) NOT NULL,
+    entity_id   BIGINT,
+    entity_type VARCHAR(50),
+    ip_address  VARCHAR(45),
+    timestamp   TIMESTAMP(6) NOT NULL,
+    user_id     BIGINT,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE IF EXISTS users ADD CONSTRAINT uk_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email);
+ALTER TABLE IF EXISTS users ADD CONSTRAINT uk_r43af9ap4edm43mmtq01oddj6 UNIQUE (username);
+ALTER TABLE IF EXISTS accounts ADD CONSTRAINT uk_6kplolsdtr3slnvx97xsy2kc8 UNIQUE (account_number);
+ALTER TABLE IF EXISTS transactions ADD CONSTRAINT uk_6plyfbm3wy6ds7hongoml5xbk UNIQUE (transaction_id);
+
+ALTER TABLE IF EXISTS accounts
+    ADD CONSTRAINT fknjuop33mo69pd79ctplkck40n FOREIGN KEY (user_id) REFERENCES users;
+ALTER TABLE IF EXISTS audit_logs
+    ADD CONSTRAINT fkjs4iimve3y0xssbtve5ysyef0 FOREIGN KEY (user_id) REFERENCES users;
+ALTER TABLE IF EXISTS transactions
+    ADD CONSTRAINT fk7i7kboanveneetad7jyhbr0a7 FOREIGN KEY (from_account_id) REFERENCES accounts;
+ALTER TABLE IF EXISTS transactions
+    ADD CONSTRAINT fkra0an432c5wjo76mojluk0v28 FOREIGN KEY (to_account_id) REFERENCES accounts;
@@ -0,0 +1,115 @@
+-- Tables and columns added on top of the baseline schema.
+
+-- Ids move from per-row IDENTITY-style defaults to pooled sequences (50 ids per fetch) so
+-- Hibernate can batch inserts. Each sequence continues after the existing rows.
+ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE users_id_seq;
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 1, false);
+
+ALTER TABLE accounts ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE accounts_id_seq;
+CREATE SEQUENCE accounts_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('accounts_seq', COALESCE((SELECT MAX(id) FROM accounts), 0) + 1, false);
+
+ALTER TABLE transactions ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE transactions_id_seq;
+CREATE SEQUENCE transactions_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('transactions_seq', COALESCE((SELECT MAX(id) FROM transactions), 0) + 1, false);
+
+ALTER TABLE audit_logs ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE audit_logs_id_seq;
+CREATE SEQUENCE audit_logs_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('audit_logs_seq', COALESCE((SELECT MAX(id) FROM audit_logs), 0) + 1, false);
+
+-- Token revocation
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
+
+-- Optimistic locking and hot-account balance slots
+ALTER TABLE accounts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE accounts ADD COLUMN balance_slots INTEGER NOT NULL DEFAULT 0;
+
+-- Bulk transfers, fraud holds and change tracking for the rollups. Existing rows keep a null
+-- updated_at; the rollup falls back to created_at for them.
+ALTER TABLE transactions ADD COLUMN batch_id VARCHAR(50);
+ALTER TABLE transactions ADD COLUMN hold_reason VARCHAR(20)
+    CHECK (hold_reason IN ('FRAUD_SUSPECTED', 'SCORING_TIMEOUT'));
+ALTER TABLE transactions ADD COLUMN updated_at TIMESTAMP(6);
+
+CREATE SEQUENCE ledger_entries_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE account_balance_checkpoints_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE ledger_entries (
+    id             BIGINT         NOT NULL,
+    transaction_id BIGINT,
+    ledger_account VARCHAR(20)    NOT NULL
+        CHECK (ledger_account IN ('CUSTOMER', 'CASH', 'FEE_INCOME', 'SUSPENSE', 'OPENING_BALANCE')),
+    account_id     BIGINT,
+    direction      VARCHAR(10)    NOT NULL CHECK (direction IN ('DEBIT', 'CREDIT')),
+    amount         NUMERIC(15, 2) NOT NULL,
+    created_at     TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_ledger_entries PRIMARY KEY (id),
+    CONSTRAINT fk_ledger_entries_transaction FOREIGN KEY (transaction_id) REFERENCES transactions (id),
+    CONSTRAINT fk_ledger_entries_account FOREIGN KEY (account_id) REFERENCES accounts (id)
+);
+
+CREATE TABLE account_balance_checkpoints (
+    id            BIGINT         NOT NULL,
+    account_id    BIGINT         NOT NULL,
+    checkpoint_at TIMESTAMP(6)   NOT NULL,
+    balance       NUMERIC(15, 2) NOT NULL,
+    CONSTRAINT pk_account_balance_checkpoints PRIMARY KEY (id),
+    CONSTRAINT uk_account_balance_checkpoints_account_at UNIQUE (account_id, checkpoint_at)
+);
+
+CREATE TABLE account_balance_slots (
+    account_id BIGINT         NOT NULL,
+    slot       INTEGER        NOT NULL,
+    amount     NUMERIC(15, 2) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_account_balance_slots PRIMARY KEY (account_id, slot)
+);
+
+CREATE TABLE account_amount_baselines (
+    account_id BIGINT           NOT NULL,
+    mean       DOUBLE PRECISION NOT NULL,
+    variance   DOUBLE PRECISION NOT NULL,
+    samples    BIGINT           NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_account_amount_baselines PRIMARY KEY (account_id)
+);
+
+CREATE TABLE daily_limit_usage (
+    account_id         BIGINT         NOT NULL,
+    usage_date         DATE           NOT NULL,
+    withdrawn_amount   NUMERIC(15, 2) NOT NULL,
+    transferred_amount NUMERIC(15, 2) NOT NULL,
+    updated_at         TIMESTAMP(6),
+    CONSTRAINT pk_daily_limit_usage PRIMARY KEY (account_id, usage_date)
+);
+
+CREATE TABLE dashboard_daily_metrics (
+    metric_date  DATE        NOT NULL,
+    metric       VARCHAR(40) NOT NULL,
+    metric_value BIGINT      NOT NULL,
+    updated_at   TIMESTAMP(6),
+    CONSTRAINT pk_dashboard_daily_metrics PRIMARY KEY (metric_date, metric)
+);
+
+CREATE TABLE transaction_rollups (
+    granularity       VARCHAR(10)    NOT NULL CHECK (granularity IN ('HOUR', 'DAY')),
+    bucket_start      TIMESTAMP(6)   NOT NULL,
+    transaction_type  VARCHAR(20)    NOT NULL CHECK (transaction_type IN ('DEPOSIT', 'WITHDRAW', 'TRANSFER')),
+    status            VARCHAR(20)    NOT NULL CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED')),
+    currency          VARCHAR(3)     NOT NULL,
+    transaction_count BIGINT         NOT NULL,
+    total_amount      NUMERIC(19, 2) NOT NULL,
+    total_fee         NUMERIC(19, 2) NOT NULL,
+    CONSTRAINT pk_transaction_rollups PRIMARY KEY (granularity, bucket_start, transaction_type, status, currency)
+);
+
+CREATE TABLE rollup_watermarks (
+    name            VARCHAR(50)  NOT NULL,
+    processed_until TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_rollup_watermarks PRIMARY KEY (name)
+);
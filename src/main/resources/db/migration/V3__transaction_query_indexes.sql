@@ -0,0 +1,58 @@
+-- Indexes for the queries in TransactionRepository, AccountRepository and
+-- LedgerEntryRepository. Built CONCURRENTLY so a live transactions table keeps taking writes;
+-- Flyway runs this script outside a transaction for that reason, so a failure part-way leaves
+-- the earlier indexes in place and IF NOT EXISTS lets the rerun skip them.
+-- SchemaIndexVerifier checks on startup that every index here exists and is valid.
+
+-- Statements, fraud feature windows and keyset scrolling per account, newest first; the id
+-- lets each side's (created_at, id) seek start at the cursor
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_from_account_created_at_id
+    ON transactions (from_account_id, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_to_account_created_at_id
+    ON transactions (to_account_id, created_at, id);
+
+-- Admin search and dashboard totals filtered by status or type over a date range
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_status_created_at
+    ON transactions (status, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_type_created_at
+    ON transactions (transaction_type, created_at);
+
+-- Unfiltered newest-first listing and its keyset cursor
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_created_at_id
+    ON transactions (created_at, id);
+
+-- Rollup job: rows changed since its watermark
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_updated_at
+    ON transactions (updated_at);
+
+-- sumDailyWithdrawals / sumDailyTransfers compare DATE(created_at) and count completed
+-- and pending rows, since held transfers already use up the limit
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_daily_limit
+    ON transactions (from_account_id, transaction_type, (CAST(created_at AS date)))
+    WHERE status IN ('COMPLETED', 'PENDING');
+
+-- Held-transfer review queue and timeout sweep; only a handful of rows are ever pending
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_held
+    ON transactions (hold_reason, created_at)
+    WHERE status = 'PENDING' AND hold_reason IS NOT NULL;
+
+-- Recovery sweep of bulk items left pending without a hold; normally empty
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_stranded_batch_items
+    ON transactions (created_at)
+    WHERE status = 'PENDING' AND batch_id IS NOT NULL AND hold_reason IS NULL;
+
+-- Transfer-graph scan of recent completed transfers
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_completed_transfers
+    ON transactions (created_at)
+    WHERE transaction_type = 'TRANSFER' AND status = 'COMPLETED';
+
+-- Accounts of a user: dashboard, ownership checks and the admin username filter
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_accounts_user_id
+    ON accounts (user_id);
+
+-- Ledger balance as of a time, per customer account
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ledger_entries_customer_account_created_at
+    ON ledger_entries (account_id, created_at)
+    WHERE ledger_account = 'CUSTOMER';
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ledger_entries_transaction_id
+    ON ledger_entries (transaction_id);
@@ -0,0 +1,16 @@
+-- Audit entries written in the business transaction and relayed into audit_logs afterwards.
+-- No foreign key on user_id, so staging an entry costs no lookup in the caller's transaction.
+
+CREATE SEQUENCE audit_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE audit_outbox (
+    id          BIGINT       NOT NULL,
+    user_id     BIGINT,
+    action      VARCHAR(100) NOT NULL,
+    entity_type VARCHAR(50),
+    entity_id   BIGINT,
+    ip_address  VARCHAR(45),
+    timestamp   TIMESTAMP(6) NOT NULL,
+    attempts    INTEGER      NOT NULL,
+    CONSTRAINT pk_audit_outbox PRIMARY KEY (id)
+);
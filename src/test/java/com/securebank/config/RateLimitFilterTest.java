@@ -0,0 +1,65 @@
+package com.securebank.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.securebank.enums.UserRole;
+import com.securebank.util.RateLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    // Two transaction calls per bucket, refilled far slower than the test runs
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimiter(100),
+            new ObjectMapper().registerModule(new JavaTimeModule()), true, 0.001, 2, 0.001, 2, 0.001, 2);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRejectAuthenticatedFloodFromOneIpAcrossUsers() throws Exception {
+        // Arrange
+        assertEquals(200, call(1L, "10.0.0.1"));
+        assertEquals(200, call(2L, "10.0.0.1"));
+
+        // Act
+        int status = call(3L, "10.0.0.1");
+
+        // Assert
+        assertEquals(429, status);
+    }
+
+    @Test
+    void shouldRejectOneUserAcrossIps() throws Exception {
+        // Arrange
+        assertEquals(200, call(1L, "10.0.0.1"));
+        assertEquals(200, call(1L, "10.0.0.2"));
+
+        // Act
+        int status = call(1L, "10.0.0.3");
+
+        // Assert
+        assertEquals(429, status);
+    }
+
+    private int call(Long userId, String remoteAddr) throws Exception {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user" + userId, UserRole.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.authorities()));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/transactions/transfer");
+        request.setServletPath("/api/transactions/transfer");
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,107 @@
+package com.securebank.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SchemaIndexVerifierTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private SchemaIndexVerifier schemaIndexVerifier;
+
+    @Test
+    void shouldReportNothingWhenAllIndexesAreValid() {
+        // Arrange
+        SchemaIndexVerifier.EXPECTED_INDEXES.forEach((table, indexes) ->
+                stubIndexes(table, indexes.stream().collect(Collectors.toMap(i -> i, i -> true))));
+
+        // Act
+        List<String> problems = schemaIndexVerifier.verify();
+
+        // Assert
+        assertTrue(problems.isEmpty());
+    }
+
+    @Test
+    void shouldReportMissingAndInvalidIndexes() {
+        // Arrange
+        stubIndexes("transactions", Map.of(
+                "idx_transactions_from_account_created_at_id", true,
+                "idx_transactions_daily_limit", false));
+        stubIndexes("accounts", Map.of("idx_accounts_user_id", true));
+        stubIndexes("ledger_entries", Map.of(
+                "idx_ledger_entries_customer_account_created_at", true,
+                "idx_ledger_entries_transaction_id", true));
+
+        // Act
+        List<String> problems = schemaIndexVerifier.verify();
+
+        // Assert
+        assertTrue(problems.contains("transactions.idx_transactions_daily_limit is invalid"));
+        assertTrue(problems.contains("transactions.idx_transactions_held is missing"));
+        assertFalse(problems.stream().anyMatch(p -> p.contains("idx_transactions_from_account_created_at_id")));
+        assertFalse(problems.stream().anyMatch(p -> p.startsWith("accounts.") || p.startsWith("ledger_entries.")));
+        assertEquals(SchemaIndexVerifier.EXPECTED_INDEXES.get("transactions").size() - 1, problems.size());
+    }
+
+    @Test
+    void shouldFailStartupWhenConfiguredToFailOnMissing() {
+        // Arrange
+        ReflectionTestUtils.setField(schemaIndexVerifier, "failOnMissing", true);
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> schemaIndexVerifier.verifyOnStartup());
+        assertTrue(exception.getMessage().contains("idx_accounts_user_id is missing"));
+    }
+
+    @Test
+    void shouldSkipCheckWhenDisabled() {
+        // Arrange
+        ReflectionTestUtils.setField(schemaIndexVerifier, "enabled", false);
+
+        // Act
+        schemaIndexVerifier.verifyOnStartup();
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private void stubIndexes(String table, Map<String, Boolean> indexes) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Map.Entry<String, Boolean> index : indexes.entrySet()) {
+                handler.processRow(row(index.getKey(), index.getValue()));
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(table));
+    }
+
+    private static ResultSet row(String name, boolean valid) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("index_name")).thenReturn(name);
+        when(rs.getBoolean("valid")).thenReturn(valid);
+        return rs;
+    }
+}
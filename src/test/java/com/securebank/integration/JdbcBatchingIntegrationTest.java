@@ -0,0 +1,152 @@
+package com.securebank.integration;
+
+import com.securebank.entity.Account;
+import com.securebank.entity.AuditLog;
+import com.securebank.entity.Transaction;
+import com.securebank.entity.User;
+import com.securebank.enums.AccountStatus;
+import com.securebank.enums.AccountType;
+import com.securebank.enums.TransactionStatus;
+import com.securebank.enums.TransactionType;
+import com.securebank.enums.UserRole;
+import com.securebank.repository.AccountRepository;
+import com.securebank.repository.AuditLogRepository;
+import com.securebank.repository.TransactionRepository;
+import com.securebank.repository.UserRepository;
+import com.securebank.service.AuditLogWriter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that bulk inserts reach the database as JDBC batches now that ids come from
+ * pooled sequences. Without batching every row costs its own prepared statement execution.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class JdbcBatchingIntegrationTest {
+
+    private static final int ROWS = 120;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("securebank_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("transaction.id.node-id", () -> "0");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("audit.writer.durability", () -> "NONE");
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    private Statistics statistics;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime() % 100_000_000);
+        User user = userRepository.save(User.builder()
+                .username("batch" + suffix)
+                .email("batch" + suffix + "@example.com")
+                .fullName("Batch User")
+                .password("password")
+                .role(UserRole.USER)
+                .build());
+        account = accountRepository.save(Account.builder()
+                .user(user)
+                .accountNumber("B" + suffix)
+                .accountType(AccountType.SAVINGS)
+                .balance(new BigDecimal("1000"))
+                .status(AccountStatus.ACTIVE)
+                .build());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldBatchBulkTransactionInserts() {
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Transaction> deposits = new ArrayList<>();
+            for (int i = 0; i < ROWS; i++) {
+                deposits.add(Transaction.builder()
+                        .transactionId("TXNBATCH" + i)
+                        .transactionType(TransactionType.DEPOSIT)
+                        .toAccount(account)
+                        .amount(BigDecimal.TEN)
+                        .fee(BigDecimal.ZERO)
+                        .status(TransactionStatus.COMPLETED)
+                        .description("Batch deposit " + i)
+                        .build());
+            }
+            transactionRepository.saveAll(deposits);
+        });
+
+        // Assert - three insert batches plus three sequence fetches instead of 120 round trips
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "expected batched inserts but saw " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void shouldBatchAuditFlushes() throws Exception {
+        // Act
+        for (int i = 0; i < ROWS; i++) {
+            auditLogWriter.write(AuditLog.builder()
+                    .action("BATCH_TEST")
+                    .entityType("ACCOUNT")
+                    .entityId(account.getId())
+                    .build());
+        }
+        auditLogWriter.stop();
+
+        // Assert - direct writes would need one statement per row
+        assertEquals(ROWS, auditLogRepository.count());
+        assertTrue(statistics.getPrepareStatementCount() < ROWS / 2,
+                "expected batched inserts but saw " + statistics.getPrepareStatementCount() + " statements");
+    }
+}
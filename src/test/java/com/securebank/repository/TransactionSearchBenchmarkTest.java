@@ -0,0 +1,397 @@
+package com.securebank.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securebank.enums.TransactionStatus;
+import com.securebank.enums.TransactionType;
+import com.securebank.service.AdminService;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the old catch-all admin transaction search with the specification-built one,
+ * on a scratch database. Tagged "benchmark", so it only runs with {@code -Pbenchmark}:
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=TransactionSearchBenchmarkTest \
+ *     -Dspring.datasource.url=jdbc:postgresql://localhost:5432/securebank_bench \
+ *     -Dtransaction-search.benchmark.seed-rows=10000000
+ * </pre>
+ * With {@code seed-rows} set, that many synthetic transactions spread over the last year are
+ * first inserted between the existing accounts, and the table is analyzed. Each filter
+ * combination is then run {@code iterations} times as the admin endpoint would (first page
+ * of 50 plus count), with the SQL the old query produced and through {@link AdminService},
+ * and through the new keyset endpoint. The report gives median and p95 latencies and the
+ * {@code EXPLAIN ANALYZE} plan of both forms; the old form is planned generically, as the
+ * driver does once a statement has been prepared a few times.
+ * <p>
+ * A second test seeks {@code deep-page} rows into the busiest account's history and into the
+ * unfiltered listing, and checks from the {@code EXPLAIN ANALYZE} row counts that the scans
+ * start at the cursor instead of reading and discarding every newer row.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "transaction.id.node-id=0")
+class TransactionSearchBenchmarkTest {
+
+    static final int PAGE_SIZE = 50;
+    static final int SEED_CHUNK = 1_000_000;
+
+    // Rows a keyset page may read: limit + 1 per seek branch, plus a few tie or self-transfer
+    // rows filtered out, however deep the cursor is
+    static final int MAX_ROWS_READ_PER_PAGE = 4 * (PAGE_SIZE + 1);
+
+    // Mirrors TransactionSpecifications.after() over the unfiltered listing
+    private static final String GLOBAL_AFTER_SQL =
+            "SELECT t.* FROM transactions t WHERE t.created_at <= :cursorCreatedAt " +
+            "AND (t.created_at < :cursorCreatedAt OR (t.created_at = :cursorCreatedAt AND t.id < :cursorId)) " +
+            "ORDER BY t.created_at DESC, t.id DESC LIMIT :limit";
+
+    // The search as it was before TransactionSpecifications, in the SQL it translated to
+    private static final String LEGACY_FROM =
+            "FROM transactions t " +
+            "JOIN accounts fa ON fa.id = t.from_account_id JOIN users fu ON fu.id = fa.user_id " +
+            "JOIN accounts ta ON ta.id = t.to_account_id JOIN users tu ON tu.id = ta.user_id " +
+            "WHERE ($1::timestamp IS NULL OR t.created_at >= $1) AND ($2::timestamp IS NULL OR t.created_at <= $2) " +
+            "AND ($3::varchar IS NULL OR t.transaction_type = $3) AND ($4::varchar IS NULL OR t.status = $4) " +
+            "AND ($5::varchar IS NULL OR fu.username LIKE '%' || $5 || '%' OR tu.username LIKE '%' || $5 || '%') " +
+            "AND ($6::varchar IS NULL OR fa.account_number = $6 OR ta.account_number = $6) " +
+            "AND ($7::numeric IS NULL OR t.amount >= $7) AND ($8::numeric IS NULL OR t.amount <= $8)";
+
+    private static final String LEGACY_SQL = "SELECT t.* " + LEGACY_FROM + " ORDER BY t.created_at DESC LIMIT " + PAGE_SIZE;
+
+    private static final String LEGACY_COUNT_SQL = "SELECT count(*) " + LEGACY_FROM;
+
+    private static final Pattern POSITIONAL = Pattern.compile("\\$(\\d)");
+
+    private static final String SEED_SQL =
+            "INSERT INTO transactions (id, transaction_id, transaction_type, amount, fee, from_account_id, " +
+            "to_account_id, status, created_at, updated_at) " +
+            "SELECT nextval('transactions_seq'), 'BENCH-' || g, k.type, round((random() * 5000)::numeric + 1, 2), 0, " +
+            "CASE WHEN k.type = 'DEPOSIT' THEN NULL ELSE a.ids[1 + floor(random() * a.n)::int] END, " +
+            "CASE WHEN k.type = 'WITHDRAW' THEN NULL ELSE a.ids[1 + floor(random() * a.n)::int] END, " +
+            "CASE WHEN random() < 0.97 THEN 'COMPLETED' WHEN random() < 0.5 THEN 'PENDING' ELSE 'FAILED' END, " +
+            "k.created_at, k.created_at " +
+            "FROM generate_series(?, ?) g " +
+            "CROSS JOIN (SELECT array_agg(id) AS ids, count(*) AS n FROM accounts) a " +
+            // Referencing g makes the lateral subquery run per row rather than once
+            "CROSS JOIN LATERAL (SELECT (ARRAY['DEPOSIT', 'WITHDRAW', 'TRANSFER'])[1 + floor(random() * 3)::int + g * 0] AS type, " +
+            "LOCALTIMESTAMP - random() * interval '365 days' AS created_at) k";
+
+    @Value("${transaction-search.benchmark.seed-rows:0}")
+    private long seedRows = 0;
+
+    @Value("${transaction-search.benchmark.iterations:20}")
+    private int iterations = 20;
+
+    @Value("${transaction-search.benchmark.deep-page:10000}")
+    private int deepPage = 10_000;
+
+    @Value("${transaction-search.benchmark.report-path:}")
+    private String reportPath = "";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void compareCatchAllAndCriteriaSearch() throws IOException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        if (seedRows > 0) {
+            seed(jdbcTemplate);
+        }
+
+        StringBuilder report = new StringBuilder("Transaction search benchmark, ")
+                .append(jdbcTemplate.queryForObject("SELECT count(*) FROM transactions", Long.class))
+                .append(" transactions, ").append(iterations).append(" iterations").append(System.lineSeparator());
+        for (Scenario scenario : scenarios(jdbcTemplate)) {
+            report.append(System.lineSeparator()).append(measure(jdbcTemplate, scenario));
+        }
+
+        String text = report.toString();
+        log.info("{}{}", System.lineSeparator(), text);
+        if (!reportPath.isBlank()) {
+            Files.writeString(Path.of(reportPath), text);
+        }
+    }
+
+    @Test
+    void deepKeysetPagesStartAtTheCursor() throws IOException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        Long accountId = jdbcTemplate.queryForObject(
+                "SELECT a.id FROM accounts a " +
+                "LEFT JOIN (SELECT from_account_id, count(*) AS n FROM transactions GROUP BY from_account_id) c " +
+                "ON c.from_account_id = a.id ORDER BY c.n DESC NULLS LAST LIMIT 1", Long.class);
+
+        // The offset here only locates a deep cursor; the seeks below never use one
+        Map<String, Object> accountCursor = deepCursor(jdbcTemplate,
+                "FROM transactions WHERE from_account_id = ? OR to_account_id = ?", accountId, accountId);
+        Map<String, Object> globalCursor = deepCursor(jdbcTemplate, "FROM transactions");
+
+        StringBuilder report = new StringBuilder("Keyset seek at depth ").append(deepPage).append(System.lineSeparator());
+        report.append(checkSeek(named, "Account listing", TransactionRepository.ACCOUNT_TRANSACTIONS_AFTER_SQL,
+                Map.of("accountId", accountId, "cursorCreatedAt", accountCursor.get("created_at"),
+                        "cursorId", accountCursor.get("id"), "limit", PAGE_SIZE + 1)));
+        report.append(checkSeek(named, "Unfiltered listing", GLOBAL_AFTER_SQL,
+                Map.of("cursorCreatedAt", globalCursor.get("created_at"), "cursorId", globalCursor.get("id"),
+                        "limit", PAGE_SIZE + 1)));
+
+        String text = report.toString();
+        log.info("{}{}", System.lineSeparator(), text);
+        if (!reportPath.isBlank()) {
+            Files.writeString(Path.of(reportPath + ".keyset"), text);
+        }
+    }
+
+    private Map<String, Object> deepCursor(JdbcTemplate jdbcTemplate, String from, Object... arguments) {
+        Long rows = jdbcTemplate.queryForObject("SELECT count(*) " + from, Long.class, arguments);
+        if (rows == null || rows == 0) {
+            throw new IllegalStateException("No transactions to page through");
+        }
+        Object[] withOffset = Arrays.copyOf(arguments, arguments.length + 1);
+        withOffset[arguments.length] = Math.min(deepPage, rows - 1);
+        return jdbcTemplate.queryForMap("SELECT created_at, id " + from +
+                " ORDER BY created_at DESC, id DESC OFFSET ? LIMIT 1", withOffset);
+    }
+
+    private String checkSeek(NamedParameterJdbcTemplate named, String name, String sql, Map<String, Object> parameters) {
+        String plan = named.queryForObject("EXPLAIN (ANALYZE, FORMAT JSON) " + sql, parameters, String.class);
+        long rowsRead;
+        try {
+            rowsRead = rowsRead(new ObjectMapper().readTree(plan).get(0).get("Plan"));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable plan: " + plan, e);
+        }
+        String text = named.queryForList("EXPLAIN (ANALYZE, BUFFERS) " + sql, parameters, String.class).stream()
+                .collect(Collectors.joining(System.lineSeparator()));
+        assertTrue(rowsRead <= MAX_ROWS_READ_PER_PAGE,
+                name + " read " + rowsRead + " rows for one page at depth " + deepPage + ":" + System.lineSeparator() + text);
+        return "== " + name + ", " + rowsRead + " rows read" + System.lineSeparator() + indent(text);
+    }
+
+    // Rows returned or filtered out by every scan node in the plan
+    static long rowsRead(JsonNode node) {
+        long rows = 0;
+        if (node.path("Node Type").asText().contains("Scan")) {
+            rows += node.path("Actual Rows").asLong() * Math.max(1, node.path("Actual Loops").asLong())
+                    + node.path("Rows Removed by Filter").asLong()
+                    + node.path("Rows Removed by Index Recheck").asLong();
+        }
+        for (JsonNode child : node.path("Plans")) {
+            rows += rowsRead(child);
+        }
+        return rows;
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Long accounts = jdbcTemplate.queryForObject("SELECT count(*) FROM accounts", Long.class);
+        if (accounts == null || accounts < 2) {
+            throw new IllegalStateException("Seeding needs at least two accounts");
+        }
+        long offset = jdbcTemplate.queryForObject("SELECT count(*) FROM transactions WHERE transaction_id LIKE 'BENCH-%'", Long.class);
+        for (long first = offset + 1; first <= offset + seedRows; first += SEED_CHUNK) {
+            long last = Math.min(offset + seedRows, first + SEED_CHUNK - 1);
+            jdbcTemplate.update(SEED_SQL, first, last);
+            log.info("Seeded transactions {} to {}", first - offset, last - offset);
+        }
+        jdbcTemplate.execute("ANALYZE transactions");
+    }
+
+    private List<Scenario> scenarios(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+        // A busy account and its owner, so the selective filters return full pages
+        Map<String, Object> busiest = jdbcTemplate.queryForMap(
+                "SELECT a.account_number, u.username FROM accounts a JOIN users u ON u.id = a.user_id " +
+                "LEFT JOIN (SELECT from_account_id, count(*) AS n FROM transactions GROUP BY from_account_id) c " +
+                "ON c.from_account_id = a.id ORDER BY c.n DESC NULLS LAST LIMIT 1");
+        String accountNumber = (String) busiest.get("account_number");
+        String username = (String) busiest.get("username");
+
+        return List.of(
+                new Scenario("No filters", Filters.builder().build()),
+                new Scenario("Last 7 days", Filters.builder().startDate(now.minusDays(7)).build()),
+                new Scenario("Pending", Filters.builder().status(TransactionStatus.PENDING).build()),
+                new Scenario("Account number", Filters.builder().accountNumber(accountNumber).build()),
+                new Scenario("Account number, last 30 days",
+                        Filters.builder().accountNumber(accountNumber).startDate(now.minusDays(30)).build()),
+                new Scenario("Username", Filters.builder().username(username).build()),
+                new Scenario("Completed transfers over 1000, last 30 days", Filters.builder()
+                        .type(TransactionType.TRANSFER).status(TransactionStatus.COMPLETED)
+                        .minAmount(new BigDecimal("1000")).startDate(now.minusDays(30)).build()),
+                new Scenario("Amount 4990 to 5000", Filters.builder()
+                        .minAmount(new BigDecimal("4990")).maxAmount(new BigDecimal("5000")).build()));
+    }
+
+    private String measure(JdbcTemplate jdbcTemplate, Scenario scenario) {
+        Filters f = scenario.filters();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long[] legacy = new long[iterations];
+        long[] current = new long[iterations];
+        long[] scroll = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            legacy[i] = time(readOnly, () -> legacySearch(jdbcTemplate, f));
+            current[i] = time(readOnly, () -> adminService.getAllTransactions(f.startDate(), f.endDate(), f.type(),
+                    f.status(), f.username(), f.accountNumber(), f.minAmount(), f.maxAmount(), PageRequest.of(0, PAGE_SIZE)));
+            scroll[i] = time(readOnly, () -> adminService.scrollAllTransactions(f.startDate(), f.endDate(), f.type(),
+                    f.status(), f.username(), f.accountNumber(), f.minAmount(), f.maxAmount(), null, PAGE_SIZE));
+        }
+
+        String nl = System.lineSeparator();
+        return "== " + scenario.name() + nl +
+                String.format("  catch-all page  p50 %8.2f ms  p95 %8.2f ms%n", percentile(legacy, 50), percentile(legacy, 95)) +
+                String.format("  criteria page   p50 %8.2f ms  p95 %8.2f ms%n", percentile(current, 50), percentile(current, 95)) +
+                String.format("  criteria scroll p50 %8.2f ms  p95 %8.2f ms%n", percentile(scroll, 50), percentile(scroll, 95)) +
+                "  catch-all plan (generic):" + nl + indent(explainLegacy(jdbcTemplate, f)) +
+                "  criteria plan:" + nl + indent(explainCurrent(jdbcTemplate, f));
+    }
+
+    // Run as plain statements: the JPQL form no longer binds null filters under Hibernate 6
+    private static void legacySearch(JdbcTemplate jdbcTemplate, Filters f) {
+        jdbcTemplate.queryForList(jdbc(LEGACY_SQL), arguments(LEGACY_SQL, f));
+        jdbcTemplate.queryForObject(jdbc(LEGACY_COUNT_SQL), Long.class, arguments(LEGACY_COUNT_SQL, f));
+    }
+
+    private static String jdbc(String sql) {
+        return POSITIONAL.matcher(sql).replaceAll("?");
+    }
+
+    // One argument per placeholder, in the order they appear
+    private static Object[] arguments(String sql, Filters f) {
+        Object[] values = {f.startDate(), f.endDate(), f.type() == null ? null : f.type().name(),
+                f.status() == null ? null : f.status().name(), f.username(), f.accountNumber(), f.minAmount(),
+                f.maxAmount()};
+        return POSITIONAL.matcher(sql).results()
+                .map(match -> values[Integer.parseInt(match.group(1)) - 1])
+                .toArray();
+    }
+
+    private String explainLegacy(JdbcTemplate jdbcTemplate, Filters f) {
+        String arguments = String.join(", ", literal(f.startDate()), literal(f.endDate()), literal(f.type()),
+                literal(f.status()), literal(f.username()), literal(f.accountNumber()), literal(f.minAmount()),
+                literal(f.maxAmount()));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+            jdbcTemplate.execute("PREPARE bench_legacy(timestamp, timestamp, varchar, varchar, varchar, varchar, numeric, numeric) AS " + LEGACY_SQL);
+            try {
+                return explain(jdbcTemplate, "EXECUTE bench_legacy(" + arguments + ")");
+            } finally {
+                jdbcTemplate.execute("DEALLOCATE bench_legacy");
+            }
+        });
+    }
+
+    // Mirrors what TransactionSpecifications emits for the same filters, after AdminService
+    // has resolved the account number and username to account ids
+    private String explainCurrent(JdbcTemplate jdbcTemplate, Filters f) {
+        List<String> predicates = new ArrayList<>();
+        if (f.startDate() != null) {
+            predicates.add("t.created_at >= " + literal(f.startDate()));
+        }
+        if (f.endDate() != null) {
+            predicates.add("t.created_at <= " + literal(f.endDate()));
+        }
+        if (f.type() != null) {
+            predicates.add("t.transaction_type = " + literal(f.type()));
+        }
+        if (f.status() != null) {
+            predicates.add("t.status = " + literal(f.status()));
+        }
+        if (f.accountNumber() != null) {
+            long accountId = accountRepository.findIdByAccountNumber(f.accountNumber()).orElse(-1L);
+            predicates.add("(t.from_account_id = " + accountId + " OR t.to_account_id = " + accountId + ")");
+        }
+        if (f.username() != null) {
+            String ids = accountRepository.findIdsByUsernameContaining(f.username(), PageRequest.of(0, 500)).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(", "));
+            ids = ids.isEmpty() ? "-1" : ids;
+            predicates.add("(t.from_account_id IN (" + ids + ") OR t.to_account_id IN (" + ids + "))");
+        }
+        if (f.minAmount() != null) {
+            predicates.add("t.amount >= " + f.minAmount().toPlainString());
+        }
+        if (f.maxAmount() != null) {
+            predicates.add("t.amount <= " + f.maxAmount().toPlainString());
+        }
+        String where = predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+        return explain(jdbcTemplate, "SELECT t.* FROM transactions t" + where +
+                " ORDER BY t.created_at DESC, t.id DESC LIMIT " + PAGE_SIZE);
+    }
+
+    private static String explain(JdbcTemplate jdbcTemplate, String statement) {
+        return String.join(System.lineSeparator(),
+                jdbcTemplate.queryForList("EXPLAIN (ANALYZE, BUFFERS) " + statement, String.class));
+    }
+
+    private static long time(TransactionTemplate readOnly, Runnable search) {
+        long started = System.nanoTime();
+        readOnly.executeWithoutResult(status -> search.run());
+        return System.nanoTime() - started;
+    }
+
+    static double percentile(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    // Benchmark values only, never user input
+    private static String literal(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof BigDecimal number) {
+            return number.toPlainString();
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+
+    private static String indent(String text) {
+        return text.lines().map(line -> "    " + line).collect(Collectors.joining(System.lineSeparator())) + System.lineSeparator();
+    }
+
+    record Scenario(String name, Filters filters) {
+    }
+
+    @Builder
+    record Filters(LocalDateTime startDate, LocalDateTime endDate, TransactionType type, TransactionStatus status,
+                   String username, String accountNumber, BigDecimal minAmount, BigDecimal maxAmount) {
+    }
+}
@@ -0,0 +1,237 @@
+package com.securebank.repository;
+
+import com.securebank.entity.Account;
+import com.securebank.entity.Transaction;
+import com.securebank.entity.User;
+import com.securebank.enums.AccountStatus;
+import com.securebank.enums.AccountType;
+import com.securebank.enums.TransactionStatus;
+import com.securebank.enums.TransactionType;
+import com.securebank.enums.UserRole;
+import com.securebank.util.TransactionCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the specification-built searches against the migrated schema and checks which rows
+ * each filter combination and cursor returns, newest first.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional
+class TransactionSpecificationsTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("securebank_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("transaction.id.node-id", () -> "0");
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String suffix;
+    private Account alice;
+    private Account bob;
+    private Account carol;
+    private Transaction aliceDeposit;
+    private Transaction aliceToBob;
+    private Transaction bobWithdrawal;
+    private Transaction bobToCarol;
+    private Transaction carolDeposit;
+
+    @BeforeEach
+    void setUp() {
+        suffix = String.valueOf(System.nanoTime() % 100_000_000);
+        alice = account("alice");
+        bob = account("bob");
+        carol = account("carol");
+
+        // Saved in this order, so the two rows sharing an instant have ascending ids
+        aliceDeposit = transaction(TransactionType.DEPOSIT, null, alice, "100.00",
+                TransactionStatus.COMPLETED, LocalDateTime.of(2024, 3, 1, 10, 0));
+        aliceToBob = transaction(TransactionType.TRANSFER, alice, bob, "50.00",
+                TransactionStatus.COMPLETED, LocalDateTime.of(2024, 3, 2, 10, 0));
+        bobWithdrawal = transaction(TransactionType.WITHDRAW, bob, null, "20.00",
+                TransactionStatus.PENDING, LocalDateTime.of(2024, 3, 3, 10, 0));
+        bobToCarol = transaction(TransactionType.TRANSFER, bob, carol, "200.00",
+                TransactionStatus.COMPLETED, LocalDateTime.of(2024, 3, 3, 10, 0));
+        carolDeposit = transaction(TransactionType.DEPOSIT, null, carol, "5.00",
+                TransactionStatus.FAILED, LocalDateTime.of(2024, 3, 4, 10, 0));
+    }
+
+    @Test
+    void shouldFilterByDateRangeAndType() {
+        // Arrange
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder()
+                .startDate(LocalDateTime.of(2024, 3, 2, 0, 0))
+                .endDate(LocalDateTime.of(2024, 3, 3, 23, 59))
+                .type(TransactionType.TRANSFER)
+                .build();
+
+        // Act
+        List<Long> ids = search(TransactionSpecifications.matching(criteria));
+
+        // Assert
+        assertEquals(ids(bobToCarol, aliceToBob), ids);
+    }
+
+    @Test
+    void shouldFilterByStatusAndAmountRange() {
+        // Arrange
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder()
+                .status(TransactionStatus.COMPLETED)
+                .minAmount(new BigDecimal("50.00"))
+                .maxAmount(new BigDecimal("150.00"))
+                .build();
+
+        // Act
+        List<Long> ids = search(TransactionSpecifications.matching(criteria));
+
+        // Assert
+        assertEquals(ids(aliceToBob, aliceDeposit), ids);
+    }
+
+    @Test
+    void shouldMatchEitherSideOfAccount() {
+        // Arrange
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder()
+                .accountId(bob.getId())
+                .build();
+
+        // Act
+        List<Long> ids = search(TransactionSpecifications.matching(criteria));
+
+        // Assert
+        assertEquals(ids(bobToCarol, bobWithdrawal, aliceToBob), ids);
+    }
+
+    @Test
+    void shouldMatchResolvedAccountIdsInsteadOfUsername() {
+        // Arrange - the username would match nothing if it were still applied
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder()
+                .userAccountIds(List.of(alice.getId()))
+                .username("nobody")
+                .build();
+
+        // Act
+        List<Long> ids = search(TransactionSpecifications.matching(criteria));
+
+        // Assert
+        assertEquals(ids(aliceToBob, aliceDeposit), ids);
+    }
+
+    @Test
+    void shouldMatchOwnerOfEitherSideWhenUsernameWasNotResolved() {
+        // Arrange
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder()
+                .username("bob" + suffix)
+                .build();
+
+        // Act
+        List<Long> ids = search(TransactionSpecifications.matching(criteria));
+
+        // Assert - the withdrawal has no destination account and still matches
+        assertEquals(ids(bobToCarol, bobWithdrawal, aliceToBob), ids);
+    }
+
+    @Test
+    void shouldContinueStrictlyAfterCursor() {
+        // Arrange
+        Specification<Transaction> all = TransactionSpecifications.matching(TransactionSearchCriteria.builder().build());
+
+        // Act
+        List<Long> first = search(all.and(TransactionSpecifications.after(TransactionCursor.FIRST)));
+        List<Long> afterTie = search(all.and(TransactionSpecifications.after(cursor(bobToCarol))));
+        List<Long> afterOlderTie = search(all.and(TransactionSpecifications.after(cursor(bobWithdrawal))));
+
+        // Assert - rows sharing the cursor's instant continue by descending id
+        assertEquals(ids(carolDeposit, bobToCarol, bobWithdrawal, aliceToBob, aliceDeposit), first);
+        assertEquals(ids(bobWithdrawal, aliceToBob, aliceDeposit), afterTie);
+        assertEquals(ids(aliceToBob, aliceDeposit), afterOlderTie);
+    }
+
+    private List<Long> search(Specification<Transaction> specification) {
+        return transactionRepository.findAll(specification, TransactionSpecifications.NEWEST_FIRST).stream()
+                .map(Transaction::getId)
+                .toList();
+    }
+
+    private static List<Long> ids(Transaction... transactions) {
+        return Arrays.stream(transactions).map(Transaction::getId).toList();
+    }
+
+    private TransactionCursor cursor(Transaction transaction) {
+        LocalDateTime createdAt = jdbcTemplate.queryForObject(
+                "SELECT created_at FROM transactions WHERE id = ?", LocalDateTime.class, transaction.getId());
+        return new TransactionCursor(createdAt, transaction.getId());
+    }
+
+    private Account account(String name) {
+        User user = userRepository.save(User.builder()
+                .username(name + suffix)
+                .email(name + suffix + "@example.com")
+                .fullName(name)
+                .password("password")
+                .role(UserRole.USER)
+                .build());
+        return accountRepository.save(Account.builder()
+                .user(user)
+                .accountNumber(name.toUpperCase() + suffix)
+                .accountType(AccountType.SAVINGS)
+                .balance(new BigDecimal("1000"))
+                .status(AccountStatus.ACTIVE)
+                .build());
+    }
+
+    private Transaction transaction(TransactionType type, Account from, Account to, String amount,
+                                    TransactionStatus status, LocalDateTime createdAt) {
+        Transaction transaction = transactionRepository.saveAndFlush(Transaction.builder()
+                .transactionId("TXNSPEC" + suffix + type + createdAt.getDayOfMonth())
+                .transactionType(type)
+                .fromAccount(from)
+                .toAccount(to)
+                .amount(new BigDecimal(amount))
+                .fee(BigDecimal.ZERO)
+                .status(status)
+                .build());
+        // created_at is set on insert, so the fixture's timeline is written afterwards
+        jdbcTemplate.update("UPDATE transactions SET created_at = ? WHERE id = ?", createdAt, transaction.getId());
+        return transaction;
+    }
+}
@@ -0,0 +1,105 @@
+package com.securebank.service;
+
+import com.securebank.entity.Account;
+import com.securebank.entity.AccountAmountBaseline;
+import com.securebank.entity.Transaction;
+import com.securebank.repository.AccountAmountBaselineRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountBaselineServiceTest {
+
+    @Mock
+    private AccountAmountBaselineRepository baselineRepository;
+
+    private AccountBaselineService baselineService;
+
+    @BeforeEach
+    void setUp() {
+        baselineService = new AccountBaselineService(baselineRepository);
+        baselineService.init();
+    }
+
+    @Test
+    void shouldFoldAmountsIntoWeightedMeanAndVariance() {
+        // Arrange
+        AccountBaselineService.Baseline baseline = AccountBaselineService.Baseline.EMPTY;
+
+        // Act
+        baseline = baseline.observe(100, 0.05).observe(200, 0.05).observe(150, 0.05);
+
+        // Assert
+        assertEquals(3, baseline.samples());
+        assertEquals(107.25, baseline.mean(), 1e-9);
+        assertEquals(547.4375, baseline.variance(), 1e-9);
+    }
+
+    @Test
+    void shouldScoreAgainstFlooredStandardDeviation() {
+        // Arrange - constant amounts leave no variance
+        AccountBaselineService.Baseline steady = new AccountBaselineService.Baseline(1000, 0, 20);
+
+        // Act & Assert - the floor is 10% of the mean
+        assertEquals(1.0, steady.zScore(1100), 1e-9);
+        assertEquals(0.0, AccountBaselineService.Baseline.EMPTY.zScore(50000));
+    }
+
+    @Test
+    void shouldUpdateBaselinesInAccountOrderAndCacheCommittedValue() {
+        // Arrange
+        AccountAmountBaseline first = AccountAmountBaseline.builder().accountId(1L).build();
+        AccountAmountBaseline second = AccountAmountBaseline.builder().accountId(2L).mean(100).samples(1).build();
+        when(baselineRepository.findByIdWithLock(1L)).thenReturn(Optional.of(first));
+        when(baselineRepository.findByIdWithLock(2L)).thenReturn(Optional.of(second));
+
+        // Act
+        baselineService.record(List.of(debit(2L, "300"), debit(1L, "50"), debit(2L, "100")));
+
+        // Assert
+        InOrder inOrder = inOrder(baselineRepository);
+        inOrder.verify(baselineRepository).findByIdWithLock(1L);
+        inOrder.verify(baselineRepository).findByIdWithLock(2L);
+        assertEquals(1, first.getSamples());
+        assertEquals(50, first.getMean(), 1e-9);
+        assertEquals(3, second.getSamples());
+        assertEquals(109.5, second.getMean(), 1e-9);
+
+        // No transaction is active, so the cache is refreshed at once
+        assertTrue(baselineService.isCached(2L));
+        assertEquals(3, baselineService.get(2L).samples());
+        verify(baselineRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        // Arrange
+        when(baselineRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act
+        baselineService.get(1L);
+        AccountBaselineService.Baseline baseline = baselineService.get(1L);
+
+        // Assert
+        assertEquals(0, baseline.samples());
+        verify(baselineRepository, times(1)).findById(1L);
+    }
+
+    private Transaction debit(Long accountId, String amount) {
+        return Transaction.builder()
+                .fromAccount(Account.builder().id(accountId).build())
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+}
@@ -0,0 +1,213 @@
+package com.securebank.service;
+
+import com.securebank.entity.Account;
+import com.securebank.entity.Transaction;
+import com.securebank.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountFeatureStoreTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private AccountFeatureStore featureStore;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = Account.builder().id(1L).accountNumber("ACC001").build();
+    }
+
+    @Test
+    void shouldSeedWindowFromDatabaseOnlyOnce() {
+        // Arrange
+        when(transactionRepository.findActivitySince(eq(1L), any())).thenReturn(List.of(
+                activity("6000", LocalDateTime.now().minusMinutes(20)),
+                activity("100", LocalDateTime.now().minusHours(5))));
+
+        // Act
+        featureStore.get(1L);
+        AccountFeatureStore.Features features = featureStore.get(1L);
+
+        // Assert
+        assertEquals(1, features.countLastHour());
+        assertEquals(2, features.count24h());
+        assertEquals(0, new BigDecimal("6100").compareTo(features.sum24h()));
+        assertEquals(1, features.largeCount24h());
+        verify(transactionRepository, times(1)).findActivitySince(eq(1L), any());
+    }
+
+    @Test
+    void shouldAddRecordedTransactionsToCachedWindow() {
+        // Arrange
+        when(transactionRepository.findActivitySince(eq(1L), any())).thenReturn(List.of());
+        featureStore.get(1L);
+
+        // Act
+        featureStore.recordAfterCommit(transaction("250.50", LocalDateTime.now()));
+        featureStore.recordAfterCommit(List.of(
+                transaction("5000", LocalDateTime.now()),
+                transaction("10", LocalDateTime.now().minusHours(2))));
+
+        // Assert
+        AccountFeatureStore.Features features = featureStore.get(1L);
+        assertEquals(2, features.countLastHour());
+        assertEquals(3, features.count24h());
+        assertEquals(526050, features.sum24hMinor());
+        assertEquals(1, features.largeCount24h());
+    }
+
+    @Test
+    void shouldIgnoreTransactionsOfAccountsThatAreNotCached() {
+        // Act
+        featureStore.recordAfterCommit(transaction("100", LocalDateTime.now()));
+
+        // Assert
+        assertEquals(0, featureStore.size());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void shouldDropActivityOlderThanOneDay() {
+        // Arrange
+        when(transactionRepository.findActivitySince(eq(1L), any())).thenReturn(List.of());
+        featureStore.get(1L);
+
+        // Act
+        featureStore.recordAfterCommit(transaction("100", LocalDateTime.now().minusHours(25)));
+
+        // Assert
+        assertEquals(0, featureStore.get(1L).count24h());
+        assertEquals(1, featureStore.evictIdle());
+    }
+
+    @Test
+    void shouldSweepFullStoreForIdleWindowsAtMostOncePerInterval() {
+        // Arrange - account 1 is active, accounts without history are idle at once
+        ReflectionTestUtils.setField(featureStore, "maxAccounts", 2);
+        when(transactionRepository.findActivitySince(eq(1L), any()))
+                .thenReturn(List.of(activity(10L, "50", LocalDateTime.now())));
+        when(transactionRepository.findActivitySince(longThat(id -> id != 1L), any())).thenReturn(List.of());
+        featureStore.get(1L);
+        featureStore.get(2L);
+
+        // Act
+        featureStore.get(3L);
+        featureStore.get(4L);
+
+        // Assert - the first cold lookup swept out account 2, the second did not scan again
+        assertFalse(featureStore.isCached(2L));
+        assertTrue(featureStore.isCached(3L));
+        assertFalse(featureStore.isCached(4L));
+        assertEquals(2, featureStore.size());
+    }
+
+    @Test
+    void shouldNotReportWindowAsCachedWhileItIsSeeded() {
+        // Arrange - scoring asks while the first lookup is still reading the history
+        boolean[] cachedMidSeed = new boolean[1];
+        when(transactionRepository.findActivitySince(eq(1L), any())).thenAnswer(invocation -> {
+            cachedMidSeed[0] = featureStore.isCached(1L);
+            return List.of();
+        });
+
+        // Act
+        featureStore.get(1L);
+
+        // Assert - screening takes the budgeted async path rather than scoring inline
+        assertFalse(cachedMidSeed[0]);
+        assertTrue(featureStore.isCached(1L));
+    }
+
+    @Test
+    void shouldKeepTransactionsCommittedWhileWindowIsSeeded() {
+        // Arrange - 11 committed before the history read and is in it, 12 committed after
+        LocalDateTime now = LocalDateTime.now();
+        when(transactionRepository.findActivitySince(eq(1L), any())).thenAnswer(invocation -> {
+            featureStore.recordAfterCommit(transaction(11L, "100", now));
+            featureStore.recordAfterCommit(transaction(12L, "200", now));
+            return List.of(activity(10L, "50", now.minusHours(3)), activity(11L, "100", now));
+        });
+
+        // Act
+        AccountFeatureStore.Features features = featureStore.get(1L);
+
+        // Assert
+        assertEquals(3, features.count24h());
+        assertEquals(35000, features.sum24hMinor());
+        assertEquals(features, featureStore.get(1L));
+        verify(transactionRepository, times(1)).findActivitySince(eq(1L), any());
+    }
+
+    @Test
+    void shouldCountEveryBucketOfABusyDay() {
+        // Arrange - one transaction per bucket for a little over a day
+        LocalDateTime now = LocalDateTime.now();
+        when(transactionRepository.findActivitySince(eq(1L), any())).thenReturn(List.of());
+        featureStore.get(1L);
+
+        // Act
+        for (int i = AccountFeatureStore.BUCKETS + 12; i >= 0; i--) {
+            featureStore.recordAfterCommit(transaction("1", now.minusSeconds((long) i * AccountFeatureStore.BUCKET_SECONDS)));
+        }
+
+        // Assert - off by one only if a bucket boundary passed during the test
+        AccountFeatureStore.Features features = featureStore.get(1L);
+        assertEquals(AccountFeatureStore.BUCKETS, features.count24h(), 1);
+        assertEquals(AccountFeatureStore.HOUR_BUCKETS, features.countLastHour(), 1);
+    }
+
+    private Transaction transaction(String amount, LocalDateTime createdAt) {
+        return transaction(null, amount, createdAt);
+    }
+
+    private Transaction transaction(Long id, String amount, LocalDateTime createdAt) {
+        return Transaction.builder()
+                .id(id)
+                .amount(new BigDecimal(amount))
+                .fromAccount(account)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private TransactionRepository.AccountActivity activity(String amount, LocalDateTime createdAt) {
+        return activity(null, amount, createdAt);
+    }
+
+    private TransactionRepository.AccountActivity activity(Long id, String amount, LocalDateTime createdAt) {
+        return new TransactionRepository.AccountActivity() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt;
+            }
+        };
+    }
+}
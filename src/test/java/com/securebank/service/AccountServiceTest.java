@@ -33,6 +33,12 @@ class AccountServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private HotAccountService hotAccountService;
+
+    @Mock
+    private DashboardMetricsService dashboardMetricsService;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -41,6 +47,9 @@ class AccountServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(hotAccountService.availableBalance(any()))
+                .thenAnswer(inv -> inv.<Account>getArgument(0).getBalance());
+
         testUser = User.builder()
                 .id(1L)
                 .username("testuser")
@@ -0,0 +1,174 @@
+package com.securebank.service;
+
+import com.securebank.entity.AuditLog;
+import com.securebank.entity.AuditOutboxEntry;
+import com.securebank.enums.AuditDurability;
+import com.securebank.repository.AuditLogRepository;
+import com.securebank.repository.AuditOutboxRepository;
+import com.securebank.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Mock
+    private AuditOutboxRepository auditOutboxRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldWriteQueuedEntriesInBatches() throws Exception {
+        // Arrange
+        AuditLogWriter writer = newWriter(AuditDurability.NONE);
+        writer.start();
+
+        // Act
+        writer.write(auditLog("DEPOSIT"));
+        writer.write(auditLog("WITHDRAWAL"));
+        writer.write(auditLog("TRANSFER_OUT"));
+        writer.stop();
+
+        // Assert
+        List<String> actions = savedActions();
+        assertEquals(List.of("DEPOSIT", "WITHDRAWAL", "TRANSFER_OUT"), actions);
+    }
+
+    @Test
+    void shouldWriteSynchronouslyWhenNotRunning() {
+        // Arrange
+        AuditLogWriter writer = newWriter(AuditDurability.NONE);
+
+        // Act
+        writer.write(auditLog("USER_LOGIN"));
+
+        // Assert
+        assertEquals(List.of("USER_LOGIN"), savedActions());
+    }
+
+    @Test
+    void shouldStageEntryInCallersTransaction() {
+        // Arrange
+        AuditLogWriter writer = newWriter(AuditDurability.OUTBOX);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // Act
+        try {
+            writer.write(auditLog("TRANSFER_OUT"));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert - saved in the caller's transaction, nothing written to audit_logs yet
+        ArgumentCaptor<AuditOutboxEntry> captor = ArgumentCaptor.forClass(AuditOutboxEntry.class);
+        verify(auditOutboxRepository).save(captor.capture());
+        assertEquals("TRANSFER_OUT", captor.getValue().getAction());
+        assertNotNull(captor.getValue().getTimestamp());
+        verifyNoInteractions(auditLogRepository);
+    }
+
+    @Test
+    void shouldMoveClaimedOutboxRowsIntoAuditLog() {
+        // Arrange
+        AuditLogWriter writer = newWriter(AuditDurability.OUTBOX);
+        List<AuditOutboxEntry> rows = List.of(outboxEntry(1L, "DEPOSIT"), outboxEntry(2L, "WITHDRAWAL"));
+        when(auditOutboxRepository.claimBatch(anyInt(), eq(AuditLogWriter.MAX_ENTRY_ATTEMPTS))).thenReturn(rows);
+
+        // Act
+        int claimed = writer.relay();
+
+        // Assert
+        assertEquals(2, claimed);
+        assertEquals(List.of("DEPOSIT", "WITHDRAWAL"), savedActions());
+        verify(auditOutboxRepository).deleteAllInBatch(rows);
+    }
+
+    @Test
+    void shouldSetAsideOutboxRowThatCannotBeWritten() {
+        // Arrange - one row in the batch violates a constraint
+        AuditLogWriter writer = newWriter(AuditDurability.OUTBOX);
+        AuditOutboxEntry good = outboxEntry(1L, "DEPOSIT");
+        AuditOutboxEntry bad = outboxEntry(2L, "BROKEN");
+        when(auditOutboxRepository.claimBatch(anyInt(), anyInt())).thenReturn(List.of(good, bad));
+        when(auditOutboxRepository.claimById(1L)).thenReturn(Optional.of(good));
+        when(auditOutboxRepository.claimById(2L)).thenReturn(Optional.of(bad));
+        when(auditLogRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<AuditLog> logs = invocation.getArgument(0);
+            if (logs.stream().anyMatch(log -> log.getAction().equals("BROKEN"))) {
+                throw new DataIntegrityViolationException("broken");
+            }
+            return logs;
+        });
+
+        // Act
+        writer.relay();
+
+        // Assert - the good row is moved, the bad one stays behind with one more attempt
+        verify(auditOutboxRepository).deleteAllInBatch(List.of(good));
+        verify(auditOutboxRepository, never()).deleteAllInBatch(List.of(bad));
+        verify(auditOutboxRepository).recordFailedAttempt(2L);
+        verify(auditOutboxRepository, never()).recordFailedAttempt(1L);
+    }
+
+    private AuditLogWriter newWriter(AuditDurability durability) {
+        AuditLogWriter writer = new AuditLogWriter(auditLogRepository, auditOutboxRepository, userRepository, transactionManager);
+        ReflectionTestUtils.setField(writer, "durability", durability);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 1L);
+        return writer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> savedActions() {
+        ArgumentCaptor<List<AuditLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditLogRepository, atLeastOnce()).saveAll(captor.capture());
+        return captor.getAllValues().stream()
+                .flatMap(List::stream)
+                .map(AuditLog::getAction)
+                .toList();
+    }
+
+    private AuditOutboxEntry outboxEntry(Long id, String action) {
+        return AuditOutboxEntry.builder()
+                .id(id)
+                .action(action)
+                .entityType("ACCOUNT")
+                .entityId(1L)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private AuditLog auditLog(String action) {
+        return AuditLog.builder()
+                .action(action)
+                .entityType("ACCOUNT")
+                .entityId(1L)
+                .ipAddress("127.0.0.1")
+                .build();
+    }
+}
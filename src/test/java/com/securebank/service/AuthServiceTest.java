@@ -23,6 +23,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +41,15 @@ class AuthServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private TokenVersionService tokenVersionService;
+
+    @Mock
+    private DashboardMetricsService dashboardMetricsService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -155,4 +165,17 @@ class AuthServiceTest {
         assertThrows(RuntimeException.class, 
                 () -> authService.login(loginRequest));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRevokeAllTokensOnLogout() {
+        // Arrange
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+
+        // Act
+        authService.logout(1L);
+
+        // Assert
+        verify(tokenVersionService).revokeAll(1L);
+        verify(auditLogWriter).write(argThat(log -> "USER_LOGOUT".equals(log.getAction())));
+    }
+}
@@ -0,0 +1,347 @@
+package com.securebank.service;
+
+import com.securebank.dto.request.BulkTransferRequest;
+import com.securebank.dto.response.BulkTransferResponse;
+import com.securebank.entity.Account;
+import com.securebank.entity.Transaction;
+import com.securebank.entity.User;
+import com.securebank.enums.AccountStatus;
+import com.securebank.enums.AccountType;
+import com.securebank.enums.HoldReason;
+import com.securebank.enums.TransactionStatus;
+import com.securebank.repository.AccountRepository;
+import com.securebank.repository.TransactionRepository;
+import com.securebank.util.TransactionIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkTransferServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private DailyLimitService dailyLimitService;
+
+    @Mock
+    private LockRetryExecutor lockRetryExecutor;
+
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private HotAccountService hotAccountService;
+
+    @Mock
+    private AccountFeatureStore accountFeatureStore;
+
+    @Mock
+    private AccountBaselineService accountBaselineService;
+
+    @Mock
+    private TransferGraphService transferGraphService;
+
+    @Mock
+    private DashboardMetricsService dashboardMetricsService;
+
+    @Mock
+    private FraudScreeningService fraudScreeningService;
+
+    @Mock
+    private FraudReviewService fraudReviewService;
+
+    private BulkTransferService bulkTransferService;
+
+    private Account sourceAccount;
+    private Account payeeA;
+    private Account payeeB;
+
+    @BeforeEach
+    void setUp() {
+        // Partitions run inline on the calling thread
+        bulkTransferService = new BulkTransferService(accountRepository, transactionRepository, dailyLimitService,
+                lockRetryExecutor, transactionIdGenerator, auditLogWriter, ledgerService, hotAccountService,
+                accountFeatureStore, accountBaselineService, transferGraphService, dashboardMetricsService, fraudScreeningService, fraudReviewService,
+                Runnable::run);
+        ReflectionTestUtils.setField(bulkTransferService, "dailyLimit", new BigDecimal("50000"));
+        ReflectionTestUtils.setField(bulkTransferService, "minBalance", new BigDecimal("500"));
+        ReflectionTestUtils.setField(bulkTransferService, "transferFee", new BigDecimal("10"));
+
+        lenient().when(lockRetryExecutor.execute(any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(0).get());
+        lenient().when(fraudScreeningService.screenTransfer(any(), any())).thenReturn(Optional.empty());
+        AtomicLong sequence = new AtomicLong();
+        lenient().when(transactionIdGenerator.nextTransactionId())
+                .thenAnswer(inv -> "TXN" + String.format("%019d", sequence.incrementAndGet()));
+        lenient().when(transactionRepository.updatePendingStatus(anyCollection(), any()))
+                .thenAnswer(inv -> inv.<Collection<?>>getArgument(0).size());
+        lenient().when(transactionRepository.saveAll(anyCollection())).thenAnswer(inv -> {
+            Collection<Transaction> transactions = inv.getArgument(0);
+            AtomicLong ids = new AtomicLong(100);
+            transactions.forEach(t -> t.setId(ids.incrementAndGet()));
+            return List.copyOf(transactions);
+        });
+
+        User owner = User.builder().id(1L).username("payer").build();
+        User payee = User.builder().id(2L).username("payee").build();
+        sourceAccount = account(1L, "ACC001", new BigDecimal("10000"), owner);
+        payeeA = account(2L, "ACC002", new BigDecimal("0"), payee);
+        payeeB = account(3L, "ACC003", new BigDecimal("0"), payee);
+        lenient().when(accountRepository.findById(1L)).thenReturn(Optional.of(sourceAccount));
+    }
+
+    @Test
+    void shouldRejectForeignSourceBeforeResolvingDestinations() {
+        // Arrange
+        BulkTransferRequest request = request(item("ACC002", "100"), item("ACC404", "50"));
+
+        // Act & Assert - the caller does not own account 1
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> bulkTransferService.transfer(request, 2L));
+        assertEquals("Access denied", exception.getMessage());
+        verify(accountRepository, never()).findByAccountNumberIn(any());
+        verify(accountRepository, never()).findByIdWithLock(any());
+    }
+
+    @Test
+    void shouldDebitSourceOnceAndCreditEachDestinationOnce() {
+        // Arrange
+        when(accountRepository.findByAccountNumberIn(any())).thenReturn(List.of(payeeA, payeeB));
+        when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.creditIfActive(eq(2L), any())).thenReturn(Optional.of(new BigDecimal("300")));
+        when(accountRepository.creditIfActive(eq(3L), any())).thenReturn(Optional.of(new BigDecimal("50")));
+
+        BulkTransferRequest request = request(item("ACC002", "100"), item("ACC003", "50"), item("ACC002", "200"));
+
+        // Act
+        BulkTransferResponse response = bulkTransferService.transfer(request, 1L);
+
+        // Assert
+        assertEquals(3, response.getCompletedCount());
+        assertEquals(0, response.getFailedCount());
+        assertEquals(0, new BigDecimal("380").compareTo(response.getTotalDebited()));
+        assertEquals(0, new BigDecimal("9620").compareTo(sourceAccount.getBalance()));
+        verify(accountRepository, times(1)).findByIdWithLock(1L);
+        verify(dailyLimitService).recordTransfer(eq(1L), argThat(a -> a.compareTo(new BigDecimal("350")) == 0), any());
+        verify(accountRepository).creditIfActive(eq(2L), argThat(a -> a.compareTo(new BigDecimal("300")) == 0));
+        verify(accountRepository).creditIfActive(eq(3L), argThat(a -> a.compareTo(new BigDecimal("50")) == 0));
+        verify(transactionRepository).updatePendingStatus(anyCollection(), eq(TransactionStatus.COMPLETED));
+        assertTrue(response.getItems().stream().allMatch(i -> i.getTransactionId() != null));
+    }
+
+    @Test
+    void shouldRefundItemsWhoseCreditFails() {
+        // Arrange
+        when(accountRepository.findByAccountNumberIn(any())).thenReturn(List.of(payeeA, payeeB));
+        when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.creditIfActive(eq(2L), any())).thenReturn(Optional.of(new BigDecimal("100")));
+        when(accountRepository.creditIfActive(eq(3L), any())).thenReturn(Optional.empty());
+
+        BulkTransferRequest request = request(item("ACC002", "100"), item("ACC003", "50"));
+
+        // Act
+        BulkTransferResponse response = bulkTransferService.transfer(request, 1L);
+
+        // Assert
+        assertEquals(1, response.getCompletedCount());
+        assertEquals(1, response.getFailedCount());
+        assertEquals(TransactionStatus.FAILED, response.getItems().get(1).getStatus());
+        assertEquals(0, new BigDecimal("110").compareTo(response.getTotalDebited()));
+        assertEquals(0, new BigDecimal("9890").compareTo(sourceAccount.getBalance()));
+        verify(transactionRepository).updatePendingStatus(anyCollection(), eq(TransactionStatus.FAILED));
+        verify(dailyLimitService).releaseTransfer(eq(1L), argThat(a -> a.compareTo(new BigDecimal("50")) == 0));
+    }
+
+    @Test
+    void shouldHoldEveryItemWhenBatchTotalIsSuspicious() {
+        // Arrange
+        when(accountRepository.findByAccountNumberIn(any())).thenReturn(List.of(payeeA, payeeB));
+        when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceAccount));
+        when(fraudScreeningService.screenTransfer(eq(1L), argThat(a -> a.compareTo(new BigDecimal("150")) == 0)))
+                .thenReturn(Optional.of(HoldReason.SCORING_TIMEOUT));
+
+        BulkTransferRequest request = request(item("ACC002", "100"), item("ACC003", "50"), item("UNKNOWN", "70"));
+
+        // Act
+        BulkTransferResponse response = bulkTransferService.transfer(request, 1L);
+
+        // Assert - source debited into suspense, nothing credited, each item queued for re-scoring
+        assertEquals(0, response.getCompletedCount());
+        assertEquals(1, response.getFailedCount());
+        assertEquals(TransactionStatus.PENDING, response.getItems().get(0).getStatus());
+        assertEquals("Held for fraud review", response.getItems().get(1).getError());
+        assertEquals(0, new BigDecimal("9830").compareTo(sourceAccount.getBalance()));
+        verify(accountRepository, never()).creditIfActive(any(), any());
+        verify(ledgerService).postBulkDebit(argThat(items -> items.stream()
+                .allMatch(t -> t.getHoldReason() == HoldReason.SCORING_TIMEOUT)));
+        verify(fraudReviewService, times(2)).rescoreAfterCommit(any(Transaction.class));
+        verifyNoInteractions(accountBaselineService);
+    }
+
+    @Test
+    void shouldRejectInvalidItemsWithoutTouchingTheSource() {
+        // Arrange
+        when(accountRepository.findByAccountNumberIn(any())).thenReturn(List.of(sourceAccount));
+
+        BulkTransferRequest request = request(item("ACC001", "100"), item("UNKNOWN", "50"), item("ACC001", "-5"));
+
+        // Act
+        BulkTransferResponse response = bulkTransferService.transfer(request, 1L);
+
+        // Assert
+        assertEquals(3, response.getFailedCount());
+        assertEquals("Cannot transfer to same account", response.getItems().get(0).getError());
+        assertEquals("Destination account not found", response.getItems().get(1).getError());
+        assertEquals("Amount must be positive", response.getItems().get(2).getError());
+        verify(accountRepository, never()).findByIdWithLock(any());
+        verifyNoInteractions(dailyLimitService);
+    }
+
+    @Test
+    void shouldLeaveItemsPendingWhenAnotherResolverGotThereFirst() {
+        // Arrange
+        when(accountRepository.findByAccountNumberIn(any())).thenReturn(List.of(payeeA));
+        when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.creditIfActive(eq(2L), any())).thenReturn(Optional.of(new BigDecimal("100")));
+        when(transactionRepository.updatePendingStatus(anyCollection(), any())).thenReturn(0);
+
+        BulkTransferRequest request = request(item("ACC002", "100"));
+
+        // Act
+        BulkTransferResponse response = bulkTransferService.transfer(request, 1L);
+
+        // Assert - neither the credit nor the refund may apply on top of the other resolution
+        assertEquals(0, response.getCompletedCount());
+        assertEquals("Credit failed and refund is pending", response.getItems().get(0).getError());
+        assertEquals(0, new BigDecimal("9890").compareTo(sourceAccount.getBalance()));
+        verify(ledgerService, never()).postBulkCredit(any());
+        verify(ledgerService, never()).postBulkRefund(any());
+    }
+
+    @Test
+    void shouldCreditStrandedItemWhoseDestinationIsStillActive() {
+        // Arrange
+        Transaction stranded = strandedItem(payeeA);
+        when(transactionRepository.findStrandedBatchItemIds(any(), any())).thenReturn(List.of("TXN1"));
+        when(transactionRepository.findByTransactionIdWithLock("TXN1")).thenReturn(Optional.of(stranded));
+        when(accountRepository.creditIfActive(eq(2L), any())).thenReturn(Optional.of(new BigDecimal("100")));
+
+        // Act
+        int recovered = bulkTransferService.recoverStrandedItems();
+
+        // Assert
+        assertEquals(1, recovered);
+        assertEquals(TransactionStatus.COMPLETED, stranded.getStatus());
+        verify(ledgerService).postBulkCredit(List.of(stranded));
+        verify(accountRepository, never()).findByIdWithLock(any());
+        verifyNoInteractions(dailyLimitService);
+    }
+
+    @Test
+    void shouldRefundStrandedItemWhoseDestinationCannotBeCredited() {
+        // Arrange
+        Transaction stranded = strandedItem(payeeA);
+        when(transactionRepository.findStrandedBatchItemIds(any(), any())).thenReturn(List.of("TXN1"));
+        when(transactionRepository.findByTransactionIdWithLock("TXN1")).thenReturn(Optional.of(stranded));
+        when(accountRepository.creditIfActive(eq(2L), any())).thenReturn(Optional.empty());
+        when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceAccount));
+
+        // Act
+        int recovered = bulkTransferService.recoverStrandedItems();
+
+        // Assert - amount and fee go back, and so does the daily allowance of the item's day
+        assertEquals(1, recovered);
+        assertEquals(TransactionStatus.FAILED, stranded.getStatus());
+        assertEquals(0, new BigDecimal("10110").compareTo(sourceAccount.getBalance()));
+        verify(ledgerService).postBulkRefund(List.of(stranded));
+        verify(dailyLimitService).releaseTransfer(eq(1L), eq(stranded.getCreatedAt().toLocalDate()),
+                argThat(a -> a.compareTo(new BigDecimal("100")) == 0));
+    }
+
+    @Test
+    void shouldSkipStrandedItemsResolvedSinceTheyWereFound() {
+        // Arrange
+        Transaction held = strandedItem(payeeA);
+        held.setHoldReason(HoldReason.FRAUD_SUSPECTED);
+        Transaction completed = strandedItem(payeeB);
+        completed.setStatus(TransactionStatus.COMPLETED);
+        when(transactionRepository.findStrandedBatchItemIds(any(), any())).thenReturn(List.of("TXN1", "TXN2", "TXN3"));
+        when(transactionRepository.findByTransactionIdWithLock("TXN1")).thenReturn(Optional.of(held));
+        when(transactionRepository.findByTransactionIdWithLock("TXN2")).thenReturn(Optional.of(completed));
+        when(transactionRepository.findByTransactionIdWithLock("TXN3")).thenThrow(new RuntimeException("boom"));
+
+        // Act
+        int recovered = bulkTransferService.recoverStrandedItems();
+
+        // Assert
+        assertEquals(0, recovered);
+        verify(accountRepository, never()).creditIfActive(any(), any());
+        verifyNoInteractions(ledgerService);
+    }
+
+    private Transaction strandedItem(Account destination) {
+        return Transaction.builder()
+                .id(200L)
+                .transactionId("TXN1")
+                .amount(new BigDecimal("100"))
+                .fee(new BigDecimal("10"))
+                .fromAccount(sourceAccount)
+                .toAccount(destination)
+                .batchId("BLK1")
+                .status(TransactionStatus.PENDING)
+                .createdAt(LocalDateTime.now().minusHours(1))
+                .build();
+    }
+
+    private Account account(Long id, String number, BigDecimal balance, User user) {
+        return Account.builder()
+                .id(id)
+                .accountNumber(number)
+                .accountType(AccountType.SAVINGS)
+                .balance(balance)
+                .status(AccountStatus.ACTIVE)
+                .user(user)
+                .build();
+    }
+
+    private BulkTransferRequest request(BulkTransferRequest.Item... items) {
+        BulkTransferRequest request = new BulkTransferRequest();
+        request.setFromAccountId(1L);
+        request.setItems(List.of(items));
+        return request;
+    }
+
+    private BulkTransferRequest.Item item(String toAccountNumber, String amount) {
+        BulkTransferRequest.Item item = new BulkTransferRequest.Item();
+        item.setToAccountNumber(toAccountNumber);
+        item.setAmount(new BigDecimal(amount));
+        return item;
+    }
+}
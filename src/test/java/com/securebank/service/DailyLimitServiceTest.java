@@ -0,0 +1,128 @@
+package com.securebank.service;
+
+import com.securebank.entity.DailyLimitUsage;
+import com.securebank.entity.DailyLimitUsageId;
+import com.securebank.exception.DailyLimitExceededException;
+import com.securebank.repository.DailyLimitUsageRepository;
+import com.securebank.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailyLimitServiceTest {
+
+    private static final BigDecimal LIMIT = new BigDecimal("50000");
+
+    @Mock
+    private DailyLimitUsageRepository dailyLimitUsageRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private DailyLimitService dailyLimitService;
+
+    @Test
+    void shouldConsumeLimitWithSingleConditionalUpdate() {
+        // Arrange
+        when(dailyLimitUsageRepository.addWithdrawal(eq(1L), any(LocalDate.class), eq(new BigDecimal("100")), eq(LIMIT)))
+                .thenReturn(1);
+
+        // Act
+        dailyLimitService.recordWithdrawal(1L, new BigDecimal("100"), LIMIT);
+
+        // Assert - no history scan on the hot path
+        verifyNoInteractions(transactionRepository);
+        verify(dailyLimitUsageRepository, never()).insertIfAbsent(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldSeedFromHistoryOnFirstMovementOfTheDay() {
+        // Arrange
+        when(dailyLimitUsageRepository.addTransfer(eq(1L), any(LocalDate.class), any(BigDecimal.class), eq(LIMIT)))
+                .thenReturn(0, 1);
+        when(dailyLimitUsageRepository.existsById(any(DailyLimitUsageId.class))).thenReturn(false);
+        when(transactionRepository.sumDailyWithdrawals(eq(1L), any(LocalDate.class))).thenReturn(new BigDecimal("300"));
+        when(transactionRepository.sumDailyTransfers(eq(1L), any(LocalDate.class))).thenReturn(new BigDecimal("700"));
+        when(dailyLimitUsageRepository.insertIfAbsent(eq(1L), any(LocalDate.class), eq(new BigDecimal("300")), eq(new BigDecimal("700"))))
+                .thenReturn(1);
+
+        // Act
+        dailyLimitService.recordTransfer(1L, new BigDecimal("200"), LIMIT);
+
+        // Assert
+        verify(dailyLimitUsageRepository, times(2)).addTransfer(eq(1L), any(LocalDate.class), eq(new BigDecimal("200")), eq(LIMIT));
+    }
+
+    @Test
+    void shouldRetryUpdateWhenConcurrentFirstMovementSeededTheRow() {
+        // Arrange - both callers missed the UPDATE; the other one won the insert
+        when(dailyLimitUsageRepository.addWithdrawal(eq(1L), any(LocalDate.class), any(BigDecimal.class), eq(LIMIT)))
+                .thenReturn(0, 1);
+        when(dailyLimitUsageRepository.existsById(any(DailyLimitUsageId.class))).thenReturn(false);
+        when(transactionRepository.sumDailyWithdrawals(eq(1L), any(LocalDate.class))).thenReturn(BigDecimal.ZERO);
+        when(transactionRepository.sumDailyTransfers(eq(1L), any(LocalDate.class))).thenReturn(BigDecimal.ZERO);
+        when(dailyLimitUsageRepository.insertIfAbsent(eq(1L), any(LocalDate.class), any(), any())).thenReturn(0);
+
+        // Act & Assert
+        assertDoesNotThrow(() -> dailyLimitService.recordWithdrawal(1L, new BigDecimal("100"), LIMIT));
+        verify(dailyLimitUsageRepository, times(2)).addWithdrawal(eq(1L), any(LocalDate.class), eq(new BigDecimal("100")), eq(LIMIT));
+    }
+
+    @Test
+    void shouldThrowWhenExistingUsageWouldExceedLimit() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        DailyLimitUsageId id = new DailyLimitUsageId(1L, today);
+        when(dailyLimitUsageRepository.addWithdrawal(eq(1L), eq(today), any(BigDecimal.class), eq(LIMIT))).thenReturn(0);
+        when(dailyLimitUsageRepository.existsById(id)).thenReturn(true);
+        when(dailyLimitUsageRepository.findById(id)).thenReturn(Optional.of(
+                DailyLimitUsage.builder().id(id).withdrawnAmount(new BigDecimal("49900")).build()));
+
+        // Act & Assert
+        assertThrows(DailyLimitExceededException.class,
+                () -> dailyLimitService.recordWithdrawal(1L, new BigDecimal("200"), LIMIT));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void shouldRebuildUsageFromHistory() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 15);
+        when(transactionRepository.sumDailyWithdrawals(1L, date)).thenReturn(new BigDecimal("1500"));
+        when(transactionRepository.sumDailyTransfers(1L, date)).thenReturn(new BigDecimal("2500"));
+
+        // Act
+        DailyLimitUsage usage = dailyLimitService.rebuild(1L, date);
+
+        // Assert
+        assertEquals(new BigDecimal("1500"), usage.getWithdrawnAmount());
+        assertEquals(new BigDecimal("2500"), usage.getTransferredAmount());
+        verify(dailyLimitUsageRepository).upsert(1L, date, new BigDecimal("1500"), new BigDecimal("2500"));
+    }
+
+    @Test
+    void shouldPurgeUsageOfPastDaysOnly() {
+        // Arrange
+        when(dailyLimitUsageRepository.deleteUsageBefore(LocalDate.now())).thenReturn(3);
+
+        // Act
+        int removed = dailyLimitService.purgePastUsage();
+
+        // Assert
+        assertEquals(3, removed);
+        verify(dailyLimitUsageRepository).deleteUsageBefore(LocalDate.now());
+    }
+}
@@ -0,0 +1,287 @@
+package com.securebank.service;
+
+import com.securebank.entity.DashboardDailyMetric;
+import com.securebank.entity.DashboardDailyMetricId;
+import com.securebank.entity.Transaction;
+import com.securebank.enums.AccountStatus;
+import com.securebank.enums.TransactionStatus;
+import com.securebank.enums.TransactionType;
+import com.securebank.repository.AccountRepository;
+import com.securebank.repository.DashboardDailyMetricRepository;
+import com.securebank.repository.TransactionRepository;
+import com.securebank.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardMetricsServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DashboardDailyMetricRepository metricRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DashboardMetricsService service;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        service = new DashboardMetricsService(transactionRepository, accountRepository, userRepository,
+                metricRepository, transactionManager);
+        lenient().when(accountRepository.countGroupedByStatus()).thenReturn(List.of(statusCount(AccountStatus.ACTIVE, 10)));
+        lenient().when(userRepository.count()).thenReturn(4L);
+    }
+
+    @Test
+    void shouldServeDashboardFromCountersWithoutAggregateQueries() {
+        // Arrange
+        service.reconcile();
+        clearInvocations(transactionRepository, userRepository, accountRepository);
+
+        // Act
+        service.recordAfterCommit(transaction(TransactionType.DEPOSIT, "125.50", TransactionStatus.COMPLETED));
+        service.recordAfterCommit(transaction(TransactionType.TRANSFER, "10.00", TransactionStatus.PENDING));
+        service.userRegisteredAfterCommit();
+        service.accountCreatedAfterCommit(AccountStatus.ACTIVE);
+        service.accountStatusChangedAfterCommit(AccountStatus.ACTIVE, AccountStatus.FROZEN);
+        DashboardMetricsService.Snapshot snapshot = service.snapshot();
+
+        // Assert
+        assertEquals(1, snapshot.todayCount());
+        assertEquals(new BigDecimal("125.50"), snapshot.todayVolume());
+        assertEquals(new BigDecimal("125.50"), snapshot.dailyVolume().get(today));
+        assertEquals(7, snapshot.dailyVolume().size());
+        assertEquals(5, snapshot.totalUsers());
+        assertEquals(1, snapshot.newUsersThisWeek());
+        assertEquals(10, snapshot.accountsByStatus().get(AccountStatus.ACTIVE));
+        assertEquals(1, snapshot.accountsByStatus().get(AccountStatus.FROZEN));
+        verifyNoInteractions(transactionRepository, userRepository, accountRepository);
+    }
+
+    @Test
+    void shouldOverwriteClosedDaysAndOnlySeedTodayOnReconcile() {
+        // Arrange - today's rows may already hold other instances' increments
+        LocalDate closed = today.minusDays(7);
+        when(transactionRepository.sumCompletedByDayAndType(any())).thenReturn(List.of(
+                dailyTotal(today, TransactionType.WITHDRAW, 3, "300.00"),
+                dailyTotal(closed, TransactionType.DEPOSIT, 2, "20.00")));
+        when(userRepository.countNewUsersByDay(any())).thenReturn(List.of(dailyCount(closed, 2)));
+        when(metricRepository.findByIdMetricDateGreaterThanEqual(any())).thenReturn(List.of(
+                row(today, "WITHDRAW_COUNT", 4), row(closed, DashboardMetricsService.NEW_USERS, 2)));
+
+        // Act
+        service.reconcile();
+
+        // Assert
+        verify(metricRepository).insertIfAbsent(today, "WITHDRAW_COUNT", 3);
+        verify(metricRepository).insertIfAbsent(today, "WITHDRAW_VOLUME_MINOR", 30000);
+        verify(metricRepository, never()).setValue(eq(today), anyString(), anyLong());
+        verify(metricRepository).setValue(closed, "DEPOSIT_COUNT", 2);
+        verify(metricRepository).setValue(closed, DashboardMetricsService.NEW_USERS, 2);
+        DashboardMetricsService.Snapshot snapshot = service.snapshot();
+        assertEquals(4, snapshot.todayCounts().get(TransactionType.WITHDRAW));
+        assertEquals(2, snapshot.newUsersThisWeek());
+    }
+
+    @Test
+    void shouldAddOwnIncrementsToExistingTodayRowsOnReconcile() {
+        // Arrange - today's rows exist, so the recount is not written
+        service.reconcile();
+        service.recordAfterCommit(transaction(TransactionType.DEPOSIT, "100.00", TransactionStatus.COMPLETED));
+        ReflectionTestUtils.setField(service, "reconcileIntervalMs", 0L);
+
+        // Act - the interval has elapsed, so this flush reconciles
+        service.flush();
+
+        // Assert
+        InOrder order = inOrder(metricRepository, transactionRepository);
+        order.verify(transactionRepository).sumCompletedByDayAndType(any());
+        order.verify(metricRepository).insertIfAbsent(today, "DEPOSIT_COUNT", 0);
+        order.verify(metricRepository).addDelta(today, "DEPOSIT_COUNT", 1);
+        verify(transactionRepository, times(2)).sumCompletedByDayAndType(any());
+    }
+
+    @Test
+    void shouldSeedTodayWithRecountIncludingOwnIncrements() {
+        // Arrange - no rows yet; the recount already includes the pending deposit
+        service.recordAfterCommit(transaction(TransactionType.DEPOSIT, "100.00", TransactionStatus.COMPLETED));
+        when(transactionRepository.sumCompletedByDayAndType(any())).thenReturn(List.of(
+                dailyTotal(today, TransactionType.DEPOSIT, 6, "600.00")));
+        when(metricRepository.insertIfAbsent(any(), anyString(), anyLong())).thenReturn(1);
+        when(metricRepository.findByIdMetricDateGreaterThanEqual(any())).thenReturn(List.of(
+                row(today, "DEPOSIT_COUNT", 6), row(today, "DEPOSIT_VOLUME_MINOR", 60000)));
+
+        // Act
+        service.reconcile();
+
+        // Assert
+        verify(metricRepository).insertIfAbsent(today, "DEPOSIT_COUNT", 6);
+        verify(metricRepository, never()).addDelta(any(), anyString(), anyLong());
+        assertEquals(6, service.snapshot().todayCounts().get(TransactionType.DEPOSIT));
+    }
+
+    @Test
+    void shouldKeepIncrementsWhenReconcileFails() {
+        // Arrange
+        service.recordAfterCommit(transaction(TransactionType.DEPOSIT, "100.00", TransactionStatus.COMPLETED));
+        when(metricRepository.insertIfAbsent(any(), anyString(), anyLong()))
+                .thenThrow(new RuntimeException("database down"));
+
+        // Act
+        assertThrows(RuntimeException.class, service::reconcile);
+
+        // Assert
+        assertEquals(1, service.snapshot().todayCount());
+        reset(metricRepository);
+        service.flushOnShutdown();
+        verify(metricRepository).addDelta(today, "DEPOSIT_COUNT", 1);
+    }
+
+    @Test
+    void shouldFlushIncrementsAndAdoptStoredTotals() {
+        // Arrange - another instance has counted four deposits today
+        service.reconcile();
+        service.recordAfterCommit(transaction(TransactionType.DEPOSIT, "100.00", TransactionStatus.COMPLETED));
+        when(metricRepository.findByIdMetricDateGreaterThanEqual(any())).thenReturn(List.of(
+                row(today, "DEPOSIT_COUNT", 5), row(today, "DEPOSIT_VOLUME_MINOR", 50000)));
+
+        // Act
+        service.flush();
+
+        // Assert
+        verify(metricRepository).addDelta(today, "DEPOSIT_COUNT", 1);
+        verify(metricRepository).addDelta(today, "DEPOSIT_VOLUME_MINOR", 10000);
+        assertEquals(5, service.snapshot().todayCounts().get(TransactionType.DEPOSIT));
+        assertEquals(new BigDecimal("500.00"), service.snapshot().todayVolume());
+    }
+
+    @Test
+    void shouldKeepIncrementsWhenFlushFails() {
+        // Arrange
+        service.reconcile();
+        service.recordAfterCommit(transaction(TransactionType.DEPOSIT, "100.00", TransactionStatus.COMPLETED));
+        when(metricRepository.addDelta(any(), anyString(), anyLong()))
+                .thenThrow(new RuntimeException("database down"))
+                .thenReturn(1);
+
+        // Act
+        service.flush();
+
+        // Assert
+        assertEquals(1, service.snapshot().todayCount());
+        service.flush();
+        verify(metricRepository, times(2)).addDelta(eq(today), eq("DEPOSIT_COUNT"), eq(1L));
+    }
+
+    @Test
+    void shouldFlushPendingIncrementsOnShutdown() {
+        // Arrange
+        service.reconcile();
+        service.userRegisteredAfterCommit();
+
+        // Act
+        service.flushOnShutdown();
+
+        // Assert
+        verify(metricRepository).addDelta(today, DashboardMetricsService.NEW_USERS, 1);
+    }
+
+    @Test
+    void shouldNotFlushOnShutdownDuringBacktest() {
+        // Arrange
+        ReflectionTestUtils.setField(service, "backtest", true);
+        service.userRegisteredAfterCommit();
+
+        // Act
+        service.flushOnShutdown();
+
+        // Assert
+        verifyNoInteractions(metricRepository);
+    }
+
+    private Transaction transaction(TransactionType type, String amount, TransactionStatus status) {
+        return Transaction.builder()
+                .transactionType(type)
+                .amount(new BigDecimal(amount))
+                .status(status)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private DashboardDailyMetric row(LocalDate date, String metric, long value) {
+        return DashboardDailyMetric.builder().id(new DashboardDailyMetricId(date, metric)).value(value).build();
+    }
+
+    private AccountRepository.StatusCount statusCount(AccountStatus status, long accounts) {
+        return new AccountRepository.StatusCount() {
+            public AccountStatus getStatus() {
+                return status;
+            }
+
+            public long getAccounts() {
+                return accounts;
+            }
+        };
+    }
+
+    private TransactionRepository.DailyTypeTotal dailyTotal(LocalDate day, TransactionType type, long count, String volume) {
+        return new TransactionRepository.DailyTypeTotal() {
+            public Date getDay() {
+                return Date.valueOf(day);
+            }
+
+            public String getTransactionType() {
+                return type.name();
+            }
+
+            public long getTransactionCount() {
+                return count;
+            }
+
+            public BigDecimal getVolume() {
+                return new BigDecimal(volume);
+            }
+        };
+    }
+
+    private UserRepository.DailyCount dailyCount(LocalDate day, long users) {
+        return new UserRepository.DailyCount() {
+            public Date getDay() {
+                return Date.valueOf(day);
+            }
+
+            public long getUsers() {
+                return users;
+            }
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package com.securebank.service;
+
+import com.securebank.service.fraud.FraudRule;
+import com.securebank.service.fraud.FraudRuleCompiler;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FraudBacktestTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 3, 4, 12, 0);
+
+    @Test
+    void shouldEvaluateFeaturesAsOfEachHistoricalTransaction() {
+        // Arrange - the third debit within an hour is the first with two earlier ones
+        FraudBacktest backtest = backtest("burst: count1h >= 2");
+        FraudBacktest.Shard shard = backtest.newShard();
+
+        // Act
+        shard.accept(row(1, "100", T0, false));
+        shard.accept(row(1, "100", T0.plusMinutes(10), false));
+        shard.accept(row(1, "100", T0.plusMinutes(20), true));
+        shard.accept(row(1, "100", T0.plusHours(3), false));
+        FraudBacktest.Report report = backtest.report(Duration.ofSeconds(1));
+
+        // Assert
+        FraudBacktest.RuleSetResult result = report.ruleSets().get(0);
+        assertEquals(4, report.rows());
+        assertEquals(1, result.flagged());
+        assertEquals(1, result.truePositives());
+        assertEquals(1.0, result.precision());
+        assertEquals(0.25, report.flagRate(result));
+    }
+
+    @Test
+    void shouldStartEachAccountFromEmptyState() {
+        // Arrange
+        FraudBacktest backtest = backtest("burst: count1h >= 1");
+        FraudBacktest.Shard shard = backtest.newShard();
+
+        // Act
+        shard.accept(row(1, "100", T0, false));
+        shard.accept(row(2, "100", T0.plusMinutes(1), false));
+
+        // Assert
+        FraudBacktest.Report report = backtest.report(Duration.ofSeconds(1));
+        assertEquals(2, report.accounts());
+        assertEquals(0, report.ruleSets().get(0).flagged());
+    }
+
+    @Test
+    void shouldOnlyLearnBaselineFromCompletedDebits() {
+        // Arrange
+        FraudBacktest backtest = backtest("spike: baselineSamples >= 2 && amountZ >= 4");
+        FraudBacktest.Shard shard = backtest.newShard();
+
+        // Act - the rejected 9,000 must not raise the baseline for the next large amount
+        shard.accept(completed(1, "100", T0));
+        shard.accept(row(1, "9000", T0.plusDays(1), true));
+        shard.accept(completed(1, "110", T0.plusDays(2)));
+        shard.accept(row(1, "8000", T0.plusDays(3), true));
+
+        // Assert
+        FraudBacktest.Report report = backtest.report(Duration.ofSeconds(1));
+        assertEquals(1, report.ruleSets().get(0).flagged());
+        assertEquals(0.5, report.recall(report.ruleSets().get(0)));
+    }
+
+    @Test
+    void shouldCompareRuleSetsAndMergeShards() {
+        // Arrange
+        Map<String, List<FraudRule>> ruleSets = new LinkedHashMap<>();
+        ruleSets.put("active", FraudRuleCompiler.compileRules("large: amount >= 5000"));
+        ruleSets.put("candidate", FraudRuleCompiler.compileRules("large: amount >= 1000"));
+        FraudBacktest backtest = new FraudBacktest(ruleSets, new BigDecimal("5000"), 0.05);
+
+        // Act
+        backtest.newShard().accept(row(1, "2000", T0, true));
+        backtest.newShard().accept(row(2, "6000", T0, false));
+        FraudBacktest.Report report = backtest.report(Duration.ofSeconds(1));
+
+        // Assert
+        assertEquals(List.of(1L, 2L), report.ruleSets().stream().map(FraudBacktest.RuleSetResult::flagged).toList());
+        assertEquals(0.5, report.ruleSets().get(1).precision());
+        assertTrue(report.format().contains("candidate"));
+    }
+
+    @Test
+    void shouldRejectRowsOutOfAccountOrder() {
+        // Arrange
+        FraudBacktest.Shard shard = backtest("large: amount >= 5000").newShard();
+        shard.accept(row(2, "100", T0, false));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> shard.accept(row(1, "100", T0, false)));
+    }
+
+    private FraudBacktest backtest(String rules) {
+        return new FraudBacktest(Map.of("rules", FraudRuleCompiler.compileRules(rules)), new BigDecimal("5000"), 0.05);
+    }
+
+    private FraudBacktest.Row row(long accountId, String amount, LocalDateTime at, boolean fraud) {
+        return new FraudBacktest.Row(accountId, new BigDecimal(amount), at, false, fraud);
+    }
+
+    private FraudBacktest.Row completed(long accountId, String amount, LocalDateTime at) {
+        return new FraudBacktest.Row(accountId, new BigDecimal(amount), at, true, false);
+    }
+}
@@ -1,14 +1,15 @@
 package com.securebank.service;
 
 import com.securebank.entity.Account;
+import com.securebank.entity.AccountAmountBaseline;
 import com.securebank.entity.Transaction;
 import com.securebank.entity.User;
 import com.securebank.enums.TransactionType;
+import com.securebank.repository.AccountAmountBaselineRepository;
 import com.securebank.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -16,11 +17,13 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class FraudDetectionServiceTest {
@@ -28,7 +31,9 @@ class FraudDetectionServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
-    @InjectMocks
+    @Mock
+    private AccountAmountBaselineRepository baselineRepository;
+
     private FraudDetectionService fraudDetectionService;
 
     private User testUser;
@@ -37,6 +42,11 @@ class FraudDetectionServiceTest {
 
     @BeforeEach
     void setUp() {
+        AccountBaselineService baselineService = new AccountBaselineService(baselineRepository);
+        baselineService.init();
+        fraudDetectionService = new FraudDetectionService(new FraudRuleEngine(
+                new AccountFeatureStore(transactionRepository), baselineService));
+
         testUser = User.builder()
                 .id(1L)
                 .username("testuser")
@@ -60,13 +70,13 @@ class FraudDetectionServiceTest {
     @Test
     void shouldDetectSuspiciousMultipleLargeTransactions() {
         // Arrange - Multiple large transactions in short time
-        List<Transaction> recentTransactions = Arrays.asList(
-                createTransaction(new BigDecimal("10000"), LocalDateTime.now().minusMinutes(5)),
-                createTransaction(new BigDecimal("15000"), LocalDateTime.now().minusMinutes(10)),
-                createTransaction(new BigDecimal("12000"), LocalDateTime.now().minusMinutes(15))
+        List<TransactionRepository.AccountActivity> recentTransactions = Arrays.asList(
+                activity(new BigDecimal("10000"), LocalDateTime.now().minusMinutes(5)),
+                activity(new BigDecimal("15000"), LocalDateTime.now().minusMinutes(10)),
+                activity(new BigDecimal("12000"), LocalDateTime.now().minusMinutes(15))
         );
         
-        when(transactionRepository.findRecentTransactionsByAccount(anyLong(), any(LocalDateTime.class)))
+        when(transactionRepository.findActivitySince(anyLong(), any(LocalDateTime.class)))
                 .thenReturn(recentTransactions);
 
         // Act
@@ -81,30 +91,29 @@ class FraudDetectionServiceTest {
         // Arrange - Transaction at 3 AM
         testTransaction.setCreatedAt(LocalDateTime.now().withHour(3).withMinute(0));
         testTransaction.setAmount(new BigDecimal("5000"));
-        
-        when(transactionRepository.findRecentTransactionsByAccount(anyLong(), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList());
 
         // Act
         boolean isSuspicious = fraudDetectionService.isSuspicious(testTransaction);
 
-        // Assert
+        // Assert - decided by the transaction alone, before any window features are loaded
         assertTrue(isSuspicious, "Should detect unusual hour transactions as suspicious");
+        verifyNoInteractions(transactionRepository);
     }
 
     @Test
     void shouldDetectSuspiciousSuddenSpike() {
-        // Arrange - Normal small transactions, then sudden large one
-        List<Transaction> recentTransactions = Arrays.asList(
-                createTransaction(new BigDecimal("100"), LocalDateTime.now().minusDays(1)),
-                createTransaction(new BigDecimal("200"), LocalDateTime.now().minusDays(2)),
-                createTransaction(new BigDecimal("150"), LocalDateTime.now().minusDays(3))
-        );
-        
+        // Arrange - Baseline of small transactions (100, 200, 150), then sudden large one
+        AccountAmountBaseline baseline = AccountAmountBaseline.builder()
+                .accountId(1L)
+                .mean(107.25)
+                .variance(547.4)
+                .samples(3)
+                .build();
+
         testTransaction.setAmount(new BigDecimal("20000")); // Sudden spike
-        
-        when(transactionRepository.findRecentTransactionsByAccount(anyLong(), any(LocalDateTime.class)))
-                .thenReturn(recentTransactions);
+        testTransaction.setCreatedAt(LocalDateTime.now().withHour(14).withMinute(0));
+
+        when(baselineRepository.findById(1L)).thenReturn(Optional.of(baseline));
 
         // Act
         boolean isSuspicious = fraudDetectionService.isSuspicious(testTransaction);
@@ -119,12 +128,12 @@ class FraudDetectionServiceTest {
         testTransaction.setAmount(new BigDecimal("500"));
         testTransaction.setCreatedAt(LocalDateTime.now().withHour(14).withMinute(30)); // 2:30 PM
         
-        List<Transaction> recentTransactions = Arrays.asList(
-                createTransaction(new BigDecimal("400"), LocalDateTime.now().minusDays(1)),
-                createTransaction(new BigDecimal("600"), LocalDateTime.now().minusDays(2))
+        List<TransactionRepository.AccountActivity> recentTransactions = Arrays.asList(
+                activity(new BigDecimal("400"), LocalDateTime.now().minusHours(10)),
+                activity(new BigDecimal("600"), LocalDateTime.now().minusHours(20))
         );
         
-        when(transactionRepository.findRecentTransactionsByAccount(anyLong(), any(LocalDateTime.class)))
+        when(transactionRepository.findActivitySince(anyLong(), any(LocalDateTime.class)))
                 .thenReturn(recentTransactions);
 
         // Act
@@ -137,15 +146,15 @@ class FraudDetectionServiceTest {
     @Test
     void shouldDetectRapidSuccessiveTransactions() {
         // Arrange - Many transactions in very short time
-        List<Transaction> rapidTransactions = Arrays.asList(
-                createTransaction(new BigDecimal("1000"), LocalDateTime.now().minusMinutes(1)),
-                createTransaction(new BigDecimal("1000"), LocalDateTime.now().minusMinutes(2)),
-                createTransaction(new BigDecimal("1000"), LocalDateTime.now().minusMinutes(3)),
-                createTransaction(new BigDecimal("1000"), LocalDateTime.now().minusMinutes(4)),
-                createTransaction(new BigDecimal("1000"), LocalDateTime.now().minusMinutes(5))
+        List<TransactionRepository.AccountActivity> rapidTransactions = Arrays.asList(
+                activity(new BigDecimal("1000"), LocalDateTime.now().minusMinutes(1)),
+                activity(new BigDecimal("1000"), LocalDateTime.now().minusMinutes(2)),
+                activity(new BigDecimal("1000"), LocalDateTime.now().minusMinutes(3)),
+                activity(new BigDecimal("1000"), LocalDateTime.now().minusMinutes(4)),
+                activity(new BigDecimal("1000"), LocalDateTime.now().minusMinutes(5))
         );
         
-        when(transactionRepository.findRecentTransactionsByAccount(anyLong(), any(LocalDateTime.class)))
+        when(transactionRepository.findActivitySince(anyLong(), any(LocalDateTime.class)))
                 .thenReturn(rapidTransactions);
 
         // Act
@@ -161,7 +170,7 @@ class FraudDetectionServiceTest {
         testTransaction.setAmount(new BigDecimal("8000"));
         testTransaction.setCreatedAt(LocalDateTime.now().withHour(22).withMinute(0)); // 10 PM weekend
         
-        when(transactionRepository.findRecentTransactionsByAccount(anyLong(), any(LocalDateTime.class)))
+        when(transactionRepository.findActivitySince(anyLong(), any(LocalDateTime.class)))
                 .thenReturn(Arrays.asList());
 
         // Act
@@ -171,12 +180,22 @@ class FraudDetectionServiceTest {
         assertTrue(isSuspicious, "Should detect large weekend transactions as suspicious");
     }
 
-    private Transaction createTransaction(BigDecimal amount, LocalDateTime createdAt) {
-        return Transaction.builder()
-                .amount(amount)
-                .fromAccount(testAccount)
-                .transactionType(TransactionType.WITHDRAW)
-                .createdAt(createdAt)
-                .build();
+    private TransactionRepository.AccountActivity activity(BigDecimal amount, LocalDateTime createdAt) {
+        return new TransactionRepository.AccountActivity() {
+            @Override
+            public Long getId() {
+                return null;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return amount;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt;
+            }
+        };
     }
 }
\ No newline at end of file
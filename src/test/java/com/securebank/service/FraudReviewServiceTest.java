@@ -0,0 +1,198 @@
+package com.securebank.service;
+
+import com.securebank.entity.Account;
+import com.securebank.entity.Transaction;
+import com.securebank.entity.User;
+import com.securebank.enums.AccountStatus;
+import com.securebank.enums.HoldReason;
+import com.securebank.enums.TransactionStatus;
+import com.securebank.enums.TransactionType;
+import com.securebank.repository.AccountRepository;
+import com.securebank.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FraudReviewServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private HotAccountService hotAccountService;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private DailyLimitService dailyLimitService;
+
+    @Mock
+    private LockRetryExecutor lockRetryExecutor;
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private FraudDetectionService fraudDetectionService;
+
+    @Mock
+    private AccountBaselineService accountBaselineService;
+
+    @Mock
+    private TransferGraphService transferGraphService;
+
+    @Mock
+    private DashboardMetricsService dashboardMetricsService;
+
+    private FraudReviewService fraudReviewService;
+
+    private Account sourceAccount;
+    private Account destinationAccount;
+    private Transaction heldTransfer;
+
+    @BeforeEach
+    void setUp() {
+        // Re-scoring tasks run inline on the submitting thread
+        fraudReviewService = new FraudReviewService(transactionRepository, accountRepository, hotAccountService,
+                ledgerService, dailyLimitService, lockRetryExecutor, auditLogWriter, fraudDetectionService, accountBaselineService,
+                transferGraphService, dashboardMetricsService, Runnable::run);
+        lenient().when(lockRetryExecutor.execute(any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(0).get());
+
+        User user = User.builder().id(1L).username("payer").build();
+        sourceAccount = Account.builder().id(1L).accountNumber("ACC001").balance(new BigDecimal("790"))
+                .status(AccountStatus.ACTIVE).user(user).build();
+        destinationAccount = Account.builder().id(2L).accountNumber("ACC002").balance(new BigDecimal("500"))
+                .status(AccountStatus.ACTIVE).user(user).build();
+        heldTransfer = Transaction.builder()
+                .id(10L)
+                .transactionId("TXN1")
+                .transactionType(TransactionType.TRANSFER)
+                .amount(new BigDecimal("200"))
+                .fee(new BigDecimal("10"))
+                .fromAccount(sourceAccount)
+                .toAccount(destinationAccount)
+                .status(TransactionStatus.PENDING)
+                .holdReason(HoldReason.FRAUD_SUSPECTED)
+                .createdAt(LocalDateTime.of(2024, 5, 1, 10, 0))
+                .build();
+    }
+
+    @Test
+    void shouldCreditDestinationWhenApproved() {
+        // Arrange
+        when(transactionRepository.findByTransactionIdWithLock("TXN1")).thenReturn(Optional.of(heldTransfer));
+        when(accountRepository.creditIfActive(2L, new BigDecimal("200"))).thenReturn(Optional.of(new BigDecimal("700")));
+
+        // Act
+        Transaction approved = fraudReviewService.approve("TXN1");
+
+        // Assert
+        assertEquals(TransactionStatus.COMPLETED, approved.getStatus());
+        verify(ledgerService).postTransferRelease(heldTransfer);
+        verify(accountRepository, never()).findByIdWithLock(any());
+    }
+
+    @Test
+    void shouldRefundSourceAndReleaseLimitWhenRejected() {
+        // Arrange
+        when(transactionRepository.findByTransactionIdWithLock("TXN1")).thenReturn(Optional.of(heldTransfer));
+        when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceAccount));
+
+        // Act
+        Transaction rejected = fraudReviewService.reject("TXN1");
+
+        // Assert
+        assertEquals(TransactionStatus.FAILED, rejected.getStatus());
+        assertEquals(new BigDecimal("1000"), sourceAccount.getBalance()); // 790 + 200 + 10 (fee)
+        verify(ledgerService).postTransferRefund(heldTransfer);
+        verify(dailyLimitService).releaseTransfer(1L, heldTransfer.getCreatedAt().toLocalDate(), new BigDecimal("200"));
+        verify(accountRepository, never()).creditIfActive(any(), any());
+    }
+
+    @Test
+    void shouldRefuseToResolveTransferThatIsNotHeld() {
+        // Arrange
+        heldTransfer.setStatus(TransactionStatus.COMPLETED);
+        when(transactionRepository.findByTransactionIdWithLock("TXN1")).thenReturn(Optional.of(heldTransfer));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> fraudReviewService.reject("TXN1"));
+        verifyNoInteractions(ledgerService);
+    }
+
+    @Test
+    void shouldReleaseTimedOutHoldThatScoresClean() {
+        // Arrange
+        heldTransfer.setHoldReason(HoldReason.SCORING_TIMEOUT);
+        when(transactionRepository.findHeldTransactionIds(eq(HoldReason.SCORING_TIMEOUT), any())).thenReturn(List.of("TXN1"));
+        when(transactionRepository.findByTransactionId("TXN1")).thenReturn(Optional.of(heldTransfer));
+        when(transactionRepository.findByTransactionIdWithLock("TXN1")).thenReturn(Optional.of(heldTransfer));
+        when(fraudDetectionService.isSuspicious(heldTransfer)).thenReturn(false);
+        when(accountRepository.creditIfActive(2L, new BigDecimal("200"))).thenReturn(Optional.of(new BigDecimal("700")));
+
+        // Act
+        int queued = fraudReviewService.sweepTimedOutHolds();
+
+        // Assert
+        assertEquals(1, queued);
+        assertEquals(TransactionStatus.COMPLETED, heldTransfer.getStatus());
+        verify(ledgerService).postTransferRelease(heldTransfer);
+    }
+
+    @Test
+    void shouldEscalateTimedOutHoldThatScoresSuspicious() {
+        // Arrange
+        heldTransfer.setHoldReason(HoldReason.SCORING_TIMEOUT);
+        when(transactionRepository.findByTransactionId("TXN1")).thenReturn(Optional.of(heldTransfer));
+        when(transactionRepository.findByTransactionIdWithLock("TXN1")).thenReturn(Optional.of(heldTransfer));
+        when(fraudDetectionService.isSuspicious(heldTransfer)).thenReturn(true);
+
+        // Act
+        fraudReviewService.rescoreAfterCommit(heldTransfer);
+
+        // Assert
+        assertEquals(TransactionStatus.PENDING, heldTransfer.getStatus());
+        assertEquals(HoldReason.FRAUD_SUSPECTED, heldTransfer.getHoldReason());
+        verifyNoInteractions(ledgerService);
+    }
+
+    @Test
+    void shouldRefundTimedOutHoldWhoseDestinationCannotBeCredited() {
+        // Arrange - the destination was frozen while the transfer was held
+        heldTransfer.setHoldReason(HoldReason.SCORING_TIMEOUT);
+        destinationAccount.setStatus(AccountStatus.FROZEN);
+        when(transactionRepository.findByTransactionId("TXN1")).thenReturn(Optional.of(heldTransfer));
+        when(transactionRepository.findByTransactionIdWithLock("TXN1")).thenReturn(Optional.of(heldTransfer));
+        when(fraudDetectionService.isSuspicious(heldTransfer)).thenReturn(false);
+        when(accountRepository.creditIfActive(2L, new BigDecimal("200"))).thenReturn(Optional.empty());
+        when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceAccount));
+
+        // Act
+        fraudReviewService.rescoreAfterCommit(heldTransfer);
+
+        // Assert - resolved for good, so later sweeps no longer find it
+        assertEquals(TransactionStatus.FAILED, heldTransfer.getStatus());
+        assertEquals(new BigDecimal("1000"), sourceAccount.getBalance());
+        verify(ledgerService).postTransferRefund(heldTransfer);
+        verify(ledgerService, never()).postTransferRelease(any());
+        verify(dailyLimitService).releaseTransfer(1L, heldTransfer.getCreatedAt().toLocalDate(), new BigDecimal("200"));
+    }
+}
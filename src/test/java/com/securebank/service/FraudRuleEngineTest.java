@@ -0,0 +1,101 @@
+package com.securebank.service;
+
+import com.securebank.entity.Account;
+import com.securebank.entity.Transaction;
+import com.securebank.service.fraud.FraudRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class FraudRuleEngineTest {
+
+    @Mock
+    private AccountFeatureStore accountFeatureStore;
+
+    @Mock
+    private AccountBaselineService accountBaselineService;
+
+    @TempDir
+    Path tempDir;
+
+    private FraudRuleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new FraudRuleEngine(accountFeatureStore, accountBaselineService);
+    }
+
+    @Test
+    void shouldReportFirstMatchingRuleAndCountEvaluations() {
+        // Arrange
+        engine.replace("big: amount >= 1000\nnight: hour <= 6", "test");
+
+        // Act
+        Optional<String> hit = engine.evaluate(transaction("1500", 14));
+        Optional<String> miss = engine.evaluate(transaction("10", 14));
+
+        // Assert
+        assertEquals(Optional.of("big"), hit);
+        assertTrue(miss.isEmpty());
+        FraudRule big = engine.current().rules().get(0);
+        assertEquals(2, big.getEvaluations());
+        assertEquals(1, big.getHits());
+    }
+
+    @Test
+    void shouldSwapRulesWhenFileChanges() throws Exception {
+        // Arrange
+        Path rules = tempDir.resolve("fraud.rules");
+        Files.writeString(rules, "big: amount >= 1000");
+        ReflectionTestUtils.setField(engine, "rulesPath", rules.toString());
+        engine.reloadIfChanged();
+        assertEquals(Optional.of("big"), engine.evaluate(transaction("1500", 14)));
+
+        // Act
+        Files.writeString(rules, "huge: amount >= 100000");
+        Files.setLastModifiedTime(rules, FileTime.fromMillis(Files.getLastModifiedTime(rules).toMillis() + 1000));
+        engine.reloadIfChanged();
+
+        // Assert
+        assertTrue(engine.evaluate(transaction("1500", 14)).isEmpty());
+        assertEquals(rules.toString(), engine.current().origin());
+    }
+
+    @Test
+    void shouldKeepActiveRulesWhenFileDoesNotCompile() throws Exception {
+        // Arrange
+        engine.replace("big: amount >= 1000", "test");
+        Path rules = tempDir.resolve("fraud.rules");
+        Files.writeString(rules, "broken: amount >=");
+        ReflectionTestUtils.setField(engine, "rulesPath", rules.toString());
+
+        // Act
+        engine.reloadIfChanged();
+
+        // Assert
+        assertEquals("test", engine.current().origin());
+        assertThrows(IllegalArgumentException.class, () -> engine.reload());
+    }
+
+    private Transaction transaction(String amount, int hour) {
+        return Transaction.builder()
+                .amount(new BigDecimal(amount))
+                .fromAccount(Account.builder().id(1L).build())
+                .createdAt(LocalDateTime.of(2024, 5, 1, hour, 0))
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.securebank.service;
+
+import com.securebank.enums.HoldReason;
+import com.securebank.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FraudScreeningServiceTest {
+
+    @Mock
+    private FraudDetectionService fraudDetectionService;
+
+    @Mock
+    private AccountFeatureStore accountFeatureStore;
+
+    @Mock
+    private AccountBaselineService accountBaselineService;
+
+    @Test
+    void shouldScoreInlineWhenFeaturesAreCached() {
+        // Arrange
+        FraudScreeningService screening = new FraudScreeningService(fraudDetectionService, accountFeatureStore, accountBaselineService,
+                task -> fail("Cached accounts must not be scored on the executor"));
+        when(accountFeatureStore.isCached(1L)).thenReturn(true);
+        when(accountBaselineService.isCached(1L)).thenReturn(true);
+        when(fraudDetectionService.isSuspicious(any())).thenReturn(true);
+
+        // Act
+        Optional<HoldReason> hold = screening.screenTransfer(1L, new BigDecimal("100"));
+
+        // Assert
+        assertEquals(Optional.of(HoldReason.FRAUD_SUSPECTED), hold);
+    }
+
+    @Test
+    void shouldPassCleanTransferScoredWithinBudget() {
+        // Arrange
+        FraudScreeningService screening = new FraudScreeningService(fraudDetectionService, accountFeatureStore, accountBaselineService, Runnable::run);
+        when(fraudDetectionService.isSuspicious(any())).thenReturn(false);
+
+        // Act
+        Optional<HoldReason> hold = screening.screenTransfer(1L, new BigDecimal("100"));
+
+        // Assert
+        assertTrue(hold.isEmpty());
+    }
+
+    @Test
+    void shouldHoldTransferWhenScoringMissesBudget() {
+        // Arrange - the executor never runs the task
+        FraudScreeningService screening = new FraudScreeningService(fraudDetectionService, accountFeatureStore, accountBaselineService, task -> { });
+
+        // Act
+        Optional<HoldReason> hold = screening.screenTransfer(1L, new BigDecimal("100"));
+
+        // Assert
+        assertEquals(Optional.of(HoldReason.SCORING_TIMEOUT), hold);
+        verifyNoInteractions(fraudDetectionService);
+    }
+
+    @Test
+    void shouldHoldTransferWhenScoringQueueIsFull() {
+        // Arrange
+        FraudScreeningService screening = new FraudScreeningService(fraudDetectionService, accountFeatureStore, accountBaselineService, task -> {
+            throw new RejectedExecutionException();
+        });
+
+        // Act
+        Optional<HoldReason> hold = screening.screenTransfer(1L, new BigDecimal("100"));
+
+        // Assert
+        assertEquals(Optional.of(HoldReason.SCORING_TIMEOUT), hold);
+    }
+
+    @Test
+    void shouldScoreOnExecutorWhileAnotherCallerSeedsTheWindow(@Mock TransactionRepository transactionRepository) {
+        // Arrange - a second transfer is screened while the first one's window is being seeded
+        AccountFeatureStore featureStore = new AccountFeatureStore(transactionRepository);
+        List<Runnable> submitted = new ArrayList<>();
+        FraudScreeningService screening = new FraudScreeningService(fraudDetectionService, featureStore, accountBaselineService,
+                submitted::add);
+        lenient().when(accountBaselineService.isCached(1L)).thenReturn(true);
+        List<Optional<HoldReason>> midSeed = new ArrayList<>();
+        when(transactionRepository.findActivitySince(eq(1L), any())).thenAnswer(invocation -> {
+            midSeed.add(screening.screenTransfer(1L, new BigDecimal("100")));
+            return List.of();
+        });
+
+        // Act
+        featureStore.get(1L);
+
+        // Assert - sent to the budgeted executor, not scored inline against a second history read
+        assertEquals(1, submitted.size());
+        assertEquals(List.of(Optional.of(HoldReason.SCORING_TIMEOUT)), midSeed);
+        verify(transactionRepository, times(1)).findActivitySince(eq(1L), any());
+    }
+}
@@ -0,0 +1,175 @@
+package com.securebank.service;
+
+import com.securebank.entity.Account;
+import com.securebank.enums.AccountStatus;
+import com.securebank.exception.AccountFrozenException;
+import com.securebank.repository.AccountBalanceSlotRepository;
+import com.securebank.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotAccountServiceTest {
+
+    @Mock
+    private AccountBalanceSlotRepository slotRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private LockRetryExecutor lockRetryExecutor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private HotAccountService hotAccountService;
+
+    private Account merchantAccount;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(lockRetryExecutor.execute(any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(0).get());
+
+        merchantAccount = Account.builder()
+                .id(1L)
+                .accountNumber("ACC001")
+                .balance(new BigDecimal("1000"))
+                .status(AccountStatus.ACTIVE)
+                .balanceSlots(4)
+                .build();
+    }
+
+    @Test
+    void shouldSpreadCreditsRoundRobinOverSlots() {
+        // Arrange
+        when(slotRepository.creditSlotIfActive(eq(1L), anyInt(), any())).thenReturn(1);
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            hotAccountService.credit(merchantAccount, new BigDecimal("10"), "Account not active");
+        }
+
+        // Assert
+        ArgumentCaptor<Integer> slots = ArgumentCaptor.forClass(Integer.class);
+        verify(slotRepository, times(8)).creditSlotIfActive(eq(1L), slots.capture(), any());
+        assertEquals(List.of(0, 1, 2, 3, 0, 1, 2, 3), slots.getAllValues());
+    }
+
+    @Test
+    void shouldExplainRejectedSlotCredit() {
+        // Arrange
+        when(slotRepository.creditSlotIfActive(eq(1L), anyInt(), any())).thenReturn(0);
+        when(accountRepository.findBalanceSnapshot(1L)).thenReturn(Optional.of(snapshot(AccountStatus.FROZEN)));
+
+        // Act & Assert
+        assertThrows(AccountFrozenException.class,
+                () -> hotAccountService.credit(merchantAccount, new BigDecimal("10"), "Account not active"));
+    }
+
+    @Test
+    void shouldIncludeSlotsInAvailableBalance() {
+        // Arrange
+        when(slotRepository.sumByAccountId(1L)).thenReturn(new BigDecimal("250"));
+
+        // Act
+        BigDecimal available = hotAccountService.availableBalance(merchantAccount);
+
+        // Assert
+        assertEquals(new BigDecimal("1250"), available);
+    }
+
+    @Test
+    void shouldNotQuerySlotsForRegularAccount() {
+        // Arrange
+        merchantAccount.setBalanceSlots(0);
+
+        // Act
+        BigDecimal available = hotAccountService.availableBalance(merchantAccount);
+
+        // Assert
+        assertEquals(new BigDecimal("1000"), available);
+        verifyNoInteractions(slotRepository);
+    }
+
+    @Test
+    void shouldConsolidateSweptSlotsIntoLockedRow() {
+        // Arrange
+        when(slotRepository.findAccountIdsWithPendingCredits()).thenReturn(List.of(1L));
+        when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(merchantAccount));
+        when(slotRepository.sweep(1L)).thenReturn(new BigDecimal("300"));
+
+        // Act
+        int consolidated = hotAccountService.consolidateAll();
+
+        // Assert
+        assertEquals(1, consolidated);
+        assertEquals(new BigDecimal("1300"), merchantAccount.getBalance());
+        verify(accountRepository).save(merchantAccount);
+    }
+
+    @Test
+    void shouldKeepConsolidatingWhenOneAccountFails() {
+        // Arrange
+        Account other = Account.builder().id(2L).balance(new BigDecimal("50")).balanceSlots(2).build();
+        when(slotRepository.findAccountIdsWithPendingCredits()).thenReturn(List.of(1L, 2L));
+        when(accountRepository.findByIdWithLock(1L)).thenThrow(new RuntimeException("lock timeout"));
+        when(accountRepository.findByIdWithLock(2L)).thenReturn(Optional.of(other));
+        when(slotRepository.sweep(2L)).thenReturn(new BigDecimal("25"));
+
+        // Act
+        int consolidated = hotAccountService.consolidateAll();
+
+        // Assert
+        assertEquals(1, consolidated);
+        assertEquals(new BigDecimal("75"), other.getBalance());
+        verify(accountRepository).save(other);
+    }
+
+    @Test
+    void shouldSweepCreditsThatLandAfterHotModeWasSwitchedOff() {
+        // Arrange - no surrounding transaction, so the re-sweep runs straight away
+        merchantAccount.setBalanceSlots(0);
+        when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(merchantAccount));
+        when(slotRepository.sweep(1L)).thenReturn(new BigDecimal("40"));
+
+        // Act
+        hotAccountService.consolidateAfterCommit(1L);
+
+        // Assert
+        assertEquals(new BigDecimal("1040"), merchantAccount.getBalance());
+        verify(transactionManager).commit(any());
+    }
+
+    private AccountRepository.BalanceSnapshot snapshot(AccountStatus status) {
+        return new AccountRepository.BalanceSnapshot() {
+            @Override
+            public BigDecimal getBalance() {
+                return BigDecimal.ZERO;
+            }
+
+            @Override
+            public AccountStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.securebank.service;
+
+import com.securebank.entity.User;
+import com.securebank.enums.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = jwtService(60_000);
+        user = User.builder().id(1L).username("testuser").email("test@example.com").password("x").build();
+    }
+
+    @Test
+    void shouldVerifyTokenOnceAndServeRepeatsFromCache() {
+        // Arrange
+        String token = jwtService.generateToken(user);
+
+        // Act
+        Optional<JwtService.VerifiedToken> first = jwtService.verify(token);
+        Optional<JwtService.VerifiedToken> second = jwtService.verify(token);
+
+        // Assert
+        assertTrue(first.isPresent());
+        assertEquals(user.getUsername(), first.get().username());
+        assertSame(first.get(), second.get());
+        assertEquals(1, jwtService.cachedTokenCount());
+        assertThrows(UnsupportedOperationException.class, () -> first.get().claims().put("sub", "admin"));
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        // Arrange
+        String token = jwtService.generateToken(user);
+        jwtService.verify(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertTrue(jwtService.verify(tampered).isEmpty());
+        assertTrue(jwtService.verify("not-a-jwt").isEmpty());
+        assertEquals(1, jwtService.cachedTokenCount());
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherKey() {
+        // Arrange
+        JwtService other = jwtService(60_000);
+        ReflectionTestUtils.setField(other, "secretKey", Base64.getEncoder()
+                .encodeToString("fedcba9876543210fedcba9876543210".getBytes()));
+        other.init();
+
+        // Act & Assert
+        assertTrue(jwtService.verify(other.generateToken(user)).isEmpty());
+    }
+
+    @Test
+    void shouldDropCachedTokenOnceExpired() throws InterruptedException {
+        // Arrange
+        JwtService shortLived = jwtService(2_000);
+        String token = shortLived.generateToken(user);
+        assertTrue(shortLived.verify(token).isPresent());
+
+        // Act
+        Thread.sleep(2_100);
+
+        // Assert
+        assertTrue(shortLived.verify(token).isEmpty());
+        assertEquals(0, shortLived.cachedTokenCount());
+    }
+
+    @Test
+    void shouldMakeRoomForNewTokensWhenFullOfLiveTokens() {
+        // Arrange
+        JwtService small = new JwtService();
+        ReflectionTestUtils.setField(small, "secretKey", SECRET);
+        ReflectionTestUtils.setField(small, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(small, "maxCachedTokens", 1);
+        small.init();
+        User other = User.builder().id(2L).username("other").email("o@example.com").password("x").build();
+        String first = small.generateToken(user);
+        String second = small.generateToken(other);
+
+        // Act
+        small.verify(first);
+        Optional<JwtService.VerifiedToken> verified = small.verify(second);
+
+        // Assert
+        assertEquals("other", verified.orElseThrow().username());
+        assertEquals(1, small.cachedTokenCount());
+        assertTrue(small.isCached(second));
+        assertFalse(small.isCached(first));
+    }
+
+    @Test
+    void shouldCarryUserIdRoleAndTokenVersionInClaims() {
+        // Arrange
+        User admin = User.builder().id(7L).username("admin").email("a@example.com").password("x")
+                .role(UserRole.ADMIN).tokenVersion(3).build();
+
+        // Act
+        JwtService.VerifiedToken verified = jwtService.verify(jwtService.generateToken(admin)).orElseThrow();
+
+        // Assert
+        assertEquals(7L, verified.userId());
+        assertEquals(UserRole.ADMIN, verified.role());
+        assertEquals(3, verified.tokenVersion());
+    }
+
+    private JwtService jwtService(long expiration) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expiration);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,155 @@
+package com.securebank.service;
+
+import com.securebank.entity.Account;
+import com.securebank.entity.AccountBalanceCheckpoint;
+import com.securebank.entity.LedgerEntry;
+import com.securebank.entity.Transaction;
+import com.securebank.enums.EntryDirection;
+import com.securebank.enums.LedgerAccount;
+import com.securebank.enums.TransactionType;
+import com.securebank.repository.AccountBalanceCheckpointRepository;
+import com.securebank.repository.AccountRepository;
+import com.securebank.repository.LedgerEntryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerServiceTest {
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private AccountBalanceCheckpointRepository checkpointRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private LedgerService ledgerService;
+
+    @Test
+    void shouldPostBalancedEntriesForTransfer() {
+        // Arrange
+        Account from = Account.builder().id(1L).build();
+        Account to = Account.builder().id(2L).build();
+        Transaction transfer = Transaction.builder()
+                .transactionType(TransactionType.TRANSFER)
+                .amount(new BigDecimal("100"))
+                .fee(new BigDecimal("10"))
+                .fromAccount(from)
+                .toAccount(to)
+                .build();
+
+        // Act
+        ledgerService.postTransfer(transfer);
+
+        // Assert
+        List<LedgerEntry> entries = captureSavedEntries();
+        assertEquals(3, entries.size());
+        assertEntry(entries.get(0), LedgerAccount.CUSTOMER, from, EntryDirection.DEBIT, "110");
+        assertEntry(entries.get(1), LedgerAccount.CUSTOMER, to, EntryDirection.CREDIT, "100");
+        assertEntry(entries.get(2), LedgerAccount.FEE_INCOME, null, EntryDirection.CREDIT, "10");
+    }
+
+    @Test
+    void shouldSkipZeroAmountEntries() {
+        // Arrange
+        Account account = Account.builder().id(1L).build();
+        Transaction withdrawal = Transaction.builder()
+                .transactionType(TransactionType.WITHDRAW)
+                .amount(new BigDecimal("50"))
+                .fee(BigDecimal.ZERO)
+                .fromAccount(account)
+                .build();
+
+        // Act
+        ledgerService.postWithdrawal(withdrawal);
+
+        // Assert
+        List<LedgerEntry> entries = captureSavedEntries();
+        assertEquals(2, entries.size());
+        assertEntry(entries.get(0), LedgerAccount.CUSTOMER, account, EntryDirection.DEBIT, "50");
+        assertEntry(entries.get(1), LedgerAccount.CASH, null, EntryDirection.CREDIT, "50");
+    }
+
+    @Test
+    void shouldComputeBalanceAsOfFromCheckpointPlusLaterPostings() {
+        // Arrange
+        LocalDateTime checkpointAt = LocalDateTime.of(2024, 3, 1, 0, 0);
+        LocalDateTime asOf = LocalDateTime.of(2024, 3, 2, 12, 0);
+        when(checkpointRepository.findFirstByAccountIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(1L, asOf))
+                .thenReturn(Optional.of(checkpoint(1L, checkpointAt, "1000")));
+        when(ledgerEntryRepository.sumCustomerMovementBetween(1L, checkpointAt, asOf)).thenReturn(new BigDecimal("-250"));
+
+        // Act
+        BigDecimal balance = ledgerService.getBalanceAsOf(1L, asOf);
+
+        // Assert
+        assertEquals(0, new BigDecimal("750").compareTo(balance));
+        verify(ledgerEntryRepository, never()).sumCustomerMovementUntil(any(), any());
+    }
+
+    @Test
+    void shouldWriteCheckpointsOnTopOfPreviousOnes() {
+        // Arrange
+        LocalDateTime previousAt = LocalDateTime.now().minusHours(2);
+        when(checkpointRepository.findLatestCheckpointAt()).thenReturn(Optional.of(previousAt));
+        LedgerEntryRepository.AccountMovement movement = mock(LedgerEntryRepository.AccountMovement.class);
+        when(movement.getAccountId()).thenReturn(7L);
+        when(movement.getAmount()).thenReturn(new BigDecimal("40"));
+        when(ledgerEntryRepository.sumCustomerMovementByAccount(eq(previousAt), any())).thenReturn(List.of(movement));
+        when(checkpointRepository.findFirstByAccountIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(7L, previousAt))
+                .thenReturn(Optional.of(checkpoint(7L, previousAt, "60")));
+
+        // Act
+        int written = ledgerService.writeCheckpoints();
+
+        // Assert
+        assertEquals(1, written);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AccountBalanceCheckpoint>> captor = ArgumentCaptor.forClass(List.class);
+        verify(checkpointRepository).saveAll(captor.capture());
+        AccountBalanceCheckpoint saved = captor.getValue().get(0);
+        assertEquals(7L, saved.getAccountId());
+        assertEquals(0, new BigDecimal("100").compareTo(saved.getBalance()));
+        assertTrue(saved.getCheckpointAt().isAfter(previousAt));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<LedgerEntry> captureSavedEntries() {
+        ArgumentCaptor<List<LedgerEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ledgerEntryRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private void assertEntry(LedgerEntry entry, LedgerAccount ledgerAccount, Account account,
+                             EntryDirection direction, String amount) {
+        assertEquals(ledgerAccount, entry.getLedgerAccount());
+        assertSame(account, entry.getAccount());
+        assertEquals(direction, entry.getDirection());
+        assertEquals(0, new BigDecimal(amount).compareTo(entry.getAmount()));
+    }
+
+    private AccountBalanceCheckpoint checkpoint(Long accountId, LocalDateTime at, String balance) {
+        return AccountBalanceCheckpoint.builder()
+                .accountId(accountId)
+                .checkpointAt(at)
+                .balance(new BigDecimal(balance))
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.securebank.service;
+
+import com.securebank.entity.Account;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LockRetryExecutorTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LockRetryExecutor lockRetryExecutor;
+
+    @BeforeEach
+    void setUp() {
+        lockRetryExecutor = new LockRetryExecutor(transactionManager);
+        ReflectionTestUtils.setField(lockRetryExecutor, "maxAttempts", 3);
+        ReflectionTestUtils.setField(lockRetryExecutor, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(lockRetryExecutor, "maxBackoffMs", 2L);
+    }
+
+    @Test
+    void shouldRetryInFreshTransactionAfterLockTimeout() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        String result = lockRetryExecutor.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new CannotAcquireLockException("lock timeout");
+            }
+            return "done";
+        });
+
+        // Assert
+        assertEquals("done", result);
+        assertEquals(2, calls.get());
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void shouldRetryAfterStaleVersion() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        Integer result = lockRetryExecutor.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Account.class, 1L);
+            }
+            return calls.get();
+        });
+
+        // Assert
+        assertEquals(3, result);
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(CannotAcquireLockException.class, () -> lockRetryExecutor.execute(() -> {
+            calls.incrementAndGet();
+            throw new CannotAcquireLockException("lock timeout");
+        }));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void shouldNotRetryBusinessFailures() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> lockRetryExecutor.execute(() -> {
+            calls.incrementAndGet();
+            throw new RuntimeException("Insufficient balance");
+        }));
+        assertEquals(1, calls.get());
+    }
+}
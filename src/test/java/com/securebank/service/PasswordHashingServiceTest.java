@@ -0,0 +1,91 @@
+package com.securebank.service;
+
+import com.securebank.exception.PasswordHashingBusyException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    @Test
+    void shouldHashAndVerifyOnExecutor() {
+        // Arrange
+        PasswordHashingService service = new PasswordHashingService(4, Runnable::run);
+
+        // Act
+        String hash = service.encode("password123");
+
+        // Assert
+        assertTrue(service.matches("password123", hash));
+        assertFalse(service.matches("wrong", hash));
+        PasswordHashingService.Stats stats = service.stats();
+        assertEquals(3, stats.hashes());
+        assertEquals(0, stats.queued());
+        assertTrue(stats.maxHashNanos() >= stats.averageHashNanos());
+    }
+
+    @Test
+    void shouldFailFastWhenQueueIsFull() {
+        // Arrange
+        PasswordHashingService service = new PasswordHashingService(4, task -> {
+            throw new RejectedExecutionException("queue full");
+        });
+
+        // Act
+        PasswordHashingBusyException ex = assertThrows(PasswordHashingBusyException.class,
+                () -> service.matches("password123", "$2a$04$abcdefghijklmnopqrstuuJ7x2YJzV2m8q0q0Q6bq7b6m1b8pZ5y"));
+
+        // Assert
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertEquals(1, service.stats().rejected());
+        assertEquals(0, service.stats().queued());
+    }
+
+    @Test
+    void shouldGiveUpAndSkipHashThatWaitedTooLong() {
+        // Arrange
+        List<Runnable> queue = new ArrayList<>();
+        PasswordHashingService service = new PasswordHashingService(4, queue::add);
+        ReflectionTestUtils.setField(service, "maxWaitMillis", 20L);
+
+        // Act
+        assertThrows(PasswordHashingBusyException.class, () -> service.encode("password123"));
+        assertEquals(1, service.stats().queued());
+        queue.forEach(Runnable::run);
+
+        // Assert
+        assertEquals(1, service.stats().timedOut());
+        assertEquals(0, service.stats().hashes());
+        assertEquals(0, service.stats().queued());
+    }
+
+    @Test
+    void shouldWaitForHashThatStartedInTimeEvenIfItRunsLonger() {
+        // Arrange - cost 12 takes far longer than the 20 ms wait limit
+        PasswordHashingService service = new PasswordHashingService(12, task -> new Thread(task).start());
+        ReflectionTestUtils.setField(service, "maxWaitMillis", 20L);
+
+        // Act
+        String hash = service.encode("password123");
+
+        // Assert
+        assertTrue(hash.startsWith("$2a$12$"));
+        assertEquals(0, service.stats().timedOut());
+        assertEquals(1, service.stats().hashes());
+    }
+
+    @Test
+    void shouldRequestRehashOfHashesWithLowerCost() {
+        // Arrange
+        String cheapHash = new PasswordHashingService(4, Runnable::run).encode("password123");
+
+        // Act & Assert
+        assertTrue(new PasswordHashingService(5, Runnable::run).upgradeEncoding(cheapHash));
+        assertFalse(new PasswordHashingService(4, Runnable::run).upgradeEncoding(cheapHash));
+    }
+}
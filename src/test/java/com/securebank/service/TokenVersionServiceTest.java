@@ -0,0 +1,83 @@
+package com.securebank.service;
+
+import com.securebank.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TokenVersionService tokenVersionService;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionService.init();
+    }
+
+    @Test
+    void shouldServeRepeatedChecksFromCache() {
+        // Arrange
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(2));
+
+        // Act
+        boolean first = tokenVersionService.isCurrent(1L, 2);
+        boolean second = tokenVersionService.isCurrent(1L, 2);
+        boolean stale = tokenVersionService.isCurrent(1L, 1);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(stale);
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void shouldRejectTokensIssuedBeforeRevocation() {
+        // Arrange
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0), Optional.of(1));
+        when(userRepository.incrementTokenVersion(1L)).thenReturn(1);
+        assertTrue(tokenVersionService.isCurrent(1L, 0));
+
+        // Act
+        tokenVersionService.revokeAll(1L);
+
+        // Assert
+        assertFalse(tokenVersionService.isCurrent(1L, 0));
+        assertTrue(tokenVersionService.isCurrent(1L, 1));
+    }
+
+    @Test
+    void shouldReloadVersionOnceCacheExpires() {
+        // Arrange
+        ReflectionTestUtils.setField(tokenVersionService, "cacheTtlSeconds", 0L);
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0), Optional.of(1));
+
+        // Act & Assert - another instance revoked in between
+        assertTrue(tokenVersionService.isCurrent(1L, 0));
+        assertFalse(tokenVersionService.isCurrent(1L, 0));
+    }
+
+    @Test
+    void shouldRejectTokensOfDeletedUsers() {
+        // Arrange
+        when(userRepository.findTokenVersionById(9L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(tokenVersionService.isCurrent(9L, 0));
+        assertThrows(RuntimeException.class, () -> tokenVersionService.revokeAll(9L));
+    }
+}
@@ -0,0 +1,117 @@
+package com.securebank.service;
+
+import com.securebank.entity.RollupWatermark;
+import com.securebank.repository.RollupWatermarkRepository;
+import com.securebank.repository.TransactionRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Drives the scheduled entry point on the bean from the context: the rollup's modifying
+ * queries fail with TransactionRequiredException unless a transaction is open around them.
+ */
+@SpringJUnitConfig
+class TransactionRollupSchedulingTest {
+
+    @Configuration
+    static class Config {
+
+        @Bean
+        TransactionRollupRepository rollupRepository() {
+            return mock(TransactionRollupRepository.class);
+        }
+
+        @Bean
+        RollupWatermarkRepository watermarkRepository() {
+            return mock(RollupWatermarkRepository.class);
+        }
+
+        @Bean
+        RecordingTransactionManager transactionManager() {
+            return new RecordingTransactionManager();
+        }
+
+        @Bean
+        TransactionRollupService transactionRollupService(TransactionRollupRepository rollupRepository,
+                                                          RollupWatermarkRepository watermarkRepository,
+                                                          PlatformTransactionManager transactionManager) {
+            return new TransactionRollupService(rollupRepository, watermarkRepository, transactionManager);
+        }
+    }
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private RollupWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private RecordingTransactionManager transactionManager;
+
+    @Test
+    void shouldRunScheduledRollupInsideOneTransaction() {
+        // Arrange
+        List<Boolean> inTransaction = new ArrayList<>();
+        when(watermarkRepository.insertIfAbsent(any(), any())).thenAnswer(invocation -> {
+            inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return 0;
+        });
+        when(watermarkRepository.findByIdWithLock(TransactionRollupService.WATERMARK)).thenAnswer(invocation -> {
+            inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return Optional.of(new RollupWatermark(TransactionRollupService.WATERMARK, LocalDateTime.now().minusMinutes(1)));
+        });
+        when(rollupRepository.findHoursChangedSince(any())).thenReturn(List.of());
+
+        // Act
+        transactionRollupService.aggregateOnSchedule();
+
+        // Assert
+        assertEquals(List.of(true, true), inTransaction);
+        assertEquals(1, transactionManager.commits);
+        verify(watermarkRepository).save(any(RollupWatermark.class));
+    }
+
+    /** Opens real transaction scopes without a datasource. */
+    static class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+        int commits;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            commits++;
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.securebank.service;
+
+import com.securebank.entity.RollupWatermark;
+import com.securebank.repository.RollupWatermarkRepository;
+import com.securebank.repository.TransactionRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionRollupServiceTest {
+
+    @Mock
+    private TransactionRollupRepository rollupRepository;
+
+    @Mock
+    private RollupWatermarkRepository watermarkRepository;
+
+    @InjectMocks
+    private TransactionRollupService transactionRollupService;
+
+    @Test
+    void shouldRebuildTouchedHoursAndTheirDays() {
+        // Arrange
+        LocalDateTime processedUntil = LocalDateTime.of(2024, 3, 2, 0, 10);
+        RollupWatermark watermark = new RollupWatermark(TransactionRollupService.WATERMARK, processedUntil);
+        when(watermarkRepository.findByIdWithLock(TransactionRollupService.WATERMARK)).thenReturn(Optional.of(watermark));
+        when(rollupRepository.findHoursChangedSince(processedUntil.minusSeconds(300))).thenReturn(List.of(
+                hour(LocalDateTime.of(2024, 3, 1, 23, 0)),
+                hour(LocalDateTime.of(2024, 3, 2, 0, 0)),
+                hour(LocalDateTime.of(2024, 3, 1, 9, 0))));
+
+        // Act
+        int hours = transactionRollupService.aggregate();
+
+        // Assert
+        assertEquals(3, hours);
+        verify(rollupRepository).insertHourBuckets(LocalDateTime.of(2024, 3, 1, 9, 0), LocalDateTime.of(2024, 3, 1, 10, 0));
+        verify(rollupRepository).insertHourBuckets(LocalDateTime.of(2024, 3, 1, 23, 0), LocalDateTime.of(2024, 3, 2, 1, 0));
+        verify(rollupRepository, times(2)).deleteBuckets(eq("HOUR"), any(), any());
+        verify(rollupRepository).deleteBuckets("DAY", LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 3, 3, 0, 0));
+        verify(rollupRepository).insertDayBucketsFromHours(LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 3, 3, 0, 0));
+        assertTrue(watermark.getProcessedUntil().isAfter(processedUntil));
+        verify(watermarkRepository).save(watermark);
+    }
+
+    @Test
+    void shouldOnlyAdvanceWatermarkWhenNothingChanged() {
+        // Arrange
+        LocalDateTime processedUntil = LocalDateTime.now().minusMinutes(1);
+        RollupWatermark watermark = new RollupWatermark(TransactionRollupService.WATERMARK, processedUntil);
+        when(watermarkRepository.findByIdWithLock(TransactionRollupService.WATERMARK)).thenReturn(Optional.of(watermark));
+        when(rollupRepository.findHoursChangedSince(any())).thenReturn(List.of());
+
+        // Act
+        int hours = transactionRollupService.aggregate();
+
+        // Assert
+        assertEquals(0, hours);
+        verify(watermarkRepository).insertIfAbsent(TransactionRollupService.WATERMARK, TransactionRollupService.INITIAL_WATERMARK);
+        verify(rollupRepository, never()).deleteBuckets(anyString(), any(), any());
+        verify(rollupRepository, never()).insertHourBuckets(any(), any());
+        assertFalse(watermark.getProcessedUntil().isBefore(processedUntil));
+    }
+
+    private static TransactionRollupRepository.HourBucket hour(LocalDateTime bucketStart) {
+        return () -> Timestamp.valueOf(bucketStart);
+    }
+}
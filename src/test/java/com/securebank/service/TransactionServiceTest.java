@@ -3,31 +3,39 @@ package com.securebank.service;
 import com.securebank.dto.request.DepositRequest;
 import com.securebank.dto.request.TransferRequest;
 import com.securebank.dto.request.WithdrawRequest;
+import com.securebank.dto.response.CursorPageResponse;
 import com.securebank.dto.response.TransactionResponse;
 import com.securebank.entity.Account;
 import com.securebank.entity.Transaction;
 import com.securebank.entity.User;
 import com.securebank.enums.AccountStatus;
 import com.securebank.enums.AccountType;
+import com.securebank.enums.ConcurrencyMode;
+import com.securebank.enums.HoldReason;
 import com.securebank.enums.TransactionStatus;
 import com.securebank.enums.TransactionType;
+import com.securebank.enums.TransferLockMode;
 import com.securebank.exception.AccountFrozenException;
 import com.securebank.exception.DailyLimitExceededException;
 import com.securebank.exception.InsufficientBalanceException;
 import com.securebank.repository.AccountRepository;
-import com.securebank.repository.AuditLogRepository;
 import com.securebank.repository.TransactionRepository;
+import com.securebank.util.TransactionIdGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -45,7 +53,40 @@ class TransactionServiceTest {
     private TransactionRepository transactionRepository;
 
     @Mock
-    private AuditLogRepository auditLogRepository;
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private DailyLimitService dailyLimitService;
+
+    @Mock
+    private LockRetryExecutor lockRetryExecutor;
+
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private HotAccountService hotAccountService;
+
+    @Mock
+    private AccountFeatureStore accountFeatureStore;
+
+    @Mock
+    private AccountBaselineService accountBaselineService;
+
+    @Mock
+    private TransferGraphService transferGraphService;
+
+    @Mock
+    private DashboardMetricsService dashboardMetricsService;
+
+    @Mock
+    private FraudScreeningService fraudScreeningService;
+
+    @Mock
+    private FraudReviewService fraudReviewService;
 
     @InjectMocks
     private TransactionService transactionService;
@@ -63,6 +104,12 @@ class TransactionServiceTest {
         ReflectionTestUtils.setField(transactionService, "transferFee", new BigDecimal("10"));
         ReflectionTestUtils.setField(transactionService, "withdrawFee", new BigDecimal("5"));
 
+        // Run retried work inline; retry behaviour is covered by LockRetryExecutorTest
+        lenient().when(lockRetryExecutor.execute(any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(0).get());
+        lenient().when(fraudScreeningService.screenTransfer(any(), any())).thenReturn(Optional.empty());
+        lenient().when(accountRepository.findOwnerIdById(any())).thenReturn(Optional.of(1L));
+        lenient().when(hotAccountService.isHot(any())).thenAnswer(inv -> inv.<Account>getArgument(0).getBalanceSlots() > 0);
+
         testUser = User.builder()
                 .id(1L)
                 .username("testuser")
@@ -104,7 +151,6 @@ class TransactionServiceTest {
         when(accountRepository.findById(1L)).thenReturn(Optional.of(sourceAccount));
         when(accountRepository.save(any(Account.class))).thenReturn(sourceAccount);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(mockTransaction);
-        when(auditLogRepository.save(any())).thenReturn(null);
 
         DepositRequest request = new DepositRequest();
         request.setAccountId(1L);
@@ -119,7 +165,7 @@ class TransactionServiceTest {
         assertEquals(new BigDecimal("1100"), sourceAccount.getBalance());
         verify(accountRepository).save(sourceAccount);
         verify(transactionRepository).save(any(Transaction.class));
-        verify(auditLogRepository).save(any());
+        verify(auditLogWriter).write(any());
     }
 
     @Test
@@ -157,9 +203,6 @@ class TransactionServiceTest {
         when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceAccount));
         when(accountRepository.save(any(Account.class))).thenReturn(sourceAccount);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(mockTransaction);
-        when(transactionRepository.sumDailyWithdrawals(anyLong(), any(LocalDate.class)))
-                .thenReturn(BigDecimal.ZERO);
-        when(auditLogRepository.save(any())).thenReturn(null);
 
         WithdrawRequest request = new WithdrawRequest();
         request.setAccountId(1L);
@@ -174,6 +217,67 @@ class TransactionServiceTest {
         assertEquals(new BigDecimal("895"), sourceAccount.getBalance()); // 1000 - 100 - 5 (fee)
         verify(accountRepository).save(sourceAccount);
         verify(transactionRepository).save(any(Transaction.class));
+        verify(dailyLimitService).recordWithdrawal(1L, new BigDecimal("100"), new BigDecimal("50000"));
+    }
+
+    @Test
+    void shouldWithdrawWithoutRowLockInOptimisticMode() {
+        // Arrange
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(sourceAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(mockTransaction);
+
+        WithdrawRequest request = new WithdrawRequest();
+        request.setAccountId(1L);
+        request.setAmount(new BigDecimal("100"));
+
+        // Act
+        transactionService.withdraw(request, 1L, ConcurrencyMode.OPTIMISTIC);
+
+        // Assert - balance is written through the versioned entity, no FOR UPDATE
+        assertEquals(new BigDecimal("895"), sourceAccount.getBalance());
+        verify(accountRepository, never()).findByIdWithLock(anyLong());
+        verify(accountRepository).save(sourceAccount);
+    }
+
+    @Test
+    void shouldWithdrawWithSingleConditionalUpdateInAtomicMode() {
+        // Arrange
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.debitIfSufficient(1L, new BigDecimal("105"), new BigDecimal("500")))
+                .thenReturn(Optional.of(new BigDecimal("895")));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(mockTransaction);
+
+        WithdrawRequest request = new WithdrawRequest();
+        request.setAccountId(1L);
+        request.setAmount(new BigDecimal("100"));
+
+        // Act
+        transactionService.withdraw(request, 1L, ConcurrencyMode.ATOMIC);
+
+        // Assert - the entity is not written back through Hibernate
+        assertEquals(new BigDecimal("1000"), sourceAccount.getBalance());
+        verify(accountRepository, never()).save(any());
+        verify(accountRepository, never()).findByIdWithLock(anyLong());
+        verify(dailyLimitService).recordWithdrawal(1L, new BigDecimal("100"), new BigDecimal("50000"));
+    }
+
+    @Test
+    void shouldExplainRejectedAtomicDebit() {
+        // Arrange
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.debitIfSufficient(anyLong(), any(BigDecimal.class), any(BigDecimal.class)))
+                .thenReturn(Optional.empty());
+        when(accountRepository.findBalanceSnapshot(1L))
+                .thenReturn(Optional.of(snapshot(new BigDecimal("50"), AccountStatus.ACTIVE)));
+
+        WithdrawRequest request = new WithdrawRequest();
+        request.setAccountId(1L);
+        request.setAmount(new BigDecimal("100"));
+
+        // Act & Assert
+        assertThrows(InsufficientBalanceException.class,
+                () -> transactionService.withdraw(request, 1L, ConcurrencyMode.ATOMIC));
+        verify(transactionRepository, never()).save(any());
     }
 
     @Test
@@ -211,8 +315,8 @@ class TransactionServiceTest {
     void shouldThrowExceptionWhenDailyLimitExceeded() {
         // Arrange
         when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceAccount));
-        when(transactionRepository.sumDailyWithdrawals(anyLong(), any(LocalDate.class)))
-                .thenReturn(new BigDecimal("49900")); // Already near limit
+        doThrow(new DailyLimitExceededException(new BigDecimal("49900"), new BigDecimal("50000"), new BigDecimal("200")))
+                .when(dailyLimitService).recordWithdrawal(anyLong(), any(BigDecimal.class), any(BigDecimal.class)); // Already near limit
 
         WithdrawRequest request = new WithdrawRequest();
         request.setAccountId(1L);
@@ -221,20 +325,42 @@ class TransactionServiceTest {
         // Act & Assert
         assertThrows(DailyLimitExceededException.class, 
                 () -> transactionService.withdraw(request, 1L));
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldLockAccountRowsBeforeDailyLimitRowInEveryMode() {
+        // Arrange
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.debitIfSufficient(1L, new BigDecimal("105"), new BigDecimal("500")))
+                .thenReturn(Optional.of(new BigDecimal("895")));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(mockTransaction);
+
+        WithdrawRequest request = new WithdrawRequest();
+        request.setAccountId(1L);
+        request.setAmount(new BigDecimal("100"));
+
+        // Act
+        transactionService.withdraw(request, 1L, ConcurrencyMode.ATOMIC);
+        transactionService.withdraw(request, 1L, ConcurrencyMode.OPTIMISTIC);
+
+        // Assert - the optimistic update is flushed, taking the row lock, before the limit
+        InOrder inOrder = inOrder(accountRepository, dailyLimitService);
+        inOrder.verify(accountRepository).debitIfSufficient(1L, new BigDecimal("105"), new BigDecimal("500"));
+        inOrder.verify(dailyLimitService).recordWithdrawal(1L, new BigDecimal("100"), new BigDecimal("50000"));
+        inOrder.verify(accountRepository).flush();
+        inOrder.verify(dailyLimitService).recordWithdrawal(1L, new BigDecimal("100"), new BigDecimal("50000"));
     }
 
     // TRANSFER TESTS
     @Test
     void shouldTransferMoneySuccessfully() {
         // Arrange
-        when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceAccount));
-        when(accountRepository.findByAccountNumberWithLock("ACC002"))
-                .thenReturn(Optional.of(destinationAccount));
+        when(accountRepository.findRefByAccountNumber("ACC002")).thenReturn(Optional.of(ref(2L, 0)));
+        when(accountRepository.findAllByIdWithLockOrdered(List.of(1L, 2L)))
+                .thenReturn(List.of(sourceAccount, destinationAccount));
         when(accountRepository.save(any(Account.class))).thenReturn(sourceAccount);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(mockTransaction);
-        when(transactionRepository.sumDailyTransfers(anyLong(), any(LocalDate.class)))
-                .thenReturn(BigDecimal.ZERO);
-        when(auditLogRepository.save(any())).thenReturn(null);
 
         TransferRequest request = new TransferRequest();
         request.setFromAccountId(1L);
@@ -251,15 +377,16 @@ class TransactionServiceTest {
         assertEquals(new BigDecimal("700"), destinationAccount.getBalance()); // 500 + 200
         verify(accountRepository, times(2)).save(any(Account.class));
         verify(transactionRepository).save(any(Transaction.class));
-        verify(auditLogRepository, times(2)).save(any()); // Two audit logs
+        verify(auditLogWriter, times(2)).write(any()); // Two audit logs
+        verify(dailyLimitService).recordTransfer(1L, new BigDecimal("200"), new BigDecimal("50000"));
     }
 
     @Test
     void shouldThrowExceptionWhenTransferToSameAccount() {
         // Arrange
-        when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceAccount));
-        when(accountRepository.findByAccountNumberWithLock("ACC001"))
-                .thenReturn(Optional.of(sourceAccount)); // Same account
+        when(accountRepository.findRefByAccountNumber("ACC001")).thenReturn(Optional.of(ref(1L, 0))); // Same account
+        when(accountRepository.findAllByIdWithLockOrdered(List.of(1L, 1L)))
+                .thenReturn(List.of(sourceAccount));
 
         TransferRequest request = new TransferRequest();
         request.setFromAccountId(1L);
@@ -271,12 +398,30 @@ class TransactionServiceTest {
                 () -> transactionService.transfer(request, 1L));
     }
 
+    @Test
+    void shouldRejectForeignSourceBeforeScoringTransfer() {
+        // Arrange
+        when(accountRepository.findOwnerIdById(1L)).thenReturn(Optional.of(2L));
+
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(1L);
+        request.setToAccountNumber("ACC002");
+        request.setAmount(new BigDecimal("200"));
+
+        // Act
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> transactionService.transfer(request, 1L));
+
+        // Assert
+        assertEquals("Access denied", exception.getMessage());
+        verifyNoInteractions(fraudScreeningService);
+        verify(lockRetryExecutor, never()).execute(any());
+    }
+
     @Test
     void shouldThrowExceptionWhenDestinationAccountNotFound() {
         // Arrange
-        when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceAccount));
-        when(accountRepository.findByAccountNumberWithLock("INVALID"))
-                .thenReturn(Optional.empty());
+        when(accountRepository.findRefByAccountNumber("INVALID")).thenReturn(Optional.empty());
 
         TransferRequest request = new TransferRequest();
         request.setFromAccountId(1L);
@@ -292,9 +437,9 @@ class TransactionServiceTest {
     void shouldThrowExceptionWhenDestinationAccountFrozen() {
         // Arrange
         destinationAccount.setStatus(AccountStatus.FROZEN);
-        when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceAccount));
-        when(accountRepository.findByAccountNumberWithLock("ACC002"))
-                .thenReturn(Optional.of(destinationAccount));
+        when(accountRepository.findRefByAccountNumber("ACC002")).thenReturn(Optional.of(ref(2L, 0)));
+        when(accountRepository.findAllByIdWithLockOrdered(List.of(1L, 2L)))
+                .thenReturn(List.of(sourceAccount, destinationAccount));
 
         TransferRequest request = new TransferRequest();
         request.setFromAccountId(1L);
@@ -306,6 +451,240 @@ class TransactionServiceTest {
                 () -> transactionService.transfer(request, 1L));
     }
 
+    @Test
+    void shouldLockBothAccountsWithOneOrderedQueryRegardlessOfDirection() {
+        // Arrange - destination has the lower id, so it comes back first from the ordered lock
+        when(accountRepository.findRefByAccountNumber("ACC001")).thenReturn(Optional.of(ref(1L, 0)));
+        when(accountRepository.findAllByIdWithLockOrdered(List.of(2L, 1L)))
+                .thenReturn(List.of(sourceAccount, destinationAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(mockTransaction);
+        destinationAccount.setBalance(new BigDecimal("1000"));
+
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(2L);
+        request.setToAccountNumber("ACC001");
+        request.setAmount(new BigDecimal("200"));
+
+        // Act
+        transactionService.transfer(request, 1L);
+
+        // Assert
+        assertEquals(new BigDecimal("790"), destinationAccount.getBalance());
+        assertEquals(new BigDecimal("1200"), sourceAccount.getBalance());
+        verify(accountRepository, never()).findByIdWithLock(anyLong());
+        verify(accountRepository, never()).findByAccountNumberWithLock(anyString());
+    }
+
+    @Test
+    void shouldLockSourceThenDestinationInSequentialMode() {
+        // Arrange
+        ReflectionTestUtils.setField(transactionService, "transferLockMode", TransferLockMode.SEQUENTIAL);
+        when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.findByAccountNumberWithLock("ACC002"))
+                .thenReturn(Optional.of(destinationAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(mockTransaction);
+
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(1L);
+        request.setToAccountNumber("ACC002");
+        request.setAmount(new BigDecimal("200"));
+
+        // Act
+        transactionService.transfer(request, 1L);
+
+        // Assert
+        assertEquals(new BigDecimal("790"), sourceAccount.getBalance());
+        verify(accountRepository, never()).findAllByIdWithLockOrdered(any());
+    }
+
+    @Test
+    void shouldLoadTransferAccountsWithoutLocksInOptimisticMode() {
+        // Arrange
+        when(accountRepository.findRefByAccountNumber("ACC002")).thenReturn(Optional.of(ref(2L, 0)));
+        when(accountRepository.findAllByIdOrdered(List.of(1L, 2L)))
+                .thenReturn(List.of(sourceAccount, destinationAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(mockTransaction);
+
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(1L);
+        request.setToAccountNumber("ACC002");
+        request.setAmount(new BigDecimal("200"));
+
+        // Act
+        transactionService.transfer(request, 1L, ConcurrencyMode.OPTIMISTIC);
+
+        // Assert
+        assertEquals(new BigDecimal("790"), sourceAccount.getBalance());
+        assertEquals(new BigDecimal("700"), destinationAccount.getBalance());
+        verify(accountRepository, never()).findAllByIdWithLockOrdered(any());
+        verify(accountRepository, never()).setLocalLockTimeout(anyString());
+    }
+
+    @Test
+    void shouldApplyAtomicTransferUpdatesInAscendingIdOrder() {
+        // Arrange - source has the higher id, so the credit must be applied first
+        when(accountRepository.findRefByAccountNumber("ACC001")).thenReturn(Optional.of(ref(1L, 0)));
+        when(accountRepository.findAllByIdOrdered(List.of(2L, 1L)))
+                .thenReturn(List.of(sourceAccount, destinationAccount));
+        when(accountRepository.creditIfActive(1L, new BigDecimal("200"))).thenReturn(Optional.of(new BigDecimal("1200")));
+        when(accountRepository.debitIfSufficient(2L, new BigDecimal("210"), new BigDecimal("500")))
+                .thenReturn(Optional.of(new BigDecimal("790")));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(mockTransaction);
+        destinationAccount.setBalance(new BigDecimal("1000"));
+
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(2L);
+        request.setToAccountNumber("ACC001");
+        request.setAmount(new BigDecimal("200"));
+
+        // Act
+        transactionService.transfer(request, 1L, ConcurrencyMode.ATOMIC);
+
+        // Assert
+        InOrder inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).creditIfActive(1L, new BigDecimal("200"));
+        inOrder.verify(accountRepository).debitIfSufficient(2L, new BigDecimal("210"), new BigDecimal("500"));
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldDepositWithSingleConditionalUpdateInAtomicMode() {
+        // Arrange
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.creditIfActive(1L, new BigDecimal("100"))).thenReturn(Optional.of(new BigDecimal("1100")));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(mockTransaction);
+
+        DepositRequest request = new DepositRequest();
+        request.setAccountId(1L);
+        request.setAmount(new BigDecimal("100"));
+
+        // Act
+        TransactionResponse response = transactionService.deposit(request, 1L, ConcurrencyMode.ATOMIC);
+
+        // Assert
+        assertNotNull(response);
+        verify(accountRepository, never()).save(any());
+    }
+
+    // FRAUD HOLD TESTS
+    @Test
+    void shouldHoldSuspiciousTransferWithoutCreditingDestination() {
+        // Arrange
+        when(fraudScreeningService.screenTransfer(1L, new BigDecimal("200"))).thenReturn(Optional.of(HoldReason.FRAUD_SUSPECTED));
+        when(accountRepository.findRefByAccountNumber("ACC002")).thenReturn(Optional.of(ref(2L, 0)));
+        when(accountRepository.findAllByIdWithLockOrdered(List.of(1L, 2L)))
+                .thenReturn(List.of(sourceAccount, destinationAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(1L);
+        request.setToAccountNumber("ACC002");
+        request.setAmount(new BigDecimal("200"));
+
+        // Act
+        TransactionResponse response = transactionService.transfer(request, 1L);
+
+        // Assert
+        assertEquals(TransactionStatus.PENDING, response.getStatus());
+        assertEquals(HoldReason.FRAUD_SUSPECTED, response.getHoldReason());
+        assertEquals(new BigDecimal("790"), sourceAccount.getBalance());
+        assertEquals(new BigDecimal("500"), destinationAccount.getBalance());
+        verify(accountRepository, never()).save(destinationAccount);
+        verify(ledgerService).postTransferHold(any());
+        verify(ledgerService, never()).postTransfer(any());
+        verify(fraudReviewService, never()).rescoreAfterCommit(any());
+    }
+
+    @Test
+    void shouldQueueRescoreWhenScoringTimedOut() {
+        // Arrange
+        when(fraudScreeningService.screenTransfer(1L, new BigDecimal("200"))).thenReturn(Optional.of(HoldReason.SCORING_TIMEOUT));
+        when(accountRepository.findRefByAccountNumber("ACC002")).thenReturn(Optional.of(ref(2L, 0)));
+        when(accountRepository.findAllByIdOrdered(List.of(1L, 2L))).thenReturn(List.of(sourceAccount, destinationAccount));
+        when(accountRepository.debitIfSufficient(1L, new BigDecimal("210"), new BigDecimal("500")))
+                .thenReturn(Optional.of(new BigDecimal("790")));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(1L);
+        request.setToAccountNumber("ACC002");
+        request.setAmount(new BigDecimal("200"));
+
+        // Act
+        TransactionResponse response = transactionService.transfer(request, 1L, ConcurrencyMode.ATOMIC);
+
+        // Assert
+        assertEquals(TransactionStatus.PENDING, response.getStatus());
+        verify(accountRepository, never()).creditIfActive(any(), any());
+        verify(fraudReviewService).rescoreAfterCommit(any());
+    }
+
+    // HOT ACCOUNT TESTS
+    @Test
+    void shouldCreditHotAccountThroughSlotOnDeposit() {
+        // Arrange
+        sourceAccount.setBalanceSlots(8);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(sourceAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(mockTransaction);
+
+        DepositRequest request = new DepositRequest();
+        request.setAccountId(1L);
+        request.setAmount(new BigDecimal("100"));
+
+        // Act
+        transactionService.deposit(request, 1L);
+
+        // Assert
+        verify(hotAccountService).credit(sourceAccount, new BigDecimal("100"), "Account not active");
+        assertEquals(new BigDecimal("1000"), sourceAccount.getBalance());
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldLockOnlySourceWhenTransferringToHotAccount() {
+        // Arrange
+        destinationAccount.setBalanceSlots(8);
+        when(accountRepository.findRefByAccountNumber("ACC002")).thenReturn(Optional.of(ref(2L, 8)));
+        when(accountRepository.findAllByIdWithLockOrdered(List.of(1L))).thenReturn(List.of(sourceAccount));
+        when(accountRepository.findById(2L)).thenReturn(Optional.of(destinationAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(mockTransaction);
+
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(1L);
+        request.setToAccountNumber("ACC002");
+        request.setAmount(new BigDecimal("200"));
+
+        // Act
+        transactionService.transfer(request, 1L);
+
+        // Assert
+        assertEquals(new BigDecimal("790"), sourceAccount.getBalance());
+        assertEquals(new BigDecimal("500"), destinationAccount.getBalance());
+        verify(hotAccountService).credit(destinationAccount, new BigDecimal("200"), "Destination account not active");
+        verify(accountRepository).save(sourceAccount);
+        verify(accountRepository, never()).save(destinationAccount);
+    }
+
+    @Test
+    void shouldSweepSlotsBeforeDebitingHotAccount() {
+        // Arrange
+        sourceAccount.setBalanceSlots(4);
+        when(accountRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceAccount));
+        when(hotAccountService.sweep(1L)).thenReturn(new BigDecimal("600"));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(mockTransaction);
+
+        WithdrawRequest request = new WithdrawRequest();
+        request.setAccountId(1L);
+        request.setAmount(new BigDecimal("800")); // Only covered once the slots are swept
+
+        // Act
+        transactionService.withdraw(request, 1L);
+
+        // Assert
+        assertEquals(new BigDecimal("795"), sourceAccount.getBalance()); // 1000 + 600 - 800 - 5 (fee)
+        verify(accountRepository).save(sourceAccount);
+    }
+
     // ACCESS CONTROL TESTS
     @Test
     void shouldThrowExceptionWhenUserDoesNotOwnAccount() {
@@ -362,4 +741,73 @@ class TransactionServiceTest {
         assertThrows(RuntimeException.class, 
                 () -> transactionService.getTransactionById("TXN123", 1L));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldScrollDepositsIntoOwnAccounts() {
+        // Arrange - a deposit has no source account
+        Transaction deposit = Transaction.builder()
+                .id(5L)
+                .transactionId("TXN5")
+                .transactionType(TransactionType.DEPOSIT)
+                .amount(new BigDecimal("100"))
+                .fee(BigDecimal.ZERO)
+                .toAccount(sourceAccount)
+                .status(TransactionStatus.COMPLETED)
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(accountRepository.findIdsByUserId(1L)).thenReturn(List.of(1L, 2L));
+        when(transactionRepository.findBy(any(Specification.class), any())).thenReturn(List.of(deposit));
+
+        // Act
+        CursorPageResponse<TransactionResponse> page = transactionService.scrollTransactionsWithFilters(
+                1L, null, null, TransactionType.DEPOSIT, null, null, 20);
+
+        // Assert
+        assertEquals(1, page.getSize());
+        assertEquals("TXN5", page.getContent().get(0).getTransactionId());
+        assertNull(page.getContent().get(0).getFromAccountNumber());
+        assertFalse(page.isHasNext());
+    }
+
+    @Test
+    void shouldScrollNothingForUserWithoutAccounts() {
+        // Arrange
+        when(accountRepository.findIdsByUserId(1L)).thenReturn(List.of());
+
+        // Act
+        CursorPageResponse<TransactionResponse> page = transactionService.scrollTransactionsWithFilters(
+                1L, null, null, null, null, null, 20);
+
+        // Assert
+        assertTrue(page.getContent().isEmpty());
+        verify(transactionRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    private AccountRepository.AccountRef ref(Long id, int balanceSlots) {
+        return new AccountRepository.AccountRef() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getBalanceSlots() {
+                return balanceSlots;
+            }
+        };
+    }
+
+    private AccountRepository.BalanceSnapshot snapshot(BigDecimal balance, AccountStatus status) {
+        return new AccountRepository.BalanceSnapshot() {
+            @Override
+            public BigDecimal getBalance() {
+                return balance;
+            }
+
+            @Override
+            public AccountStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
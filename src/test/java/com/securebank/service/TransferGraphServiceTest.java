@@ -0,0 +1,102 @@
+package com.securebank.service;
+
+import com.securebank.entity.Account;
+import com.securebank.entity.AuditLog;
+import com.securebank.entity.Transaction;
+import com.securebank.enums.TransactionType;
+import com.securebank.enums.TransferPattern;
+import com.securebank.repository.AccountRepository;
+import com.securebank.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferGraphServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    private TransferGraphService transferGraphService;
+
+    @BeforeEach
+    void setUp() {
+        transferGraphService = new TransferGraphService(transactionRepository, accountRepository, auditLogWriter,
+                pool, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void shouldFlagCycleAndAuditItOnlyOnce() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        transferGraphService.record(transfer(1L, 2L, now.minusMinutes(30)));
+        transferGraphService.record(transfer(2L, 3L, now.minusMinutes(20)));
+        transferGraphService.record(transfer(3L, 1L, now.minusMinutes(10)));
+        when(accountRepository.findAllById(any())).thenReturn(List.of());
+
+        // Act
+        TransferGraphService.Analysis first = transferGraphService.analyze();
+        transferGraphService.analyze();
+
+        // Assert
+        assertEquals(3, first.accounts());
+        assertEquals(List.of(1L, 2L, 3L), first.flagged().stream().map(TransferGraphService.FlaggedAccount::accountId).toList());
+        assertEquals(Set.of(TransferPattern.CYCLE), first.flagged().get(0).patterns());
+        ArgumentCaptor<AuditLog> audits = ArgumentCaptor.forClass(AuditLog.class);
+        verify(auditLogWriter, times(3)).write(audits.capture());
+        assertTrue(audits.getAllValues().stream().allMatch(a -> a.getAction().equals("TRANSFER_PATTERN_FLAGGED")));
+        assertEquals(3, transferGraphService.latest().flagged().size());
+    }
+
+    @Test
+    void shouldOnlyRecordTransfers() {
+        // Arrange
+        Transaction withdrawal = transfer(1L, 2L, LocalDateTime.now());
+        withdrawal.setTransactionType(TransactionType.WITHDRAW);
+
+        // Act
+        transferGraphService.record(withdrawal);
+        TransferGraphService.Analysis analysis = transferGraphService.analyze();
+
+        // Assert
+        assertEquals(0, analysis.edges());
+        verifyNoInteractions(auditLogWriter);
+    }
+
+    private Transaction transfer(Long from, Long to, LocalDateTime createdAt) {
+        return Transaction.builder()
+                .transactionType(TransactionType.TRANSFER)
+                .fromAccount(Account.builder().id(from).build())
+                .toAccount(Account.builder().id(to).build())
+                .amount(new BigDecimal("250.00"))
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.securebank.service.fraud;
+
+import com.securebank.entity.Account;
+import com.securebank.entity.Transaction;
+import com.securebank.service.AccountBaselineService;
+import com.securebank.service.AccountFeatureStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FraudRuleCompilerTest {
+
+    @Mock
+    private AccountFeatureStore featureStore;
+
+    @Mock
+    private AccountBaselineService baselineService;
+
+    @Test
+    void shouldEvaluateArithmeticComparisonsAndLogic() {
+        // Arrange
+        FraudRuleCompiler.Condition condition = FraudRuleCompiler.compile("(hour >= 23 || hour <= 6) and amount >= 2 * 2500");
+
+        // Act & Assert
+        assertTrue(condition.test(context("5000", 3)));
+        assertFalse(condition.test(context("4999.99", 3)));
+        assertFalse(condition.test(context("5000", 14)));
+    }
+
+    @Test
+    void shouldNotLoadFeaturesWhenCheaperOperandDecides() {
+        // Arrange - the feature test is written first but must be evaluated last
+        FraudRuleCompiler.Condition condition = FraudRuleCompiler.compile("count1h >= 5 && amount > 1000");
+
+        // Act
+        boolean hit = condition.test(context("10", 12));
+
+        // Assert
+        assertFalse(hit);
+        verifyNoInteractions(featureStore, baselineService);
+    }
+
+    @Test
+    void shouldOrderRulesByCost() {
+        // Act
+        List<FraudRule> rules = FraudRuleCompiler.compileRules("""
+                # comment
+                rapid: count1h >= 5
+
+                night: hour <= 6 && amount >= 5000
+                """);
+
+        // Assert
+        assertEquals(List.of("night", "rapid"), rules.stream().map(FraudRule::getName).toList());
+    }
+
+    @Test
+    void shouldRejectInvalidRules() {
+        assertThrows(IllegalArgumentException.class, () -> FraudRuleCompiler.compileRules("bad: velocity > 3"));
+        assertThrows(IllegalArgumentException.class, () -> FraudRuleCompiler.compileRules("bad: amount + 1"));
+        assertThrows(IllegalArgumentException.class, () -> FraudRuleCompiler.compileRules("bad: (amount > 1"));
+        assertThrows(IllegalArgumentException.class, () -> FraudRuleCompiler.compileRules("a: amount > 1\na: amount > 2"));
+    }
+
+    private FraudContext context(String amount, int hour) {
+        Transaction transaction = Transaction.builder()
+                .amount(new BigDecimal(amount))
+                .fromAccount(Account.builder().id(1L).build())
+                .createdAt(LocalDateTime.of(2024, 5, 1, hour, 0))
+                .build();
+        return new FraudContext(transaction, featureStore, baselineService);
+    }
+}
@@ -0,0 +1,147 @@
+package com.securebank.service.fraud;
+
+import com.securebank.enums.TransferPattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferGraphAnalyzerTest {
+
+    private static final long T0 = 1_700_000_000L;
+
+    private final TransferGraphAnalyzer analyzer = new TransferGraphAnalyzer(
+            new TransferGraphAnalyzer.Thresholds(5, 5, 1800, 0.8, 100_000, 4, 10_000));
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final TransferEdgeLog edges = new TransferEdgeLog(10_000);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void shouldIndexEdgesPerAccountInTimeOrder() {
+        // Arrange - recorded out of time order
+        edges.add(1, 2, 500, T0 + 60);
+        edges.add(1, 3, 700, T0);
+        edges.add(3, 1, 100, T0 + 30);
+
+        // Act
+        TransferGraph graph = edges.snapshot(T0);
+
+        // Assert
+        assertEquals(3, graph.nodeCount());
+        assertEquals(3, graph.edgeCount());
+        int account1 = graph.indexOf(1);
+        assertEquals(2, graph.outEnd(account1) - graph.outStart(account1));
+        assertEquals(3, graph.accountId(graph.outTarget(graph.outStart(account1))));
+        assertEquals(T0 + 60, graph.outTime(graph.outStart(account1) + 1));
+        assertEquals(1, graph.inEnd(account1) - graph.inStart(account1));
+        assertTrue(graph.indexOf(99) < 0);
+    }
+
+    @Test
+    void shouldIgnoreEdgesBeforeWindow() {
+        // Arrange
+        edges.add(1, 2, 500, T0 - 1);
+        edges.add(2, 3, 500, T0);
+
+        // Act
+        TransferGraph graph = edges.snapshot(T0);
+
+        // Assert
+        assertEquals(1, graph.edgeCount());
+        assertTrue(graph.indexOf(1) < 0);
+    }
+
+    @Test
+    void shouldFlagFanInAndFanOut() {
+        // Arrange - six senders pay a collector, who pays six recipients
+        for (long sender = 100; sender < 106; sender++) {
+            edges.add(sender, 1, 10_000, T0);
+        }
+        for (long recipient = 200; recipient < 206; recipient++) {
+            edges.add(1, recipient, 100, T0 + 7200);
+        }
+
+        // Act
+        List<TransferGraphAnalyzer.Flag> flags = analyzer.analyze(edges.snapshot(T0), pool);
+
+        // Assert
+        assertEquals(Set.of(TransferPattern.FAN_IN, TransferPattern.FAN_OUT), patternsOf(flags, 1));
+        assertEquals(2, flags.size());
+    }
+
+    @Test
+    void shouldFlagRapidPassThrough() {
+        // Arrange - 5,000.00 in, 4,500.00 out within ten minutes
+        edges.add(10, 20, 500_000, T0);
+        edges.add(20, 30, 300_000, T0 + 300);
+        edges.add(20, 31, 150_000, T0 + 600);
+        // 4,000.00 in, forwarded only after two hours
+        edges.add(11, 21, 400_000, T0);
+        edges.add(21, 32, 400_000, T0 + 7200);
+
+        // Act
+        List<TransferGraphAnalyzer.Flag> flags = analyzer.analyze(edges.snapshot(T0), pool);
+
+        // Assert
+        assertEquals(Set.of(TransferPattern.PASS_THROUGH), patternsOf(flags, 20));
+        assertTrue(patternsOf(flags, 21).isEmpty());
+    }
+
+    @Test
+    void shouldFlagEveryAccountOnTimeOrderedCycle() {
+        // Arrange - 3 -> 7 -> 5 -> 3 in time order; 8 <-> 9 is a plain round trip
+        edges.add(3, 7, 100, T0);
+        edges.add(7, 5, 100, T0 + 10);
+        edges.add(5, 3, 100, T0 + 20);
+        edges.add(8, 9, 100, T0);
+        edges.add(9, 8, 100, T0 + 10);
+        // Same shape but the last hop happened first, so money cannot have gone round
+        edges.add(40, 41, 100, T0 + 100);
+        edges.add(41, 42, 100, T0 + 110);
+        edges.add(42, 40, 100, T0 + 50);
+
+        // Act
+        List<TransferGraphAnalyzer.Flag> flags = analyzer.analyze(edges.snapshot(T0), pool);
+
+        // Assert
+        Set<Long> onCycle = flags.stream()
+                .filter(f -> f.pattern() == TransferPattern.CYCLE)
+                .map(TransferGraphAnalyzer.Flag::accountId)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(3L, 5L, 7L), onCycle);
+        assertTrue(flags.stream().anyMatch(f -> f.detail().equals("cycle 3 -> 7 -> 5 -> 3")));
+    }
+
+    @Test
+    void shouldSplitLargeGraphsAcrossTasks() {
+        // Arrange - enough accounts for several fork/join leaves, one collector at the end
+        int senders = TransferGraphAnalyzer.LEAF_NODES * 4;
+        for (long sender = 1; sender <= senders; sender++) {
+            edges.add(sender, 1_000_000, 100, T0);
+        }
+
+        // Act
+        List<TransferGraphAnalyzer.Flag> flags = analyzer.analyze(edges.snapshot(T0), pool);
+
+        // Assert
+        assertEquals(1, flags.size());
+        assertEquals(1_000_000, flags.get(0).accountId());
+        assertEquals(senders + " distinct senders", flags.get(0).detail());
+    }
+
+    private Set<TransferPattern> patternsOf(List<TransferGraphAnalyzer.Flag> flags, long accountId) {
+        return flags.stream()
+                .filter(f -> f.accountId() == accountId)
+                .map(TransferGraphAnalyzer.Flag::pattern)
+                .collect(Collectors.toSet());
+    }
+}
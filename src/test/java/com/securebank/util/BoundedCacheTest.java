@@ -0,0 +1,85 @@
+package com.securebank.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void shouldNotReturnStaleValues() {
+        // Arrange
+        BoundedCache<String, Long> cache = cache(10);
+        cache.put("a", clock.get() + SECOND);
+
+        // Act
+        clock.addAndGet(SECOND);
+
+        // Assert
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldEvictValuesClosestToDeadlineWhenFullOfLiveValues() {
+        // Arrange
+        BoundedCache<String, Long> cache = cache(10);
+        for (int i = 0; i < 10; i++) {
+            cache.put("k" + i, clock.get() + (i + 1) * SECOND);
+        }
+
+        // Act
+        cache.put("new", clock.get() + 60 * SECOND);
+
+        // Assert
+        assertNotNull(cache.get("new"));
+        assertNull(cache.get("k0"));
+        assertNotNull(cache.get("k9"));
+        assertTrue(cache.size() <= 10);
+    }
+
+    @Test
+    void shouldSweepAtMostOncePerInterval() {
+        // Arrange
+        BoundedCache<String, Long> cache = cache(1);
+        cache.put("a", clock.get() + 60 * SECOND);
+        cache.put("b", clock.get() + 60 * SECOND);
+
+        // Act
+        cache.put("c", clock.get() + 60 * SECOND);
+        boolean admittedBetweenSweeps = cache.get("c") != null;
+        boolean keptBetweenSweeps = cache.get("b") != null;
+        clock.addAndGet(SECOND);
+        cache.put("d", clock.get() + 60 * SECOND);
+
+        // Assert
+        assertFalse(admittedBetweenSweeps);
+        assertTrue(keptBetweenSweeps);
+        assertNotNull(cache.get("d"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void shouldReplaceExistingKeyWhenFull() {
+        // Arrange
+        BoundedCache<String, Long> cache = cache(1);
+        cache.put("a", clock.get() + SECOND);
+
+        // Act
+        cache.put("a", clock.get() + 2 * SECOND);
+
+        // Assert
+        assertEquals(clock.get() + 2 * SECOND, cache.get("a"));
+    }
+
+    private BoundedCache<String, Long> cache(int maxEntries) {
+        return new BoundedCache<>(maxEntries, TimeUnit.NANOSECONDS, clock::get, deadline -> deadline);
+    }
+}
@@ -0,0 +1,102 @@
+package com.securebank.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void shouldAdmitBurstThenRejectWithWaitUntilNextToken() {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(100, clock::get);
+        RateLimiter.Limit limit = RateLimiter.Limit.of(2, 3);
+
+        // Act
+        long first = limiter.tryAcquire("u1", limit);
+        long second = limiter.tryAcquire("u1", limit);
+        long third = limiter.tryAcquire("u1", limit);
+        long fourth = limiter.tryAcquire("u1", limit);
+
+        // Assert
+        assertEquals(0, first + second + third);
+        assertEquals(SECOND / 2, fourth);
+    }
+
+    @Test
+    void shouldRefillAtSustainedRate() {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(100, clock::get);
+        RateLimiter.Limit limit = RateLimiter.Limit.of(2, 1);
+        assertEquals(0, limiter.tryAcquire("u1", limit));
+        assertTrue(limiter.tryAcquire("u1", limit) > 0);
+
+        // Act
+        clock.addAndGet(SECOND / 2);
+
+        // Assert
+        assertEquals(0, limiter.tryAcquire("u1", limit));
+        assertTrue(limiter.tryAcquire("u1", limit) > 0);
+    }
+
+    @Test
+    void shouldKeepCallersApart() {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(100, clock::get);
+        RateLimiter.Limit limit = RateLimiter.Limit.of(1, 1);
+
+        // Act
+        limiter.tryAcquire("u1", limit);
+
+        // Assert
+        assertTrue(limiter.tryAcquire("u1", limit) > 0);
+        assertEquals(0, limiter.tryAcquire("u2", limit));
+    }
+
+    @Test
+    void shouldDropRefilledBucketsWhenFull() {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(2, clock::get);
+        RateLimiter.Limit limit = RateLimiter.Limit.of(1, 1);
+        limiter.tryAcquire("u1", limit);
+        limiter.tryAcquire("u2", limit);
+
+        // Act - both buckets have refilled by now
+        clock.addAndGet(2 * SECOND);
+        long admitted = limiter.tryAcquire("u3", limit);
+
+        // Assert
+        assertEquals(0, admitted);
+        assertEquals(1, limiter.bucketCount());
+    }
+
+    @Test
+    void shouldShareStripedBucketsWhenFullOfActiveCallers() {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(1, clock::get);
+        RateLimiter.Limit limit = RateLimiter.Limit.of(1, 1);
+        limiter.tryAcquire("u1", limit);
+
+        // Act
+        long first = limiter.tryAcquire("u2", limit);
+        long second = limiter.tryAcquire("u2", limit);
+
+        // Assert - u2 is still limited, from an overflow stripe
+        assertEquals(0, first);
+        assertTrue(second > 0);
+        assertEquals(1, limiter.bucketCount());
+    }
+
+    @Test
+    void shouldRejectInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.Limit.of(0, 5));
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.Limit.of(1, 0));
+    }
+}
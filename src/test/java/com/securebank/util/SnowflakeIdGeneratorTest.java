@@ -0,0 +1,147 @@
+package com.securebank.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    @Test
+    void shouldFormatAsFixedWidthTransactionId() {
+        // Arrange
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, () -> NOW);
+
+        // Act
+        String transactionId = generator.nextTransactionId();
+
+        // Assert
+        assertTrue(transactionId.matches("TXN\\d{19}"));
+        long id = Long.parseLong(transactionId.substring(3));
+        assertEquals(1_000_000L, id >>> (SnowflakeIdGenerator.NODE_BITS + SnowflakeIdGenerator.SEQUENCE_BITS));
+        assertEquals(7L, (id >>> SnowflakeIdGenerator.SEQUENCE_BITS) & SnowflakeIdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void shouldStayMonotonicWhenClockMovesBackwards() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+
+        // Act
+        long first = generator.nextId();
+        clock.set(NOW - 5_000);
+        long second = generator.nextId();
+        clock.set(NOW + 1);
+        long third = generator.nextId();
+
+        // Assert
+        assertTrue(second > first);
+        assertTrue(third > second);
+    }
+
+    @Test
+    void shouldBorrowNextMillisecondWhenSequenceIsExhausted() {
+        // Arrange
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, () -> NOW);
+        int perMillisecond = (int) SnowflakeIdGenerator.SEQUENCE_MASK + 1;
+
+        // Act
+        long previous = generator.nextId();
+        for (int i = 1; i < perMillisecond; i++) {
+            long next = generator.nextId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+        long overflow = generator.nextId();
+
+        // Assert
+        assertTrue(overflow > previous);
+        assertEquals(0L, overflow & SnowflakeIdGenerator.SEQUENCE_MASK);
+    }
+
+    @Test
+    void shouldGenerateUniqueIdsAcrossThreads() throws Exception {
+        // Arrange
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, System::currentTimeMillis);
+        int threads = 8;
+        int perThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Callable<long[]> task = () -> {
+            long[] ids = new long[perThread];
+            for (int i = 0; i < perThread; i++) {
+                ids[i] = generator.nextId();
+            }
+            return ids;
+        };
+
+        // Act
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(task));
+        }
+        Set<Long> seen = new HashSet<>(threads * perThread * 2);
+        try {
+            for (Future<long[]> future : futures) {
+                long[] ids = future.get();
+                for (int i = 0; i < ids.length; i++) {
+                    if (i > 0) {
+                        assertTrue(ids[i] > ids[i - 1], "ids must increase within a thread");
+                    }
+                    assertTrue(seen.add(ids[i]), "duplicate id " + ids[i]);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(threads * perThread, seen.size());
+    }
+
+    @Test
+    void shouldRejectOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkConcurrentThroughput() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0);
+        int threads = Runtime.getRuntime().availableProcessors();
+        int perThread = 1_000_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        generator.nextTransactionId();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("SnowflakeIdGenerator: %d threads, %.0f ids/s%n",
+                    threads, threads * perThread / seconds);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.securebank.util;
+
+import com.securebank.entity.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionCursorTest {
+
+    @Test
+    void shouldRoundTripThroughOpaqueString() {
+        // Arrange
+        TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 5, 123_456_000), 42L);
+
+        // Act
+        String encoded = cursor.encode();
+        TransactionCursor decoded = TransactionCursor.decode(encoded);
+
+        // Assert
+        assertFalse(encoded.contains("2024"));
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void shouldStartFromFirstRowWithoutCursor() {
+        // Act & Assert
+        assertEquals(TransactionCursor.FIRST, TransactionCursor.decode(null));
+        assertEquals(TransactionCursor.FIRST, TransactionCursor.decode(""));
+    }
+
+    @Test
+    void shouldRejectTamperedCursor() {
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> TransactionCursor.decode("not-a-cursor"));
+        assertEquals("Invalid cursor", exception.getMessage());
+    }
+
+    @Test
+    void shouldPointNextCursorAtLastRowOfSlice() {
+        // Arrange
+        Transaction newer = Transaction.builder().id(9L).createdAt(LocalDateTime.of(2024, 3, 2, 10, 0)).build();
+        Transaction older = Transaction.builder().id(7L).createdAt(LocalDateTime.of(2024, 3, 1, 10, 0)).build();
+
+        // Act
+        String next = TransactionCursor.next(new SliceImpl<>(List.of(newer, older), PageRequest.of(0, 2), true));
+        String last = TransactionCursor.next(new SliceImpl<>(List.of(newer), PageRequest.of(0, 2), false));
+
+        // Assert
+        assertEquals(new TransactionCursor(older.getCreatedAt(), 7L), TransactionCursor.decode(next));
+        assertNull(last);
+    }
+
+    @Test
+    void shouldCapPageSize() {
+        // Act & Assert
+        assertEquals(TransactionCursor.MAX_PAGE_SIZE, TransactionCursor.limit(10_000).getPageSize());
+        assertEquals(1, TransactionCursor.limit(0).getPageSize());
+    }
+}
@@ -6,4 +6,4 @@ echo Waiting for PostgreSQL to start...
 timeout /t 10
 
 echo Starting Spring Boot application...
-mvn spring-boot:run
\ No newline at end of file
+mvn spring-boot:run -Dspring-boot.run.arguments=--transaction.id.node-id=0
\ No newline at end of file